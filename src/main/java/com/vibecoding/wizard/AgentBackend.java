@@ -0,0 +1,63 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Executes agent prompts for {@link CopilotCliService}. The service keeps scheduling, cancellation
+ * and the skip switch; a backend only runs one prompt in a working directory.
+ * <p>
+ * The backend is chosen with {@code -Dvibecodingwizard.agentBackend}: {@code copilot} (default)
+ * runs the GitHub Copilot CLI, {@code simulator} runs {@link SimulatedAgentBackend} so the build
+ * pipeline and the log UI can be exercised offline and deterministically.
+ */
+public interface AgentBackend {
+    String BACKEND_PROPERTY = "vibecodingwizard.agentBackend";
+
+    /**
+     * One prompt to run.
+     *
+     * @param workingDirectory Directory the agent works in
+     * @param prompt The prompt text
+     * @param context Human-readable description for logs, e.g. {@code fix attempt 2}
+     * @param attempt 0 for a primary run, the attempt number for fix runs, -1 for anything else
+     */
+    record AgentRequest(Path workingDirectory, String prompt, String context, int attempt) {
+    }
+
+    /**
+     * Runs the prompt to completion, streaming output lines to {@code outputConsumer} (which may be null).
+     * Implementations register a cancel action on {@code job} that stops the run.
+     */
+    ProcessResult run(AgentRequest request, Consumer<String> outputConsumer, AgentJobScheduler.Job job)
+        throws IOException, InterruptedException;
+
+    /**
+     * Starts the prompt with a writable input stream, e.g. for password prompts, and returns
+     * without waiting for it to finish.
+     */
+    ProcessAndResult startInteractive(AgentRequest request, Consumer<String> outputConsumer) throws IOException;
+
+    /**
+     * Whether the backend needs the Copilot CLI environment (Node.js, npm, authentication).
+     */
+    default boolean requiresCopilotEnvironment() {
+        return true;
+    }
+
+    /**
+     * The backend selected by {@link #BACKEND_PROPERTY}.
+     */
+    static AgentBackend configured() {
+        String name = System.getProperty(BACKEND_PROPERTY, "copilot");
+        if ("simulator".equalsIgnoreCase(name)) {
+            return SimulatedAgentBackend.fromSystemProperties();
+        }
+        if (!"copilot".equalsIgnoreCase(name)) {
+            System.err.println("Unknown agent backend '" + name + "', using the Copilot CLI");
+        }
+        return CopilotCliBackend.INSTANCE;
+    }
+}
@@ -0,0 +1,494 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control for agent runs. Every Copilot CLI invocation takes a slot here before it
+ * starts, so the number of concurrent agents is bounded no matter which worker starts them.
+ * <p>
+ * Waiting jobs are ordered by {@link Priority} first. Within a priority, projects take turns
+ * (round robin), so one project queuing many module builds cannot starve another. An optional
+ * minimum interval between job starts rate-limits bursts. Jobs can be cancelled while queued
+ * or running, and {@link #metrics()} reports queue depth and wait times.
+ * <p>
+ * Jobs run on the caller's thread: {@link #run} blocks until the job is admitted, runs it and
+ * frees the slot. Runs that outlive the call, such as interactive processes, use
+ * {@link #acquire} and {@link Job#finish()} instead.
+ */
+public final class AgentJobScheduler {
+    public static final String MAX_CONCURRENCY_PROPERTY = "vibecodingwizard.maxConcurrentAgents";
+    public static final String START_INTERVAL_PROPERTY = "vibecodingwizard.agentStartIntervalMillis";
+    private static final int DEFAULT_MAX_CONCURRENCY = 2;
+
+    private static final AgentJobScheduler SHARED = new AgentJobScheduler(
+        Math.max(1, Integer.getInteger(MAX_CONCURRENCY_PROPERTY, DEFAULT_MAX_CONCURRENCY)),
+        Math.max(0, Long.getLong(START_INTERVAL_PROPERTY, 0L)));
+
+    /**
+     * Scheduling classes, highest first.
+     */
+    public enum Priority {
+        /** The user is typing into or waiting on this run, e.g. finetuning. */
+        INTERACTIVE,
+        /** A run the user started and is watching in a dialog. */
+        FOREGROUND,
+        /** Batch work such as module builds and automatic fix attempts. */
+        BACKGROUND
+    }
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        FINISHED,
+        CANCELLED
+    }
+
+    /**
+     * Code run while holding a slot.
+     */
+    @FunctionalInterface
+    public interface AgentTask<T> {
+        T run(Job job) throws IOException, InterruptedException;
+    }
+
+    /**
+     * Extra slots from {@link #grantSlots(int)}; closing it takes them back.
+     */
+    @FunctionalInterface
+    public interface SlotGrant extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Queue depth, concurrency and wait-time statistics at one point in time.
+     *
+     * @param running Jobs currently holding a slot, including cancelled ones that have not stopped yet
+     * @param queued Jobs waiting for a slot
+     * @param queuedByPriority Waiting jobs per priority
+     * @param maxConcurrency Configured slot count
+     * @param started Jobs admitted so far
+     * @param cancelled Jobs cancelled so far, queued or running
+     * @param averageWaitMillis Mean time admitted jobs spent queued
+     * @param maxWaitMillis Longest time an admitted job spent queued
+     */
+    public record Metrics(int running, int queued, Map<Priority, Integer> queuedByPriority, int maxConcurrency,
+                          long started, long cancelled, long averageWaitMillis, long maxWaitMillis) {
+    }
+
+    /**
+     * One agent run. Obtained from {@link #acquire}, or passed to the task given to {@link #run}.
+     */
+    public final class Job {
+        private final long id;
+        private final String projectKey;
+        private final Priority priority;
+        private final long enqueuedNanos = System.nanoTime();
+        private long waitNanos;
+        private State state = State.QUEUED;
+        private boolean holdsSlot;
+        private Runnable cancelAction;
+        private Thread runner;
+
+        private Job(long id, String projectKey, Priority priority) {
+            this.id = id;
+            this.projectKey = projectKey;
+            this.priority = priority;
+        }
+
+        public long id() {
+            return id;
+        }
+
+        public String projectKey() {
+            return projectKey;
+        }
+
+        public Priority priority() {
+            return priority;
+        }
+
+        public State state() {
+            lock.lock();
+            try {
+                return state;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Time the job spent queued before it was admitted, in milliseconds.
+         */
+        public long waitMillis() {
+            lock.lock();
+            try {
+                return (state == State.QUEUED ? System.nanoTime() - enqueuedNanos : waitNanos) / 1_000_000;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Registers how to stop the running work, typically destroying its process. Runs
+         * immediately if the job was already cancelled.
+         */
+        public void onCancel(Runnable action) {
+            boolean cancelled;
+            lock.lock();
+            try {
+                cancelAction = action;
+                cancelled = state == State.CANCELLED;
+            } finally {
+                lock.unlock();
+            }
+            if (cancelled) {
+                action.run();
+            }
+        }
+
+        /**
+         * Removes a queued job from the queue, or stops a running one through its cancel action
+         * and by interrupting the thread running it. A running job keeps its slot until
+         * {@link #finish()}, when its work has actually stopped. Returns false if the job had
+         * already ended.
+         */
+        public boolean cancel() {
+            Runnable action;
+            lock.lock();
+            try {
+                if (state == State.FINISHED || state == State.CANCELLED) {
+                    return false;
+                }
+                boolean wasRunning = state == State.RUNNING;
+                if (!wasRunning) {
+                    removeQueued(this);
+                }
+                state = State.CANCELLED;
+                cancelledCount++;
+                active.remove(this);
+                action = wasRunning ? cancelAction : null;
+                // Interrupt under the lock so a runner that already finished is never hit
+                if (wasRunning && runner != null) {
+                    runner.interrupt();
+                }
+                if (!wasRunning) {
+                    changed.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (action != null) {
+                action.run();
+            }
+            return true;
+        }
+
+        /**
+         * Frees the slot of a job obtained from {@link #acquire}, also after it was cancelled.
+         * Safe to call more than once.
+         */
+        public void finish() {
+            lock.lock();
+            try {
+                if (state == State.RUNNING) {
+                    state = State.FINISHED;
+                }
+                if (holdsSlot) {
+                    holdsSlot = false;
+                    running--;
+                    changed.signalAll();
+                }
+                active.remove(this);
+                runner = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Map<Priority, LinkedHashMap<String, Deque<Job>>> queues = new EnumMap<>(Priority.class);
+    private final List<Job> active = new ArrayList<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final long minStartIntervalNanos;
+    private int maxConcurrency;
+    private int extraSlots;
+    private int running;
+    private long lastStartNanos;
+    private long startedCount;
+    private long cancelledCount;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+
+    /**
+     * @param maxConcurrency Number of agent runs allowed at once
+     * @param minStartIntervalMillis Minimum time between two job starts, 0 for none
+     */
+    public AgentJobScheduler(int maxConcurrency, long minStartIntervalMillis) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.minStartIntervalNanos = minStartIntervalMillis * 1_000_000;
+        this.lastStartNanos = System.nanoTime() - minStartIntervalNanos;
+        for (Priority priority : Priority.values()) {
+            queues.put(priority, new LinkedHashMap<>());
+        }
+    }
+
+    public static AgentJobScheduler shared() {
+        return SHARED;
+    }
+
+    /**
+     * Waits for a slot, runs {@code task} on the calling thread and frees the slot.
+     *
+     * @throws CancellationException If the job was cancelled while queued
+     */
+    public <T> T run(String projectKey, Priority priority, AgentTask<T> task)
+        throws IOException, InterruptedException {
+        Job job = acquire(projectKey, priority);
+        lock.lock();
+        try {
+            job.runner = Thread.currentThread();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            return task.run(job);
+        } finally {
+            job.finish();
+            // A cancel may have interrupted this thread after the task already returned
+            if (job.state() == State.CANCELLED) {
+                Thread.interrupted();
+            }
+        }
+    }
+
+    /**
+     * Queues a job and blocks until it holds a slot. The caller must call {@link Job#finish()}.
+     *
+     * @throws CancellationException If the job was cancelled while queued
+     * @throws InterruptedException If the waiting thread was interrupted; the job is dequeued
+     */
+    public Job acquire(String projectKey, Priority priority) throws InterruptedException {
+        lock.lock();
+        try {
+            Job job = new Job(nextId.getAndIncrement(), projectKey == null ? "" : projectKey, priority);
+            queues.get(priority).computeIfAbsent(job.projectKey, key -> new ArrayDeque<>()).addLast(job);
+            active.add(job);
+            try {
+                while (job.state == State.QUEUED) {
+                    long delay = dispatch();
+                    if (job.state != State.QUEUED) {
+                        break;
+                    }
+                    if (delay > 0) {
+                        changed.awaitNanos(delay);
+                    } else {
+                        changed.await();
+                    }
+                }
+            } catch (InterruptedException e) {
+                if (job.state == State.QUEUED) {
+                    removeQueued(job);
+                    job.state = State.CANCELLED;
+                    cancelledCount++;
+                } else if (job.state == State.RUNNING) {
+                    job.state = State.FINISHED;
+                }
+                if (job.holdsSlot) {
+                    job.holdsSlot = false;
+                    running--;
+                }
+                active.remove(job);
+                changed.signalAll();
+                throw e;
+            }
+            if (job.state == State.CANCELLED) {
+                // Cancelled between admission and this thread waking up; nothing ran in the slot
+                if (job.holdsSlot) {
+                    job.holdsSlot = false;
+                    running--;
+                    changed.signalAll();
+                }
+                throw new CancellationException("Agent job " + job.id + " was cancelled while queued");
+            }
+            return job;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cancels every queued and running job of a project.
+     *
+     * @return Number of jobs cancelled
+     */
+    public int cancelAll(String projectKey) {
+        List<Job> jobs;
+        lock.lock();
+        try {
+            jobs = new ArrayList<>();
+            for (Job job : active) {
+                if (job.projectKey.equals(projectKey)) {
+                    jobs.add(job);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        int count = 0;
+        for (Job job : jobs) {
+            if (job.cancel()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        lock.lock();
+        try {
+            this.maxConcurrency = maxConcurrency;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Allows {@code slots} more jobs to run at once until the grant is closed, for jobs that only
+     * pay off if they run together, such as the variants of a speculative fix attempt.
+     */
+    public SlotGrant grantSlots(int slots) {
+        if (slots < 0) {
+            throw new IllegalArgumentException("slots must not be negative");
+        }
+        adjustExtraSlots(slots);
+        AtomicBoolean closed = new AtomicBoolean();
+        return () -> {
+            if (closed.compareAndSet(false, true)) {
+                adjustExtraSlots(-slots);
+            }
+        };
+    }
+
+    private void adjustExtraSlots(int delta) {
+        lock.lock();
+        try {
+            extraSlots += delta;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Metrics metrics() {
+        lock.lock();
+        try {
+            Map<Priority, Integer> byPriority = new EnumMap<>(Priority.class);
+            int queued = 0;
+            for (Map.Entry<Priority, LinkedHashMap<String, Deque<Job>>> entry : queues.entrySet()) {
+                int count = 0;
+                for (Deque<Job> jobs : entry.getValue().values()) {
+                    count += jobs.size();
+                }
+                byPriority.put(entry.getKey(), count);
+                queued += count;
+            }
+            long average = startedCount == 0 ? 0 : totalWaitNanos / startedCount / 1_000_000;
+            return new Metrics(running, queued, byPriority, maxConcurrency, startedCount, cancelledCount,
+                average, maxWaitNanos / 1_000_000);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Admits queued jobs while slots are free. Must hold the lock.
+     *
+     * @return Nanoseconds until the rate limit allows the next start, or 0
+     */
+    private long dispatch() {
+        while (running < maxConcurrency + extraSlots) {
+            long now = System.nanoTime();
+            long wait = lastStartNanos + minStartIntervalNanos - now;
+            if (wait > 0) {
+                return hasQueued() ? wait : 0;
+            }
+            Job next = pollNext();
+            if (next == null) {
+                return 0;
+            }
+            next.state = State.RUNNING;
+            next.holdsSlot = true;
+            next.waitNanos = now - next.enqueuedNanos;
+            running++;
+            startedCount++;
+            totalWaitNanos += next.waitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, next.waitNanos);
+            lastStartNanos = now;
+            changed.signalAll();
+        }
+        return 0;
+    }
+
+    private Job pollNext() {
+        for (Priority priority : Priority.values()) {
+            LinkedHashMap<String, Deque<Job>> projects = queues.get(priority);
+            Iterator<Map.Entry<String, Deque<Job>>> iterator = projects.entrySet().iterator();
+            if (!iterator.hasNext()) {
+                continue;
+            }
+            Map.Entry<String, Deque<Job>> first = iterator.next();
+            Job job = first.getValue().pollFirst();
+            iterator.remove();
+            // Re-inserting moves the project behind the others waiting at this priority
+            if (!first.getValue().isEmpty()) {
+                projects.put(first.getKey(), first.getValue());
+            }
+            return job;
+        }
+        return null;
+    }
+
+    private boolean hasQueued() {
+        for (LinkedHashMap<String, Deque<Job>> projects : queues.values()) {
+            if (!projects.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void removeQueued(Job job) {
+        LinkedHashMap<String, Deque<Job>> projects = queues.get(job.priority);
+        Deque<Job> jobs = projects.get(job.projectKey);
+        if (jobs != null) {
+            jobs.remove(job);
+            if (jobs.isEmpty()) {
+                projects.remove(job.projectKey);
+            }
+        }
+    }
+}
@@ -0,0 +1,446 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Headless entry point that regenerates many {@code .vcp} projects without any Swing UI, e.g.
+ * overnight on a build server. Each project runs the same combined single-run build as the IDE:
+ * the prompt from {@link PromptBuilder#buildCombinedPrompt} is written to {@code prompt.txt}
+ * and executed by the Copilot CLI, then the {@link BuildCommandPlanner} commands verify the
+ * result. Projects run in parallel up to a bound; one JSON report per project plus a summary
+ * are written to the report directory.
+ * <p>
+ * Usage: {@code BatchRunner [--parallel N] [--report-dir DIR] [--output-root DIR] [--no-verify] <file.vcp|dir>...}
+ * <br>
+ * Set {@code -Dvibecodingwizard.skipCopilotCli=true} to exercise the pipeline without running the agent.
+ */
+public final class BatchRunner {
+    private static final String COMBINED_RUN_PROMPT = "Process the instructions in prompt.txt and execute them.";
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Batch settings.
+     *
+     * @param projectFiles The .vcp files to build
+     * @param parallelism Number of projects built at the same time
+     * @param reportDirectory Where reports and per-project logs are written
+     * @param outputRoot If set, each project is generated into {@code outputRoot/<file name>}
+     *                   instead of the directory stored in the .vcp file
+     * @param verifyBuild Whether to run the planned build commands after the agent
+     */
+    public record Options(List<Path> projectFiles, int parallelism, Path reportDirectory, Path outputRoot,
+                          boolean verifyBuild) {
+    }
+
+    /**
+     * One executed build command.
+     */
+    public record StepResult(List<String> command, int exitCode, long durationMillis) {
+    }
+
+    /**
+     * Outcome of one project. {@code failedStage} is null on success and otherwise one of
+     * {@code load}, {@code config}, {@code prompt}, {@code agent} or {@code build}.
+     */
+    public record ProjectResult(String projectFile, String projectName, String projectDirectory, boolean success,
+                                String failedStage, String error, Integer agentExitCode, List<StepResult> buildSteps,
+                                long durationMillis, String logFile) {
+    }
+
+    /**
+     * Summary written to {@code batch-report.json}.
+     */
+    public record BatchReport(String startedAt, long durationMillis, int parallelism, int total, int succeeded,
+                              int failed, List<ProjectResult> projects) {
+    }
+
+    private BatchRunner() {
+    }
+
+    public static void main(String[] args) {
+        Options options;
+        try {
+            options = parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: BatchRunner [--parallel N] [--report-dir DIR] [--output-root DIR] [--no-verify] <file.vcp|dir>...");
+            System.exit(2);
+            return;
+        }
+        BatchReport report = run(options);
+        System.out.println("Batch finished: " + report.succeeded() + " succeeded, " + report.failed()
+            + " failed in " + report.durationMillis() / 1000 + " s. Report: "
+            + options.reportDirectory().resolve("batch-report.json").toAbsolutePath());
+        System.exit(report.failed() == 0 ? 0 : 1);
+    }
+
+    /**
+     * Parses command line arguments. Directories are searched recursively for .vcp files.
+     *
+     * @throws IllegalArgumentException If the arguments are invalid or no project files are found
+     */
+    public static Options parseArguments(String[] args) {
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        Path reportDirectory = Paths.get("batch-reports");
+        Path outputRoot = null;
+        boolean verifyBuild = true;
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--parallel" -> parallelism = parsePositive(valueAfter(args, i++), arg);
+                case "--report-dir" -> reportDirectory = Paths.get(valueAfter(args, i++));
+                case "--output-root" -> outputRoot = Paths.get(valueAfter(args, i++));
+                case "--no-verify" -> verifyBuild = false;
+                default -> {
+                    if (arg.startsWith("--")) {
+                        throw new IllegalArgumentException("Unknown option: " + arg);
+                    }
+                    files.addAll(collectProjectFiles(Paths.get(arg)));
+                }
+            }
+        }
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("No .vcp project files given");
+        }
+        return new Options(files, parallelism, reportDirectory, outputRoot, verifyBuild);
+    }
+
+    /**
+     * Builds all projects and writes the reports.
+     */
+    public static BatchReport run(Options options) {
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(options.reportDirectory());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create report directory " + options.reportDirectory(), e);
+        }
+        // Agent runs are admitted by the shared scheduler; let it run as many as the batch asks for
+        AgentJobScheduler.shared().setMaxConcurrency(options.parallelism());
+
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(options.parallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "batch-project-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<ProjectResult>> futures = new ArrayList<>();
+        List<String> names = uniqueNames(options.projectFiles());
+        try {
+            for (int i = 0; i < names.size(); i++) {
+                Path file = options.projectFiles().get(i);
+                String name = names.get(i);
+                futures.add(executor.submit(() -> buildProject(file, name, options)));
+            }
+            List<ProjectResult> results = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(await(futures.get(i), options.projectFiles().get(i)));
+            }
+            int succeeded = (int) results.stream().filter(ProjectResult::success).count();
+            BatchReport report = new BatchReport(startedAt.toString(), elapsedMillis(start), options.parallelism(),
+                results.size(), succeeded, results.size() - succeeded, results);
+            writeJson(options.reportDirectory().resolve("batch-report.json"), report);
+            return report;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @param baseName Name of the project's report files and output directory, unique within the batch
+     */
+    private static ProjectResult buildProject(Path file, String baseName, Options options) {
+        long start = System.nanoTime();
+        Path logFile = options.reportDirectory().resolve(baseName + ".log");
+        ProjectContext context = new ProjectContext(file, logFile, start);
+        ProjectResult result;
+        try (BufferedWriter log = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8)) {
+            context.log = log;
+            result = buildProject(context, baseName, options);
+        } catch (IOException e) {
+            // Nothing was loaded yet, the log could not be opened
+            result = context.failure("load", "Cannot write log: " + e.getMessage());
+        }
+        try {
+            writeJson(options.reportDirectory().resolve(baseName + ".json"), result);
+        } catch (IllegalStateException e) {
+            System.err.println(e.getMessage());
+        }
+        System.out.println("[" + (result.success() ? "OK" : "FAILED") + "] " + file
+            + (result.success() ? "" : " (" + result.failedStage() + ": " + result.error() + ")"));
+        return result;
+    }
+
+    private static ProjectResult buildProject(ProjectContext context, String baseName, Options options) {
+        context.log("Loading " + context.file.toAbsolutePath());
+        IDEProject project = ProjectSerializer.load(context.file);
+        if (project == null) {
+            return context.failure("load", "Project file could not be read");
+        }
+        InitialConfig config = project.getInitialConfig();
+        if (config == null) {
+            return context.failure("config", "Project has no initial configuration");
+        }
+        context.name = config.getProjectName();
+        if (options.outputRoot() != null) {
+            config = config.withProjectDirectory(options.outputRoot().resolve(baseName));
+            project.setInitialConfig(config);
+            if (project.getProjectSettings() != null) {
+                project.getProjectSettings().setProjectPath(config.getProjectDirectory().toString());
+            }
+        }
+        Path projectDir = config.getProjectDirectory();
+        if (projectDir == null) {
+            return context.failure("config", "Project has no project directory; use --output-root");
+        }
+        context.directory = projectDir;
+        List<Module> modules = project.getAllModules();
+        if (modules.isEmpty()) {
+            return context.failure("config", "Project has no modules");
+        }
+
+        try {
+            Files.createDirectories(projectDir);
+        } catch (IOException e) {
+            return context.failure("config", "Cannot create project directory: " + e.getMessage());
+        }
+        String prompt = PromptBuilder.buildCombinedPrompt(config, modules, project.getProjectSettings());
+        try {
+            Files.writeString(projectDir.resolve("prompt.txt"), prompt, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return context.failure("prompt", "Cannot write prompt.txt: " + e.getMessage());
+        }
+        context.log("Prompt written (" + prompt.length() + " characters, " + modules.size() + " modules)");
+
+        context.log("=== Copilot CLI combined run ===");
+        CopilotCliService service = new CopilotCliService(projectDir);
+        ProcessResult agent;
+        try {
+            agent = service.runPrimaryTask(TaskType.GENERATE_APP_OR_SCRIPT, COMBINED_RUN_PROMPT, context::log);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return context.failure("agent", "Interrupted");
+        } catch (IOException | RuntimeException e) {
+            return context.failure("agent", e.getMessage());
+        }
+        context.agentExitCode = agent.getExitCode();
+        context.log("Agent exit code: " + agent.getExitCode());
+        if (!agent.isSuccess()) {
+            return context.failure("agent", "Copilot CLI exited with code " + agent.getExitCode());
+        }
+
+        if (options.verifyBuild()) {
+            BuildCommandPlanner.BuildPlan plan = BuildCommandPlanner.plan(
+                config.getProgrammingLanguage(), config.getProjectStyle(), config, projectDir);
+            context.log("=== Verifying build: " + plan.getDescription() + " ===");
+            try {
+                ProjectResult failure = runBuild(context, config.getProgrammingLanguage(), plan, projectDir);
+                if (failure != null) {
+                    return failure;
+                }
+            } finally {
+                // Each project is built once, so its build servers are not needed afterwards
+                BuildDaemons.shared().release(projectDir);
+            }
+        }
+        context.log("Project completed successfully");
+        return context.success();
+    }
+
+    /**
+     * Runs the build commands of {@code plan} with the shared {@link BuildCache}.
+     *
+     * @return The failure result, or null if all commands succeeded
+     */
+    private static ProjectResult runBuild(ProjectContext context, ProgrammingLanguage language,
+                                          BuildCommandPlanner.BuildPlan plan, Path projectDir) {
+        BuildCache cache = BuildCache.shared();
+        Map<String, String> environment = plan.environment(cache != null ? cache.environment(language) : Map.of());
+        BuildCache.Session cacheSession = cache != null ? cache.begin(language, projectDir) : null;
+        try {
+            for (List<String> command : plan.getCommands()) {
+                long stepStart = System.nanoTime();
+                int exitCode;
+                try {
+                    exitCode = ProcessRunner.runWithStreaming(command, projectDir, null, context::log, null, environment)
+                        .getExitCode();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return context.failure("build", "Interrupted");
+                } catch (IOException e) {
+                    context.log("Failed to start " + String.join(" ", command) + ": " + e.getMessage());
+                    exitCode = -1;
+                }
+                context.steps.add(new StepResult(command, exitCode, elapsedMillis(stepStart)));
+                if (exitCode != 0) {
+                    return context.failure("build", String.join(" ", command) + " exited with code " + exitCode);
+                }
+            }
+            return null;
+        } finally {
+            if (cacheSession != null) {
+                context.log(cacheSession.finish().summary(cache));
+            }
+        }
+    }
+
+    private static ProjectResult await(Future<ProjectResult> future, Path file) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ProjectResult(file.toString(), null, null, false, "load", "Interrupted", null, List.of(), 0, null);
+        } catch (ExecutionException e) {
+            StringWriter trace = new StringWriter();
+            e.getCause().printStackTrace(new PrintWriter(trace));
+            return new ProjectResult(file.toString(), null, null, false, "load", trace.toString(), null, List.of(), 0, null);
+        }
+    }
+
+    private static List<Path> collectProjectFiles(Path path) {
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> paths = Files.walk(path)) {
+                return paths.filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".vcp"))
+                    .sorted()
+                    .toList();
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot list " + path + ": " + e.getMessage());
+            }
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("Not a file or directory: " + path);
+        }
+        return List.of(path);
+    }
+
+    /**
+     * Report and output directory names for {@code files}, in the same order: the file name without
+     * extension, with a numeric suffix for every later file of the same name, e.g. {@code app},
+     * {@code app-2}.
+     */
+    private static List<String> uniqueNames(List<Path> files) {
+        // The summary's own file name is taken
+        Set<String> used = new HashSet<>(Set.of("batch-report"));
+        List<String> names = new ArrayList<>(files.size());
+        for (Path file : files) {
+            String base = stripExtension(file).replaceAll("[^A-Za-z0-9._-]", "_");
+            String name = base;
+            for (int suffix = 2; !used.add(name.toLowerCase(Locale.ROOT)); suffix++) {
+                name = base + "-" + suffix;
+            }
+            names.add(name);
+        }
+        return names;
+    }
+
+    private static String stripExtension(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    private static void writeJson(Path file, Object value) {
+        try {
+            MAPPER.writeValue(file.toFile(), value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write report " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String valueAfter(String[] args, int index) {
+        if (index + 1 >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index]);
+        }
+        return args[index + 1];
+    }
+
+    private static int parsePositive(String value, String option) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException(option + " needs a positive number, got " + value);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Mutable state of one project while it is being built.
+     */
+    private static final class ProjectContext {
+        private final Path file;
+        private final Path logFile;
+        private final long startNanos;
+        private final List<StepResult> steps = new ArrayList<>();
+        private BufferedWriter log;
+        private String name;
+        private Path directory;
+        private Integer agentExitCode;
+
+        ProjectContext(Path file, Path logFile, long startNanos) {
+            this.file = file;
+            this.logFile = logFile;
+            this.startNanos = startNanos;
+        }
+
+        void log(String line) {
+            if (log == null) {
+                return;
+            }
+            try {
+                log.write(line);
+                log.newLine();
+            } catch (IOException e) {
+                // The report still records the outcome
+            }
+        }
+
+        ProjectResult success() {
+            return result(true, null, null);
+        }
+
+        ProjectResult failure(String stage, String error) {
+            log("FAILED (" + stage + "): " + error);
+            return result(false, stage, error);
+        }
+
+        private ProjectResult result(boolean success, String stage, String error) {
+            return new ProjectResult(file.toString(), name, directory == null ? null : directory.toString(), success,
+                stage, error, agentExitCode, List.copyOf(steps), elapsedMillis(startNanos), logFile.toString());
+        }
+    }
+}
@@ -0,0 +1,582 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * One managed directory for the package and compiler caches of all build tools, shared by
+ * every fix attempt and every generated project: NuGet global packages, the Maven local
+ * repository, the npm cache, pip, Composer, the Go module and build caches, and ccache or
+ * sccache for C++ and Rust when they are installed. {@link #environment} points the tools
+ * at their directory below the cache root.
+ * <p>
+ * The cache is kept below a size limit by evicting least recently used entries. An entry is
+ * the topmost directory below a tool directory that directly contains files, e.g. one NuGet
+ * package version, one Maven artifact or one npm content bucket. Entries count as used when
+ * a build hits them (tracked in {@value #USAGE_FILE}) or when a tool last read or wrote one
+ * of their files, going by the file system's access times. On file systems that do not keep
+ * access times, entries of tools without lock files are evicted in the order they were written.
+ * Eviction runs on a background thread after a build, never while another build is running.
+ * <p>
+ * Hits and misses are counted where the project's lock files name the exact cache content:
+ * NuGet ({@code obj/project.assets.json}), npm ({@code package-lock.json} integrity hashes,
+ * which are the content addresses of the npm cache) and Go ({@code go.sum}). A required
+ * entry that existed before the build is a hit, one the build had to download is a miss.
+ */
+public final class BuildCache {
+    public static final String DIRECTORY_PROPERTY = "vibecodingwizard.buildCacheDir";
+    public static final String MAX_SIZE_PROPERTY = "vibecodingwizard.buildCacheMaxMb";
+    public static final String DISABLE_PROPERTY = "vibecodingwizard.disableBuildCache";
+    private static final long DEFAULT_MAX_MB = 10 * 1024;
+    private static final Duration EVICTION_INTERVAL = Duration.ofMinutes(10);
+    private static final String USAGE_FILE = "usage.properties";
+    // Eviction stops once the cache is this far below the limit, so it does not run after every build
+    private static final double LOW_WATERMARK = 0.9;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static BuildCache shared;
+
+    private final Path root;
+    private final long maxBytes;
+    private final Properties usage = new Properties();
+    private final ExecutorService evictor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "build-cache-eviction");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private int activeSessions;
+    private long lastEvictionNanos;
+    private boolean evictedOnce;
+    private Future<?> eviction;
+    private int unreportedEvictions;
+    private long measuredSizeBytes = -1;
+    private int totalHits;
+    private int totalMisses;
+
+    /**
+     * Result of one build's cache use.
+     *
+     * @param hits Required entries that were already cached, -1 if the project's tools name none
+     * @param misses Required entries the build had to fetch
+     * @param evictedEntries Entries evicted since the previous build's stats
+     * @param sizeBytes Cache size after the last eviction, -1 if it was not measured yet
+     */
+    public record Stats(int hits, int misses, int evictedEntries, long sizeBytes) {
+        public String summary(BuildCache cache) {
+            StringBuilder summary = new StringBuilder("Build cache: ");
+            if (hits < 0) {
+                summary.append("no lock file to count hits");
+            } else {
+                summary.append(hits).append(" hits, ").append(misses).append(" misses (")
+                    .append(percent(hits, misses)).append(" hit rate)");
+            }
+            int[] totals = cache.totals();
+            if (totals[0] + totals[1] > 0) {
+                summary.append("; this session ").append(percent(totals[0], totals[1]));
+            }
+            if (sizeBytes >= 0) {
+                summary.append("; ").append(megabytes(sizeBytes)).append(" of ").append(megabytes(cache.maxBytes));
+            }
+            if (evictedEntries > 0) {
+                summary.append("; evicted ").append(evictedEntries).append(" least recently used entries");
+            }
+            return summary.append(" in ").append(cache.root).toString();
+        }
+    }
+
+    public BuildCache(Path root, long maxBytes) {
+        this.root = root;
+        this.maxBytes = maxBytes;
+        loadUsage();
+    }
+
+    /**
+     * The cache in {@code ~/.vibe-coding-wizard/build-cache} (or {@value #DIRECTORY_PROPERTY}),
+     * limited to {@value #MAX_SIZE_PROPERTY} megabytes; null if disabled or there is no home directory.
+     */
+    public static synchronized BuildCache shared() {
+        if (Boolean.getBoolean(DISABLE_PROPERTY)) {
+            return null;
+        }
+        if (shared == null) {
+            String directory = System.getProperty(DIRECTORY_PROPERTY);
+            String homeDir = System.getProperty("user.home");
+            if (directory == null && homeDir == null) {
+                return null;
+            }
+            Path cacheRoot = directory != null ? Paths.get(directory) : Paths.get(homeDir, ".vibe-coding-wizard", "build-cache");
+            shared = new BuildCache(cacheRoot, Long.getLong(MAX_SIZE_PROPERTY, DEFAULT_MAX_MB) * 1024 * 1024);
+        }
+        return shared;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Environment variables that point the build tools of {@code language} at the cache.
+     */
+    public Map<String, String> environment(ProgrammingLanguage language) {
+        Map<String, String> environment = new LinkedHashMap<>();
+        switch (language) {
+            case CSHARP -> environment.put("NUGET_PACKAGES", toolDirectory("nuget"));
+            case JAVA -> {
+                String options = System.getenv("MAVEN_OPTS");
+                environment.put("MAVEN_OPTS", (options == null || options.isBlank() ? "" : options + " ")
+                    + "-Dmaven.repo.local=" + toolDirectory("maven"));
+            }
+            case JAVASCRIPT -> {
+                environment.put("npm_config_cache", toolDirectory("npm"));
+                // Use cached packages without asking the registry whether they are still current
+                environment.put("npm_config_prefer_offline", "true");
+            }
+            case PYTHON -> environment.put("PIP_CACHE_DIR", toolDirectory("pip"));
+            case PHP -> environment.put("COMPOSER_CACHE_DIR", toolDirectory("composer"));
+            case RUBY -> environment.put("BUNDLE_USER_CACHE", toolDirectory("bundler"));
+            case GO -> {
+                environment.put("GOMODCACHE", toolDirectory("go-mod"));
+                environment.put("GOCACHE", toolDirectory("go-build"));
+            }
+            case RUST -> {
+                if (ProbeCache.resolveOnPath("sccache") != null) {
+                    environment.put("RUSTC_WRAPPER", "sccache");
+                    environment.put("SCCACHE_DIR", toolDirectory("sccache"));
+                }
+            }
+            case CPP -> {
+                if (ProbeCache.resolveOnPath("ccache") != null) {
+                    environment.put("CCACHE_DIR", toolDirectory("ccache"));
+                    environment.put("CMAKE_C_COMPILER_LAUNCHER", "ccache");
+                    environment.put("CMAKE_CXX_COMPILER_LAUNCHER", "ccache");
+                }
+            }
+        }
+        return environment;
+    }
+
+    /**
+     * Starts tracking a build of {@code projectDirectory}; call {@link Session#finish()} when it is done.
+     */
+    public synchronized Session begin(ProgrammingLanguage language, Path projectDirectory) {
+        activeSessions++;
+        return new Session(language, projectDirectory, System.currentTimeMillis());
+    }
+
+    /**
+     * Hits and misses of all builds since this cache was created.
+     */
+    public synchronized int[] totals() {
+        return new int[] {totalHits, totalMisses};
+    }
+
+    /**
+     * One build using the cache.
+     */
+    public final class Session {
+        private final ProgrammingLanguage language;
+        private final Path projectDirectory;
+        private final long startMillis;
+        private boolean finished;
+
+        private Session(ProgrammingLanguage language, Path projectDirectory, long startMillis) {
+            this.language = language;
+            this.projectDirectory = projectDirectory;
+            this.startMillis = startMillis;
+        }
+
+        /**
+         * Counts hits and misses from the project's lock files, records the used entries and,
+         * once no other build is running, starts evicting entries in the background if the
+         * cache is over its limit.
+         */
+        public Stats finish() {
+            List<Path> required = requiredEntries(language, projectDirectory);
+            int hits = -1;
+            int misses = 0;
+            if (!required.isEmpty()) {
+                hits = 0;
+                for (Path entry : required) {
+                    if (wasCachedBefore(entry, startMillis)) {
+                        hits++;
+                    } else {
+                        misses++;
+                    }
+                }
+            }
+            synchronized (BuildCache.this) {
+                if (finished) {
+                    throw new IllegalStateException("Build cache session already finished");
+                }
+                finished = true;
+                activeSessions--;
+                if (hits >= 0) {
+                    totalHits += hits;
+                    totalMisses += misses;
+                }
+                long now = System.currentTimeMillis();
+                for (Path entry : required) {
+                    if (Files.exists(entry)) {
+                        usage.setProperty(relativeKey(entry), Long.toString(now));
+                    }
+                }
+                saveUsage();
+                // Never evict while another build may be reading from the cache
+                if (activeSessions == 0 && (eviction == null || eviction.isDone()) && (!evictedOnce
+                        || System.nanoTime() - lastEvictionNanos > EVICTION_INTERVAL.toNanos())) {
+                    lastEvictionNanos = System.nanoTime();
+                    evictedOnce = true;
+                    long protectedSinceMillis = startMillis;
+                    eviction = evictor.submit(() -> evict(protectedSinceMillis));
+                }
+                Stats stats = new Stats(hits, misses, unreportedEvictions, measuredSizeBytes);
+                unreportedEvictions = 0;
+                return stats;
+            }
+        }
+    }
+
+    /**
+     * Waits until a running eviction has finished, so its result is in the next {@link Stats}.
+     */
+    public void awaitEviction() throws InterruptedException {
+        Future<?> running;
+        synchronized (this) {
+            running = eviction;
+        }
+        if (running == null) {
+            return;
+        }
+        try {
+            running.get();
+        } catch (ExecutionException e) {
+            System.err.println("Build cache eviction failed: " + e.getCause());
+        }
+    }
+
+    /**
+     * Evicts least recently used entries until the cache is below its limit. Entries used since
+     * {@code protectedSinceMillis} are kept. The cache is scanned without holding the lock, and
+     * eviction stops as soon as a build starts.
+     */
+    private void evict(long protectedSinceMillis) {
+        List<Entry> entries = scanEntries();
+        long size = entries.stream().mapToLong(Entry::bytes).sum();
+        int evicted = 0;
+        if (size > maxBytes) {
+            entries.sort(Comparator.comparingLong(Entry::lastUsedMillis));
+            long target = (long) (maxBytes * LOW_WATERMARK);
+            for (Entry entry : entries) {
+                if (size <= target) {
+                    break;
+                }
+                if (entry.lastUsedMillis() >= protectedSinceMillis) {
+                    continue;
+                }
+                synchronized (this) {
+                    if (activeSessions > 0) {
+                        break;
+                    }
+                    try {
+                        deleteRecursively(entry.directory());
+                        size -= entry.bytes();
+                        evicted++;
+                        usage.remove(relativeKey(entry.directory()));
+                    } catch (IOException e) {
+                        System.err.println("Failed to evict " + entry.directory() + ": " + e.getMessage());
+                    }
+                }
+            }
+        }
+        synchronized (this) {
+            // Forget entries that are gone, whether evicted here or deleted by the tools
+            usage.keySet().removeIf(key -> !Files.isDirectory(root.resolve((String) key)));
+            saveUsage();
+            unreportedEvictions += evicted;
+            measuredSizeBytes = size;
+        }
+    }
+
+    private record Entry(Path directory, long bytes, long lastUsedMillis) {
+    }
+
+    /**
+     * Finds the entries of every tool directory: the topmost directories that directly contain
+     * files. Files directly in a tool directory, such as tool configuration, are not entries.
+     */
+    private List<Entry> scanEntries() {
+        Map<Path, long[]> entries = new HashMap<>();
+        if (!Files.isDirectory(root)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> tools = Files.list(root)) {
+            for (Path tool : tools.filter(Files::isDirectory).toList()) {
+                Files.walkFileTree(tool, new SimpleFileVisitor<>() {
+                    private final Deque<Path> entryStack = new ArrayDeque<>();
+
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException {
+                        if (entryStack.isEmpty() && !dir.equals(tool) && containsFile(dir)) {
+                            entryStack.push(dir);
+                            entries.put(dir, new long[] {0, 0});
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                        if (!entryStack.isEmpty()) {
+                            long[] entry = entries.get(entryStack.peek());
+                            entry[0] += attributes.size();
+                            entry[1] = Math.max(entry[1], Math.max(attributes.lastModifiedTime().toMillis(),
+                                attributes.lastAccessTime().toMillis()));
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult postVisitDirectory(Path dir, IOException exception) {
+                        if (dir.equals(entryStack.peek())) {
+                            entryStack.pop();
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException exception) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to scan build cache: " + e.getMessage());
+        }
+        List<Entry> result = new ArrayList<>();
+        for (Map.Entry<Path, long[]> entry : entries.entrySet()) {
+            long recorded = parseLong(usage.getProperty(relativeKey(entry.getKey())));
+            result.add(new Entry(entry.getKey(), entry.getValue()[0], Math.max(recorded, entry.getValue()[1])));
+        }
+        return result;
+    }
+
+    private static boolean containsFile(Path dir) throws IOException {
+        try (Stream<Path> children = Files.list(dir)) {
+            return children.anyMatch(Files::isRegularFile);
+        }
+    }
+
+    /**
+     * Cache entries the project's lock files require, as paths below the cache root.
+     */
+    List<Path> requiredEntries(ProgrammingLanguage language, Path projectDirectory) {
+        List<Path> required = new ArrayList<>();
+        try {
+            switch (language) {
+                case CSHARP -> addNuGetPackages(projectDirectory, required);
+                case JAVASCRIPT -> addNpmContent(projectDirectory.resolve("package-lock.json"), required);
+                case GO -> addGoModules(projectDirectory.resolve("go.sum"), required);
+                default -> {
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read lock files for build cache statistics: " + e.getMessage());
+        }
+        return required;
+    }
+
+    private void addNuGetPackages(Path projectDirectory, List<Path> required) throws IOException {
+        if (!Files.isDirectory(projectDirectory)) {
+            return;
+        }
+        Set<Path> packages = new LinkedHashSet<>();
+        try (Stream<Path> files = Files.walk(projectDirectory, 6)) {
+            for (Path assets : files.filter(file -> file.getFileName().toString().equals("project.assets.json")
+                    && file.getParent().getFileName().toString().equals("obj")).toList()) {
+                Iterator<Map.Entry<String, JsonNode>> libraries = MAPPER.readTree(assets.toFile()).path("libraries").fields();
+                while (libraries.hasNext()) {
+                    Map.Entry<String, JsonNode> library = libraries.next();
+                    int slash = library.getKey().indexOf('/');
+                    if (slash > 0 && "package".equals(library.getValue().path("type").asText())) {
+                        packages.add(root.resolve("nuget")
+                            .resolve(library.getKey().substring(0, slash).toLowerCase(Locale.ROOT))
+                            .resolve(library.getKey().substring(slash + 1).toLowerCase(Locale.ROOT)));
+                    }
+                }
+            }
+        }
+        required.addAll(packages);
+    }
+
+    private void addNpmContent(Path lockFile, List<Path> required) throws IOException {
+        if (!Files.isRegularFile(lockFile)) {
+            return;
+        }
+        JsonNode lock = MAPPER.readTree(lockFile.toFile());
+        JsonNode packages = lock.has("packages") ? lock.get("packages") : lock.path("dependencies");
+        Set<Path> content = new LinkedHashSet<>();
+        Iterator<JsonNode> entries = packages.elements();
+        while (entries.hasNext()) {
+            for (String integrity : entries.next().path("integrity").asText("").split("\\s+")) {
+                if (integrity.startsWith("sha512-")) {
+                    // npm's cache stores content under the hex form of its integrity hash
+                    String hex = HexFormat.of().formatHex(Base64.getDecoder().decode(integrity.substring(7)));
+                    content.add(root.resolve("npm").resolve("_cacache").resolve("content-v2").resolve("sha512")
+                        .resolve(hex.substring(0, 2)).resolve(hex.substring(2, 4)).resolve(hex.substring(4)));
+                }
+            }
+        }
+        required.addAll(content);
+    }
+
+    private void addGoModules(Path goSum, List<Path> required) throws IOException {
+        if (!Files.isRegularFile(goSum)) {
+            return;
+        }
+        Set<Path> modules = new LinkedHashSet<>();
+        for (String line : Files.readAllLines(goSum, StandardCharsets.UTF_8)) {
+            String[] fields = line.trim().split("\\s+");
+            if (fields.length == 3 && !fields[1].endsWith("/go.mod")) {
+                modules.add(root.resolve("go-mod").resolve("cache").resolve("download")
+                    .resolve(escapeGoPath(fields[0])).resolve("@v").resolve(escapeGoPath(fields[1]) + ".zip"));
+            }
+        }
+        required.addAll(modules);
+    }
+
+    /**
+     * Go's case encoding for module cache paths: upper-case letters become '!' and the lower-case letter.
+     */
+    private static String escapeGoPath(String path) {
+        StringBuilder escaped = new StringBuilder(path.length());
+        for (char c : path.toCharArray()) {
+            if (Character.isUpperCase(c)) {
+                escaped.append('!').append(Character.toLowerCase(c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Cache content is written once, so content older than the build start was cached before it.
+     */
+    private static boolean wasCachedBefore(Path entry, long startMillis) {
+        try {
+            return Files.exists(entry) && Files.getLastModifiedTime(entry).toMillis() < startMillis;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private String toolDirectory(String tool) {
+        Path directory = root.resolve(tool);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            System.err.println("Failed to create build cache directory " + directory + ": " + e.getMessage());
+        }
+        return directory.toAbsolutePath().toString();
+    }
+
+    /**
+     * Usage key of the entry containing {@code path}: its directory for files, relative to the root.
+     */
+    private String relativeKey(Path path) {
+        Path entry = Files.isRegularFile(path) ? path.getParent() : path;
+        return root.relativize(entry).toString().replace('\\', '/');
+    }
+
+    private void loadUsage() {
+        Path file = root.resolve(USAGE_FILE);
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            usage.load(in);
+        } catch (IOException e) {
+            System.err.println("Failed to load build cache usage: " + e.getMessage());
+        }
+    }
+
+    private void saveUsage() {
+        try {
+            Files.createDirectories(root);
+            Path file = root.resolve(USAGE_FILE);
+            Path temp = root.resolve(USAGE_FILE + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                usage.store(out, "Vibe Coding Wizard build cache usage");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("Failed to save build cache usage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes {@code directory} even if it was made read-only, as Go does with its module cache.
+     */
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            List<Path> all = paths.toList();
+            for (Path path : all) {
+                if (!Files.isWritable(path)) {
+                    path.toFile().setWritable(true, true);
+                }
+            }
+            for (int i = all.size() - 1; i >= 0; i--) {
+                Files.deleteIfExists(all.get(i));
+            }
+        }
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return value == null ? 0 : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String percent(int hits, int misses) {
+        return hits + misses == 0 ? "n/a" : Math.round(100.0 * hits / (hits + misses)) + "%";
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
@@ -1,13 +1,83 @@
 /* Copyright 2025 Dennis Michael Heine */
 package com.vibecoding.wizard;
 
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 public final class BuildCommandPlanner {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Set<String> DOTNET_PROJECT_EXTENSIONS = Set.of(".csproj", ".fsproj", ".vbproj");
+    private static final Set<String> DOTNET_SHARED_RESTORE_INPUTS = Set.of(
+        "directory.build.props", "directory.packages.props", "nuget.config", "global.json");
+    private static final Set<String> SKIPPED_DIRECTORIES = Set.of("bin", "obj", "node_modules", ".git", "target", "build");
+    private static final Set<String> PHP_SKIPPED_DIRECTORIES = Set.of("vendor", "node_modules", ".git");
+    private static final int MAX_PROJECT_SEARCH_DEPTH = 5;
+
     private BuildCommandPlanner() {
     }
 
+    /**
+     * Plans the build of the project in {@code workingDirectory}, preferring warm build servers
+     * over the cold one-shot commands of {@link #plan(ProgrammingLanguage, ProjectStyle, InitialConfig)}:
+     * the Gradle daemon or mvnd for Java, {@code dotnet build --no-restore} on the .NET build
+     * servers once packages are restored, and incremental {@code tsc} for TypeScript builds.
+     * PHP projects get one {@code php -l} per {@code .php} file outside {@code vendor/}.
+     * The daemons are registered with {@link BuildDaemons#shared()} for the directory; run the
+     * commands with {@link BuildPlan#environment(Map)}, which points them at the private daemons.
+     * <p>
+     * Call it before every build: the plan depends on the directory's current state, e.g. a
+     * changed project file makes the next .NET build restore again. Falls back to the cold plan
+     * if warm builds are disabled or do not apply.
+     */
+    public static BuildPlan plan(ProgrammingLanguage language, ProjectStyle projectStyle, InitialConfig config,
+                                 Path workingDirectory) {
+        return plan(language, projectStyle, config, workingDirectory, BuildDaemons.shared());
+    }
+
+    /**
+     * Same as {@link #plan(ProgrammingLanguage, ProjectStyle, InitialConfig, Path)}, registering
+     * the daemons the plan uses with {@code daemons}.
+     */
+    public static BuildPlan plan(ProgrammingLanguage language, ProjectStyle projectStyle, InitialConfig config,
+                                 Path workingDirectory, BuildDaemons daemons) {
+        BuildPlan cold = plan(language, projectStyle, config);
+        if (workingDirectory == null || !Files.isDirectory(workingDirectory)) {
+            return cold;
+        }
+        if (language == ProgrammingLanguage.PHP) {
+            BuildPlan lint = planPhpLint(workingDirectory);
+            return lint != null ? lint : cold;
+        }
+        if (!BuildDaemons.isEnabled()) {
+            return cold;
+        }
+        BuildPlan warm = switch (language) {
+            case JAVA -> planJavaDaemon(workingDirectory, daemons);
+            case CSHARP -> planDotnetBuildServer(workingDirectory, cold.getCommands().get(0).get(0).equals("wine"),
+                daemons);
+            case JAVASCRIPT -> planIncrementalTypeScript(workingDirectory);
+            default -> null;
+        };
+        return warm != null ? warm : cold;
+    }
+
     public static BuildPlan plan(ProgrammingLanguage language, ProjectStyle projectStyle, InitialConfig config) {
         List<List<String>> commands = new ArrayList<>();
         String description;
@@ -107,13 +177,221 @@ public final class BuildCommandPlanner {
         }
     }
 
+    private static BuildPlan planJavaDaemon(Path directory, BuildDaemons daemons) {
+        boolean gradleBuild = Files.isRegularFile(directory.resolve("build.gradle"))
+            || Files.isRegularFile(directory.resolve("build.gradle.kts"))
+            || Files.isRegularFile(directory.resolve("settings.gradle"))
+            || Files.isRegularFile(directory.resolve("settings.gradle.kts"));
+        if (gradleBuild) {
+            List<String> gradle = gradleLauncher(directory);
+            Path home = BuildDaemons.privateHome("gradle");
+            if (gradle != null && home != null) {
+                Map<String, String> environment = gradleEnvironment(home);
+                daemons.register(directory,
+                    new BuildDaemons.Daemon("gradle", append(gradle, "--stop"), directory, environment));
+                return new BuildPlan(List.of(append(gradle, "--daemon", "build")),
+                    "Run gradle build on the Gradle daemon", environment);
+            }
+        }
+        Path mvndHome = BuildDaemons.privateHome("mvnd");
+        if (Files.isRegularFile(directory.resolve("pom.xml")) && ProbeCache.resolveOnPath("mvnd") != null
+            && mvndHome != null) {
+            Map<String, String> environment = Map.of("MVND_DAEMON_STORAGE", mvndHome.toString());
+            daemons.register(directory,
+                new BuildDaemons.Daemon("mvnd", List.of("mvnd", "--stop"), directory, environment));
+            return new BuildPlan(List.of(List.of("mvnd", "package")), "Run mvnd package on the Maven daemon",
+                environment);
+        }
+        return null;
+    }
+
+    /**
+     * Environment that runs Gradle with the private {@code home}, so {@code --stop} only stops
+     * this application's daemons. Dependencies already in the user's Gradle home are reused as a
+     * read-only cache.
+     */
+    private static Map<String, String> gradleEnvironment(Path home) {
+        Map<String, String> environment = new LinkedHashMap<>();
+        environment.put("GRADLE_USER_HOME", home.toString());
+        String userHome = System.getenv("GRADLE_USER_HOME");
+        Path caches = userHome != null && !userHome.isBlank() ? Path.of(userHome, "caches")
+            : Path.of(System.getProperty("user.home"), ".gradle", "caches");
+        if (Files.isDirectory(caches.resolve("modules-2")) && !caches.startsWith(home)) {
+            environment.put("GRADLE_RO_DEP_CACHE", caches.toString());
+        }
+        return Map.copyOf(environment);
+    }
+
+    private static List<String> gradleLauncher(Path directory) {
+        boolean windows = System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("win");
+        Path wrapper = directory.resolve(windows ? "gradlew.bat" : "gradlew").toAbsolutePath();
+        if (Files.isRegularFile(wrapper)) {
+            // Generated wrappers are not always checked out as executable
+            return windows || Files.isExecutable(wrapper) ? List.of(wrapper.toString()) : List.of("sh", wrapper.toString());
+        }
+        return ProbeCache.resolveOnPath("gradle") != null ? List.of("gradle") : null;
+    }
+
+    private static BuildPlan planDotnetBuildServer(Path directory, boolean useWine, BuildDaemons daemons) {
+        List<String> dotnet = useWine ? List.of("wine", "dotnet") : List.of("dotnet");
+        // The build servers are shared by all of the user's builds; only stop them if this application started them
+        if (daemons.isRegistered("dotnet") || !isDotnetBuildServerRunning()) {
+            daemons.register(directory,
+                new BuildDaemons.Daemon("dotnet", append(dotnet, "build-server", "shutdown"), directory));
+        }
+        String prefix = useWine ? "Run wine dotnet build" : "Run dotnet build";
+        if (isDotnetRestoreCurrent(directory)) {
+            return new BuildPlan(List.of(append(dotnet, "build", "--no-restore")),
+                prefix + " --no-restore on the warm build servers (packages already restored)");
+        }
+        return new BuildPlan(List.of(append(dotnet, "build")),
+            prefix + " (restores packages; later builds skip the restore)");
+    }
+
+    /**
+     * Whether a .NET build server (MSBuild node, Roslyn compiler server or Razor server) is running.
+     */
+    private static boolean isDotnetBuildServerRunning() {
+        return ProcessHandle.allProcesses().anyMatch(process -> {
+            String commandLine = process.info().commandLine().or(() -> process.info().command()).orElse("");
+            return commandLine.contains("VBCSCompiler") || commandLine.contains("nodeReuse:true")
+                || commandLine.contains("rzc.dll");
+        });
+    }
+
+    /**
+     * Whether every .NET project below {@code directory} has restore output that is newer than its
+     * project file and the shared restore inputs, so {@code --no-restore} is safe.
+     */
+    static boolean isDotnetRestoreCurrent(Path directory) {
+        List<Path> projects = new ArrayList<>();
+        FileTime[] newestSharedInput = {FileTime.fromMillis(0)};
+        try {
+            Files.walkFileTree(directory, EnumSet.noneOf(FileVisitOption.class), MAX_PROJECT_SEARCH_DEPTH,
+                new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+                        return !dir.equals(directory) && SKIPPED_DIRECTORIES.contains(dir.getFileName().toString())
+                            ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+                        int dot = name.lastIndexOf('.');
+                        if (dot >= 0 && DOTNET_PROJECT_EXTENSIONS.contains(name.substring(dot))) {
+                            projects.add(file);
+                        } else if (DOTNET_SHARED_RESTORE_INPUTS.contains(name)
+                                && attributes.lastModifiedTime().compareTo(newestSharedInput[0]) > 0) {
+                            newestSharedInput[0] = attributes.lastModifiedTime();
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            if (projects.isEmpty()) {
+                return false;
+            }
+            for (Path project : projects) {
+                Path assets = project.resolveSibling("obj").resolve("project.assets.json");
+                if (!Files.isRegularFile(assets)) {
+                    return false;
+                }
+                FileTime restored = Files.getLastModifiedTime(assets);
+                if (restored.compareTo(Files.getLastModifiedTime(project)) < 0
+                        || restored.compareTo(newestSharedInput[0]) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * {@code npm run build} with {@code --incremental} when the build script is a single {@code tsc}
+     * call, so repeated builds reuse the {@code .tsbuildinfo} state instead of type-checking everything.
+     */
+    private static BuildPlan planIncrementalTypeScript(Path directory) {
+        Path packageJson = directory.resolve("package.json");
+        if (!Files.isRegularFile(directory.resolve("tsconfig.json")) || !Files.isRegularFile(packageJson)) {
+            return null;
+        }
+        String script;
+        try {
+            JsonNode build = MAPPER.readTree(packageJson.toFile()).path("scripts").path("build");
+            script = build.isTextual() ? build.asText().trim() : "";
+        } catch (IOException e) {
+            return null;
+        }
+        boolean singleTsc = script.equals("tsc") || script.startsWith("tsc ");
+        boolean alreadyIncremental = script.contains("--incremental") || script.contains("--watch")
+            || script.contains("--build") || script.matches(".*(^|\\s)-[bw](\\s|$).*");
+        if (!singleTsc || alreadyIncremental || script.contains("&&") || script.contains("||")
+                || script.contains(";") || script.contains("|")) {
+            return null;
+        }
+        return new BuildPlan(List.of(List.of("npm", "run", "build", "--", "--incremental")),
+            "Run npm run build with incremental tsc");
+    }
+
+    /**
+     * One {@code php -l} per {@code .php} file, since it only checks the first file it is given;
+     * Composer dependencies are left out. Listed in Java so the plan works without a Unix shell.
+     *
+     * @return The plan, or null if the directory has no PHP files or cannot be read
+     */
+    private static BuildPlan planPhpLint(Path directory) {
+        List<String> files = new ArrayList<>();
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+                    return !dir.equals(directory) && PHP_SKIPPED_DIRECTORIES.contains(dir.getFileName().toString())
+                        ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".php")) {
+                        files.add(directory.relativize(file).toString());
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            return null;
+        }
+        if (files.isEmpty()) {
+            return null;
+        }
+        Collections.sort(files);
+        List<List<String>> commands = new ArrayList<>();
+        for (String file : files) {
+            commands.add(List.of("php", "-l", file));
+        }
+        return new BuildPlan(commands, "Run PHP syntax check on " + files.size() + " .php file(s)");
+    }
+
+    private static List<String> append(List<String> command, String... arguments) {
+        List<String> result = new ArrayList<>(command);
+        result.addAll(List.of(arguments));
+        return List.copyOf(result);
+    }
+
     public static final class BuildPlan {
         private final List<List<String>> commands;
         private final String description;
+        private final Map<String, String> environment;
 
         private BuildPlan(List<List<String>> commands, String description) {
+            this(commands, description, Map.of());
+        }
+
+        private BuildPlan(List<List<String>> commands, String description, Map<String, String> environment) {
             this.commands = commands;
             this.description = description;
+            this.environment = environment;
         }
 
         public List<List<String>> getCommands() {
@@ -123,5 +401,24 @@ public final class BuildCommandPlanner {
         public String getDescription() {
             return description;
         }
+
+        /**
+         * Environment variables the commands need, e.g. the private home of a build daemon.
+         */
+        public Map<String, String> getEnvironment() {
+            return environment;
+        }
+
+        /**
+         * {@code base} plus {@link #getEnvironment()}.
+         */
+        public Map<String, String> environment(Map<String, String> base) {
+            if (environment.isEmpty()) {
+                return base;
+            }
+            Map<String, String> merged = new LinkedHashMap<>(base);
+            merged.putAll(environment);
+            return merged;
+        }
     }
 }
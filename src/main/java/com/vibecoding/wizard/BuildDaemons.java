@@ -0,0 +1,208 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps track of the build servers that warm build plans rely on (Gradle daemon, mvnd, the .NET
+ * build servers) per project directory, and stops them once no project directory uses them any
+ * more or the application exits.
+ * <p>
+ * The Gradle daemon and mvnd run with a private home ({@link #privateHome(String)}), so their
+ * stop commands only reach the daemons this application started. The .NET build servers are
+ * per user; they are only registered if the application started them. Within the application
+ * a daemon kind is only stopped when the last directory that used it is released, so parallel
+ * batch builds do not pull the daemon out from under each other.
+ */
+public final class BuildDaemons {
+    public static final String DISABLE_PROPERTY = "vibecodingwizard.disableBuildDaemons";
+    private static final long STOP_TIMEOUT_SECONDS = 30;
+
+    private static final BuildDaemons SHARED = new BuildDaemons(BuildDaemons::runStopCommand);
+
+    /**
+     * A build server used for a project directory.
+     *
+     * @param kind Daemon kind, e.g. {@code gradle}; one kind is stopped once all its directories are released
+     * @param stopCommand Command that stops the daemon
+     * @param directory Directory the stop command runs in
+     * @param environment Environment variables of the builds and the stop command
+     */
+    public record Daemon(String kind, List<String> stopCommand, Path directory, Map<String, String> environment) {
+        public Daemon(String kind, List<String> stopCommand, Path directory) {
+            this(kind, stopCommand, directory, Map.of());
+        }
+    }
+
+    private final Consumer<Daemon> stopper;
+    private final Map<Path, Set<Daemon>> byDirectory = new HashMap<>();
+    private final Map<String, Set<Daemon>> released = new HashMap<>();
+    private boolean shutdownHookInstalled;
+
+    /**
+     * @param stopper Runs the stop command of a daemon
+     */
+    public BuildDaemons(Consumer<Daemon> stopper) {
+        this.stopper = stopper;
+    }
+
+    public static BuildDaemons shared() {
+        return SHARED;
+    }
+
+    /**
+     * Whether build plans may use warm build servers; set {@value #DISABLE_PROPERTY} to get the
+     * plain one-shot commands.
+     */
+    public static boolean isEnabled() {
+        return !Boolean.getBoolean(DISABLE_PROPERTY);
+    }
+
+    /**
+     * Home directory for the daemons of {@code kind} in {@code ~/.vibe-coding-wizard/daemons};
+     * null if there is no home directory.
+     */
+    public static Path privateHome(String kind) {
+        String homeDir = System.getProperty("user.home");
+        return homeDir == null ? null : Paths.get(homeDir, ".vibe-coding-wizard", "daemons", kind);
+    }
+
+    /**
+     * Whether a daemon of {@code kind} is registered for a directory or released but not stopped yet.
+     */
+    public synchronized boolean isRegistered(String kind) {
+        return inUse(kind) || released.containsKey(kind);
+    }
+
+    /**
+     * Records that builds in {@code directory} use {@code daemon}.
+     */
+    public synchronized void register(Path directory, Daemon daemon) {
+        if (this == SHARED && !shutdownHookInstalled) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "build-daemon-shutdown"));
+            shutdownHookInstalled = true;
+        }
+        byDirectory.computeIfAbsent(key(directory), k -> new LinkedHashSet<>()).add(daemon);
+    }
+
+    /**
+     * Kinds of daemon the builds in {@code directory} use.
+     */
+    public synchronized Set<String> kindsIn(Path directory) {
+        Set<String> kinds = new LinkedHashSet<>();
+        for (Daemon daemon : byDirectory.getOrDefault(key(directory), Set.of())) {
+            kinds.add(daemon.kind());
+        }
+        return kinds;
+    }
+
+    /**
+     * Releases {@code directory}; daemon kinds that no other directory uses any more are stopped.
+     */
+    public void release(Path directory) {
+        List<Daemon> toStop = new ArrayList<>();
+        synchronized (this) {
+            Set<Daemon> daemons = byDirectory.remove(key(directory));
+            if (daemons == null) {
+                return;
+            }
+            for (Daemon daemon : daemons) {
+                released.computeIfAbsent(daemon.kind(), k -> new LinkedHashSet<>()).add(daemon);
+            }
+            for (Daemon daemon : daemons) {
+                if (!inUse(daemon.kind()) && released.containsKey(daemon.kind())) {
+                    toStop.addAll(released.remove(daemon.kind()));
+                }
+            }
+        }
+        stopAll(toStop);
+    }
+
+    /**
+     * {@link #release(Path)} on a background thread, for callers on the event dispatch thread:
+     * stop commands can take a while. Does nothing for a null directory.
+     */
+    public void releaseInBackground(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        Thread thread = new Thread(() -> release(directory), "build-daemon-release");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops every daemon that was registered, regardless of which directories still use it.
+     */
+    public void shutdown() {
+        List<Daemon> toStop = new ArrayList<>();
+        synchronized (this) {
+            for (Set<Daemon> daemons : byDirectory.values()) {
+                toStop.addAll(daemons);
+            }
+            for (Set<Daemon> daemons : released.values()) {
+                toStop.addAll(daemons);
+            }
+            byDirectory.clear();
+            released.clear();
+        }
+        stopAll(toStop);
+    }
+
+    private boolean inUse(String kind) {
+        for (Set<Daemon> daemons : byDirectory.values()) {
+            for (Daemon daemon : daemons) {
+                if (daemon.kind().equals(kind)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void stopAll(List<Daemon> daemons) {
+        // Different directories may register the same stop command; running it once is enough
+        Set<List<String>> stopped = new LinkedHashSet<>();
+        for (Daemon daemon : daemons) {
+            if (stopped.add(daemon.stopCommand())) {
+                stopper.accept(daemon);
+            }
+        }
+    }
+
+    private static void runStopCommand(Daemon daemon) {
+        ProcessBuilder builder = new ProcessBuilder(daemon.stopCommand())
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        if (daemon.directory() != null && Files.isDirectory(daemon.directory())) {
+            builder.directory(daemon.directory().toFile());
+        }
+        builder.environment().putAll(daemon.environment());
+        try {
+            Process process = builder.start();
+            if (!process.waitFor(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                System.err.println("Stopping " + daemon.kind() + " daemon timed out");
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to stop " + daemon.kind() + " daemon: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Path key(Path directory) {
+        return directory.toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,187 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One error reported by a compiler or build tool, parsed from its output.
+ *
+ * @param file File the error is in, relative and with '/' separators; empty if the tool named none
+ * @param line Line of the error, 0 if unknown
+ * @param code Error code such as {@code CS0103} or {@code E0308}; empty if the tool has none
+ * @param message Error message with whitespace collapsed
+ */
+public record BuildDiagnostic(String file, int line, String code, String message) {
+    // javac, gcc/clang, go, tsc --pretty false, php -l: "path:line[:col]: [error:] message"
+    private static final Pattern COLON_STYLE = Pattern.compile(
+        "^\\s*([^\\s:()\"]+\\.[A-Za-z0-9]+):(\\d+)(?::\\d+)?:?\\s*(?:(?:fatal )?error:?\\s*)?(?:([A-Z]+\\d+):\\s*)?(.+)$");
+    // Maven compiler plugin: "[ERROR] path:[line,col] message"
+    private static final Pattern MAVEN_STYLE = Pattern.compile(
+        "^\\[ERROR\\]\\s+(.+?\\.[A-Za-z0-9]+):\\[(\\d+)(?:,\\d+)?\\]\\s*(.+)$");
+    // MSBuild and tsc: "path(line,col): error CODE: message [project]"
+    private static final Pattern PAREN_STYLE = Pattern.compile(
+        "^\\s*([^\\s(][^(]*?)\\((\\d+)(?:,\\d+)?\\)\\s*:\\s*(?:fatal )?error\\s+([A-Za-z]*\\d+)\\s*:\\s*(.+?)(?:\\s+\\[[^\\]]+\\])?$");
+    // rustc: "error[E0308]: message" followed by " --> path:line:col"
+    private static final Pattern RUST_ERROR = Pattern.compile("^error(?:\\[(E\\d+)\\])?:\\s*(.+)$");
+    private static final Pattern RUST_LOCATION = Pattern.compile("^\\s*-->\\s*(.+?):(\\d+):\\d+\\s*$");
+    // Python: 'File "path", line N' followed later by "SomeError: message"
+    private static final Pattern PYTHON_LOCATION = Pattern.compile("^\\s*File \"(.+?)\", line (\\d+)");
+    private static final Pattern PYTHON_ERROR = Pattern.compile("^(\\w+(?:Error|Exception)):\\s*(.*)$");
+    private static final Pattern WARNING = Pattern.compile("\\bwarning\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NUMBERS = Pattern.compile("\\d+");
+
+    /**
+     * Identity of the error across builds: line numbers are left out because fixes elsewhere in
+     * the file shift them.
+     */
+    public String key() {
+        return file + '|' + code + '|' + message;
+    }
+
+    /**
+     * {@code file:line: code message}, the form the fix prompts quote.
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        if (!file.isEmpty()) {
+            text.append(file);
+            if (line > 0) {
+                text.append(':').append(line);
+            }
+            text.append(": ");
+        }
+        if (!code.isEmpty()) {
+            text.append(code).append(' ');
+        }
+        return text.append(message).toString();
+    }
+
+    /**
+     * Parses the errors in {@code output}. Paths below {@code projectDirectory} are made relative.
+     * Output in no known format falls back to its error lines as classified by {@link LogSeverity},
+     * with numbers masked so that counts and addresses in them do not make each build look new.
+     */
+    public static List<BuildDiagnostic> parse(String output, String projectDirectory) {
+        List<BuildDiagnostic> diagnostics = new ArrayList<>();
+        if (output == null || output.isBlank()) {
+            return diagnostics;
+        }
+        String[] lines = output.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            Matcher rust = RUST_ERROR.matcher(line);
+            if (rust.matches()) {
+                if (rust.group(2).startsWith("could not compile") || rust.group(2).startsWith("aborting due to")) {
+                    continue;
+                }
+                String file = "";
+                int lineNumber = 0;
+                for (int j = i + 1; j < Math.min(lines.length, i + 4); j++) {
+                    Matcher location = RUST_LOCATION.matcher(lines[j]);
+                    if (location.matches()) {
+                        file = location.group(1);
+                        lineNumber = Integer.parseInt(location.group(2));
+                        break;
+                    }
+                }
+                diagnostics.add(create(file, lineNumber, normalizeCode(rust.group(1)), rust.group(2), projectDirectory));
+                continue;
+            }
+            Matcher python = PYTHON_LOCATION.matcher(line);
+            if (python.find()) {
+                for (int j = i + 1; j < lines.length; j++) {
+                    if (PYTHON_LOCATION.matcher(lines[j]).find()) {
+                        break;
+                    }
+                    Matcher error = PYTHON_ERROR.matcher(lines[j].trim());
+                    if (error.matches()) {
+                        diagnostics.add(create(python.group(1), Integer.parseInt(python.group(2)), error.group(1),
+                            error.group(2), projectDirectory));
+                        i = j;
+                        break;
+                    }
+                }
+                continue;
+            }
+            Matcher maven = MAVEN_STYLE.matcher(line);
+            if (maven.matches()) {
+                diagnostics.add(create(maven.group(1), Integer.parseInt(maven.group(2)), "", maven.group(3),
+                    projectDirectory));
+                continue;
+            }
+            Matcher paren = PAREN_STYLE.matcher(line);
+            if (paren.matches()) {
+                diagnostics.add(create(paren.group(1), Integer.parseInt(paren.group(2)), paren.group(3),
+                    paren.group(4), projectDirectory));
+                continue;
+            }
+            Matcher colon = COLON_STYLE.matcher(line);
+            if (colon.matches() && !WARNING.matcher(line).find() && !colon.group(4).startsWith("note:")) {
+                diagnostics.add(create(colon.group(1), Integer.parseInt(colon.group(2)), normalizeCode(colon.group(3)),
+                    colon.group(4), projectDirectory));
+            }
+        }
+        if (diagnostics.isEmpty()) {
+            for (String line : lines) {
+                if (LogSeverity.classify(line) == LogSeverity.ERROR) {
+                    diagnostics.add(new BuildDiagnostic("", 0, "", NUMBERS.matcher(collapse(line)).replaceAll("#")));
+                }
+            }
+        }
+        return deduplicate(diagnostics);
+    }
+
+    /**
+     * Identities of {@code diagnostics}; repeated identical errors are numbered so that fixing
+     * one of several copies still counts as a change.
+     */
+    public static Set<String> keys(List<BuildDiagnostic> diagnostics) {
+        Set<String> keys = new LinkedHashSet<>();
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (BuildDiagnostic diagnostic : diagnostics) {
+            String key = diagnostic.key();
+            int occurrence = occurrences.merge(key, 1, Integer::sum);
+            keys.add(occurrence == 1 ? key : key + '#' + occurrence);
+        }
+        return keys;
+    }
+
+    private static BuildDiagnostic create(String file, int line, String code, String message, String projectDirectory) {
+        String path = file.trim().replace('\\', '/');
+        if (projectDirectory != null && !projectDirectory.isEmpty()) {
+            String prefix = projectDirectory.replace('\\', '/');
+            prefix = prefix.endsWith("/") ? prefix : prefix + '/';
+            if (path.startsWith(prefix)) {
+                path = path.substring(prefix.length());
+            }
+        }
+        if (path.startsWith("./")) {
+            path = path.substring(2);
+        }
+        return new BuildDiagnostic(path, line, code, collapse(message));
+    }
+
+    /**
+     * Tools such as MSBuild print each error twice (once per target and once in the summary).
+     */
+    private static List<BuildDiagnostic> deduplicate(List<BuildDiagnostic> diagnostics) {
+        return new ArrayList<>(new LinkedHashSet<>(diagnostics));
+    }
+
+    private static String collapse(String text) {
+        return text.trim().replaceAll("\\s+", " ");
+    }
+
+    private static String normalizeCode(String value) {
+        return value == null ? "" : value.toUpperCase(Locale.ROOT);
+    }
+}
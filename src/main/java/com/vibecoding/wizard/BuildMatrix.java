@@ -0,0 +1,611 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Builds a project once per target operating system when the toolchain produces different
+ * output per OS: .NET runtime identifiers, Go GOOS/GOARCH pairs and Rust target triples.
+ * Every target builds into its own directory below {@value #OUTPUT_ROOT}, so the variants can
+ * run concurrently; at most {@code parallelism} of them run at a time.
+ * <p>
+ * .NET targets are the {@link BuildCommandPlanner} plan with a runtime identifier and an output
+ * directory added, so they keep its {@code --no-restore} and Wine handling. Restores cover all
+ * runtime identifiers of the matrix, so concurrent targets write the same restore output.
+ * <p>
+ * Languages whose build output does not depend on the target OS, and configurations with a
+ * single target, expand to no targets and keep using the plain {@link BuildCommandPlanner} plan.
+ * <p>
+ * Cross builds need a toolchain the host may not have, such as a Rust target and its linker or
+ * a C cross compiler for cgo. {@link #hostToolchain} finds the targets the host cannot build;
+ * those are reported as skipped instead of failing the build, since no code edit can fix them.
+ */
+public final class BuildMatrix {
+    public static final String PARALLELISM_PROPERTY = "vibecodingwizard.buildMatrixParallelism";
+    public static final String OUTPUT_ROOT = "build/matrix";
+    private static final Map<String, Optional<String>> PROBES = new ConcurrentHashMap<>();
+    private static final Pattern TARGET_FRAMEWORKS = Pattern.compile("<TargetFrameworks?>([^<]+)</TargetFrameworks?>");
+    private static final Set<String> DOTNET_SKIPPED_DIRECTORIES = Set.of("bin", "obj", ".git", "node_modules", "build");
+    private static final int DOTNET_SEARCH_DEPTH = 5;
+
+    /**
+     * One build variant.
+     *
+     * @param os Target operating system
+     * @param id Runtime identifier or target name, e.g. {@code win-x64}
+     * @param commands Commands that build the variant, run in order
+     * @param environment Environment added to the build processes
+     * @param outputDirectory Directory the variant builds into
+     */
+    public record Target(TargetOs os, String id, List<List<String>> commands, Map<String, String> environment,
+                         Path outputDirectory) {
+    }
+
+    /**
+     * Decides whether the host can build a target.
+     */
+    @FunctionalInterface
+    public interface Toolchain {
+        /**
+         * @return Why {@code target} cannot be built on this host, or null if it can
+         */
+        String missing(Target target);
+    }
+
+    /**
+     * Outcome of one target.
+     *
+     * @param skipReason Why the target was not built, or null if it was; a skipped target counts as successful
+     */
+    public record TargetResult(Target target, boolean success, int exitCode, long elapsedMillis, String output,
+                               String skipReason) {
+        public TargetResult(Target target, boolean success, int exitCode, long elapsedMillis, String output) {
+            this(target, success, exitCode, elapsedMillis, output, null);
+        }
+
+        public boolean skipped() {
+            return skipReason != null;
+        }
+    }
+
+    public record Report(List<TargetResult> results, long elapsedMillis) {
+        public boolean isSuccess() {
+            return results.stream().allMatch(TargetResult::success);
+        }
+
+        /**
+         * One line per target with its outcome and build time.
+         */
+        public String summary() {
+            StringBuilder summary = new StringBuilder("Build matrix (" + results.size() + " targets, "
+                + formatSeconds(elapsedMillis) + " total):");
+            for (TargetResult result : results) {
+                summary.append(System.lineSeparator());
+                if (result.skipped()) {
+                    summary.append(String.format(Locale.ROOT, "  %-14s skipped: toolchain missing (%s)",
+                        result.target().id(), result.skipReason()));
+                    continue;
+                }
+                summary.append(String.format(Locale.ROOT, "  %-14s %-8s %8s  %s", result.target().id(),
+                    result.success() ? "OK" : "FAILED (" + result.exitCode() + ")",
+                    formatSeconds(result.elapsedMillis()), result.target().outputDirectory()));
+            }
+            return summary.toString();
+        }
+
+        /**
+         * The report as a single build result: successful only if every target that was not
+         * skipped built, with the output of the failed targets.
+         */
+        public ProcessResult toProcessResult() {
+            int exitCode = 0;
+            StringBuilder output = new StringBuilder();
+            for (TargetResult result : results) {
+                if (!result.success()) {
+                    if (exitCode == 0) {
+                        exitCode = result.exitCode() == 0 ? -1 : result.exitCode();
+                    }
+                    output.append("=== ").append(result.target().id()).append(" ===").append(System.lineSeparator())
+                        .append(result.output()).append(System.lineSeparator());
+                }
+            }
+            return new ProcessResult(exitCode, output.toString(), "");
+        }
+    }
+
+    private BuildMatrix() {
+    }
+
+    /**
+     * Same as {@link #expand(ProgrammingLanguage, InitialConfig, Path, BuildCommandPlanner.BuildPlan)}
+     * with the cold {@link BuildCommandPlanner} plan.
+     */
+    public static List<Target> expand(ProgrammingLanguage language, InitialConfig config, Path workingDirectory) {
+        return expand(language, config, workingDirectory,
+            BuildCommandPlanner.plan(language, config != null ? config.getProjectStyle() : null, config));
+    }
+
+    /**
+     * The build variants of {@code config}'s target operating systems, in {@link TargetOs} order.
+     * .NET targets run the commands of {@code plan}, the plan of the plain build.
+     *
+     * @return The targets, or an empty list if a single plain build covers all of them
+     */
+    public static List<Target> expand(ProgrammingLanguage language, InitialConfig config, Path workingDirectory,
+                                      BuildCommandPlanner.BuildPlan plan) {
+        List<Target> targets = new ArrayList<>();
+        if (config == null || config.getTargetOperatingSystems().size() < 2) {
+            return targets;
+        }
+        Path root = workingDirectory.resolve(OUTPUT_ROOT);
+        List<String> frameworks = language == ProgrammingLanguage.CSHARP
+            ? dotnetFrameworks(workingDirectory) : List.of();
+        List<String> rids = config.getTargetOperatingSystems().stream().map(BuildMatrix::dotnetRid).toList();
+        boolean restored = language == ProgrammingLanguage.CSHARP && isDotnetRestoredFor(workingDirectory, rids);
+        for (TargetOs os : config.getTargetOperatingSystems()) {
+            Target target = switch (language) {
+                case CSHARP -> dotnetTarget(os, plan, frameworks, rids, restored, root);
+                case GO -> {
+                    String goos = switch (os) {
+                        case WINDOWS -> "windows";
+                        case LINUX -> "linux";
+                        case MACOS -> "darwin";
+                    };
+                    String goarch = os == TargetOs.MACOS ? "arm64" : "amd64";
+                    Path output = root.resolve(goos + "-" + goarch);
+                    Map<String, String> environment = new LinkedHashMap<>();
+                    environment.put("GOOS", goos);
+                    environment.put("GOARCH", goarch);
+                    if (!(goos + "-" + goarch).equals(hostGoTarget())) {
+                        // Cross builds are pure Go; hostToolchain skips them for projects that need cgo
+                        environment.put("CGO_ENABLED", "0");
+                    }
+                    yield new Target(os, goos + "-" + goarch,
+                        List.of(List.of("go", "build", "-o", output + File.separator, ".")),
+                        Map.copyOf(environment), output);
+                }
+                case RUST -> {
+                    String triple = switch (os) {
+                        case WINDOWS -> "x86_64-pc-windows-gnu";
+                        case LINUX -> "x86_64-unknown-linux-gnu";
+                        case MACOS -> "aarch64-apple-darwin";
+                    };
+                    Path output = root.resolve(triple);
+                    yield new Target(os, triple, List.of(List.of("cargo", "build", "--target", triple,
+                        "--target-dir", output.toString())), Map.of(), output);
+                }
+                default -> null;
+            };
+            if (target == null) {
+                return List.of();
+            }
+            targets.add(target);
+        }
+        return targets;
+    }
+
+    /**
+     * The toolchain of this host for {@code language}: .NET builds every runtime identifier
+     * except non-Windows ones of projects that only target {@code net*-windows}, Go
+     * cross-compiles unless the project uses cgo, and Rust needs the target installed through
+     * rustup and a linker for it, either on PATH or configured for Cargo.
+     */
+    public static Toolchain hostToolchain(ProgrammingLanguage language, Path workingDirectory) {
+        return switch (language) {
+            case CSHARP -> {
+                List<String> frameworks = dotnetFrameworks(workingDirectory);
+                boolean windowsOnly = !frameworks.isEmpty()
+                    && frameworks.stream().allMatch(BuildMatrix::isWindowsFramework);
+                yield target -> windowsOnly && target.os() != TargetOs.WINDOWS
+                    ? String.join(";", frameworks) + " only targets Windows" : null;
+            }
+            case GO -> {
+                boolean cgo = usesCgo(workingDirectory);
+                yield target -> {
+                    String goTarget = target.environment().get("GOOS") + "-" + target.environment().get("GOARCH");
+                    if (!cgo || goTarget.equals(hostGoTarget())) {
+                        return null;
+                    }
+                    return "cgo needs a C cross compiler for " + goTarget;
+                };
+            }
+            case RUST -> target -> missingRustToolchain(target.id(), workingDirectory);
+            default -> target -> null;
+        };
+    }
+
+    /**
+     * The targets of {@code targets} that {@code toolchain} can build.
+     */
+    public static List<Target> buildable(List<Target> targets, Toolchain toolchain) {
+        return targets.stream().filter(target -> toolchain.missing(target) == null).toList();
+    }
+
+    /**
+     * One line naming the targets that will be built and those skipped for a missing toolchain.
+     */
+    public static String describe(List<Target> targets, Toolchain toolchain, Path workingDirectory) {
+        List<String> built = new ArrayList<>();
+        List<String> skipped = new ArrayList<>();
+        for (Target target : targets) {
+            String missing = toolchain.missing(target);
+            if (missing == null) {
+                built.add(target.id());
+            } else {
+                skipped.add(target.id() + ": " + missing);
+            }
+        }
+        String description = "Build matrix " + built + " in " + workingDirectory.resolve(OUTPUT_ROOT);
+        return skipped.isEmpty() ? description : description + ", skipped (toolchain missing) " + skipped;
+    }
+
+    /**
+     * {@code targets} with {@code environment} added to their own environment, which takes precedence.
+     */
+    public static List<Target> withEnvironment(List<Target> targets, Map<String, String> environment) {
+        if (environment.isEmpty()) {
+            return targets;
+        }
+        List<Target> result = new ArrayList<>();
+        for (Target target : targets) {
+            Map<String, String> merged = new LinkedHashMap<>(environment);
+            merged.putAll(target.environment());
+            result.add(new Target(target.os(), target.id(), target.commands(), merged, target.outputDirectory()));
+        }
+        return result;
+    }
+
+    /**
+     * Parallelism from {@value #PARALLELISM_PROPERTY}, by default half the processors, never more
+     * than there are targets.
+     */
+    public static int defaultParallelism(int targets) {
+        int configured = Integer.getInteger(PARALLELISM_PROPERTY,
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        return Math.max(1, Math.min(configured, targets));
+    }
+
+    /**
+     * Builds all {@code targets}, at most {@code parallelism} at a time. Output lines are passed
+     * to {@code outputConsumer} prefixed with the target id.
+     */
+    public static Report run(List<Target> targets, Path workingDirectory, int parallelism,
+                             Consumer<String> outputConsumer) throws InterruptedException {
+        return run(targets, workingDirectory, parallelism, outputConsumer, target -> null);
+    }
+
+    /**
+     * Builds the {@code targets} that {@code toolchain} can build, at most {@code parallelism} at
+     * a time, and reports the others as skipped.
+     */
+    public static Report run(List<Target> targets, Path workingDirectory, int parallelism,
+                             Consumer<String> outputConsumer, Toolchain toolchain) throws InterruptedException {
+        long start = System.nanoTime();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, targets.size())),
+            runnable -> {
+                Thread thread = new Thread(runnable, "build-matrix-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        Set<Process> running = ConcurrentHashMap.newKeySet();
+        try {
+            List<Future<TargetResult>> futures = new ArrayList<>();
+            for (Target target : targets) {
+                String missing = toolchain.missing(target);
+                futures.add(missing != null
+                    ? CompletableFuture.completedFuture(new TargetResult(target, true, 0, 0, "", missing))
+                    : executor.submit(() -> build(target, workingDirectory, outputConsumer, running)));
+            }
+            List<TargetResult> results = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    results.add(new TargetResult(targets.get(i), false, -1, 0, String.valueOf(e.getCause())));
+                }
+            }
+            return new Report(results, (System.nanoTime() - start) / 1_000_000);
+        } catch (InterruptedException e) {
+            running.forEach(Process::destroy);
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TargetResult build(Target target, Path workingDirectory, Consumer<String> outputConsumer,
+                                      Set<Process> running) throws InterruptedException {
+        long start = System.nanoTime();
+        String prefix = "[" + target.id() + "] ";
+        StringBuilder output = new StringBuilder();
+        Consumer<String> lines = line -> {
+            output.append(line).append(System.lineSeparator());
+            if (outputConsumer != null) {
+                outputConsumer.accept(prefix + line);
+            }
+        };
+        try {
+            Files.createDirectories(target.outputDirectory());
+            for (List<String> command : target.commands()) {
+                Process[] started = new Process[1];
+                ProcessResult result;
+                try {
+                    result = ProcessRunner.runWithStreaming(command, workingDirectory, null, lines, process -> {
+                        started[0] = process;
+                        running.add(process);
+                    }, target.environment());
+                } finally {
+                    if (started[0] != null) {
+                        running.remove(started[0]);
+                    }
+                }
+                if (!result.isSuccess()) {
+                    return new TargetResult(target, false, result.getExitCode(), elapsedMillis(start), output.toString());
+                }
+            }
+        } catch (IOException e) {
+            lines.accept("Failed to run build: " + e.getMessage());
+            return new TargetResult(target, false, -1, elapsedMillis(start), output.toString());
+        }
+        return new TargetResult(target, true, 0, elapsedMillis(start), output.toString());
+    }
+
+    private static String dotnetRid(TargetOs os) {
+        return switch (os) {
+            case WINDOWS -> "win-x64";
+            case LINUX -> "linux-x64";
+            case MACOS -> "osx-arm64";
+        };
+    }
+
+    /**
+     * The commands of {@code plan} for one runtime identifier, building into their own output
+     * directory. {@code net*-windows} frameworks are left out for other operating systems; with
+     * several frameworks each builds on its own, as they would overwrite each other's output.
+     */
+    private static Target dotnetTarget(TargetOs os, BuildCommandPlanner.BuildPlan plan, List<String> frameworks,
+                                       List<String> rids, boolean restored, Path root) {
+        String rid = dotnetRid(os);
+        Path output = root.resolve(rid);
+        List<String> buildable = os == TargetOs.WINDOWS ? frameworks
+            : frameworks.stream().filter(framework -> !isWindowsFramework(framework)).toList();
+        List<List<String>> commands = new ArrayList<>();
+        for (List<String> planned : plan.getCommands()) {
+            List<String> command = new ArrayList<>(planned);
+            if (!restored) {
+                // Restore output without these runtime identifiers cannot build them
+                command.remove("--no-restore");
+            }
+            // MSBuild splits property values at ';', so the list separator is escaped
+            command.addAll(List.of("-r", rid, "-p:RuntimeIdentifiers=" + String.join("%3B", rids)));
+            if (buildable.size() == frameworks.size() && frameworks.size() < 2) {
+                commands.add(concat(command, "-o", output.toString()));
+                continue;
+            }
+            for (String framework : buildable) {
+                commands.add(concat(command, "-f", framework, "-o", output.resolve(framework).toString()));
+            }
+        }
+        return new Target(os, rid, List.copyOf(commands), plan.getEnvironment(), output);
+    }
+
+    /**
+     * Target frameworks declared in the .NET project files below {@code directory}.
+     */
+    private static List<String> dotnetFrameworks(Path directory) {
+        Set<String> frameworks = new LinkedHashSet<>();
+        for (Path file : dotnetFiles(directory, name -> name.endsWith(".csproj") || name.endsWith(".fsproj")
+            || name.endsWith(".vbproj") || name.equals("directory.build.props"))) {
+            try {
+                Matcher matcher = TARGET_FRAMEWORKS.matcher(Files.readString(file));
+                while (matcher.find()) {
+                    for (String framework : matcher.group(1).split(";")) {
+                        if (!framework.isBlank() && !framework.contains("$(")) {
+                            frameworks.add(framework.trim());
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // Unreadable project file; its frameworks are not filtered
+            }
+        }
+        return List.copyOf(frameworks);
+    }
+
+    /**
+     * Whether the restore output below {@code directory} covers every runtime identifier in
+     * {@code rids}, so {@code --no-restore} builds for them succeed.
+     */
+    private static boolean isDotnetRestoredFor(Path directory, List<String> rids) {
+        List<Path> assets = dotnetFiles(directory, name -> name.equals("project.assets.json"));
+        if (assets.isEmpty()) {
+            return false;
+        }
+        for (Path file : assets) {
+            try {
+                String content = Files.readString(file);
+                if (!rids.stream().allMatch(rid -> content.contains("/" + rid + "\""))) {
+                    return false;
+                }
+            } catch (IOException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Path> dotnetFiles(Path directory, Predicate<String> name) {
+        if (directory == null || !Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(directory, DOTNET_SEARCH_DEPTH)) {
+            return files.filter(file -> name.test(file.getFileName().toString().toLowerCase(Locale.ROOT)))
+                .filter(file -> Files.isRegularFile(file))
+                .filter(file -> !skippedForDotnet(directory.relativize(file)))
+                .toList();
+        } catch (IOException | UncheckedIOException e) {
+            return List.of();
+        }
+    }
+
+    private static boolean skippedForDotnet(Path relative) {
+        for (int i = 0; i < relative.getNameCount() - 1; i++) {
+            String name = relative.getName(i).toString();
+            // Restore output lives in obj/, so that is searched for it
+            boolean restoreOutput = name.equals("obj") && i == relative.getNameCount() - 2;
+            if (DOTNET_SKIPPED_DIRECTORIES.contains(name) && !restoreOutput) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWindowsFramework(String framework) {
+        return framework.toLowerCase(Locale.ROOT).contains("-windows");
+    }
+
+    private static List<String> concat(List<String> command, String... arguments) {
+        List<String> result = new ArrayList<>(command);
+        result.addAll(List.of(arguments));
+        return List.copyOf(result);
+    }
+
+    private static String missingRustToolchain(String triple, Path workingDirectory) {
+        String host = rustHostTriple();
+        if (host == null) {
+            return "rustc not found";
+        }
+        if (triple.equals(host)) {
+            return null;
+        }
+        String installed = probe(List.of("rustup", "target", "list", "--installed"));
+        if (installed == null || !installed.lines().map(String::trim).toList().contains(triple)) {
+            return "rustup target " + triple + " not installed";
+        }
+        if (linkerConfigured(triple, workingDirectory)) {
+            return null;
+        }
+        String arch = triple.substring(0, triple.indexOf('-'));
+        String linker;
+        if (triple.endsWith("-apple-darwin")) {
+            return host.endsWith("-apple-darwin") ? null : "no macOS linker for " + triple;
+        } else if (triple.endsWith("-pc-windows-gnu")) {
+            linker = arch + "-w64-mingw32-gcc";
+        } else if (triple.endsWith("-unknown-linux-gnu")) {
+            linker = arch + "-linux-gnu-gcc";
+        } else {
+            return null;
+        }
+        return ProbeCache.resolveOnPath(linker) != null ? null : linker + " not found";
+    }
+
+    private static boolean linkerConfigured(String triple, Path workingDirectory) {
+        String variable = "CARGO_TARGET_" + triple.toUpperCase(Locale.ROOT).replace('-', '_') + "_LINKER";
+        if (System.getenv(variable) != null) {
+            return true;
+        }
+        for (String name : List.of(".cargo/config.toml", ".cargo/config")) {
+            try {
+                Path config = workingDirectory.resolve(name);
+                if (Files.isRegularFile(config) && Files.readString(config).contains("[target." + triple + "]")) {
+                    return true;
+                }
+            } catch (IOException e) {
+                // Unreadable config; treat the linker as not configured
+            }
+        }
+        return false;
+    }
+
+    private static String rustHostTriple() {
+        String version = probe(List.of("rustc", "-vV"));
+        if (version == null) {
+            return null;
+        }
+        return version.lines().filter(line -> line.startsWith("host:"))
+            .map(line -> line.substring("host:".length()).trim()).findFirst().orElse(null);
+    }
+
+    /**
+     * Output of a toolchain query, cached for the lifetime of the process, or null if it failed.
+     */
+    private static String probe(List<String> command) {
+        return PROBES.computeIfAbsent(String.join(" ", command), key -> Optional.ofNullable(runProbe(command)))
+            .orElse(null);
+    }
+
+    private static String runProbe(List<String> command) {
+        if (ProbeCache.resolveOnPath(command.get(0)) == null) {
+            return null;
+        }
+        try {
+            ProcessResult result = ProcessRunner.run(command, null, null);
+            return result.isSuccess() ? result.getStdout() : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static boolean usesCgo(Path workingDirectory) {
+        try (var files = Files.walk(workingDirectory)) {
+            return files.filter(file -> file.toString().endsWith(".go") && Files.isRegularFile(file))
+                .filter(file -> !workingDirectory.relativize(file).startsWith("vendor"))
+                .anyMatch(BuildMatrix::importsC);
+        } catch (IOException | UncheckedIOException e) {
+            return false;
+        }
+    }
+
+    private static boolean importsC(Path file) {
+        try {
+            String source = Files.readString(file);
+            return source.contains("import \"C\"") || source.contains("\t\"C\"\n");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static String hostGoTarget() {
+        String name = System.getProperty("os.name", "").toLowerCase(Locale.ROOT);
+        String goos = name.contains("win") ? "windows" : name.contains("mac") ? "darwin" : "linux";
+        String arch = System.getProperty("os.arch", "").toLowerCase(Locale.ROOT);
+        String goarch = arch.equals("aarch64") || arch.equals("arm64") ? "arm64" : "amd64";
+        return goos + "-" + goarch;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static String formatSeconds(long millis) {
+        return String.format(Locale.ROOT, "%.1f s", millis / 1000.0);
+    }
+}
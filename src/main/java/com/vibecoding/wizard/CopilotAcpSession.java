@@ -0,0 +1,394 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A long-lived Copilot CLI process speaking the Agent Client Protocol (newline-delimited
+ * JSON-RPC over stdio). The process is initialized once; every prompt gets a fresh ACP
+ * session so prompts never share conversation context, but they do share the already
+ * started Node runtime and CLI.
+ * <p>
+ * A session runs one prompt at a time. {@link CopilotSessionPool} hands sessions out exclusively.
+ * The CLI's stderr goes to the consumer of the running prompt, like the merged output of a
+ * one-shot run.
+ */
+final class CopilotAcpSession implements Closeable {
+    static final String ACP_FLAG = "--acp";
+    private static final int PROTOCOL_VERSION = 1;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Process process;
+    private final BufferedWriter writer;
+    private final Map<Long, CompletableFuture<JsonNode>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final StringBuilder lineBuffer = new StringBuilder();
+    private final StringBuilder transcript = new StringBuilder();
+    private volatile Consumer<String> outputConsumer;
+    private volatile long firstOutputNanos;
+    private volatile boolean agentStarted;
+    private volatile long lastUsedNanos = System.nanoTime();
+    private volatile boolean readerFinished;
+
+    private CopilotAcpSession(Process process) {
+        this.process = process;
+        this.writer = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        Thread reader = new Thread(this::readMessages, "copilot-acp-" + process.pid());
+        reader.setDaemon(true);
+        reader.start();
+        Thread errorReader = new Thread(this::readErrors, "copilot-acp-stderr-" + process.pid());
+        errorReader.setDaemon(true);
+        errorReader.start();
+    }
+
+    /**
+     * The CLI answered a request with a JSON-RPC error or an unusable result, as opposed to the
+     * process failing; the CLI does not speak the protocol the way this client expects.
+     */
+    static final class ProtocolException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        ProtocolException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Starts the CLI in ACP mode and performs the protocol handshake.
+     *
+     * @param command Base CLI command; {@value #ACP_FLAG} is appended
+     * @throws IOException If the process cannot be started or does not complete the handshake in time
+     */
+    static CopilotAcpSession start(List<String> command, Path workingDirectory, Duration timeout) throws IOException {
+        List<String> acpCommand = new ArrayList<>(command);
+        acpCommand.add(ACP_FLAG);
+        ProcessBuilder builder = new ProcessBuilder(acpCommand);
+        builder.directory(workingDirectory.toFile());
+        CopilotAcpSession session = new CopilotAcpSession(builder.start());
+        try {
+            ObjectNode params = MAPPER.createObjectNode();
+            params.put("protocolVersion", PROTOCOL_VERSION);
+            ObjectNode capabilities = params.putObject("clientCapabilities");
+            capabilities.putObject("fs").put("readTextFile", false).put("writeTextFile", false);
+            capabilities.put("terminal", false);
+            session.request("initialize", params).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return session;
+        } catch (InterruptedException e) {
+            session.close();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while starting Copilot CLI session", e);
+        } catch (ExecutionException | TimeoutException e) {
+            session.close();
+            throw new IOException("Copilot CLI session did not initialize: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs one prompt in a new ACP session rooted at {@code workingDirectory}.
+     * Agent message text is streamed to {@code consumer} line by line.
+     *
+     * @return Exit code 0 if the agent ended its turn normally, with the streamed text as stdout;
+     *         a failed result if the CLI reported an error after the agent had started working
+     * @throws ProtocolException If the CLI rejected the session or the prompt before the agent
+     *         started working on it, so nothing was run
+     */
+    ProcessResult prompt(Path workingDirectory, String prompt, Consumer<String> consumer)
+        throws IOException, InterruptedException {
+        synchronized (lineBuffer) {
+            lineBuffer.setLength(0);
+            transcript.setLength(0);
+        }
+        firstOutputNanos = 0;
+        agentStarted = false;
+        outputConsumer = consumer;
+        try {
+            ObjectNode sessionParams = MAPPER.createObjectNode();
+            sessionParams.put("cwd", workingDirectory.toAbsolutePath().toString());
+            sessionParams.putArray("mcpServers");
+            String sessionId = await(request("session/new", sessionParams)).path("sessionId").asText(null);
+            if (sessionId == null) {
+                throw new ProtocolException("Copilot CLI did not return a session id");
+            }
+
+            ObjectNode promptParams = MAPPER.createObjectNode();
+            promptParams.put("sessionId", sessionId);
+            promptParams.putArray("prompt").addObject().put("type", "text").put("text", prompt);
+            JsonNode result;
+            try {
+                result = await(request("session/prompt", promptParams));
+            } catch (ProtocolException e) {
+                if (!agentStarted) {
+                    throw e;
+                }
+                // The agent may already have changed files, so the prompt must not be run again
+                emit("\n" + e.getMessage() + "\n");
+                synchronized (lineBuffer) {
+                    return new ProcessResult(1, transcript.toString().trim(), "");
+                }
+            }
+            flushLine();
+            String stopReason = result.path("stopReason").asText("");
+            synchronized (lineBuffer) {
+                return new ProcessResult("end_turn".equals(stopReason) ? 0 : 1, transcript.toString().trim(), "");
+            }
+        } finally {
+            outputConsumer = null;
+            lastUsedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * {@link System#nanoTime()} of the first streamed update of the last prompt, or 0 if none arrived.
+     */
+    long firstOutputNanos() {
+        return firstOutputNanos;
+    }
+
+    long lastUsedNanos() {
+        return lastUsedNanos;
+    }
+
+    long pid() {
+        return process.pid();
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        failPending(new IOException("Copilot CLI session closed"));
+    }
+
+    private CompletableFuture<JsonNode> request(String method, JsonNode params) throws IOException {
+        long id = nextId.getAndIncrement();
+        CompletableFuture<JsonNode> future = new CompletableFuture<>();
+        pending.put(id, future);
+        ObjectNode message = MAPPER.createObjectNode();
+        message.put("jsonrpc", "2.0");
+        message.put("id", id);
+        message.put("method", method);
+        message.set("params", params);
+        try {
+            send(message);
+        } catch (IOException e) {
+            pending.remove(id);
+            throw e;
+        }
+        if (readerFinished) {
+            // The reader already failed everything it knew about; do not leave this request waiting
+            failPending(new IOException("Copilot CLI session ended unexpectedly"));
+        }
+        return future;
+    }
+
+    private JsonNode await(CompletableFuture<JsonNode> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException io ? io : new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    private void send(JsonNode message) throws IOException {
+        synchronized (writer) {
+            writer.write(MAPPER.writeValueAsString(message));
+            writer.write('\n');
+            writer.flush();
+        }
+    }
+
+    private void readMessages() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode message;
+                try {
+                    message = MAPPER.readTree(line);
+                } catch (IOException e) {
+                    // Not protocol traffic; show it like regular CLI output
+                    emit(line + "\n");
+                    continue;
+                }
+                dispatch(message);
+            }
+        } catch (IOException e) {
+            // Process terminated
+        }
+        readerFinished = true;
+        failPending(new IOException("Copilot CLI session ended unexpectedly"));
+    }
+
+    private void readErrors() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Consumer<String> consumer = outputConsumer;
+                if (consumer == null) {
+                    // Between prompts there is no log to show it in
+                    System.err.println("Copilot CLI: " + line);
+                    continue;
+                }
+                synchronized (lineBuffer) {
+                    transcript.append(line).append('\n');
+                }
+                consumer.accept(line);
+            }
+        } catch (IOException e) {
+            // Process terminated
+        }
+    }
+
+    private void dispatch(JsonNode message) throws IOException {
+        boolean hasId = message.hasNonNull("id");
+        String method = message.path("method").asText(null);
+        if (method == null && hasId) {
+            CompletableFuture<JsonNode> future = pending.remove(message.get("id").asLong());
+            if (future == null) {
+                return;
+            }
+            if (message.has("error")) {
+                future.completeExceptionally(new ProtocolException("Copilot CLI error: "
+                    + message.get("error").path("message").asText("unknown error")));
+            } else {
+                future.complete(message.path("result"));
+            }
+        } else if ("session/update".equals(method)) {
+            agentStarted = true;
+            handleUpdate(message.path("params").path("update"));
+        } else if ("session/request_permission".equals(method) && hasId) {
+            agentStarted = true;
+            respond(message.get("id"), permissionOutcome(message.path("params").path("options")));
+        } else if (hasId) {
+            ObjectNode error = MAPPER.createObjectNode();
+            error.put("code", -32601);
+            error.put("message", "Method not supported: " + method);
+            ObjectNode response = MAPPER.createObjectNode();
+            response.put("jsonrpc", "2.0");
+            response.set("id", message.get("id"));
+            response.set("error", error);
+            send(response);
+        }
+    }
+
+    private void handleUpdate(JsonNode update) {
+        if (firstOutputNanos == 0) {
+            firstOutputNanos = System.nanoTime();
+        }
+        switch (update.path("sessionUpdate").asText("")) {
+            case "agent_message_chunk" -> emit(update.path("content").path("text").asText(""));
+            case "tool_call" -> {
+                flushLine();
+                emit("● " + update.path("title").asText("tool call") + "\n");
+            }
+            default -> {
+                // Plans, thoughts and tool progress are not shown in the log
+            }
+        }
+    }
+
+    /**
+     * The service already runs the CLI with --allow-all-tools, so any remaining permission
+     * prompt is answered with the first option that allows the call.
+     */
+    private static JsonNode permissionOutcome(JsonNode options) {
+        ObjectNode result = MAPPER.createObjectNode();
+        ObjectNode outcome = result.putObject("outcome");
+        for (JsonNode option : options) {
+            if (option.path("kind").asText("").startsWith("allow")) {
+                outcome.put("outcome", "selected");
+                outcome.put("optionId", option.path("optionId").asText());
+                return result;
+            }
+        }
+        outcome.put("outcome", "cancelled");
+        return result;
+    }
+
+    private void respond(JsonNode id, JsonNode result) throws IOException {
+        ObjectNode response = MAPPER.createObjectNode();
+        response.put("jsonrpc", "2.0");
+        response.set("id", id);
+        response.set("result", result);
+        send(response);
+    }
+
+    private void emit(String text) {
+        List<String> lines = new ArrayList<>();
+        synchronized (lineBuffer) {
+            transcript.append(text);
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '\n' || c == '\r') {
+                    if (lineBuffer.length() > 0) {
+                        lines.add(lineBuffer.toString());
+                        lineBuffer.setLength(0);
+                    }
+                } else {
+                    lineBuffer.append(c);
+                }
+            }
+        }
+        deliver(lines);
+    }
+
+    private void flushLine() {
+        List<String> lines = new ArrayList<>();
+        synchronized (lineBuffer) {
+            if (lineBuffer.length() > 0) {
+                lines.add(lineBuffer.toString());
+                lineBuffer.setLength(0);
+            }
+        }
+        deliver(lines);
+    }
+
+    private void deliver(List<String> lines) {
+        Consumer<String> consumer = outputConsumer;
+        if (consumer != null) {
+            lines.forEach(consumer);
+        }
+    }
+
+    private void failPending(IOException error) {
+        for (Long id : List.copyOf(pending.keySet())) {
+            CompletableFuture<JsonNode> future = pending.remove(id);
+            if (future != null) {
+                future.completeExceptionally(error);
+            }
+        }
+    }
+}
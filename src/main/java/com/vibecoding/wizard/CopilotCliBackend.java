@@ -0,0 +1,167 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Runs prompts with the GitHub Copilot CLI, on a warm pooled process when possible and
+ * otherwise as a one-shot {@code -p} invocation.
+ */
+public final class CopilotCliBackend implements AgentBackend {
+    public static final CopilotCliBackend INSTANCE = new CopilotCliBackend();
+
+    private CopilotCliBackend() {
+    }
+
+    @Override
+    public ProcessResult run(AgentRequest request, Consumer<String> outputConsumer, AgentJobScheduler.Job job)
+        throws IOException, InterruptedException {
+        Path workingDirectory = request.workingDirectory();
+        CopilotSessionPool pool = CopilotSessionPool.shared();
+        try {
+            // Prefer a warm CLI process for this directory; the pool returns null when it cannot provide one
+            ProcessResult pooled = pool.tryRun(launcherCommand(), cliOptions(workingDirectory), workingDirectory,
+                request.prompt(), outputConsumer);
+            if (pooled != null) {
+                return pooled;
+            }
+        } catch (IOException ex) {
+            String message = "Failed to run GitHub Copilot CLI (" + request.context() + "): " + ex.getMessage();
+            throw new IOException(message, ex);
+        }
+
+        // Using agent mode for autonomous task execution
+        List<String> command = launcherCommand();
+        command.add("-p");
+        command.add(request.prompt());
+        command.addAll(cliOptions(workingDirectory));
+
+        long start = System.nanoTime();
+        boolean[] firstOutput = {false};
+        Consumer<String> timedConsumer = line -> {
+            if (!firstOutput[0]) {
+                firstOutput[0] = true;
+                pool.recordSpawnStartup(System.nanoTime() - start, outputConsumer);
+            }
+            if (outputConsumer != null) {
+                outputConsumer.accept(line);
+            }
+        };
+        try {
+            return ProcessRunner.runWithStreaming(command, workingDirectory, null, timedConsumer,
+                process -> job.onCancel(process::destroy));
+        } catch (IOException ex) {
+            String message = "Failed to run GitHub Copilot CLI (" + request.context() + "): " + ex.getMessage();
+            throw new IOException(message, ex);
+        }
+    }
+
+    @Override
+    public ProcessAndResult startInteractive(AgentRequest request, Consumer<String> outputConsumer)
+        throws IOException {
+        // Using agent mode for autonomous task execution with interactive I/O.
+        // Interactive runs need the process's own stdin, so they are never pooled.
+        List<String> command = launcherCommand();
+        command.add("-p");
+        command.add(request.prompt());
+        command.addAll(cliOptions(request.workingDirectory()));
+
+        try {
+            ProcessBuilder builder = new ProcessBuilder(command);
+            builder.directory(request.workingDirectory().toFile());
+            builder.redirectErrorStream(true);
+
+            Process process = builder.start();
+
+            // Thread for reading output and sending to consumer
+            // Use character-based reading to capture all output including progress indicators
+            Thread outputThread = new Thread(() -> {
+                try (java.io.InputStreamReader reader =
+                        new java.io.InputStreamReader(process.getInputStream(), java.nio.charset.StandardCharsets.UTF_8)) {
+                    StringBuilder lineBuilder = new StringBuilder();
+                    int ch;
+                    while ((ch = reader.read()) != -1) {
+                        char c = (char) ch;
+                        if (c == '\n') {
+                            // Complete line - send it
+                            if (outputConsumer != null && lineBuilder.length() > 0) {
+                                outputConsumer.accept(lineBuilder.toString());
+                            }
+                            lineBuilder.setLength(0);
+                        } else if (c == '\r') {
+                            // Carriage return - might be progress indicator, send what we have
+                            if (outputConsumer != null && lineBuilder.length() > 0) {
+                                outputConsumer.accept(lineBuilder.toString());
+                            }
+                            lineBuilder.setLength(0);
+                        } else {
+                            lineBuilder.append(c);
+                        }
+                    }
+                    // Send any remaining content
+                    if (outputConsumer != null && lineBuilder.length() > 0) {
+                        outputConsumer.accept(lineBuilder.toString());
+                    }
+                } catch (IOException e) {
+                    // Process terminated
+                }
+            });
+            outputThread.start();
+
+            return new ProcessAndResult(process, process.getOutputStream(), outputThread);
+        } catch (IOException ex) {
+            String message = "Failed to run GitHub Copilot CLI (" + request.context() + "): " + ex.getMessage();
+            throw new IOException(message, ex);
+        }
+    }
+
+    /**
+     * Starts the CLI directly with node when its entry point is known, which skips npx's
+     * package resolution; otherwise falls back to npx.
+     */
+    private static List<String> launcherCommand() {
+        List<String> direct = CopilotCliLocator.shared().launcher();
+        if (direct != null) {
+            return new ArrayList<>(direct);
+        }
+        List<String> command = new ArrayList<>();
+
+        // On Windows, npx is a .cmd file that needs to be run through cmd.exe
+        boolean isWindows = System.getProperty("os.name").toLowerCase().contains("win");
+        if (isWindows) {
+            command.add("cmd.exe");
+            command.add("/c");
+        }
+
+        command.add("npx");
+        command.add("@github/copilot");
+        return command;
+    }
+
+    /**
+     * Options shared by one-shot and pooled runs: tool permissions, the directories the agent
+     * may access and the model.
+     */
+    private static List<String> cliOptions(Path workingDirectory) {
+        List<String> command = new ArrayList<>();
+        command.add("--allow-all-tools");
+        // Add the working directory to allowed directories
+        command.add("--add-dir");
+        command.add(workingDirectory.toAbsolutePath().toString());
+
+        // Also add the parent directory to allow creating the project directory if needed
+        Path parentDir = workingDirectory.toAbsolutePath().getParent();
+        if (parentDir != null) {
+            command.add("--add-dir");
+            command.add(parentDir.toString());
+        }
+
+        command.add("--model");
+        command.add("claude-sonnet-4.5");
+        return command;
+    }
+}
@@ -0,0 +1,302 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Finds the JavaScript entry point of the globally installed {@code @github/copilot} package so
+ * the CLI can be started with {@code node <entry>} instead of going through npx.
+ * <p>
+ * The resolved entry point is cached in {@code ~/.vibe-coding-wizard/copilot-cli.properties}
+ * together with the package version and a stamp (modification time and size) of its
+ * {@code package.json}. A lookup only re-checks that stamp; installing, upgrading or removing
+ * the package changes it and triggers a new resolution.
+ */
+public final class CopilotCliLocator {
+    private static final String PACKAGE_SCOPE = "@github";
+    private static final String PACKAGE_NAME = "copilot";
+    private static final String CACHE_FILE_NAME = "copilot-cli.properties";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final CopilotCliLocator SHARED = new CopilotCliLocator(defaultCacheFile(),
+        CopilotCliLocator::defaultNodeModulesRoots, true);
+
+    /**
+     * A resolved installation.
+     *
+     * @param entryPoint Script to run with node
+     * @param version Package version from package.json
+     * @param packageJson The package.json the entry point was read from
+     * @param stamp Modification time and size of package.json when it was resolved
+     */
+    public record Installation(Path entryPoint, String version, Path packageJson, String stamp) {
+    }
+
+    private final Path cacheFile;
+    private final Supplier<List<Path>> nodeModulesRoots;
+    private final boolean askNpm;
+    private Installation cached;
+    private boolean cacheLoaded;
+    // npm root -g is slow and rarely changes, so it is asked at most once per run
+    private Path npmRoot;
+    private boolean npmAsked;
+
+    /**
+     * @param cacheFile Where the resolved installation is persisted, or null to keep it in memory only
+     * @param nodeModulesRoots Global {@code node_modules} directories to search
+     * @param askNpm Whether to fall back to {@code npm root -g} when none of the roots has the package
+     */
+    public CopilotCliLocator(Path cacheFile, Supplier<List<Path>> nodeModulesRoots, boolean askNpm) {
+        this.cacheFile = cacheFile;
+        this.nodeModulesRoots = nodeModulesRoots;
+        this.askNpm = askNpm;
+    }
+
+    public static CopilotCliLocator shared() {
+        return SHARED;
+    }
+
+    /**
+     * The current installation, re-resolved only if the cached one changed on disk.
+     *
+     * @return The installation, or null if the package is not installed globally
+     */
+    public synchronized Installation locate() {
+        if (!cacheLoaded) {
+            cached = loadCache();
+            cacheLoaded = true;
+        }
+        if (cached != null && cached.stamp().equals(stamp(cached.packageJson()))
+                && Files.isRegularFile(cached.entryPoint())) {
+            return cached;
+        }
+        Installation resolved = resolve();
+        if (resolved == null ? cached != null : !resolved.equals(cached)) {
+            cached = resolved;
+            saveCache();
+        }
+        return cached;
+    }
+
+    /**
+     * Command that starts the CLI directly with node, or null if node or the package cannot be found.
+     */
+    public List<String> launcher() {
+        Installation installation = locate();
+        Path node = ProbeCache.resolveOnPath("node");
+        if (installation == null || node == null) {
+            return null;
+        }
+        return List.of(node.toString(), installation.entryPoint().toString());
+    }
+
+    /**
+     * package.json files whose appearance or change means the installation changed. Includes the
+     * cached location, which may come from {@code npm root -g} and not be one of the known layouts.
+     */
+    public synchronized List<Path> packageFiles() {
+        List<Path> files = new ArrayList<>();
+        for (Path root : nodeModulesRoots.get()) {
+            files.add(packageJsonIn(root));
+        }
+        if (cached != null && !files.contains(cached.packageJson())) {
+            files.add(cached.packageJson());
+        }
+        return files;
+    }
+
+    private Installation resolve() {
+        for (Path root : nodeModulesRoots.get()) {
+            Installation installation = readPackage(packageJsonIn(root));
+            if (installation != null) {
+                return installation;
+            }
+        }
+        if (askNpm) {
+            if (!npmAsked) {
+                npmRoot = npmGlobalRoot();
+                npmAsked = true;
+            }
+            if (npmRoot != null) {
+                return readPackage(packageJsonIn(npmRoot));
+            }
+        }
+        return null;
+    }
+
+    private static Installation readPackage(Path packageJson) {
+        String stamp = stamp(packageJson);
+        if (stamp.isEmpty()) {
+            return null;
+        }
+        try {
+            JsonNode manifest = MAPPER.readTree(packageJson.toFile());
+            String entry = binEntry(manifest.path("bin"));
+            if (entry == null) {
+                entry = manifest.path("main").asText(null);
+            }
+            if (entry == null) {
+                return null;
+            }
+            Path entryPoint = packageJson.getParent().resolve(entry).normalize();
+            if (!Files.isRegularFile(entryPoint)) {
+                return null;
+            }
+            return new Installation(entryPoint, manifest.path("version").asText("unknown"), packageJson, stamp);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String binEntry(JsonNode bin) {
+        if (bin.isTextual()) {
+            return bin.asText();
+        }
+        if (bin.isObject()) {
+            if (bin.hasNonNull(PACKAGE_NAME)) {
+                return bin.get(PACKAGE_NAME).asText();
+            }
+            Iterator<JsonNode> values = bin.elements();
+            if (values.hasNext()) {
+                return values.next().asText();
+            }
+        }
+        return null;
+    }
+
+    private static String stamp(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis() + ";" + Files.size(file);
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private static Path packageJsonIn(Path nodeModules) {
+        return nodeModules.resolve(PACKAGE_SCOPE).resolve(PACKAGE_NAME).resolve("package.json");
+    }
+
+    /**
+     * Global {@code node_modules} locations derived from the npm on PATH without running it.
+     */
+    private static List<Path> defaultNodeModulesRoots() {
+        List<Path> roots = new ArrayList<>();
+        boolean windows = isWindows();
+        if (windows) {
+            String appData = System.getenv("APPDATA");
+            if (appData != null) {
+                roots.add(Paths.get(appData, "npm", "node_modules"));
+            }
+        }
+        Path npm = ProbeCache.resolveOnPath("npm");
+        Path binDir = npm == null ? null : npm.toAbsolutePath().getParent();
+        if (binDir != null) {
+            if (windows) {
+                // Windows layout: <prefix>\npm.cmd -> <prefix>\node_modules
+                roots.add(binDir.resolve("node_modules"));
+            } else if (binDir.getParent() != null) {
+                // Unix layout: <prefix>/bin/npm -> <prefix>/lib/node_modules
+                roots.add(binDir.getParent().resolve(Paths.get("lib", "node_modules")));
+            }
+        }
+        return roots;
+    }
+
+    private static Path npmGlobalRoot() {
+        List<String> command = new ArrayList<>();
+        if (isWindows()) {
+            command.add("cmd.exe");
+            command.add("/c");
+        }
+        command.add("npm");
+        command.add("root");
+        command.add("-g");
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            process.getOutputStream().close();
+            if (!process.waitFor(15, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return null;
+            }
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return process.exitValue() == 0 && !output.isEmpty() ? Paths.get(output) : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private Installation loadCache() {
+        if (cacheFile == null || !Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(cacheFile)) {
+            properties.load(in);
+            String entry = properties.getProperty("entryPoint");
+            String packageJson = properties.getProperty("packageJson");
+            String stamp = properties.getProperty("stamp");
+            if (entry == null || packageJson == null || stamp == null) {
+                return null;
+            }
+            return new Installation(Paths.get(entry), properties.getProperty("version", "unknown"),
+                Paths.get(packageJson), stamp);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable Copilot CLI cache: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void saveCache() {
+        if (cacheFile == null) {
+            return;
+        }
+        try {
+            if (cached == null) {
+                Files.deleteIfExists(cacheFile);
+                return;
+            }
+            Properties properties = new Properties();
+            properties.setProperty("entryPoint", cached.entryPoint().toString());
+            properties.setProperty("version", cached.version());
+            properties.setProperty("packageJson", cached.packageJson().toString());
+            properties.setProperty("stamp", cached.stamp());
+            Files.createDirectories(cacheFile.getParent());
+            Path temp = cacheFile.resolveSibling(CACHE_FILE_NAME + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "Vibe Coding Wizard Copilot CLI location");
+            }
+            Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("Failed to save Copilot CLI cache: " + e.getMessage());
+        }
+    }
+
+    private static Path defaultCacheFile() {
+        String homeDir = System.getProperty("user.home");
+        return homeDir == null ? null : Paths.get(homeDir, ".vibe-coding-wizard", CACHE_FILE_NAME);
+    }
+
+    private static boolean isWindows() {
+        return System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("win");
+    }
+}
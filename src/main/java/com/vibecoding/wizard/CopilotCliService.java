@@ -2,27 +2,63 @@
 package com.vibecoding.wizard;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.function.Consumer;
 
 public final class CopilotCliService {
     private final Path workingDirectory;
-    private Process currentProcess = null;
+    private final String projectKey;
+    private final AgentBackend backend;
+    private volatile Process currentProcess = null;
+    private volatile AgentJobScheduler.Job currentJob;
 
     public CopilotCliService(Path workingDirectory) {
+        this(workingDirectory, workingDirectory);
+    }
+
+    /**
+     * @param workingDirectory Directory the agent runs in, e.g. a module directory
+     * @param projectDirectory Project the run belongs to; the scheduler queues projects fairly
+     */
+    public CopilotCliService(Path workingDirectory, Path projectDirectory) {
+        this(workingDirectory, projectDirectory, AgentBackend.configured());
+    }
+
+    /**
+     * @param backend Runs the prompts, e.g. a {@link SimulatedAgentBackend} for offline benchmarks
+     */
+    public CopilotCliService(Path workingDirectory, Path projectDirectory, AgentBackend backend) {
         this.workingDirectory = workingDirectory;
+        this.backend = backend;
+        Path project = projectDirectory != null ? projectDirectory : workingDirectory;
+        this.projectKey = projectKey(project);
+    }
+
+    /**
+     * Cancels every queued and running agent run of {@code projectDirectory}, e.g. when the
+     * project is closed.
+     *
+     * @return Number of runs cancelled
+     */
+    public static int cancelAll(Path projectDirectory) {
+        return projectDirectory == null ? 0 : AgentJobScheduler.shared().cancelAll(projectKey(projectDirectory));
+    }
+
+    private static String projectKey(Path projectDirectory) {
+        return projectDirectory.toAbsolutePath().normalize().toString();
     }
 
     public ProcessResult runPrimaryTask(TaskType taskType, String prompt) throws IOException, InterruptedException {
-        return executePrompt(prompt, "primary " + taskType.name().toLowerCase(), null);
+        return executePrompt(prompt, "primary " + taskType.name().toLowerCase(), 0, null, AgentJobScheduler.Priority.BACKGROUND);
     }
 
     public ProcessResult runPrimaryTask(TaskType taskType, String prompt, Consumer<String> outputConsumer) 
         throws IOException, InterruptedException {
-        return executePrompt(prompt, "primary " + taskType.name().toLowerCase(), outputConsumer);
+        return executePrompt(prompt, "primary " + taskType.name().toLowerCase(), 0, outputConsumer,
+            AgentJobScheduler.Priority.BACKGROUND);
     }
 
     /**
@@ -31,16 +67,18 @@ public final class CopilotCliService {
      */
     public ProcessAndResult runPrimaryTaskInteractive(TaskType taskType, String prompt, Consumer<String> outputConsumer) 
         throws IOException, InterruptedException {
-        return executePromptInteractive(prompt, "primary " + taskType.name().toLowerCase(), outputConsumer);
+        return executePromptInteractive(prompt, "primary " + taskType.name().toLowerCase(), 0, outputConsumer,
+            AgentJobScheduler.Priority.FOREGROUND);
     }
 
     public ProcessResult runFixAttempt(String prompt, int attemptNumber) throws IOException, InterruptedException {
-        return executePrompt(prompt, "fix attempt " + attemptNumber, null);
+        return executePrompt(prompt, "fix attempt " + attemptNumber, attemptNumber, null, AgentJobScheduler.Priority.BACKGROUND);
     }
 
     public ProcessResult runFixAttempt(String prompt, int attemptNumber, Consumer<String> outputConsumer) 
         throws IOException, InterruptedException {
-        return executePrompt(prompt, "fix attempt " + attemptNumber, outputConsumer);
+        return executePrompt(prompt, "fix attempt " + attemptNumber, attemptNumber, outputConsumer,
+            AgentJobScheduler.Priority.BACKGROUND);
     }
 
     /**
@@ -48,7 +86,8 @@ public final class CopilotCliService {
      */
     public ProcessAndResult runFixAttemptInteractive(String prompt, int attemptNumber, Consumer<String> outputConsumer) 
         throws IOException, InterruptedException {
-        return executePromptInteractive(prompt, "fix attempt " + attemptNumber, outputConsumer);
+        return executePromptInteractive(prompt, "fix attempt " + attemptNumber, attemptNumber, outputConsumer,
+            AgentJobScheduler.Priority.FOREGROUND);
     }
 
     /**
@@ -56,138 +95,96 @@ public final class CopilotCliService {
      */
     public ProcessAndResult runFinetuningInteractive(String prompt, Consumer<String> outputConsumer) 
         throws IOException, InterruptedException {
-        return executePromptInteractive(prompt, "finetuning", outputConsumer);
+        return executePromptInteractive(prompt, "finetuning", -1, outputConsumer, AgentJobScheduler.Priority.INTERACTIVE);
     }
 
     public OutputStream getCurrentProcessInput() {
         return currentProcess != null ? currentProcess.getOutputStream() : null;
     }
 
-    private ProcessResult executePrompt(String prompt, String context, Consumer<String> outputConsumer)
+    /**
+     * Cancels this service's current agent run, whether it is still queued or already running.
+     *
+     * @return false if nothing was queued or running
+     */
+    public boolean cancel() {
+        AgentJobScheduler.Job job = currentJob;
+        return job != null && job.cancel();
+    }
+
+    private ProcessResult executePrompt(String prompt, String context, int attempt, Consumer<String> outputConsumer,
+                                        AgentJobScheduler.Priority priority)
         throws IOException, InterruptedException {
         if (Boolean.getBoolean("vibecodingwizard.skipCopilotCli")) {
             return new ProcessResult(0, "Skipped Copilot CLI execution for context: " + context, "");
         }
-        // Using agent mode for autonomous task execution
-        // Build command with --add-dir flags for working directory and its parent
-        List<String> command = new ArrayList<>();
-        
-        // On Windows, npx is a .cmd file that needs to be run through cmd.exe
-        boolean isWindows = System.getProperty("os.name").toLowerCase().contains("win");
-        if (isWindows) {
-            command.add("cmd.exe");
-            command.add("/c");
-        }
-        
-        command.add("npx");
-        command.add("@github/copilot");
-        command.add("-p");
-        command.add(prompt);
-        command.add("--allow-all-tools");
-        // Add the working directory to allowed directories
-        command.add("--add-dir");        
-        command.add(workingDirectory.toAbsolutePath().toString());
-        
-        // Also add the parent directory to allow creating the project directory if needed
-        Path parentDir = workingDirectory.toAbsolutePath().getParent();
-        if (parentDir != null) {
-            command.add("--add-dir");
-            command.add(parentDir.toString());
-        }
-        
-        command.add("--model");
-        command.add("claude-sonnet-4.5");
-
         try {
-            return ProcessRunner.runWithStreaming(command, workingDirectory, null, outputConsumer);
-        } catch (IOException ex) {
-            String message = "Failed to run GitHub Copilot CLI (" + context + "): " + ex.getMessage();
-            throw new IOException(message, ex);
+            return AgentJobScheduler.shared().run(projectKey, priority, job -> {
+                currentJob = job;
+                try {
+                    logWait(job, context, outputConsumer);
+                    return backend.run(new AgentBackend.AgentRequest(workingDirectory, prompt, context, attempt),
+                        outputConsumer, job);
+                } finally {
+                    currentJob = null;
+                }
+            });
+        } catch (CancellationException e) {
+            throw cancelled(context, e);
         }
     }
 
-    private ProcessAndResult executePromptInteractive(String prompt, String context, Consumer<String> outputConsumer)
+    private ProcessAndResult executePromptInteractive(String prompt, String context, int attempt,
+                                                      Consumer<String> outputConsumer,
+                                                      AgentJobScheduler.Priority priority)
         throws IOException, InterruptedException {
         if (Boolean.getBoolean("vibecodingwizard.skipCopilotCli")) {
             throw new IOException("Cannot run interactive mode in skip mode");
         }
-        // Using agent mode for autonomous task execution with interactive I/O
-        List<String> command = new ArrayList<>();
-        
-        // On Windows, npx is a .cmd file that needs to be run through cmd.exe
-        boolean isWindows = System.getProperty("os.name").toLowerCase().contains("win");
-        if (isWindows) {
-            command.add("cmd.exe");
-            command.add("/c");
-        }
-        
-        command.add("npx");
-        command.add("@github/copilot");
-        command.add("-p");
-        command.add(prompt);
-        command.add("--allow-all-tools");
-
-        // Add the working directory to allowed directories
-        command.add("--add-dir");
-        command.add(workingDirectory.toAbsolutePath().toString());
-        
-        // Also add the parent directory to allow creating the project directory if needed
-        Path parentDir = workingDirectory.toAbsolutePath().getParent();
-        if (parentDir != null) {
-            command.add("--add-dir");
-            command.add(parentDir.toString());
+        // The slot is held until the interactive process exits, not just until it has started
+        AgentJobScheduler.Job job;
+        try {
+            job = AgentJobScheduler.shared().acquire(projectKey, priority);
+        } catch (CancellationException e) {
+            throw cancelled(context, e);
         }
-
-        command.add("--model");
-        command.add("claude-sonnet-4.5");
-        
+        currentJob = job;
+        logWait(job, context, outputConsumer);
         try {
-            ProcessBuilder builder = new ProcessBuilder(command);
-            builder.directory(workingDirectory.toFile());
-            builder.redirectErrorStream(true);
-            
-            Process process = builder.start();
+            ProcessAndResult started = backend.startInteractive(
+                new AgentBackend.AgentRequest(workingDirectory, prompt, context, attempt), outputConsumer);
+            Process process = started.getProcess();
             currentProcess = process;
-            
-            // Thread for reading output and sending to consumer
-            // Use character-based reading to capture all output including progress indicators
-            Thread outputThread = new Thread(() -> {
-                try (java.io.InputStreamReader reader = 
-                        new java.io.InputStreamReader(process.getInputStream(), java.nio.charset.StandardCharsets.UTF_8)) {
-                    StringBuilder lineBuilder = new StringBuilder();
-                    int ch;
-                    while ((ch = reader.read()) != -1) {
-                        char c = (char) ch;
-                        if (c == '\n') {
-                            // Complete line - send it
-                            if (outputConsumer != null && lineBuilder.length() > 0) {
-                                outputConsumer.accept(lineBuilder.toString());
-                            }
-                            lineBuilder.setLength(0);
-                        } else if (c == '\r') {
-                            // Carriage return - might be progress indicator, send what we have
-                            if (outputConsumer != null && lineBuilder.length() > 0) {
-                                outputConsumer.accept(lineBuilder.toString());
-                            }
-                            lineBuilder.setLength(0);
-                        } else {
-                            lineBuilder.append(c);
-                        }
-                    }
-                    // Send any remaining content
-                    if (outputConsumer != null && lineBuilder.length() > 0) {
-                        outputConsumer.accept(lineBuilder.toString());
-                    }
-                } catch (IOException e) {
-                    // Process terminated
+            job.onCancel(process::destroy);
+            process.onExit().whenComplete((exited, error) -> {
+                job.finish();
+                if (currentJob == job) {
+                    currentJob = null;
+                }
+                if (currentProcess == process) {
+                    currentProcess = null;
                 }
             });
-            outputThread.start();
-            
-            return new ProcessAndResult(process, process.getOutputStream(), outputThread);
-        } catch (IOException ex) {
-            String message = "Failed to run GitHub Copilot CLI (" + context + "): " + ex.getMessage();
-            throw new IOException(message, ex);
+            return started;
+        } catch (IOException | RuntimeException ex) {
+            job.finish();
+            currentJob = null;
+            throw ex;
+        }
+    }
+
+    private static InterruptedIOException cancelled(String context, CancellationException cause) {
+        InterruptedIOException cancelled = new InterruptedIOException("Copilot CLI " + context + " was cancelled");
+        cancelled.initCause(cause);
+        return cancelled;
+    }
+
+    private static void logWait(AgentJobScheduler.Job job, String context, Consumer<String> outputConsumer) {
+        long waited = job.waitMillis();
+        if (waited > 0 && outputConsumer != null) {
+            AgentJobScheduler.Metrics metrics = AgentJobScheduler.shared().metrics();
+            outputConsumer.accept("Copilot CLI " + context + " waited " + waited + " ms for an agent slot ("
+                + metrics.running() + "/" + metrics.maxConcurrency() + " running, " + metrics.queued() + " queued)");
         }
     }
 }
@@ -0,0 +1,278 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps warm Copilot CLI processes per working directory so sequential prompts do not each pay
+ * for npx resolution, Node startup and CLI initialization.
+ * <p>
+ * Reuse needs a CLI that offers the persistent {@code --acp} mode; this is detected once by
+ * reading the CLI help. Without it, or if a warm process cannot be started, {@link #tryRun}
+ * returns null and the caller spawns a one-shot process as before; the same happens when a
+ * session rejects a request, after which the CLI is no longer pooled. Either way the startup
+ * overhead of each prompt (time until the first output) is recorded and reported to the log.
+ */
+public final class CopilotSessionPool {
+    public static final String DISABLE_PROPERTY = "vibecodingwizard.disableCopilotSessionPool";
+    private static final int MAX_IDLE_PER_DIRECTORY = 1;
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration HELP_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final CopilotSessionPool SHARED = new CopilotSessionPool(MAX_IDLE_PER_DIRECTORY, IDLE_TIMEOUT);
+
+    private final int maxIdlePerKey;
+    private final Duration idleTimeout;
+    private final Map<String, Deque<CopilotAcpSession>> idle = new HashMap<>();
+    private final Map<String, Boolean> supportByLauncher = new HashMap<>();
+    private final StartupStats warmStats = new StartupStats();
+    private final StartupStats newSessionStats = new StartupStats();
+    private final StartupStats spawnStats = new StartupStats();
+    private ScheduledExecutorService reaper;
+    private boolean shutdownHookInstalled;
+
+    public CopilotSessionPool(int maxIdlePerKey, Duration idleTimeout) {
+        this.maxIdlePerKey = maxIdlePerKey;
+        this.idleTimeout = idleTimeout;
+    }
+
+    public static CopilotSessionPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Runs {@code prompt} on a warm CLI process for {@code launcher}, {@code options} and
+     * {@code workingDirectory}, starting one if none is idle.
+     *
+     * @param launcher Command that starts the CLI, e.g. {@code npx @github/copilot}
+     * @param options CLI options for the session, without {@code -p}
+     * @param outputConsumer Receives the agent's output, the CLI's stderr and the startup overhead
+     * @return The result, or null if persistent sessions are unavailable or the session rejected the
+     *         prompt before running it, and the caller should spawn
+     * @throws IOException If the prompt was sent but the session process failed while running it
+     */
+    public ProcessResult tryRun(List<String> launcher, List<String> options, Path workingDirectory, String prompt,
+                                Consumer<String> outputConsumer) throws IOException, InterruptedException {
+        if (Boolean.getBoolean(DISABLE_PROPERTY) || !supportsPersistentSessions(launcher, workingDirectory)) {
+            return null;
+        }
+        List<String> command = new ArrayList<>(launcher);
+        command.addAll(options);
+        String key = workingDirectory.toAbsolutePath().normalize() + "\u0000" + commandKey(command);
+        long start = System.nanoTime();
+        CopilotAcpSession session = takeIdle(key);
+        boolean warm = session != null;
+        if (session == null) {
+            try {
+                session = CopilotAcpSession.start(command, workingDirectory, START_TIMEOUT);
+            } catch (IOException e) {
+                System.err.println("Copilot CLI session could not be started, spawning instead: " + e.getMessage());
+                synchronized (this) {
+                    supportByLauncher.put(commandKey(launcher), false);
+                }
+                return null;
+            }
+        }
+
+        boolean reusable = false;
+        try {
+            ProcessResult result = session.prompt(workingDirectory, prompt, outputConsumer);
+            reusable = session.isAlive();
+            return result;
+        } catch (CopilotAcpSession.ProtocolException e) {
+            System.err.println("Copilot CLI session rejected the prompt, spawning instead: " + e.getMessage());
+            synchronized (this) {
+                supportByLauncher.put(commandKey(launcher), false);
+            }
+            return null;
+        } finally {
+            long firstOutput = session.firstOutputNanos();
+            if (firstOutput != 0) {
+                recordStartup(warm ? warmStats : newSessionStats, warm ? "warm session" : "new session",
+                    firstOutput - start, outputConsumer);
+            }
+            if (reusable) {
+                release(key, session);
+            } else {
+                session.close();
+            }
+        }
+    }
+
+    /**
+     * Records the startup overhead of a prompt that was run by spawning a one-shot process.
+     *
+     * @param outputConsumer Log the overhead is reported to; null to only record it
+     */
+    public void recordSpawnStartup(long nanos, Consumer<String> outputConsumer) {
+        recordStartup(spawnStats, "spawned", nanos, outputConsumer);
+    }
+
+    /**
+     * Average time to first output for prompts on reused processes versus one-shot spawns. Prompts
+     * that had to start a new session pay for the process start and the session handshake, so
+     * they are reported separately and count as neither.
+     */
+    public String report() {
+        return "Copilot CLI startup overhead: warm " + warmStats + ", cold " + spawnStats
+            + ", new session " + newSessionStats;
+    }
+
+    /**
+     * Number of idle warm processes across all working directories.
+     */
+    public synchronized int idleCount() {
+        int count = 0;
+        for (Deque<CopilotAcpSession> sessions : idle.values()) {
+            count += sessions.size();
+        }
+        return count;
+    }
+
+    /**
+     * Stops every idle process. Sessions currently running a prompt are closed when they finish.
+     */
+    public synchronized void shutdown() {
+        for (Deque<CopilotAcpSession> sessions : idle.values()) {
+            sessions.forEach(CopilotAcpSession::close);
+        }
+        idle.clear();
+        if (reaper != null) {
+            reaper.shutdownNow();
+            reaper = null;
+        }
+    }
+
+    private boolean supportsPersistentSessions(List<String> launcher, Path workingDirectory) {
+        synchronized (this) {
+            Boolean known = supportByLauncher.get(commandKey(launcher));
+            if (known != null) {
+                return known;
+            }
+        }
+        boolean supported = helpMentionsAcp(launcher, workingDirectory);
+        synchronized (this) {
+            supportByLauncher.put(commandKey(launcher), supported);
+        }
+        return supported;
+    }
+
+    private static boolean helpMentionsAcp(List<String> launcher, Path workingDirectory) {
+        List<String> helpCommand = new ArrayList<>(launcher);
+        helpCommand.add("--help");
+        try {
+            ProcessBuilder builder = new ProcessBuilder(helpCommand);
+            builder.directory(workingDirectory.toFile());
+            builder.redirectErrorStream(true);
+            Process process = builder.start();
+            process.getOutputStream().close();
+            // --help output fits in the pipe buffer, so it can be read after the process exits
+            if (!process.waitFor(HELP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+                return false;
+            }
+            String help = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            return help.contains(CopilotAcpSession.ACP_FLAG);
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private synchronized CopilotAcpSession takeIdle(String key) {
+        Deque<CopilotAcpSession> sessions = idle.get(key);
+        while (sessions != null && !sessions.isEmpty()) {
+            CopilotAcpSession session = sessions.pollFirst();
+            if (session.isAlive()) {
+                return session;
+            }
+            session.close();
+        }
+        return null;
+    }
+
+    private synchronized void release(String key, CopilotAcpSession session) {
+        Deque<CopilotAcpSession> sessions = idle.computeIfAbsent(key, k -> new ArrayDeque<>());
+        if (sessions.size() >= maxIdlePerKey) {
+            session.close();
+            return;
+        }
+        sessions.addFirst(session);
+        startReaper();
+    }
+
+    private void startReaper() {
+        if (!shutdownHookInstalled) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "copilot-session-shutdown"));
+            shutdownHookInstalled = true;
+        }
+        if (reaper == null) {
+            reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "copilot-session-reaper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = Math.max(1, idleTimeout.toSeconds() / 2);
+            reaper.scheduleAtFixedRate(this::closeExpired, period, period, TimeUnit.SECONDS);
+        }
+    }
+
+    private synchronized void closeExpired() {
+        long now = System.nanoTime();
+        for (Deque<CopilotAcpSession> sessions : idle.values()) {
+            Iterator<CopilotAcpSession> iterator = sessions.iterator();
+            while (iterator.hasNext()) {
+                CopilotAcpSession session = iterator.next();
+                if (!session.isAlive() || now - session.lastUsedNanos() > idleTimeout.toNanos()) {
+                    iterator.remove();
+                    session.close();
+                }
+            }
+        }
+        idle.values().removeIf(Deque::isEmpty);
+    }
+
+    private void recordStartup(StartupStats stats, String mode, long nanos, Consumer<String> outputConsumer) {
+        stats.add(nanos);
+        if (outputConsumer != null) {
+            outputConsumer.accept("Copilot CLI startup overhead (" + mode + "): " + nanos / 1_000_000 + " ms. "
+                + report());
+        }
+    }
+
+    private static String commandKey(List<String> command) {
+        return String.join("\u0000", command);
+    }
+
+    private static final class StartupStats {
+        private long count;
+        private long totalNanos;
+
+        synchronized void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return count == 0 ? "n/a" : (totalNanos / count / 1_000_000) + " ms avg over " + count;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs independent environment probes concurrently. Probes with a fingerprint are answered
+ * from the {@link ProbeCache} when a previous success is still valid; otherwise they run on
+ * a pool thread and successful results are recorded for the next start.
+ */
+public final class EnvironmentProbes implements AutoCloseable {
+
+    /**
+     * Outcome of a single probe.
+     *
+     * @param passed Whether the probe succeeded
+     * @param cached Whether the result came from the cache instead of running the probe
+     * @param elapsedMillis Time spent running the probe, or fingerprinting it when cached
+     */
+    public record Result(boolean passed, boolean cached, long elapsedMillis) {
+    }
+
+    private final ProbeCache cache;
+    private final ExecutorService executor;
+
+    public EnvironmentProbes(ProbeCache cache) {
+        this.cache = cache;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "startup-probe-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a cacheable probe.
+     *
+     * @param name Cache key of the probe
+     * @param check The actual check, usually spawning a process
+     * @param binaries Executables the result depends on, resolved against PATH
+     * @param files Additional files or directories the result depends on
+     */
+    public CompletableFuture<Result> submit(String name, Callable<Boolean> check, List<String> binaries, List<Path> files) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            String fingerprint = ProbeCache.fingerprint(binaries, files);
+            if (cache.isValid(name, fingerprint)) {
+                return new Result(true, true, elapsedMillis(start));
+            }
+            boolean passed = call(check);
+            if (passed) {
+                cache.recordSuccess(name, fingerprint);
+            } else {
+                cache.invalidate(name);
+            }
+            return new Result(passed, false, elapsedMillis(start));
+        }, executor);
+    }
+
+    /**
+     * Starts a probe that is always run, for checks whose state is not visible on disk.
+     */
+    public CompletableFuture<Result> submitUncached(Callable<Boolean> check) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            return new Result(call(check), false, elapsedMillis(start));
+        }, executor);
+    }
+
+    /**
+     * Persists the cache and stops probes that are still running.
+     */
+    @Override
+    public void close() {
+        cache.save();
+        executor.shutdownNow();
+    }
+
+    private static boolean call(Callable<Boolean> check) {
+        try {
+            return Boolean.TRUE.equals(check.call());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,333 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The size and modification time of every file below a directory at one point in time. Two
+ * snapshots taken around an agent run give the {@link ChangeSet} of the run: which files it
+ * added, modified and deleted.
+ * <p>
+ * Capturing only reads directory entries and file attributes, never file contents, and walks
+ * subdirectories in parallel on the common fork-join pool, so a tree of 100,000 files takes a
+ * fraction of a second once the file system cache is warm. Content hashes are computed on
+ * request only, see {@link #hash(Collection)}: a file whose hash is known before a run and
+ * that comes back with the same size and content counts as unchanged even if it was rewritten.
+ */
+public final class FileTreeSnapshot {
+    /** Directories that never contain project changes worth reporting. */
+    public static final Set<String> DEFAULT_IGNORED = Set.of(".git", ".gradle", ".idea", ".vs", "__pycache__");
+    private static final int MAX_LISTED_FILES = 20;
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Map<String, Entry> entries;
+
+    private static final class Entry {
+        final long size;
+        final long modifiedNanos;
+        volatile String hash;
+
+        Entry(long size, long modifiedNanos) {
+            this.size = size;
+            this.modifiedNanos = modifiedNanos;
+        }
+    }
+
+    /**
+     * Files that differ between two snapshots, as paths relative to the root with '/' separators,
+     * sorted.
+     *
+     * @param bytesChanged Size of the added and modified files plus the former size of the deleted ones
+     */
+    public record ChangeSet(Path root, List<String> added, List<String> modified, List<String> deleted,
+                            long bytesChanged) {
+        public ChangeSet {
+            added = List.copyOf(added);
+            modified = List.copyOf(modified);
+            deleted = List.copyOf(deleted);
+        }
+
+        public static ChangeSet empty(Path root) {
+            return new ChangeSet(root, List.of(), List.of(), List.of(), 0);
+        }
+
+        public boolean isEmpty() {
+            return added.isEmpty() && modified.isEmpty() && deleted.isEmpty();
+        }
+
+        public int size() {
+            return added.size() + modified.size() + deleted.size();
+        }
+
+        /**
+         * The added and modified files, e.g. for an incremental check of just the changed sources.
+         */
+        public List<Path> changedFiles() {
+            List<Path> files = new ArrayList<>(added.size() + modified.size());
+            for (String path : added) {
+                files.add(root.resolve(path));
+            }
+            for (String path : modified) {
+                files.add(root.resolve(path));
+            }
+            return files;
+        }
+
+        /**
+         * Whether any added, modified or deleted file lies below {@code directory}, relative to the root.
+         */
+        public boolean touches(String directory) {
+            String prefix = directory.endsWith("/") ? directory : directory + '/';
+            return added.stream().anyMatch(path -> path.startsWith(prefix))
+                || modified.stream().anyMatch(path -> path.startsWith(prefix))
+                || deleted.stream().anyMatch(path -> path.startsWith(prefix));
+        }
+
+        /**
+         * One line with the counts, e.g. {@code 3 added, 2 modified, 0 deleted (12.4 KB)}.
+         */
+        public String summary() {
+            return String.format(Locale.ROOT, "%d added, %d modified, %d deleted (%s)",
+                added.size(), modified.size(), deleted.size(), formatBytes(bytesChanged));
+        }
+
+        /**
+         * The summary followed by one line per file, marked {@code A}, {@code M} or {@code D}, at
+         * most {@code maxFiles} of them.
+         */
+        public String describe(int maxFiles) {
+            StringBuilder text = new StringBuilder(summary());
+            int listed = 0;
+            List<List<String>> groups = List.of(added, modified, deleted);
+            for (int group = 0; group < groups.size(); group++) {
+                char mark = "AMD".charAt(group);
+                for (String path : groups.get(group)) {
+                    if (listed++ == maxFiles) {
+                        text.append(System.lineSeparator()).append("  ... and ").append(size() - maxFiles).append(" more");
+                        return text.toString();
+                    }
+                    text.append(System.lineSeparator()).append("  ").append(mark).append(' ').append(path);
+                }
+            }
+            return text.toString();
+        }
+
+        /**
+         * {@link #describe(int)} with the default number of listed files.
+         */
+        public String describe() {
+            return describe(MAX_LISTED_FILES);
+        }
+    }
+
+    private FileTreeSnapshot(Path root, Map<String, Entry> entries) {
+        this.root = root;
+        this.entries = entries;
+    }
+
+    /**
+     * Snapshot of {@code root}, skipping {@link #DEFAULT_IGNORED} directories.
+     */
+    public static FileTreeSnapshot capture(Path root) {
+        return capture(root, DEFAULT_IGNORED);
+    }
+
+    /**
+     * Snapshot of {@code root}. Directories named in {@code ignoredDirectories} are skipped, symbolic
+     * links are recorded but not followed, and entries that vanish or cannot be read while the
+     * tree is walked are left out. A missing root gives an empty snapshot.
+     */
+    public static FileTreeSnapshot capture(Path root, Set<String> ignoredDirectories) {
+        Path absoluteRoot = root.toAbsolutePath().normalize();
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+        if (Files.isDirectory(absoluteRoot)) {
+            new DirectoryTask(absoluteRoot, "", ignoredDirectories, entries).invoke();
+        }
+        return new FileTreeSnapshot(absoluteRoot, entries);
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Number of files in the snapshot.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean contains(String relativePath) {
+        return entries.containsKey(relativePath);
+    }
+
+    /**
+     * Computes the content hashes of {@code relativePaths} now, while the files still match the
+     * snapshot; typically the files the next run is likely to rewrite. Files that changed since
+     * the snapshot was taken get no hash.
+     */
+    public void hash(Collection<String> relativePaths) {
+        for (String path : relativePaths) {
+            Entry entry = entries.get(path);
+            if (entry != null && entry.hash == null) {
+                entry.hash = currentHash(path, entry);
+            }
+        }
+    }
+
+    /**
+     * Changes from this snapshot to {@code later}, which must be of the same root.
+     */
+    public ChangeSet diff(FileTreeSnapshot later) {
+        if (!root.equals(later.root)) {
+            throw new IllegalArgumentException("Snapshots of different directories: " + root + ", " + later.root);
+        }
+        List<String> added = new ArrayList<>();
+        List<String> modified = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        long bytes = 0;
+        for (Map.Entry<String, Entry> file : later.entries.entrySet()) {
+            Entry before = entries.get(file.getKey());
+            Entry after = file.getValue();
+            if (before == null) {
+                added.add(file.getKey());
+                bytes += after.size;
+            } else if (before.size != after.size) {
+                modified.add(file.getKey());
+                bytes += after.size;
+            } else if (before.modifiedNanos != after.modifiedNanos && !sameContent(file.getKey(), before, later, after)) {
+                modified.add(file.getKey());
+                bytes += after.size;
+            }
+        }
+        for (Map.Entry<String, Entry> file : entries.entrySet()) {
+            if (!later.entries.containsKey(file.getKey())) {
+                deleted.add(file.getKey());
+                bytes += file.getValue().size;
+            }
+        }
+        Collections.sort(added);
+        Collections.sort(modified);
+        Collections.sort(deleted);
+        return new ChangeSet(root, added, modified, deleted, bytes);
+    }
+
+    /**
+     * A rewritten file is unchanged if its hash from before the run matches its current content;
+     * without a hash from before, any new modification time counts as a change.
+     */
+    private static boolean sameContent(String path, Entry before, FileTreeSnapshot later, Entry after) {
+        if (before.hash == null) {
+            return false;
+        }
+        if (after.hash == null) {
+            after.hash = later.currentHash(path, after);
+        }
+        return before.hash.equals(after.hash);
+    }
+
+    /**
+     * Hash of the file's content, or null if the file no longer matches {@code entry} or cannot be read.
+     */
+    private String currentHash(String relativePath, Entry entry) {
+        Path file = root.resolve(relativePath);
+        try {
+            if (!matches(Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS), entry)) {
+                return null;
+            }
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[HASH_BUFFER_SIZE];
+            try (InputStream in = Files.newInputStream(file)) {
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private static boolean matches(BasicFileAttributes attributes, Entry entry) {
+        return attributes.size() == entry.size
+            && attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS) == entry.modifiedNanos;
+    }
+
+    /**
+     * Lists one directory, records its files and forks a task per subdirectory.
+     */
+    private static final class DirectoryTask extends RecursiveAction {
+        private final Path directory;
+        private final String prefix;
+        private final Set<String> ignored;
+        private final Map<String, Entry> entries;
+
+        DirectoryTask(Path directory, String prefix, Set<String> ignored, Map<String, Entry> entries) {
+            this.directory = directory;
+            this.prefix = prefix;
+            this.ignored = ignored;
+            this.entries = entries;
+        }
+
+        @Override
+        protected void compute() {
+            List<DirectoryTask> subdirectories = new ArrayList<>();
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+                for (Path child : children) {
+                    String name = child.getFileName().toString();
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (NoSuchFileException | AccessDeniedException e) {
+                        continue;
+                    }
+                    if (attributes.isDirectory()) {
+                        if (!ignored.contains(name)) {
+                            subdirectories.add(new DirectoryTask(child, prefix + name + '/', ignored, entries));
+                        }
+                    } else {
+                        entries.put(prefix + name, new Entry(attributes.size(),
+                            attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS)));
+                    }
+                }
+            } catch (IOException e) {
+                // The directory vanished or is unreadable; its files are simply not in the snapshot
+                return;
+            }
+            invokeAll(subdirectories);
+        }
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
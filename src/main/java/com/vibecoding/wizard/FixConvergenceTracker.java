@@ -0,0 +1,295 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Watches whether the automatic fix loop is getting anywhere. After every attempt it compares
+ * the errors of the new build with those of the earlier builds and decides whether to go on
+ * with the same prompt, escalate to the next {@link FixStrategy}, or stop.
+ * <p>
+ * An attempt makes progress when it fixes at least one error and leaves an error set that was
+ * not seen before. An attempt that changes nothing, or that brings back an earlier error set
+ * (the agent undoing its own fix), makes none. The loop escalates after each such attempt and
+ * stops after one at the last strategy, so credits are not spent on attempts that repeat the
+ * previous one.
+ * <p>
+ * A syntax pre-check only sees the files an attempt changed, so its errors are merged with
+ * those of the last full build instead of replacing them (see {@link #recordPreCheck}).
+ */
+public final class FixConvergenceTracker {
+    public static final int MAX_ATTEMPTS = 10;
+    private static final int MAX_EXCERPT_FILES = 5;
+    private static final int EXCERPT_RADIUS = 8;
+
+    /**
+     * How the fix prompt presents the errors.
+     */
+    public enum FixStrategy {
+        /** The build output and the project context. */
+        STANDARD,
+        /** Additionally, the source lines around each error. */
+        EXPANDED_CONTEXT,
+        /** Only the errors that no attempt has fixed, with the advice to rework that code differently. */
+        ROOT_CAUSE
+    }
+
+    public enum Decision {
+        CONTINUE,
+        ESCALATE,
+        STOP
+    }
+
+    /**
+     * Statistics of one fix attempt.
+     *
+     * @param attempt Attempt number, starting at 1
+     * @param strategy Strategy of the attempt's prompt
+     * @param errors Errors after the attempt, 0 if the build succeeded
+     * @param fixed Errors of the previous build that are gone
+     * @param introduced Errors that the previous build did not have
+     * @param elapsedMillis Duration of the attempt including its build
+     * @param decision What the loop does next
+     * @param reason Why
+     */
+    public record AttemptStats(int attempt, FixStrategy strategy, int errors, int fixed, int introduced,
+                               long elapsedMillis, Decision decision, String reason) {
+    }
+
+    private final String projectDirectory;
+    private final List<Set<String>> history = new ArrayList<>();
+    private final List<AttemptStats> attempts = new ArrayList<>();
+    private List<BuildDiagnostic> current = List.of();
+    private List<BuildDiagnostic> lastBuild;
+    private Set<String> unfixed;
+    private FixStrategy strategy = FixStrategy.STANDARD;
+    private long attemptStartNanos;
+
+    /**
+     * @param projectDirectory Directory that paths in the build output are relative to
+     * @param initialBuildOutput Output of the failed build that started the fix loop
+     */
+    public FixConvergenceTracker(Path projectDirectory, String initialBuildOutput) {
+        this.projectDirectory = projectDirectory == null ? "" : projectDirectory.toAbsolutePath().toString();
+        current = BuildDiagnostic.parse(initialBuildOutput, this.projectDirectory);
+        lastBuild = current;
+        Set<String> keys = BuildDiagnostic.keys(current);
+        history.add(keys);
+        unfixed = new LinkedHashSet<>(keys);
+    }
+
+    public FixStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Errors of the latest build.
+     */
+    public List<BuildDiagnostic> getDiagnostics() {
+        return current;
+    }
+
+    public List<AttemptStats> getAttempts() {
+        return List.copyOf(attempts);
+    }
+
+    /**
+     * Marks the start of the next attempt, for its duration in the statistics.
+     */
+    public void startAttempt() {
+        attemptStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Records the attempt whose build succeeded.
+     */
+    public void recordSuccess() {
+        attempts.add(new AttemptStats(attempts.size() + 1, strategy, 0, current.size(), 0, elapsedMillis(),
+            Decision.STOP, "build succeeded"));
+        current = List.of();
+    }
+
+    /**
+     * Records an attempt whose agent run failed, so the project did not change in a known way.
+     */
+    public Decision recordAgentFailure() {
+        return decide(0, 0, false, "agent run failed");
+    }
+
+    /**
+     * Records an attempt that changed no files, so the errors are those of the previous build.
+     */
+    public Decision recordUnchanged() {
+        return decide(0, 0, false, "no files changed");
+    }
+
+    /**
+     * Records an attempt whose syntax pre-check failed, so the full build did not run. The
+     * pre-check only checks the changed files, so the errors of the last full build are taken
+     * to be still there, and errors persistent across attempts stay persistent.
+     */
+    public Decision recordPreCheck(String preCheckOutput) {
+        List<BuildDiagnostic> diagnostics = new ArrayList<>(BuildDiagnostic.parse(preCheckOutput, projectDirectory));
+        Set<String> keys = new LinkedHashSet<>(BuildDiagnostic.keys(diagnostics));
+        for (BuildDiagnostic diagnostic : lastBuild) {
+            if (keys.add(diagnostic.key())) {
+                diagnostics.add(diagnostic);
+            }
+        }
+        Set<String> previous = history.get(history.size() - 1);
+        int introduced = 0;
+        for (String key : keys) {
+            if (!previous.contains(key)) {
+                introduced++;
+            }
+        }
+        history.add(keys);
+        current = diagnostics;
+        return decide(0, introduced, false, "syntax pre-check failed, " + introduced + " new errors");
+    }
+
+    /**
+     * Records the failed build after an attempt and decides how the loop continues.
+     */
+    public Decision recordBuild(String buildOutput) {
+        List<BuildDiagnostic> diagnostics = BuildDiagnostic.parse(buildOutput, projectDirectory);
+        Set<String> keys = BuildDiagnostic.keys(diagnostics);
+        Set<String> previous = history.get(history.size() - 1);
+        int fixed = 0;
+        for (String key : previous) {
+            if (!keys.contains(key)) {
+                fixed++;
+            }
+        }
+        int introduced = 0;
+        for (String key : keys) {
+            if (!previous.contains(key)) {
+                introduced++;
+            }
+        }
+        boolean oscillating = !keys.equals(previous) && history.subList(0, history.size() - 1).contains(keys);
+        history.add(keys);
+        current = diagnostics;
+        lastBuild = diagnostics;
+        unfixed.retainAll(keys);
+        String reason;
+        boolean progress = false;
+        if (keys.equals(previous)) {
+            reason = "same " + keys.size() + " errors as before";
+        } else if (oscillating) {
+            reason = "errors returned to those of an earlier attempt";
+        } else if (fixed == 0) {
+            reason = introduced + " new errors, none fixed";
+        } else {
+            progress = true;
+            reason = String.format(Locale.ROOT, "%d fixed, %d new", fixed, introduced);
+        }
+        return decide(fixed, introduced, progress, reason);
+    }
+
+    private Decision decide(int fixed, int introduced, boolean progress, String reason) {
+        Decision decision;
+        if (progress) {
+            decision = Decision.CONTINUE;
+        } else if (strategy.ordinal() < FixStrategy.values().length - 1) {
+            decision = Decision.ESCALATE;
+        } else {
+            decision = Decision.STOP;
+        }
+        if (decision != Decision.STOP && attempts.size() + 1 >= MAX_ATTEMPTS) {
+            decision = Decision.STOP;
+            reason += "; attempt limit reached";
+        }
+        attempts.add(new AttemptStats(attempts.size() + 1, strategy, current.size(), fixed, introduced,
+            elapsedMillis(), decision, reason));
+        if (decision == Decision.ESCALATE) {
+            strategy = FixStrategy.values()[strategy.ordinal() + 1];
+        }
+        return decision;
+    }
+
+    /**
+     * The errors to quote in the next fix prompt: all of them, except at {@link FixStrategy#ROOT_CAUSE},
+     * which concentrates on the errors that no attempt has fixed if there are any.
+     */
+    public List<BuildDiagnostic> focusDiagnostics() {
+        if (strategy != FixStrategy.ROOT_CAUSE) {
+            return current;
+        }
+        List<BuildDiagnostic> persistent = new ArrayList<>();
+        Set<String> keys = BuildDiagnostic.keys(current);
+        int index = 0;
+        for (String key : keys) {
+            if (unfixed.contains(key)) {
+                persistent.add(current.get(index));
+            }
+            index++;
+        }
+        return persistent.isEmpty() ? current : persistent;
+    }
+
+    /**
+     * Source lines around the errors of the latest build, for {@link FixStrategy#EXPANDED_CONTEXT}
+     * and later; empty if the errors name no readable files.
+     */
+    public String sourceExcerpts() {
+        StringBuilder excerpts = new StringBuilder();
+        Set<String> files = new LinkedHashSet<>();
+        for (BuildDiagnostic diagnostic : focusDiagnostics()) {
+            if (diagnostic.file().isEmpty() || diagnostic.line() <= 0) {
+                continue;
+            }
+            if (!files.contains(diagnostic.file()) && files.size() >= MAX_EXCERPT_FILES) {
+                continue;
+            }
+            files.add(diagnostic.file());
+            Path file = Path.of(projectDirectory).resolve(diagnostic.file());
+            List<String> lines;
+            try {
+                lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            } catch (IOException | RuntimeException e) {
+                continue;
+            }
+            int from = Math.max(1, diagnostic.line() - EXCERPT_RADIUS);
+            int to = Math.min(lines.size(), diagnostic.line() + EXCERPT_RADIUS);
+            if (from > to) {
+                continue;
+            }
+            excerpts.append("### ").append(diagnostic.file()).append(" lines ").append(from).append('-').append(to)
+                .append(" (").append(diagnostic).append(")\n```\n");
+            for (int line = from; line <= to; line++) {
+                excerpts.append(String.format(Locale.ROOT, "%4d%s %s%n", line, line == diagnostic.line() ? ">" : " ",
+                    lines.get(line - 1)));
+            }
+            excerpts.append("```\n");
+        }
+        return excerpts.toString();
+    }
+
+    /**
+     * One line per attempt for the log.
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder("Fix loop: " + attempts.size() + " attempts, "
+            + history.get(0).size() + " errors initially");
+        for (AttemptStats stats : attempts) {
+            summary.append(System.lineSeparator()).append(String.format(Locale.ROOT,
+                "  #%-2d %-16s %3d errors %3d fixed %3d new %7.1f s  %-8s %s", stats.attempt(), stats.strategy(),
+                stats.errors(), stats.fixed(), stats.introduced(), stats.elapsedMillis() / 1000.0, stats.decision(),
+                stats.reason()));
+        }
+        return summary.toString();
+    }
+
+    private long elapsedMillis() {
+        return attemptStartNanos == 0 ? 0 : (System.nanoTime() - attemptStartNanos) / 1_000_000;
+    }
+}
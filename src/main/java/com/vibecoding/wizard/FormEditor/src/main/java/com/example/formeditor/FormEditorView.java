@@ -7,6 +7,7 @@ import com.example.formeditor.model.GuiElementModel;
 import com.example.formeditor.palette.PaletteView;
 import com.example.formeditor.properties.ui.PropertyInspector;
 import com.example.formeditor.registry.BuiltInElementTypes;
+import com.example.formeditor.registry.ElementRegistry;
 import com.example.formeditor.serialization.FormPersistence;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
@@ -64,7 +65,8 @@ public class FormEditorView extends BorderPane {
     private final ScrollPane canvasScroller = new ScrollPane(canvasWrapper);
     private final MenuBar menuBar = new MenuBar();
 
-    private final FormPersistence persistence = new FormPersistence();
+    private final FormPersistence persistence = new FormPersistence(ElementRegistry::defaultProperties);
+    private final FormPersistence compactPersistence = FormPersistence.compact(ElementRegistry::defaultProperties);
 
     private final ObjectProperty<FormModel> model = new SimpleObjectProperty<>();
     private final BooleanProperty dirty = new SimpleBooleanProperty(false);
@@ -216,6 +218,16 @@ public class FormEditorView extends BorderPane {
         newForm(400, 400, "MainForm");
     }
 
+    /**
+     * Clears selection, clipboard and file association and binds a blank form, so a pooled
+     * view can be reused for another dialog without being rebuilt.
+     */
+    public void reset() {
+        canvas.clearSelection();
+        clipboardElement = null;
+        newForm();
+    }
+
     public void loadJson(InputStream inputStream) {
         FormModel loaded = persistence.fromJson(inputStream);
         setModel(loaded);
@@ -226,6 +238,13 @@ public class FormEditorView extends BorderPane {
         return persistence.toJson(getModel());
     }
 
+    /**
+     * Serializes the current form without indentation and without default-valued properties.
+     */
+    public String toCompactJson() {
+        return compactPersistence.toJson(getModel());
+    }
+
     public boolean isDirty() {
         return dirty.get();
     }
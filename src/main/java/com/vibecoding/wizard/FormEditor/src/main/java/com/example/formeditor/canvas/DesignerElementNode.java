@@ -58,8 +58,9 @@ class DesignerElementNode extends Pane {
             }
         });
 
-        model.propsProperty().addListener((MapChangeListener<String, Object>) change -> refreshFromModel());
-        refreshFromModel();
+        model.propsProperty().addListener((MapChangeListener<String, Object>) change -> refreshProperty(change.getKey()));
+        // createNode already applied every property; only the layout needs syncing
+        refreshLayout();
     }
 
     GuiElementModel getModel() {
@@ -74,6 +75,18 @@ class DesignerElementNode extends Pane {
 
     void refreshFromModel() {
         ElementRegistry.applyProperties(model, content);
+        refreshLayout();
+    }
+
+    /**
+     * Re-applies only the setters that depend on {@code key}.
+     */
+    void refreshProperty(String key) {
+        ElementRegistry.applyProperty(model, content, key);
+        refreshLayout();
+    }
+
+    void refreshLayout() {
         double width = model.getWidth();
         double height = model.getHeight();
     setPrefSize(width, height);
@@ -146,9 +146,10 @@ public class FormEditorCanvas extends Pane {
         x = Math.max(0, Math.min(form.getWidth() - width, x));
         y = Math.max(0, Math.min(form.getHeight() - height, y));
         element.setLayoutBounds(x, y, width, height);
+        // Changed bounds were already applied by the node's property listener
         DesignerElementNode node = nodeMap.get(element);
         if (node != null) {
-            node.refreshFromModel();
+            node.refreshLayout();
         }
     }
 
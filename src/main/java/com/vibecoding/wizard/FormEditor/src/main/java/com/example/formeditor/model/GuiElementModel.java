@@ -6,6 +6,7 @@ import javafx.beans.property.SimpleMapProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.MapChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableMap;
 
@@ -20,11 +21,22 @@ import java.util.UUID;
  */
 public class GuiElementModel {
 
+    private static final double DEFAULT_X = 0d;
+    private static final double DEFAULT_Y = 0d;
+    private static final double DEFAULT_WIDTH = 80d;
+    private static final double DEFAULT_HEIGHT = 24d;
+
     private final StringProperty id = new SimpleStringProperty(this, "id", UUID.randomUUID().toString());
     private final StringProperty type = new SimpleStringProperty(this, "type");
     private final MapProperty<String, Object> props = new SimpleMapProperty<>(this, "props", FXCollections.observableHashMap());
     private final ObservableList<EventDefinition> events = FXCollections.observableArrayList();
 
+    // Geometry mirrored from props as primitives, so layout reads never unbox or parse
+    private double layoutX = DEFAULT_X;
+    private double layoutY = DEFAULT_Y;
+    private double width = DEFAULT_WIDTH;
+    private double height = DEFAULT_HEIGHT;
+
     public GuiElementModel(String type) {
         this(UUID.randomUUID().toString(), type, new LinkedHashMap<>());
     }
@@ -32,6 +44,8 @@ public class GuiElementModel {
     public GuiElementModel(String id, String type, Map<String, Object> props) {
         this.id.set(Objects.requireNonNull(id, "id"));
         this.type.set(Objects.requireNonNull(type, "type"));
+        // Registered before any other listener so observers already see the updated geometry
+        this.props.addListener((MapChangeListener<String, Object>) this::syncGeometry);
     ObservableMap<String, Object> observableProps = FXCollections.observableMap(new LinkedHashMap<>(Objects.requireNonNull(props, "props")));
     this.props.clear();
     observableProps.forEach((key, value) -> this.props.put(key, normaliseValue(value)));
@@ -87,30 +101,52 @@ public class GuiElementModel {
     }
 
     public double getLayoutX() {
-        return getNumberProperty("x", 0d);
+        return layoutX;
     }
 
     public double getLayoutY() {
-        return getNumberProperty("y", 0d);
+        return layoutY;
     }
 
     public double getWidth() {
-        return getNumberProperty("width", 80d);
+        return width;
     }
 
     public double getHeight() {
-        return getNumberProperty("height", 24d);
+        return height;
     }
 
+    /**
+     * Updates the element bounds. Coordinates that did not change are not written,
+     * so a drag only boxes and announces the values that actually moved.
+     */
     public void setLayoutBounds(double x, double y, double width, double height) {
-        setProperty("x", x);
-        setProperty("y", y);
-        setProperty("width", width);
-        setProperty("height", height);
+        setGeometry("x", layoutX, x);
+        setGeometry("y", layoutY, y);
+        setGeometry("width", this.width, width);
+        setGeometry("height", this.height, height);
+    }
+
+    private void setGeometry(String key, double current, double value) {
+        if (Double.compare(current, value) != 0 || !props.containsKey(key)) {
+            props.put(key, value);
+        }
+    }
+
+    private void syncGeometry(MapChangeListener.Change<? extends String, ? extends Object> change) {
+        String key = change.getKey();
+        Object value = change.wasAdded() ? change.getValueAdded() : null;
+        switch (key) {
+            case "x" -> layoutX = toDouble(value, DEFAULT_X);
+            case "y" -> layoutY = toDouble(value, DEFAULT_Y);
+            case "width" -> width = toDouble(value, DEFAULT_WIDTH);
+            case "height" -> height = toDouble(value, DEFAULT_HEIGHT);
+            default -> {
+            }
+        }
     }
 
-    private double getNumberProperty(String key, double defaultValue) {
-        Object value = props.get(key);
+    private static double toDouble(Object value, double defaultValue) {
         if (value instanceof Number number) {
             return number.doubleValue();
         }
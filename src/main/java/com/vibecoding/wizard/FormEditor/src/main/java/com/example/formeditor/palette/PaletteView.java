@@ -16,6 +16,10 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Displays available components that can be dragged onto the canvas.
  */
@@ -23,6 +27,9 @@ public class PaletteView extends VBox {
 
     public static final DataFormat ELEMENT_FORMAT = new DataFormat("application/x-formeditor-element");
 
+    // Items are rebuilt only when the registered element types change, not on every model switch
+    private final Map<ElementType, HBox> itemCache = new HashMap<>();
+
     public PaletteView() {
         getStyleClass().add("palette-view");
         setSpacing(6);
@@ -31,10 +38,15 @@ public class PaletteView extends VBox {
     }
 
     public void refreshItems() {
-        getChildren().clear();
-        ElementRegistry.all().stream()
+        List<HBox> items = ElementRegistry.all().stream()
                 .sorted((a, b) -> a.type().compareToIgnoreCase(b.type()))
-                .forEach(elementType -> getChildren().add(createItem(elementType)));
+                .map(elementType -> itemCache.computeIfAbsent(elementType, this::createItem))
+                .toList();
+        if (items.equals(getChildren())) {
+            return;
+        }
+        itemCache.keySet().retainAll(ElementRegistry.all());
+        getChildren().setAll(items);
     }
 
     private HBox createItem(ElementType elementType) {
@@ -8,6 +8,7 @@ import com.example.formeditor.properties.StandardProperties;
 import javafx.collections.FXCollections;
 import javafx.geometry.Orientation;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
@@ -20,6 +21,7 @@ import javafx.scene.control.Separator;
 import javafx.scene.control.Slider;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
+import javafx.scene.control.TextInputControl;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.StackPane;
@@ -28,6 +30,7 @@ import javafx.scene.layout.BorderStroke;
 import javafx.scene.layout.BorderStrokeStyle;
 import javafx.scene.layout.BorderWidths;
 import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.Region;
 import javafx.scene.paint.Paint;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
@@ -44,6 +47,14 @@ import java.util.stream.Stream;
  */
 public final class BuiltInElementTypes {
 
+    // Borders are immutable, so every window host shares one instance
+    private static final Border WINDOW_HOST_BORDER = new Border(new BorderStroke(
+            Color.GRAY,
+            BorderStrokeStyle.DASHED,
+            new CornerRadii(4),
+            new BorderWidths(2)
+    ));
+
     private BuiltInElementTypes() {
     }
 
@@ -68,8 +79,13 @@ public final class BuiltInElementTypes {
     private static void registerLabel() {
         ElementRegistry.register(new SimpleElementType(
                 "Label",
-                Label::new,
-                (model, node) -> applyLabeled((Label) node, model),
+                ElementTemplate.<Label>builder(Label::new)
+                        .on((label, model) -> label.setText(getString(model, "text", "Label")), "text")
+                        .on(BuiltInElementTypes::applyFont, "fontFamily", "fontSize")
+                        .on(BuiltInElementTypes::applyTextFill, "foreground")
+                        .on(BuiltInElementTypes::applyBackground, "background")
+                        .on(BuiltInElementTypes::applyPrefSize, "width", "height")
+                        .build(),
                 concat(StandardProperties.layoutDescriptors(), List.of(
                         StandardProperties.TEXT,
                         StandardProperties.FONT_FAMILY,
@@ -88,8 +104,11 @@ public final class BuiltInElementTypes {
     private static void registerTextField() {
         ElementRegistry.register(new SimpleElementType(
                 "TextField",
-                TextField::new,
-                (model, node) -> applyTextInput((TextField) node, model),
+                ElementTemplate.<TextField>builder(TextField::new)
+                        .on((field, model) -> field.setText(getString(model, "text", "")), "text")
+                        .on(BuiltInElementTypes::applyColorStyle, "foreground", "background")
+                        .on(BuiltInElementTypes::applyPrefSize, "width", "height")
+                        .build(),
                 concat(StandardProperties.layoutDescriptors(), List.of(
                         StandardProperties.TEXT,
                         StandardProperties.FOREGROUND,
@@ -106,8 +125,11 @@ public final class BuiltInElementTypes {
     private static void registerTextArea() {
         ElementRegistry.register(new SimpleElementType(
                 "TextArea",
-                TextArea::new,
-                (model, node) -> applyTextArea((TextArea) node, model),
+                ElementTemplate.<TextArea>builder(TextArea::new)
+                        .on((area, model) -> area.setText(getString(model, "text", "")), "text")
+                        .on(BuiltInElementTypes::applyColorStyle, "foreground", "background")
+                        .on(BuiltInElementTypes::applyPrefSize, "width", "height")
+                        .build(),
                 concat(StandardProperties.layoutDescriptors(), List.of(
                         StandardProperties.TEXT,
                         StandardProperties.FOREGROUND,
@@ -124,8 +146,13 @@ public final class BuiltInElementTypes {
     private static void registerButton() {
         ElementRegistry.register(new SimpleElementType(
                 "Button",
-                Button::new,
-                (model, node) -> applyButton((Button) node, model),
+                ElementTemplate.<Button>builder(Button::new)
+                        .on((button, model) -> button.setText(getString(model, "text", "Button")), "text")
+                        .on(BuiltInElementTypes::applyFont, "fontFamily", "fontSize")
+                        .on(BuiltInElementTypes::applyTextFill, "foreground")
+                        .on(BuiltInElementTypes::applyBackground, "background")
+                        .on(BuiltInElementTypes::applyPrefSize, "width", "height")
+                        .build(),
                 concat(StandardProperties.layoutDescriptors(), List.of(
                         StandardProperties.TEXT,
                         StandardProperties.FONT_FAMILY,
@@ -148,8 +175,11 @@ public final class BuiltInElementTypes {
 
         ElementRegistry.register(new SimpleElementType(
                 "CheckBox",
-                CheckBox::new,
-                (model, node) -> applyToggle((CheckBox) node, model),
+                ElementTemplate.<CheckBox>builder(CheckBox::new)
+                        .on((checkBox, model) -> checkBox.setText(getString(model, "text", "CheckBox")), "text")
+                        .on((checkBox, model) -> checkBox.setSelected(getBoolean(model, "selected", false)), "selected")
+                        .on(BuiltInElementTypes::applyPrefSize, "width", "height")
+                        .build(),
                 concat(StandardProperties.layoutDescriptors(), List.of(
                         StandardProperties.TEXT,
                         selected
@@ -169,8 +199,11 @@ public final class BuiltInElementTypes {
 
         ElementRegistry.register(new SimpleElementType(
                 "RadioButton",
-                RadioButton::new,
-                (model, node) -> applyToggle((RadioButton) node, model),
+                ElementTemplate.<RadioButton>builder(RadioButton::new)
+                        .on((radioButton, model) -> radioButton.setText(getString(model, "text", "RadioButton")), "text")
+                        .on((radioButton, model) -> radioButton.setSelected(getBoolean(model, "selected", false)), "selected")
+                        .on(BuiltInElementTypes::applyPrefSize, "width", "height")
+                        .build(),
                 concat(StandardProperties.layoutDescriptors(), List.of(
                         StandardProperties.TEXT,
                         selected
@@ -193,8 +226,10 @@ public final class BuiltInElementTypes {
 
         ElementRegistry.register(new SimpleElementType(
                 "ComboBox",
-                ComboBox::new,
-                (model, node) -> applyComboBox((ComboBox<String>) node, model),
+                ElementTemplate.<ComboBox<String>>builder(ComboBox::new)
+                        .on(BuiltInElementTypes::applyComboBoxItems, "items", "selectedItem")
+                        .on(BuiltInElementTypes::applyPrefSize, "width", "height")
+                        .build(),
                 concat(StandardProperties.layoutDescriptors(), List.of(
                         items,
                         selectedItem
@@ -215,12 +250,15 @@ public final class BuiltInElementTypes {
 
         ElementRegistry.register(new SimpleElementType(
                 "ListView",
-                () -> {
-                    ListView<String> listView = new ListView<>();
-                    listView.setPrefSize(160, 120);
-                    return listView;
-                },
-                (model, node) -> applyListView((ListView<String>) node, model),
+                ElementTemplate.<ListView<String>>builder(() -> {
+                            ListView<String> listView = new ListView<>();
+                            listView.setPrefSize(160, 120);
+                            return listView;
+                        })
+                        .on((listView, model) -> listView.setItems(
+                                FXCollections.observableArrayList(parseItems(getString(model, "items", "")))), "items")
+                        .on(BuiltInElementTypes::applyPrefSize, "width", "height")
+                        .build(),
                 concat(StandardProperties.layoutDescriptors(), List.of(items)),
                 defaults(Map.of(
                         "items", "Item 1,Item 2,Item 3",
@@ -237,8 +275,11 @@ public final class BuiltInElementTypes {
 
         ElementRegistry.register(new SimpleElementType(
                 "ProgressBar",
-                ProgressBar::new,
-                (model, node) -> applyProgressBar((ProgressBar) node, model),
+                ElementTemplate.<ProgressBar>builder(ProgressBar::new)
+                        .on((progressBar, model) -> progressBar.setProgress(
+                                clamp(getDouble(model, "progress", 0.5), 0, 1)), "progress")
+                        .on(BuiltInElementTypes::applyPrefSize, "width", "height")
+                        .build(),
                 concat(StandardProperties.layoutDescriptors(), List.of(progress)),
                 defaults(Map.of(
                         "progress", 0.5,
@@ -261,8 +302,10 @@ public final class BuiltInElementTypes {
 
         ElementRegistry.register(new SimpleElementType(
                 "Slider",
-                Slider::new,
-                (model, node) -> applySlider((Slider) node, model),
+                ElementTemplate.<Slider>builder(Slider::new)
+                        .on(BuiltInElementTypes::applySliderRange, "min", "max", "value")
+                        .on(BuiltInElementTypes::applyPrefSize, "width", "height")
+                        .build(),
                 concat(StandardProperties.layoutDescriptors(), List.of(min, max, value)),
                 defaults(Map.of(
                         "min", 0,
@@ -281,8 +324,10 @@ public final class BuiltInElementTypes {
 
         ElementRegistry.register(new SimpleElementType(
                 "DatePicker",
-                DatePicker::new,
-                (model, node) -> applyDatePicker((DatePicker) node, model),
+                ElementTemplate.<DatePicker>builder(DatePicker::new)
+                        .on(BuiltInElementTypes::applyDateValue, "value")
+                        .on(BuiltInElementTypes::applyPrefSize, "width", "height")
+                        .build(),
                 concat(StandardProperties.layoutDescriptors(), List.of(value)),
                 defaults(Map.of(
                         "width", 160,
@@ -298,8 +343,12 @@ public final class BuiltInElementTypes {
 
         ElementRegistry.register(new SimpleElementType(
                 "Separator",
-                Separator::new,
-                (model, node) -> applySeparator((Separator) node, model),
+                ElementTemplate.<Separator>builder(Separator::new)
+                        .on((separator, model) -> separator.setOrientation(
+                                "VERTICAL".equalsIgnoreCase(getString(model, "orientation", "HORIZONTAL"))
+                                        ? Orientation.VERTICAL : Orientation.HORIZONTAL), "orientation")
+                        .on(BuiltInElementTypes::applyPrefSize, "width", "height")
+                        .build(),
                 concat(StandardProperties.layoutDescriptors(), List.of(orientation)),
                 defaults(Map.of(
                         "orientation", "HORIZONTAL",
@@ -316,8 +365,17 @@ public final class BuiltInElementTypes {
 
         ElementRegistry.register(new SimpleElementType(
                 "ImageView",
-                ImageView::new,
-                (model, node) -> applyImageView((ImageView) node, model),
+                ElementTemplate.<ImageView>builder(() -> {
+                            ImageView imageView = new ImageView();
+                            imageView.setPreserveRatio(false);
+                            return imageView;
+                        })
+                        .on(BuiltInElementTypes::applyImage, "imageUrl")
+                        .on((imageView, model) -> {
+                            imageView.setFitWidth(model.getWidth());
+                            imageView.setFitHeight(model.getHeight());
+                        }, "width", "height")
+                        .build(),
                 concat(StandardProperties.layoutDescriptors(), List.of(imageUrl)),
                 defaults(Map.of(
                         "imageUrl", "",
@@ -334,21 +392,19 @@ public final class BuiltInElementTypes {
 
         ElementRegistry.register(new SimpleElementType(
                 "WindowHost",
-                () -> {
-                    StackPane pane = new StackPane();
-                    Label placeholder = new Label("Window Host");
-                    placeholder.setStyle("-fx-text-fill: #888888; -fx-font-size: 14px;");
-                    pane.getChildren().add(placeholder);
-                    pane.setAlignment(Pos.CENTER);
-                    pane.setBorder(new Border(new BorderStroke(
-                            Color.GRAY,
-                            BorderStrokeStyle.DASHED,
-                            new CornerRadii(4),
-                            new BorderWidths(2)
-                    )));
-                    return pane;
-                },
-                (model, node) -> applyWindowHost((StackPane) node, model),
+                ElementTemplate.<StackPane>builder(() -> {
+                            StackPane pane = new StackPane();
+                            Label placeholder = new Label("Window Host");
+                            placeholder.setStyle("-fx-text-fill: #888888; -fx-font-size: 14px;");
+                            pane.getChildren().add(placeholder);
+                            pane.setAlignment(Pos.CENTER);
+                            pane.setBorder(WINDOW_HOST_BORDER);
+                            return pane;
+                        })
+                        .on(BuiltInElementTypes::applyWindowHostLabel, "initialWindow")
+                        .on(BuiltInElementTypes::applyBackground, "background")
+                        .on(BuiltInElementTypes::applyPrefSize, "width", "height")
+                        .build(),
                 concat(StandardProperties.layoutDescriptors(), List.of(
                         initialWindow,
                         StandardProperties.BACKGROUND
@@ -369,82 +425,29 @@ public final class BuiltInElementTypes {
         return new LinkedHashMap<>(map);
     }
 
-    private static void applyLabeled(Label label, GuiElementModel model) {
-        label.setText(getString(model, "text", "Label"));
-        applyFont(label, model);
-        applyTextFill(label, model);
-        applyBackground(label, model);
-        label.setPrefWidth(model.getWidth());
-        label.setPrefHeight(model.getHeight());
-    }
-
-    private static void applyButton(Button button, GuiElementModel model) {
-        button.setText(getString(model, "text", "Button"));
-        applyFont(button, model);
-        applyTextFill(button, model);
-        applyBackground(button, model);
-        button.setPrefWidth(model.getWidth());
-        button.setPrefHeight(model.getHeight());
-    }
-
-    private static void applyTextInput(TextField field, GuiElementModel model) {
-        field.setText(getString(model, "text", ""));
-        field.setPrefWidth(model.getWidth());
-        field.setPrefHeight(model.getHeight());
-        field.setStyle(colorStyle(model));
+    private static void applyPrefSize(Region region, GuiElementModel model) {
+        region.setPrefWidth(model.getWidth());
+        region.setPrefHeight(model.getHeight());
     }
 
-    private static void applyTextArea(TextArea area, GuiElementModel model) {
-        area.setText(getString(model, "text", ""));
-        area.setPrefWidth(model.getWidth());
-        area.setPrefHeight(model.getHeight());
-        area.setStyle(colorStyle(model));
+    private static void applyColorStyle(TextInputControl control, GuiElementModel model) {
+        control.setStyle(colorStyle(model));
     }
 
-    private static void applyToggle(CheckBox checkBox, GuiElementModel model) {
-        checkBox.setText(getString(model, "text", "CheckBox"));
-        checkBox.setSelected(getBoolean(model, "selected", false));
-        checkBox.setPrefWidth(model.getWidth());
-        checkBox.setPrefHeight(model.getHeight());
-    }
-
-    private static void applyToggle(RadioButton radioButton, GuiElementModel model) {
-        radioButton.setText(getString(model, "text", "RadioButton"));
-        radioButton.setSelected(getBoolean(model, "selected", false));
-        radioButton.setPrefWidth(model.getWidth());
-        radioButton.setPrefHeight(model.getHeight());
-    }
-
-    private static void applyComboBox(ComboBox<String> comboBox, GuiElementModel model) {
+    private static void applyComboBoxItems(ComboBox<String> comboBox, GuiElementModel model) {
         comboBox.setItems(FXCollections.observableArrayList(parseItems(getString(model, "items", ""))));
         comboBox.setValue(getString(model, "selectedItem", null));
-        comboBox.setPrefWidth(model.getWidth());
-        comboBox.setPrefHeight(model.getHeight());
     }
 
-    private static void applyListView(ListView<String> listView, GuiElementModel model) {
-        listView.setItems(FXCollections.observableArrayList(parseItems(getString(model, "items", ""))));
-        listView.setPrefWidth(model.getWidth());
-        listView.setPrefHeight(model.getHeight());
-    }
-
-    private static void applyProgressBar(ProgressBar progressBar, GuiElementModel model) {
-        progressBar.setProgress(clamp(getDouble(model, "progress", 0.5), 0, 1));
-        progressBar.setPrefWidth(model.getWidth());
-        progressBar.setPrefHeight(model.getHeight());
-    }
-
-    private static void applySlider(Slider slider, GuiElementModel model) {
+    private static void applySliderRange(Slider slider, GuiElementModel model) {
         double min = getDouble(model, "min", 0);
         double max = getDouble(model, "max", 100);
         slider.setMin(min);
         slider.setMax(max);
         slider.setValue(clamp(getDouble(model, "value", min), min, max));
-        slider.setPrefWidth(model.getWidth());
-        slider.setPrefHeight(model.getHeight());
     }
 
-    private static void applyDatePicker(DatePicker datePicker, GuiElementModel model) {
+    private static void applyDateValue(DatePicker datePicker, GuiElementModel model) {
         String value = getString(model, "value", null);
         if (value == null || value.isBlank()) {
             datePicker.setValue(null);
@@ -455,59 +458,22 @@ public final class BuiltInElementTypes {
                 datePicker.setValue(null);
             }
         }
-        datePicker.setPrefWidth(model.getWidth());
-        datePicker.setPrefHeight(model.getHeight());
-    }
-
-    private static void applySeparator(Separator separator, GuiElementModel model) {
-        String orientation = getString(model, "orientation", "HORIZONTAL");
-        separator.setOrientation("VERTICAL".equalsIgnoreCase(orientation) ? Orientation.VERTICAL : Orientation.HORIZONTAL);
-        separator.setPrefWidth(model.getWidth());
-        separator.setPrefHeight(model.getHeight());
     }
 
-    private static void applyImageView(ImageView imageView, GuiElementModel model) {
+    private static void applyImage(ImageView imageView, GuiElementModel model) {
         String imageUrl = getString(model, "imageUrl", "");
         if (imageUrl != null && !imageUrl.isBlank()) {
             imageView.setImage(loadImage(imageUrl));
         } else {
             imageView.setImage(null);
         }
-        imageView.setFitWidth(model.getWidth());
-        imageView.setFitHeight(model.getHeight());
-        imageView.setPreserveRatio(false);
     }
 
-    private static void applyWindowHost(StackPane pane, GuiElementModel model) {
+    private static void applyWindowHostLabel(StackPane pane, GuiElementModel model) {
         String initialWindow = getString(model, "initialWindow", "");
-        
-        // Clear existing children
-        pane.getChildren().clear();
-        
-        // Add label showing the initial window name
-        Label label = new Label(initialWindow.isBlank() ? "Window Host" : "Host: " + initialWindow);
-        label.setStyle("-fx-text-fill: #888888; -fx-font-size: 14px;");
-        pane.getChildren().add(label);
-        pane.setAlignment(Pos.CENTER);
-        
-        // Apply border
-        pane.setBorder(new Border(new BorderStroke(
-                Color.GRAY,
-                BorderStrokeStyle.DASHED,
-                new CornerRadii(4),
-                new BorderWidths(2)
-        )));
-        
-        // Apply background if set
-        String background = getString(model, "background", "transparent");
-        if (background == null || background.isBlank() || "transparent".equalsIgnoreCase(background)) {
-            pane.setStyle("");
-        } else {
-            pane.setStyle("-fx-background-color: " + background + ";");
-        }
-        
-        pane.setPrefWidth(model.getWidth());
-        pane.setPrefHeight(model.getHeight());
+        // The prototype always contains the placeholder label as its only child
+        Label label = (Label) pane.getChildren().get(0);
+        label.setText(initialWindow.isBlank() ? "Window Host" : "Host: " + initialWindow);
     }
 
     private static Image loadImage(String url) {
@@ -542,12 +508,12 @@ public final class BuiltInElementTypes {
         }
     }
 
-    private static void applyBackground(javafx.scene.control.Control control, GuiElementModel model) {
+    private static void applyBackground(Node node, GuiElementModel model) {
         String background = getString(model, "background", "transparent");
         if (background == null || background.isBlank() || "transparent".equalsIgnoreCase(background)) {
-            control.setStyle("");
+            node.setStyle("");
         } else {
-            control.setStyle("-fx-background-color: " + background + ";");
+            node.setStyle("-fx-background-color: " + background + ";");
         }
     }
 
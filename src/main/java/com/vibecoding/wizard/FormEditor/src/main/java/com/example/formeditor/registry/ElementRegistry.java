@@ -45,6 +45,14 @@ public final class ElementRegistry {
         TYPES.clear();
     }
 
+    /**
+     * Non-layout property defaults for the given type, or an empty map when the type is unknown.
+     */
+    public static Map<String, Object> defaultProperties(String type) {
+        ElementType elementType = TYPES.get(type);
+        return elementType == null ? Map.of() : elementType.defaultProperties();
+    }
+
     public static GuiElementModel createDefault(String type, double x, double y) {
         return get(type).createDefaultModel(x, y);
     }
@@ -56,4 +64,8 @@ public final class ElementRegistry {
     public static void applyProperties(GuiElementModel model, Node node) {
         get(model.getType()).applyProperties(model, node);
     }
+
+    public static void applyProperty(GuiElementModel model, Node node, String key) {
+        get(model.getType()).applyProperty(model, node, key);
+    }
 }
@@ -0,0 +1,164 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.example.formeditor.registry;
+
+import com.example.formeditor.model.GuiElementModel;
+import javafx.scene.Node;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Precomputed construction recipe for the JavaFX node of an element type.
+ * <p>
+ * The prototype supplier builds a node with all static configuration in place; the
+ * property setters are stored in a list and indexed by the model keys they read, so a
+ * change to a single property only runs the setters that depend on it.
+ *
+ * @param <N> The node type produced by this template
+ */
+public final class ElementTemplate<N extends Node> {
+
+    /**
+     * Copies one or more model properties onto a node.
+     */
+    @FunctionalInterface
+    public interface Setter<N> {
+        void apply(N node, GuiElementModel model);
+    }
+
+    private final Supplier<? extends N> prototype;
+    private final List<Setter<? super N>> setters;
+    private final Map<String, int[]> settersByKey;
+    private final int[] wildcardSetters;
+
+    private ElementTemplate(Supplier<? extends N> prototype,
+                            List<Setter<? super N>> setters,
+                            Map<String, int[]> settersByKey,
+                            int[] wildcardSetters) {
+        this.prototype = prototype;
+        this.setters = setters;
+        this.settersByKey = settersByKey;
+        this.wildcardSetters = wildcardSetters;
+    }
+
+    public static <N extends Node> Builder<N> builder(Supplier<? extends N> prototype) {
+        return new Builder<>(prototype);
+    }
+
+    /**
+     * Wraps a node supplier and a monolithic applier that re-applies every property on any change.
+     */
+    public static ElementTemplate<Node> of(Supplier<? extends Node> nodeSupplier,
+                                           BiConsumer<GuiElementModel, Node> applier) {
+        Objects.requireNonNull(applier, "applier");
+        return ElementTemplate.<Node>builder(nodeSupplier)
+                .onAnyKey((node, model) -> applier.accept(model, node))
+                .build();
+    }
+
+    /**
+     * Creates a node from the prototype and applies all properties of the model.
+     */
+    public N instantiate(GuiElementModel model) {
+        N node = prototype.get();
+        applyAll(model, node);
+        return node;
+    }
+
+    public void applyAll(GuiElementModel model, Node node) {
+        N target = unchecked(node);
+        for (Setter<? super N> setter : setters) {
+            setter.apply(target, model);
+        }
+    }
+
+    /**
+     * Runs only the setters that read {@code key}. Keys no setter depends on (such as the
+     * element position) are ignored unless the template has wildcard setters.
+     */
+    public void apply(GuiElementModel model, Node node, String key) {
+        int[] indices = settersByKey.getOrDefault(key, wildcardSetters);
+        if (indices.length == 0) {
+            return;
+        }
+        N target = unchecked(node);
+        for (int index : indices) {
+            setters.get(index).apply(target, model);
+        }
+    }
+
+    /**
+     * Property keys with at least one dedicated setter.
+     */
+    public Set<String> keys() {
+        return Collections.unmodifiableSet(settersByKey.keySet());
+    }
+
+    /**
+     * Nodes passed to a template were created by its prototype, so they have its node type.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T unchecked(Object node) {
+        return (T) node;
+    }
+
+    public static final class Builder<N extends Node> {
+        private final Supplier<? extends N> prototype;
+        private final List<Setter<? super N>> setters = new ArrayList<>();
+        private final Map<String, Set<Integer>> keyIndices = new LinkedHashMap<>();
+        private final List<Integer> wildcards = new ArrayList<>();
+
+        private Builder(Supplier<? extends N> prototype) {
+            this.prototype = Objects.requireNonNull(prototype, "prototype");
+        }
+
+        /**
+         * Registers a setter that is re-run whenever one of {@code keys} changes.
+         */
+        public Builder<N> on(Setter<? super N> setter, String... keys) {
+            Objects.requireNonNull(setter, "setter");
+            if (keys.length == 0) {
+                throw new IllegalArgumentException("At least one property key is required");
+            }
+            int index = setters.size();
+            setters.add(setter);
+            for (String key : keys) {
+                keyIndices.computeIfAbsent(Objects.requireNonNull(key, "key"), k -> new TreeSet<>()).add(index);
+            }
+            return this;
+        }
+
+        /**
+         * Registers a setter that is re-run on every property change.
+         */
+        public Builder<N> onAnyKey(Setter<? super N> setter) {
+            Objects.requireNonNull(setter, "setter");
+            wildcards.add(setters.size());
+            setters.add(setter);
+            return this;
+        }
+
+        public ElementTemplate<N> build() {
+            Map<String, int[]> byKey = new HashMap<>();
+            keyIndices.forEach((key, indices) -> {
+                Set<Integer> merged = new TreeSet<>(indices);
+                merged.addAll(wildcards);
+                byKey.put(key, merged.stream().mapToInt(Integer::intValue).toArray());
+            });
+            int[] wildcardArray = wildcards.stream().mapToInt(Integer::intValue).toArray();
+            return new ElementTemplate<>(prototype,
+                    List.copyOf(setters),
+                    byKey,
+                    wildcardArray);
+        }
+    }
+}
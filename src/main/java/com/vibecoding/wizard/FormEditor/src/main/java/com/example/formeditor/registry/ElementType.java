@@ -5,7 +5,9 @@ import com.example.formeditor.model.GuiElementModel;
 import com.example.formeditor.properties.PropertyDescriptor;
 import javafx.scene.Node;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Defines behaviour for a specific element type supported by the editor.
@@ -24,6 +26,14 @@ public interface ElementType {
      */
     void applyProperties(GuiElementModel model, Node node);
 
+    /**
+     * Applies a single changed model property to the given JavaFX node.
+     * Defaults to re-applying all properties.
+     */
+    default void applyProperty(GuiElementModel model, Node node, String key) {
+        applyProperties(model, node);
+    }
+
     /**
      * Creates a new model with sensible defaults at the requested position.
      */
@@ -33,4 +43,17 @@ public interface ElementType {
      * Property descriptors for this element type.
      */
     List<PropertyDescriptor> propertyDescriptors();
+
+    /**
+     * Values assumed for non-layout properties that are absent from a model.
+     */
+    default Map<String, Object> defaultProperties() {
+        Map<String, Object> defaults = new LinkedHashMap<>();
+        for (PropertyDescriptor descriptor : propertyDescriptors()) {
+            if (!descriptor.isLayoutProperty()) {
+                descriptor.getDefaultValue().ifPresent(value -> defaults.put(descriptor.getName(), value));
+            }
+        }
+        return defaults;
+    }
 }
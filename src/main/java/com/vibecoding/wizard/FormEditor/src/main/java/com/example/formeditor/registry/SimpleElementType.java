@@ -5,6 +5,7 @@ import com.example.formeditor.model.GuiElementModel;
 import com.example.formeditor.properties.PropertyDescriptor;
 import javafx.scene.Node;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,21 +19,35 @@ import java.util.function.Supplier;
 public class SimpleElementType implements ElementType {
 
     private final String type;
-    private final Supplier<Node> nodeSupplier;
-    private final BiConsumer<GuiElementModel, Node> applier;
+    private final ElementTemplate<?> template;
     private final List<PropertyDescriptor> descriptors;
     private final Map<String, Object> defaults;
+    private final Map<String, Object> defaultProperties;
 
     public SimpleElementType(String type,
                               Supplier<Node> nodeSupplier,
                               BiConsumer<GuiElementModel, Node> applier,
                               List<PropertyDescriptor> descriptors,
                               Map<String, Object> defaults) {
+        this(type, ElementTemplate.of(Objects.requireNonNull(nodeSupplier, "nodeSupplier"), applier),
+                descriptors, defaults);
+    }
+
+    public SimpleElementType(String type,
+                              ElementTemplate<?> template,
+                              List<PropertyDescriptor> descriptors,
+                              Map<String, Object> defaults) {
         this.type = Objects.requireNonNull(type, "type");
-        this.nodeSupplier = Objects.requireNonNull(nodeSupplier, "nodeSupplier");
-        this.applier = Objects.requireNonNull(applier, "applier");
+        this.template = Objects.requireNonNull(template, "template");
         this.descriptors = List.copyOf(descriptors);
         this.defaults = new LinkedHashMap<>(Objects.requireNonNull(defaults, "defaults"));
+        Map<String, Object> merged = new LinkedHashMap<>(ElementType.super.defaultProperties());
+        this.defaults.forEach((key, value) -> {
+            if (merged.containsKey(key)) {
+                merged.put(key, value);
+            }
+        });
+        this.defaultProperties = Collections.unmodifiableMap(merged);
     }
 
     @Override
@@ -42,14 +57,17 @@ public class SimpleElementType implements ElementType {
 
     @Override
     public Node createNode(GuiElementModel model) {
-        Node node = nodeSupplier.get();
-        applyProperties(model, node);
-        return node;
+        return template.instantiate(model);
     }
 
     @Override
     public void applyProperties(GuiElementModel model, Node node) {
-        applier.accept(model, node);
+        template.applyAll(model, node);
+    }
+
+    @Override
+    public void applyProperty(GuiElementModel model, Node node, String key) {
+        template.apply(model, node, key);
     }
 
     @Override
@@ -68,4 +86,9 @@ public class SimpleElementType implements ElementType {
     public List<PropertyDescriptor> propertyDescriptors() {
         return descriptors;
     }
+
+    @Override
+    public Map<String, Object> defaultProperties() {
+        return defaultProperties;
+    }
 }
@@ -4,50 +4,103 @@ package com.example.formeditor.serialization;
 import com.example.formeditor.model.EventDefinition;
 import com.example.formeditor.model.FormModel;
 import com.example.formeditor.model.GuiElementModel;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Provides JSON serialization and deserialization utilities for {@link FormModel}.
+ * <p>
+ * Documents are written and read with Jackson's streaming API straight from and into the
+ * model. The default instance produces indented output containing every property. A
+ * {@linkplain #compact(Function) compact} instance produces single-line output and omits
+ * non-layout properties that equal the element type's defaults; such documents carry a
+ * {@code defaultsOmitted} flag so the omitted values are restored on load.
+ * Documents with an older {@code schemaVersion} are upgraded through registered
+ * {@link FormSchemaMigration}s before they are read.
  */
 public final class FormPersistence {
 
     public static final String SCHEMA_VERSION = "1.0";
 
-    private final ObjectMapper mapper;
+    private static final String DEFAULTS_OMITTED_FIELD = "defaultsOmitted";
+    private static final Set<String> LAYOUT_KEYS = Set.of("x", "y", "width", "height");
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JsonFactory factory = mapper.getFactory();
+    private final Function<String, Map<String, Object>> typeDefaults;
+    private final boolean compact;
+    private final Map<String, FormSchemaMigration> migrations = new HashMap<>();
 
     public FormPersistence() {
-        mapper = new ObjectMapper();
-        mapper.findAndRegisterModules();
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        this(type -> Map.of(), false);
+    }
+
+    /**
+     * Creates an indented writer that restores omitted defaults from {@code typeDefaults}
+     * when reading compact documents.
+     */
+    public FormPersistence(Function<String, Map<String, Object>> typeDefaults) {
+        this(typeDefaults, false);
+    }
+
+    private FormPersistence(Function<String, Map<String, Object>> typeDefaults, boolean compact) {
+        this.typeDefaults = Objects.requireNonNull(typeDefaults, "typeDefaults");
+        this.compact = compact;
+    }
+
+    /**
+     * Creates a persistence instance that writes non-indented JSON and omits properties
+     * equal to the defaults returned by {@code typeDefaults} for the element type.
+     */
+    public static FormPersistence compact(Function<String, Map<String, Object>> typeDefaults) {
+        return new FormPersistence(typeDefaults, true);
+    }
+
+    public boolean isCompact() {
+        return compact;
+    }
+
+    public void registerMigration(FormSchemaMigration migration) {
+        Objects.requireNonNull(migration, "migration");
+        migrations.put(migration.fromVersion(), migration);
     }
 
     public String toJson(FormModel model) {
         Objects.requireNonNull(model, "model");
-        FormDocument document = toDocument(model);
-        try {
-            return mapper.writeValueAsString(document);
-        } catch (JsonProcessingException e) {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = factory.createGenerator(writer)) {
+            writeDocument(model, generator);
+        } catch (IOException e) {
             throw new FormSerializationException("Failed to serialize form to JSON", e);
         }
+        return writer.toString();
     }
 
     public void write(FormModel model, OutputStream outputStream) {
+        Objects.requireNonNull(model, "model");
         Objects.requireNonNull(outputStream, "outputStream");
-        String json = toJson(model);
-        try {
-            outputStream.write(json.getBytes(StandardCharsets.UTF_8));
+        try (JsonGenerator generator = factory.createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writeDocument(model, generator);
         } catch (IOException e) {
             throw new FormSerializationException("Failed to write JSON to output stream", e);
         }
@@ -56,8 +109,11 @@ public final class FormPersistence {
     public FormModel fromJson(String json) {
         Objects.requireNonNull(json, "json");
         try {
-            FormDocument document = mapper.readValue(json, FormDocument.class);
-            return fromDocument(document);
+            FormModel model;
+            try (JsonParser parser = factory.createParser(json)) {
+                model = readDocument(parser);
+            }
+            return model != null ? model : migrateAndRead(mapper.readTree(json));
         } catch (IOException e) {
             throw new FormSerializationException("Failed to parse form JSON", e);
         }
@@ -66,115 +122,369 @@ public final class FormPersistence {
     public FormModel fromJson(InputStream inputStream) {
         Objects.requireNonNull(inputStream, "inputStream");
         try {
-            FormDocument document = mapper.readValue(inputStream, FormDocument.class);
-            return fromDocument(document);
+            byte[] content = inputStream.readAllBytes();
+            FormModel model;
+            try (JsonParser parser = factory.createParser(content)) {
+                model = readDocument(parser);
+            }
+            return model != null ? model : migrateAndRead(mapper.readTree(content));
         } catch (IOException e) {
             throw new FormSerializationException("Failed to parse form JSON", e);
         }
     }
 
-    private FormDocument toDocument(FormModel model) {
-        List<FormDocument.EventDto> formEvents = model.getEvents().stream()
-                .map(event -> new FormDocument.EventDto(
-                        event.getName(),
-                        event.getTriggerDescription(),
-                        event.getActionDescription()))
-                .collect(Collectors.toList());
-
-        FormDocument.FormDefinition definition = new FormDocument.FormDefinition(
-                model.getId(),
-                model.getName(),
-                model.getWidth(),
-                model.getHeight(),
-                model.getBackground(),
-                formEvents
-        );
-
-        List<FormDocument.ElementDefinition> elements = model.getElements().stream()
-                .map(element -> {
-                    List<FormDocument.EventDto> elementEvents = element.getEvents().stream()
-                            .map(event -> new FormDocument.EventDto(
-                                    event.getName(),
-                                    event.getTriggerDescription(),
-                                    event.getActionDescription()))
-                            .collect(Collectors.toList());
-                    
-                    return new FormDocument.ElementDefinition(
-                            element.getId(),
-                            element.getType(),
-                            toSerializableProps(element),
-                            elementEvents);
-                })
-                .collect(Collectors.toList());
-
-        return new FormDocument(SCHEMA_VERSION, definition, elements);
-    }
-
-    private FormModel fromDocument(FormDocument document) {
-        Objects.requireNonNull(document, "document");
-        if (!SCHEMA_VERSION.equals(document.schemaVersion())) {
-            throw new FormSerializationException("Unsupported schema version: " + document.schemaVersion());
-        }
-
-        FormDocument.FormDefinition formDef = document.form();
-        if (formDef == null) {
-            throw new FormSerializationException("Missing form definition in JSON document");
+    private void writeDocument(FormModel model, JsonGenerator generator) throws IOException {
+        if (!compact) {
+            generator.useDefaultPrettyPrinter();
+        }
+        generator.writeStartObject();
+        generator.writeStringField("schemaVersion", SCHEMA_VERSION);
+        if (compact) {
+            generator.writeBooleanField(DEFAULTS_OMITTED_FIELD, true);
         }
 
-        FormModel model = new FormModel(
-                formDef.id(),
-                formDef.name(),
-                formDef.width(),
-                formDef.height(),
-                formDef.background(),
-                List.of()
-        );
-
-        // Load form events
-        if (formDef.events() != null) {
-            formDef.events().forEach(eventDto -> {
-                EventDefinition event = new EventDefinition(
-                        eventDto.name(),
-                        eventDto.triggerDescription(),
-                        eventDto.actionDescription()
-                );
-                model.getEvents().add(event);
-            });
+        generator.writeObjectFieldStart("form");
+        generator.writeStringField("id", model.getId());
+        generator.writeStringField("name", model.getName());
+        writeDimension(generator, "width", model.getWidth());
+        writeDimension(generator, "height", model.getHeight());
+        generator.writeStringField("background", model.getBackground());
+        writeEvents(generator, model.getEvents());
+        generator.writeEndObject();
+
+        generator.writeArrayFieldStart("elements");
+        for (GuiElementModel element : model.getElements()) {
+            generator.writeStartObject();
+            generator.writeStringField("id", element.getId());
+            generator.writeStringField("type", element.getType());
+            writeProps(generator, element);
+            writeEvents(generator, element.getEvents());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private void writeDimension(JsonGenerator generator, String field, double value) throws IOException {
+        generator.writeFieldName(field);
+        if (compact) {
+            writeValue(generator, value);
+        } else {
+            generator.writeNumber(value);
         }
+    }
 
-        // Load elements with their events
-        document.elements().forEach(elementDef -> {
-            Map<String, Object> props = new LinkedHashMap<>(elementDef.props());
-            GuiElementModel element = new GuiElementModel(elementDef.id(), elementDef.type(), props);
-            
-            // Load element events
-            if (elementDef.events() != null) {
-                elementDef.events().forEach(eventDto -> {
-                    EventDefinition event = new EventDefinition(
-                            eventDto.name(),
-                            eventDto.triggerDescription(),
-                            eventDto.actionDescription()
-                    );
-                    element.getEvents().add(event);
-                });
+    private void writeProps(JsonGenerator generator, GuiElementModel element) throws IOException {
+        Map<String, Object> defaults = compact ? defaultsFor(element.getType()) : Map.of();
+        generator.writeObjectFieldStart("props");
+        for (Map.Entry<String, Object> entry : element.getProps().entrySet()) {
+            String key = entry.getKey();
+            if (!LAYOUT_KEYS.contains(key) && defaults.containsKey(key)
+                    && isDefaultValue(entry.getValue(), defaults.get(key))) {
+                continue;
             }
-            
-            model.addElement(element);
-        });
+            generator.writeFieldName(key);
+            writeValue(generator, entry.getValue());
+        }
+        generator.writeEndObject();
+    }
 
-        return model;
+    private void writeEvents(JsonGenerator generator, List<EventDefinition> events) throws IOException {
+        if (compact && events.isEmpty()) {
+            return;
+        }
+        generator.writeArrayFieldStart("events");
+        for (EventDefinition event : events) {
+            generator.writeStartObject();
+            generator.writeStringField("name", event.getName());
+            generator.writeStringField("triggerDescription", event.getTriggerDescription());
+            generator.writeStringField("actionDescription", event.getActionDescription());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
     }
 
-    private Map<String, Object> toSerializableProps(GuiElementModel element) {
-        Map<String, Object> props = new LinkedHashMap<>();
-        element.getProps().forEach((key, value) -> {
-            if (value instanceof Number number) {
-                props.put(key, normaliseNumber(number));
+    private void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Number number) {
+            Number normalised = normaliseNumber(number);
+            if (normalised instanceof Long longValue) {
+                generator.writeNumber(longValue);
             } else {
-                props.put(key, value);
+                generator.writeNumber(normalised.doubleValue());
+            }
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else if (value instanceof Map<?, ?> map) {
+            generator.writeStartObject();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                generator.writeFieldName(String.valueOf(entry.getKey()));
+                writeValue(generator, entry.getValue());
+            }
+            generator.writeEndObject();
+        } else if (value instanceof Iterable<?> iterable) {
+            generator.writeStartArray();
+            for (Object item : iterable) {
+                writeValue(generator, item);
+            }
+            generator.writeEndArray();
+        } else {
+            generator.writeString(String.valueOf(value));
+        }
+    }
+
+    /**
+     * Streams the document into a model. Returns {@code null} when the document uses an
+     * older schema version and has to go through {@link #migrateAndRead(JsonNode)}.
+     */
+    private FormModel readDocument(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new FormSerializationException("Form JSON must be an object");
+        }
+
+        FormModel model = new FormModel();
+        String schemaVersion = null;
+        boolean formSeen = false;
+        boolean defaultsOmitted = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "schemaVersion" -> {
+                    schemaVersion = parser.getValueAsString();
+                    if (!SCHEMA_VERSION.equals(schemaVersion)) {
+                        return requireMigration(schemaVersion);
+                    }
+                }
+                case DEFAULTS_OMITTED_FIELD -> defaultsOmitted = parser.getValueAsBoolean();
+                case "form" -> {
+                    readForm(parser, model);
+                    formSeen = true;
+                }
+                case "elements" -> readElements(parser, model);
+                default -> parser.skipChildren();
             }
-        });
-        return props;
+        }
+
+        if (schemaVersion == null) {
+            throw new FormSerializationException("Missing schemaVersion in JSON document");
+        }
+        if (!formSeen) {
+            throw new FormSerializationException("Missing form definition in JSON document");
+        }
+        if (defaultsOmitted) {
+            restoreDefaults(model);
+        }
+        return model;
+    }
+
+    private FormModel requireMigration(String schemaVersion) {
+        if (schemaVersion == null || !migrations.containsKey(schemaVersion)) {
+            throw new FormSerializationException("Unsupported schema version: " + schemaVersion);
+        }
+        return null;
+    }
+
+    private FormModel migrateAndRead(JsonNode tree) throws IOException {
+        if (!(tree instanceof ObjectNode document)) {
+            throw new FormSerializationException("Form JSON must be an object");
+        }
+        String originalVersion = document.path("schemaVersion").asText(null);
+        String version = originalVersion;
+        int steps = 0;
+        while (!SCHEMA_VERSION.equals(version)) {
+            FormSchemaMigration migration = migrations.get(version);
+            if (migration == null || ++steps > migrations.size()) {
+                throw new FormSerializationException("Unsupported schema version: " + originalVersion);
+            }
+            migration.migrate(document);
+            version = migration.toVersion();
+            document.put("schemaVersion", version);
+        }
+        try (JsonParser parser = mapper.treeAsTokens(document)) {
+            return readDocument(parser);
+        }
+    }
+
+    private void readForm(JsonParser parser, FormModel model) throws IOException {
+        expect(parser, JsonToken.START_OBJECT, "form");
+        boolean hasId = false;
+        boolean hasName = false;
+        boolean hasWidth = false;
+        boolean hasHeight = false;
+        String background = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> {
+                    model.setId(requireText(parser, "form.id"));
+                    hasId = true;
+                }
+                case "name" -> {
+                    model.setName(requireText(parser, "form.name"));
+                    hasName = true;
+                }
+                case "width" -> {
+                    model.setWidth(parser.getValueAsDouble());
+                    hasWidth = true;
+                }
+                case "height" -> {
+                    model.setHeight(parser.getValueAsDouble());
+                    hasHeight = true;
+                }
+                case "background" -> background = parser.getValueAsString();
+                case "events" -> model.getEvents().addAll(readEvents(parser));
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (!hasId || !hasName || !hasWidth || !hasHeight) {
+            throw new FormSerializationException("Form definition requires id, name, width and height");
+        }
+        model.setBackground(background != null ? background : "#FFFFFF");
+    }
+
+    private void readElements(JsonParser parser, FormModel model) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return;
+        }
+        expect(parser, JsonToken.START_ARRAY, "elements");
+        List<GuiElementModel> elements = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            elements.add(readElement(parser));
+        }
+        model.getElements().addAll(elements);
+    }
+
+    private GuiElementModel readElement(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT, "element");
+        String id = null;
+        String type = null;
+        Map<String, Object> props = Map.of();
+        List<EventDefinition> events = List.of();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> id = requireText(parser, "element.id");
+                case "type" -> type = requireText(parser, "element.type");
+                case "props" -> props = readObject(parser);
+                case "events" -> events = readEvents(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (id == null || type == null) {
+            throw new FormSerializationException("Element definition requires id and type");
+        }
+        GuiElementModel element = new GuiElementModel(id, type, props);
+        element.getEvents().addAll(events);
+        return element;
+    }
+
+    private List<EventDefinition> readEvents(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return List.of();
+        }
+        expect(parser, JsonToken.START_ARRAY, "events");
+        List<EventDefinition> events = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            expect(parser, JsonToken.START_OBJECT, "event");
+            String name = null;
+            String trigger = null;
+            String action = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "name" -> name = requireText(parser, "event.name");
+                    case "triggerDescription" -> trigger = parser.getValueAsString();
+                    case "actionDescription" -> action = parser.getValueAsString();
+                    default -> parser.skipChildren();
+                }
+            }
+            if (name == null) {
+                throw new FormSerializationException("Event definition requires a name");
+            }
+            events.add(new EventDefinition(name, trigger == null ? "" : trigger, action == null ? "" : action));
+        }
+        return events;
+    }
+
+    private Map<String, Object> readObject(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return Map.of();
+        }
+        expect(parser, JsonToken.START_OBJECT, "object");
+        Map<String, Object> values = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.currentName();
+            parser.nextToken();
+            values.put(key, readValue(parser));
+        }
+        return values;
+    }
+
+    private Object readValue(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT -> parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NULL -> null;
+            case START_OBJECT -> readObject(parser);
+            case START_ARRAY -> {
+                List<Object> values = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    values.add(readValue(parser));
+                }
+                yield values;
+            }
+            default -> throw new FormSerializationException("Unexpected JSON token: " + parser.currentToken());
+        };
+    }
+
+    private void restoreDefaults(FormModel model) {
+        for (GuiElementModel element : model.getElements()) {
+            defaultsFor(element.getType()).forEach((key, value) -> {
+                if (!element.getProps().containsKey(key)) {
+                    element.setProperty(key, value);
+                }
+            });
+        }
+    }
+
+    private Map<String, Object> defaultsFor(String type) {
+        Map<String, Object> defaults = typeDefaults.apply(type);
+        return defaults == null ? Map.of() : defaults;
+    }
+
+    private static void expect(JsonParser parser, JsonToken token, String what) {
+        if (parser.currentToken() != token) {
+            throw new FormSerializationException("Malformed " + what + ": expected " + token
+                    + " but found " + parser.currentToken());
+        }
+    }
+
+    private static String requireText(JsonParser parser, String what) throws IOException {
+        String value = parser.getValueAsString();
+        if (value == null) {
+            throw new FormSerializationException("Missing value for " + what);
+        }
+        return value;
+    }
+
+    private static boolean isDefaultValue(Object value, Object defaultValue) {
+        if (value instanceof Number number && defaultValue instanceof Number defaultNumber) {
+            return Double.compare(number.doubleValue(), defaultNumber.doubleValue()) == 0;
+        }
+        return Objects.equals(value, defaultValue);
     }
 
     private Number normaliseNumber(Number number) {
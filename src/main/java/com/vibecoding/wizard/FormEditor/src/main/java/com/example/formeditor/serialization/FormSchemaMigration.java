@@ -0,0 +1,27 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.example.formeditor.serialization;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Upgrades a persisted form document from one schema version to the next.
+ * Migrations are chained by {@link FormPersistence} until the document reaches
+ * {@link FormPersistence#SCHEMA_VERSION}.
+ */
+public interface FormSchemaMigration {
+
+    /**
+     * Schema version this migration accepts.
+     */
+    String fromVersion();
+
+    /**
+     * Schema version the document has after {@link #migrate(ObjectNode)} ran.
+     */
+    String toVersion();
+
+    /**
+     * Rewrites the document in place. The {@code schemaVersion} field is updated by the caller.
+     */
+    void migrate(ObjectNode document);
+}
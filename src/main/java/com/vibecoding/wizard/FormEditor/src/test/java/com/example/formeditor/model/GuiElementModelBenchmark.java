@@ -0,0 +1,90 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.example.formeditor.model;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+/**
+ * Measures time and heap allocation of simulated drag sequences on {@link GuiElementModel}.
+ * Each drag step clamps the element to the form and writes the new bounds, mirroring
+ * {@code FormEditorCanvas.updateElementBounds}; reads model geometry like hit-testing does.
+ * Run with {@code java ... GuiElementModelBenchmark [steps] [rounds]}.
+ */
+public final class GuiElementModelBenchmark {
+
+    private static final double FORM_WIDTH = 1600;
+    private static final double FORM_HEIGHT = 1200;
+
+    private GuiElementModelBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int steps = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        GuiElementModel model = new GuiElementModel("elem-0", "Button", Map.of(
+                "text", "Button", "x", 10, "y", 10, "width", 100, "height", 32));
+
+        // Warm up so the measured rounds run compiled code
+        for (int i = 0; i < rounds; i++) {
+            drag(model, steps);
+            hitTest(model, steps);
+        }
+
+        long dragNanos = 0;
+        long dragBytes = 0;
+        long hitNanos = 0;
+        long hitBytes = 0;
+        for (int i = 0; i < rounds; i++) {
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            drag(model, steps);
+            dragNanos += System.nanoTime() - start;
+            dragBytes += allocatedBytes() - bytes;
+
+            bytes = allocatedBytes();
+            start = System.nanoTime();
+            hitTest(model, steps);
+            hitNanos += System.nanoTime() - start;
+            hitBytes += allocatedBytes() - bytes;
+        }
+
+        long total = (long) steps * rounds;
+        System.out.printf("drag     steps=%d %.1f ns/step %.1f bytes/step%n",
+                total, (double) dragNanos / total, (double) dragBytes / total);
+        System.out.printf("hit-test steps=%d %.1f ns/step %.1f bytes/step%n",
+                total, (double) hitNanos / total, (double) hitBytes / total);
+    }
+
+    private static void drag(GuiElementModel model, int steps) {
+        double startX = model.getLayoutX();
+        double startY = model.getLayoutY();
+        for (int i = 0; i < steps; i++) {
+            double width = model.getWidth();
+            double height = model.getHeight();
+            double x = Math.max(0, Math.min(FORM_WIDTH - width, startX + (i % 400)));
+            double y = Math.max(0, Math.min(FORM_HEIGHT - height, startY + (i % 300) * 0.5));
+            model.setLayoutBounds(x, y, width, height);
+        }
+    }
+
+    private static int hitTest(GuiElementModel model, int steps) {
+        int hits = 0;
+        for (int i = 0; i < steps; i++) {
+            double px = i % (int) FORM_WIDTH;
+            double py = i % (int) FORM_HEIGHT;
+            if (px >= model.getLayoutX() && px <= model.getLayoutX() + model.getWidth()
+                    && py >= model.getLayoutY() && py <= model.getLayoutY() + model.getHeight()) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean) {
+            return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
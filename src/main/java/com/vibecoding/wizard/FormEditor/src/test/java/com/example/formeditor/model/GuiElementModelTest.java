@@ -1,8 +1,11 @@
 /* Copyright 2025 Dennis Michael Heine */
 package com.example.formeditor.model;
 
+import javafx.collections.MapChangeListener;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -26,4 +29,34 @@ class GuiElementModelTest {
         assertEquals(200, model.getWidth());
         assertEquals(45, model.getHeight());
     }
+
+    @Test
+    void geometryFollowsDirectPropertyEdits() {
+        GuiElementModel model = new GuiElementModel("Label");
+        assertEquals(80, model.getWidth());
+
+        model.setProperty("x", "42.5");
+        model.getProps().put("height", 60);
+        model.setProperty("width", "not a number");
+
+        assertEquals(42.5, model.getLayoutX());
+        assertEquals(60, model.getHeight());
+        assertEquals(80, model.getWidth());
+
+        model.setProperty("x", null);
+        assertEquals(0, model.getLayoutX());
+    }
+
+    @Test
+    void setLayoutBoundsOnlyWritesChangedCoordinates() {
+        GuiElementModel model = new GuiElementModel("Label");
+        model.setLayoutBounds(10, 20, 100, 30);
+
+        List<String> changed = new ArrayList<>();
+        model.propsProperty().addListener((MapChangeListener<String, Object>) change -> changed.add(change.getKey()));
+        model.setLayoutBounds(15, 20, 100, 30);
+
+        assertEquals(List.of("x"), changed);
+        assertEquals(15.0, model.getProperty("x"));
+    }
 }
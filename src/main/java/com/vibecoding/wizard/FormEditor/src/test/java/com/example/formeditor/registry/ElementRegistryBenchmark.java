@@ -0,0 +1,93 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.example.formeditor.registry;
+
+import com.example.formeditor.model.GuiElementModel;
+import com.example.formeditor.properties.PropertyDescriptor;
+import javafx.application.Platform;
+import javafx.scene.Node;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures {@link ElementRegistry#createNode} throughput for every built-in element type,
+ * together with the cost of a full property refresh versus a single-property update.
+ * Run with {@code java ... ElementRegistryBenchmark [iterations]}.
+ */
+public final class ElementRegistryBenchmark {
+
+    private ElementRegistryBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        started.await();
+
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                BuiltInElementTypes.registerDefaults();
+                List<ElementType> types = new ArrayList<>(ElementRegistry.all());
+                types.sort(Comparator.comparing(ElementType::type));
+                for (ElementType type : types) {
+                    run(type, iterations);
+                }
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+        Platform.exit();
+    }
+
+    private static void run(ElementType type, int iterations) {
+        GuiElementModel model = type.createDefaultModel(10, 10);
+        String changedKey = firstContentKey(type);
+
+        // Warm up all three paths before measuring
+        Node node = null;
+        for (int i = 0; i < iterations; i++) {
+            node = ElementRegistry.createNode(model);
+            ElementRegistry.applyProperties(model, node);
+            ElementRegistry.applyProperty(model, node, changedKey);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            node = ElementRegistry.createNode(model);
+        }
+        long createNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            ElementRegistry.applyProperties(model, node);
+        }
+        long fullNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            ElementRegistry.applyProperty(model, node, changedKey);
+        }
+        long singleNanos = System.nanoTime() - start;
+
+        System.out.printf("%-12s createNode=%,10.0f ops/s applyAll=%8.2f us applyProperty(%s)=%8.2f us%n",
+                type.type(),
+                iterations / (createNanos / 1_000_000_000.0),
+                fullNanos / 1_000.0 / iterations,
+                changedKey,
+                singleNanos / 1_000.0 / iterations);
+    }
+
+    private static String firstContentKey(ElementType type) {
+        return type.propertyDescriptors().stream()
+                .filter(descriptor -> !descriptor.isLayoutProperty())
+                .map(PropertyDescriptor::getName)
+                .findFirst()
+                .orElse("width");
+    }
+}
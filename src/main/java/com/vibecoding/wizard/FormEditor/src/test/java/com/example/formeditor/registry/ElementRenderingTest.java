@@ -4,6 +4,7 @@ package com.example.formeditor.registry;
 import com.example.formeditor.model.GuiElementModel;
 import com.example.formeditor.util.FxTestSupport;
 import javafx.scene.Node;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -44,4 +45,23 @@ class ElementRenderingTest extends FxTestSupport {
         assertEquals(180, label.getPrefWidth(), 0.001);
         assertEquals(40, label.getPrefHeight(), 0.001);
     }
+
+    @Test
+    void singlePropertyChangeUpdatesExistingNode() {
+        GuiElementModel buttonModel = ElementRegistry.createDefault("Button", 10, 20);
+        Button button = (Button) ElementRegistry.createNode(buttonModel);
+
+        buttonModel.setProperty("text", "Submit");
+        ElementRegistry.applyProperty(buttonModel, button, "text");
+        assertEquals("Submit", button.getText());
+
+        buttonModel.setProperty("width", 240);
+        ElementRegistry.applyProperty(buttonModel, button, "width");
+        assertEquals(240, button.getPrefWidth(), 0.001);
+
+        // Position changes are handled by the canvas and leave the control untouched
+        buttonModel.setProperty("text", "Ignored");
+        ElementRegistry.applyProperty(buttonModel, button, "x");
+        assertEquals("Submit", button.getText());
+    }
 }
@@ -0,0 +1,79 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.example.formeditor.serialization;
+
+import com.example.formeditor.model.EventDefinition;
+import com.example.formeditor.model.FormModel;
+import com.example.formeditor.model.GuiElementModel;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures serialization throughput for large forms in indented and compact mode.
+ * Run with {@code java ... FormPersistenceBenchmark [elementCount] [iterations]}.
+ */
+public final class FormPersistenceBenchmark {
+
+    private static final Map<String, Map<String, Object>> DEFAULTS = Map.of(
+            "Label", Map.of("text", "Label", "fontFamily", "System", "fontSize", 14,
+                    "foreground", "#000000", "background", "transparent"),
+            "TextField", Map.of("text", "Text", "foreground", "#000000", "background", "transparent"),
+            "Button", Map.of("text", "Button", "fontFamily", "System", "fontSize", 14,
+                    "foreground", "#000000", "background", "transparent"));
+
+    private FormPersistenceBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int elementCount = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        FormModel form = createForm(elementCount);
+
+        run("indented", new FormPersistence(type -> DEFAULTS.getOrDefault(type, Map.of())), form, iterations);
+        run("compact", FormPersistence.compact(type -> DEFAULTS.getOrDefault(type, Map.of())), form, iterations);
+    }
+
+    private static void run(String label, FormPersistence persistence, FormModel form, int iterations) {
+        String json = persistence.toJson(form);
+        for (int i = 0; i < iterations; i++) {
+            persistence.fromJson(persistence.toJson(form));
+        }
+
+        long writeNanos = 0;
+        long readNanos = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            json = persistence.toJson(form);
+            writeNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            persistence.fromJson(json);
+            readNanos += System.nanoTime() - start;
+        }
+
+        System.out.printf("%-8s elements=%d size=%,d chars write=%.2f ms read=%.2f ms%n",
+                label, form.getElements().size(), json.length(),
+                writeNanos / 1_000_000.0 / iterations, readNanos / 1_000_000.0 / iterations);
+    }
+
+    static FormModel createForm(int elementCount) {
+        FormModel form = new FormModel("bench-form", "BenchForm", 1600, 1200, "#F0F0F0", List.of());
+        String[] types = {"Label", "TextField", "Button"};
+        for (int i = 0; i < elementCount; i++) {
+            String type = types[i % types.length];
+            Map<String, Object> props = new LinkedHashMap<>(DEFAULTS.get(type));
+            props.put("text", type + " " + i);
+            props.put("x", (i % 20) * 80);
+            props.put("y", (i / 20) * 30);
+            props.put("width", 72);
+            props.put("height", 24);
+            GuiElementModel element = new GuiElementModel("elem-" + i, type, props);
+            if (i % 10 == 0) {
+                element.getEvents().add(new EventDefinition("Clicked" + i, "User clicks", "Run action " + i));
+            }
+            form.addElement(element);
+        }
+        return form;
+    }
+}
@@ -1,13 +1,19 @@
 /* Copyright 2025 Dennis Michael Heine */
 package com.example.formeditor.serialization;
 
+import com.example.formeditor.model.EventDefinition;
 import com.example.formeditor.model.FormModel;
 import com.example.formeditor.model.GuiElementModel;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FormPersistenceTest {
 
@@ -51,4 +57,64 @@ class FormPersistenceTest {
 
         assertEquals(original, restored);
     }
+
+    @Test
+    void compactOutputOmitsDefaultsAndRestoresThemOnLoad() {
+        FormModel original = new FormModel("form-uuid", "MainForm", 400, 300, "#F0F0F0", List.of());
+        GuiElementModel label = new GuiElementModel("elem-1", "Label", Map.of(
+                "text", "Name",
+                "fontFamily", "System",
+                "fontSize", 14,
+                "x", 10,
+                "y", 20,
+                "width", 120,
+                "height", 24
+        ));
+        label.getEvents().add(new EventDefinition("NameClicked", "User clicks the label", "Focus the input"));
+        original.addElement(label);
+
+        Map<String, Object> labelDefaults = Map.of("text", "Label", "fontFamily", "System", "fontSize", 14);
+        FormPersistence compact = FormPersistence.compact(type -> "Label".equals(type) ? labelDefaults : Map.of());
+        String json = compact.toJson(original);
+
+        assertFalse(json.contains("\n"));
+        assertFalse(json.contains("fontFamily"));
+        assertFalse(json.contains("fontSize"));
+        assertTrue(json.contains("\"text\":\"Name\""));
+        assertTrue(json.contains("\"width\":120"));
+        assertEquals(original, compact.fromJson(json));
+        assertEquals(original, new FormPersistence(type -> labelDefaults).fromJson(json));
+    }
+
+    @Test
+    void olderSchemaVersionsAreMigrated() {
+        String legacy = """
+                {"schemaVersion":"0.9","form":{"id":"f","title":"Legacy","width":200,"height":100},"elements":[]}
+                """;
+        FormPersistence persistence = new FormPersistence();
+        assertThrows(FormSerializationException.class, () -> persistence.fromJson(legacy));
+
+        persistence.registerMigration(new FormSchemaMigration() {
+            @Override
+            public String fromVersion() {
+                return "0.9";
+            }
+
+            @Override
+            public String toVersion() {
+                return FormPersistence.SCHEMA_VERSION;
+            }
+
+            @Override
+            public void migrate(ObjectNode document) {
+                ObjectNode form = (ObjectNode) document.get("form");
+                form.set("name", form.remove("title"));
+            }
+        });
+
+        FormModel migrated = persistence.fromJson(legacy);
+        assertEquals("Legacy", migrated.getName());
+        assertEquals(200, migrated.getWidth());
+        assertEquals("#FFFFFF", migrated.getBackground());
+    }
 }
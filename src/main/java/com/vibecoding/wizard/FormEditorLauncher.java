@@ -11,24 +11,35 @@ import javafx.stage.Stage;
 import javax.swing.JFrame;
 import javax.swing.SwingUtilities;
 import java.awt.Window;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 
 /**
  * Utility class to launch the JavaFX FormEditor from a Swing application context.
  * Handles the JavaFX initialization and provides methods to exchange form data.
+ * <p>
+ * Editor stages are pooled: a closed editor is reset and kept hidden so the next dialog
+ * re-binds the existing stage, scene and view to a new form instead of rebuilding them.
+ * {@link #prewarm()} starts the JavaFX runtime and builds the first editor in the background.
  */
 public final class FormEditorLauncher {
-    
-    private static boolean javafxInitialized = false;
-    
+
+    private static final int MAX_IDLE_EDITORS = 2;
+
+    private static volatile boolean javafxInitialized = false;
+
+    // Only accessed on the JavaFX application thread
+    private static final Deque<EditorSession> IDLE_EDITORS = new ArrayDeque<>();
+
     private FormEditorLauncher() {
     }
-    
+
     /**
      * Ensures JavaFX platform is initialized.
      */
-    private static void ensureJavaFXInitialized() {
+    private static synchronized void ensureJavaFXInitialized() {
         if (!javafxInitialized) {
             // Create a JFXPanel to initialize JavaFX toolkit
             new JFXPanel();
@@ -40,11 +51,51 @@ public final class FormEditorLauncher {
             System.out.println("ensureJavaFXInitialized: Already initialized");
         }
     }
-    
+
+    /**
+     * Starts the JavaFX runtime and prepares an idle editor stage on a background thread,
+     * so the first {@link #openFormEditor} call does not pay for toolkit and editor startup.
+     *
+     * @return Completes once the idle editor is ready, or exceptionally if JavaFX failed to start
+     */
+    public static CompletableFuture<Void> prewarm() {
+        CompletableFuture<Void> ready = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            long start = System.nanoTime();
+            try {
+                ensureJavaFXInitialized();
+                StartupTimings.current().record("javafx-toolkit", start);
+                Platform.runLater(() -> {
+                    long editorStart = System.nanoTime();
+                    try {
+                        if (IDLE_EDITORS.isEmpty()) {
+                            EditorSession session = new EditorSession();
+                            // Touch the serialization path once so its classes are loaded as well
+                            session.view.toCompactJson();
+                            IDLE_EDITORS.push(session);
+                        }
+                        StartupTimings.current().record("form-editor-prewarm", editorStart);
+                        System.out.println("FormEditor prewarmed in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+                        ready.complete(null);
+                    } catch (Exception e) {
+                        System.err.println("FormEditor prewarm failed: " + e.getMessage());
+                        ready.completeExceptionally(e);
+                    }
+                });
+            } catch (Throwable e) {
+                System.err.println("JavaFX prewarm failed: " + e.getMessage());
+                ready.completeExceptionally(e);
+            }
+        }, "form-editor-prewarm");
+        thread.setDaemon(true);
+        thread.start();
+        return ready;
+    }
+
     /**
      * Opens the Form Editor in a new window with optional initial JSON data.
      * Returns the JSON string of the edited form when the window is closed.
-     * 
+     *
      * @param initialJson Optional initial JSON data to load, or null for a new form
      * @param dialogName The name of the dialog being edited
      * @param parentWindow The parent Swing window (JFrame or JDialog), used for positioning
@@ -52,82 +103,18 @@ public final class FormEditorLauncher {
      */
     public static CompletableFuture<String> openFormEditor(String initialJson, String dialogName, Window parentWindow) {
         ensureJavaFXInitialized();
-        
+
         CompletableFuture<String> result = new CompletableFuture<>();
-        
-        // Store parent window visibility state
-        final boolean wasVisible = parentWindow != null && parentWindow.isVisible();
-        
+
         try {
             Platform.runLater(() -> {
                 try {
-                    Stage stage = new Stage();
-                    
-                    // Make the stage modal to block interaction with parent
-                    stage.initModality(Modality.APPLICATION_MODAL);
-                    
-                    FormEditorView editorView = new FormEditorView();
-                    
-                    // Load initial JSON if provided
-                    if (initialJson != null && !initialJson.trim().isEmpty()) {
-                        try {
-                            editorView.loadJson(new java.io.ByteArrayInputStream(
-                                initialJson.getBytes(java.nio.charset.StandardCharsets.UTF_8)));
-                        } catch (Exception e) {
-                            System.err.println("Failed to load initial form JSON: " + e.getMessage());
-                            e.printStackTrace();
-                            // Continue with default form
-                        }
-                    } else {
-                        // Create a new form with the dialog name
-                        editorView.newForm(400, 400, dialogName != null ? dialogName : "DialogForm");
-                    }
-                    
-                    Scene scene = new Scene(editorView, 1200, 800);
-                    stage.setScene(scene);
-                    stage.setTitle("Form Editor - " + (dialogName != null ? dialogName : "Dialog"));
-                    
-                    // Handle window close - capture the JSON and complete the future
-                    stage.setOnCloseRequest(event -> {
-                        try {
-                            String json = editorView.toJson();
-                            result.complete(json);
-                            
-                            // Don't need to restore parent visibility since we're not hiding it anymore
-                            // Just ensure it comes back to front
-                            if (parentWindow != null) {
-                                SwingUtilities.invokeLater(() -> {
-                                    parentWindow.toFront();
-                                    parentWindow.requestFocus();
-                                });
-                            }
-                        } catch (Exception e) {
-                            System.err.println("Error getting JSON on close: " + e.getMessage());
-                            e.printStackTrace();
-                            result.completeExceptionally(e);
-                        }
-                    });
-                    
-                    // Position relative to parent if available
-                    if (parentWindow != null) {
-                        // Calculate position before showing
-                        stage.setX(parentWindow.getX() + 50);
-                        stage.setY(parentWindow.getY() + 50);
-                        
-                        // Don't hide the parent - JavaFX modal stage should handle blocking
-                        // SwingUtilities.invokeLater(() -> parentWindow.setVisible(false));
+                    EditorSession session = IDLE_EDITORS.poll();
+                    if (session == null) {
+                        session = new EditorSession();
                     }
-                    
-                    stage.show();
-                    
-                    // Bring to front and focus
-                    Platform.runLater(() -> {
-                        stage.toFront();
-                        stage.requestFocus();
-                    });
-                    
+                    session.open(initialJson, dialogName, parentWindow, result);
                     System.out.println("FormEditor stage shown successfully");
-                    
                 } catch (Exception e) {
                     System.err.println("Error in Platform.runLater: " + e.getMessage());
                     e.printStackTrace();
@@ -139,13 +126,13 @@ public final class FormEditorLauncher {
             e.printStackTrace();
             result.completeExceptionally(e);
         }
-        
+
         return result;
     }
-    
+
     /**
      * Opens the Form Editor modally (blocking the calling thread until the editor closes).
-     * 
+     *
      * @param initialJson Optional initial JSON data to load, or null for a new form
      * @param dialogName The name of the dialog being edited
      * @param parentWindow The parent Swing window (JFrame or JDialog), used for positioning
@@ -159,4 +146,97 @@ public final class FormEditorLauncher {
             return null;
         }
     }
+
+    private static void release(EditorSession session) {
+        session.view.reset();
+        if (IDLE_EDITORS.size() < MAX_IDLE_EDITORS) {
+            IDLE_EDITORS.push(session);
+        }
+    }
+
+    /**
+     * A stage, scene and editor view that can be bound to successive dialogs.
+     * Must be created and used on the JavaFX application thread.
+     */
+    private static final class EditorSession {
+        private final Stage stage = new Stage();
+        private final FormEditorView view = new FormEditorView();
+        private CompletableFuture<String> result;
+        private Window parentWindow;
+
+        EditorSession() {
+            // Make the stage modal to block interaction with parent
+            stage.initModality(Modality.APPLICATION_MODAL);
+            stage.setScene(new Scene(view, 1200, 800));
+            // Covers both the window close button and File > Exit, which only hides the stage
+            stage.setOnHidden(event -> finish());
+        }
+
+        void open(String initialJson, String dialogName, Window parent, CompletableFuture<String> future) {
+            this.result = future;
+            this.parentWindow = parent;
+            String name = dialogName != null ? dialogName : "DialogForm";
+
+            // Load initial JSON if provided
+            if (initialJson != null && !initialJson.trim().isEmpty()) {
+                try {
+                    view.loadJson(new java.io.ByteArrayInputStream(
+                        initialJson.getBytes(java.nio.charset.StandardCharsets.UTF_8)));
+                } catch (Exception e) {
+                    System.err.println("Failed to load initial form JSON: " + e.getMessage());
+                    e.printStackTrace();
+                    // Continue with default form
+                    view.newForm(400, 400, name);
+                }
+            } else {
+                // Create a new form with the dialog name
+                view.newForm(400, 400, name);
+            }
+
+            stage.setTitle("Form Editor - " + (dialogName != null ? dialogName : "Dialog"));
+
+            // Position relative to parent if available
+            if (parent != null) {
+                stage.setX(parent.getX() + 50);
+                stage.setY(parent.getY() + 50);
+            } else {
+                stage.centerOnScreen();
+            }
+
+            stage.show();
+
+            // Bring to front and focus
+            Platform.runLater(() -> {
+                stage.toFront();
+                stage.requestFocus();
+            });
+        }
+
+        private void finish() {
+            CompletableFuture<String> future = result;
+            Window parent = parentWindow;
+            result = null;
+            parentWindow = null;
+            if (future == null) {
+                return;
+            }
+            try {
+                // Layouts are stored inside project files and embedded in prompts
+                future.complete(view.toCompactJson());
+
+                // Just ensure the parent comes back to front
+                if (parent != null) {
+                    SwingUtilities.invokeLater(() -> {
+                        parent.toFront();
+                        parent.requestFocus();
+                    });
+                }
+            } catch (Exception e) {
+                System.err.println("Error getting JSON on close: " + e.getMessage());
+                e.printStackTrace();
+                future.completeExceptionally(e);
+            }
+            release(this);
+        }
+    }
 }
@@ -0,0 +1,245 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import com.example.formeditor.model.EventDefinition;
+import com.example.formeditor.model.FormModel;
+import com.example.formeditor.model.GuiElementModel;
+import com.example.formeditor.registry.BuiltInElementTypes;
+import com.example.formeditor.registry.ElementRegistry;
+import com.example.formeditor.serialization.FormPersistence;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compiles a dialog's form layout JSON into a compact row-based description for prompts.
+ * Layouts are parsed once through {@link FormPersistence}; results are cached per layout hash.
+ */
+public final class FormLayoutCompiler {
+    public static final int DEFAULT_TOKEN_BUDGET = 1500;
+
+    private static final int CACHE_SIZE = 256;
+    private static final double ROW_TOLERANCE = 8;
+    private static final Set<String> LAYOUT_KEYS = Set.of("x", "y", "width", "height");
+    private static final Set<String> ESSENTIAL_KEYS = Set.of("text", "items", "initialWindow");
+    private static final CompiledLayout UNPARSEABLE = new CompiledLayout("", false, 0);
+
+    private static final FormPersistence PERSISTENCE = new FormPersistence(ElementRegistry::defaultProperties);
+    private static final Map<String, CompiledLayout> CACHE = Collections.synchronizedMap(
+        new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledLayout> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        });
+
+    private FormLayoutCompiler() {
+    }
+
+    /**
+     * Result of compiling a layout.
+     *
+     * @param text The compact layout description
+     * @param hasEvents Whether the form or any element defines events
+     * @param elementCount Number of elements on the form
+     */
+    public record CompiledLayout(String text, boolean hasEvents, int elementCount) {
+    }
+
+    public static CompiledLayout compile(String formLayoutJson) {
+        return compile(formLayoutJson, DEFAULT_TOKEN_BUDGET);
+    }
+
+    /**
+     * Compiles the layout so that the description stays within roughly {@code tokenBudget} tokens
+     * by dropping non-essential properties. Every control is always listed, since the prompt asks
+     * for the dialog exactly as specified, so a large form may still exceed the budget.
+     *
+     * @return The compiled layout, or null if the JSON is blank or cannot be parsed
+     */
+    public static CompiledLayout compile(String formLayoutJson, int tokenBudget) {
+        if (formLayoutJson == null || formLayoutJson.isBlank()) {
+            return null;
+        }
+        String key = hash(formLayoutJson) + "/" + tokenBudget;
+        CompiledLayout cached = CACHE.get(key);
+        if (cached == null) {
+            cached = compileUncached(formLayoutJson, tokenBudget);
+            CACHE.put(key, cached);
+        }
+        return cached == UNPARSEABLE ? null : cached;
+    }
+
+    /**
+     * Rough token estimate used for budgeting (about four characters per token).
+     */
+    public static int estimateTokens(String text) {
+        return text == null ? 0 : (text.length() + 3) / 4;
+    }
+
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    private static CompiledLayout compileUncached(String json, int tokenBudget) {
+        FormModel form;
+        try {
+            ensureElementTypes();
+            form = PERSISTENCE.fromJson(json);
+        } catch (RuntimeException e) {
+            System.err.println("Failed to compile form layout: " + e.getMessage());
+            return UNPARSEABLE;
+        }
+
+        List<List<GuiElementModel>> rows = toRows(form.getElements());
+        boolean hasEvents = !form.getEvents().isEmpty()
+            || form.getElements().stream().anyMatch(element -> !element.getEvents().isEmpty());
+
+        String text = render(form, rows, true);
+        if (estimateTokens(text) > tokenBudget) {
+            text = render(form, rows, false);
+        }
+        return new CompiledLayout(text, hasEvents, form.getElements().size());
+    }
+
+    private static synchronized void ensureElementTypes() {
+        if (!ElementRegistry.isRegistered("Label")) {
+            BuiltInElementTypes.registerDefaults();
+        }
+    }
+
+    /**
+     * Groups elements into rows: an element joins the current row when its top edge lies
+     * within {@link #ROW_TOLERANCE} of the row's top edge. Rows are ordered left to right.
+     */
+    private static List<List<GuiElementModel>> toRows(List<GuiElementModel> elements) {
+        List<GuiElementModel> sorted = new ArrayList<>(elements);
+        sorted.sort(Comparator.comparingDouble(GuiElementModel::getLayoutY)
+            .thenComparingDouble(GuiElementModel::getLayoutX));
+
+        List<List<GuiElementModel>> rows = new ArrayList<>();
+        List<GuiElementModel> current = null;
+        double rowTop = 0;
+        for (GuiElementModel element : sorted) {
+            if (current == null || element.getLayoutY() - rowTop > ROW_TOLERANCE) {
+                current = new ArrayList<>();
+                rows.add(current);
+                rowTop = element.getLayoutY();
+            }
+            current.add(element);
+        }
+        for (List<GuiElementModel> row : rows) {
+            row.sort(Comparator.comparingDouble(GuiElementModel::getLayoutX));
+        }
+        return rows;
+    }
+
+    private static String render(FormModel form, List<List<GuiElementModel>> rows, boolean allProperties) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("Form ").append(form.getName()).append(' ')
+            .append(number(form.getWidth())).append('x').append(number(form.getHeight()));
+        if (form.getBackground() != null && !form.getBackground().isBlank()) {
+            builder.append(" background=").append(form.getBackground());
+        }
+        builder.append('\n');
+
+        StringBuilder events = new StringBuilder();
+        appendEvents(events, "form", form.getEvents());
+
+        for (int i = 0; i < rows.size(); i++) {
+            List<GuiElementModel> row = rows.get(i);
+            builder.append("Row ").append(i + 1).append(": ");
+            for (int j = 0; j < row.size(); j++) {
+                if (j > 0) {
+                    builder.append(" | ");
+                }
+                appendElement(builder, row.get(j), allProperties);
+            }
+            builder.append('\n');
+            for (GuiElementModel element : row) {
+                appendEvents(events, element.getId(), element.getEvents());
+            }
+        }
+        if (events.length() > 0) {
+            builder.append("Events:\n").append(events);
+        }
+        return builder.toString();
+    }
+
+    private static void appendElement(StringBuilder builder, GuiElementModel element, boolean allProperties) {
+        builder.append(element.getId()).append(':').append(element.getType())
+            .append('@').append(number(element.getLayoutX())).append(',').append(number(element.getLayoutY()))
+            .append(' ').append(number(element.getWidth())).append('x').append(number(element.getHeight()));
+
+        Map<String, Object> defaults = ElementRegistry.defaultProperties(element.getType());
+        element.getProps().entrySet().stream()
+            .filter(entry -> !LAYOUT_KEYS.contains(entry.getKey()))
+            .filter(entry -> allProperties || ESSENTIAL_KEYS.contains(entry.getKey()))
+            .filter(entry -> !isDefault(entry.getValue(), defaults.get(entry.getKey())))
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(entry -> builder.append(' ').append(entry.getKey()).append('=').append(value(entry.getValue())));
+    }
+
+    private static void appendEvents(StringBuilder builder, String target, List<EventDefinition> events) {
+        for (EventDefinition event : events) {
+            builder.append("- ").append(target).append('.').append(event.getName());
+            if (!event.getTriggerDescription().isBlank()) {
+                builder.append(" when: ").append(singleLine(event.getTriggerDescription()));
+            }
+            if (!event.getActionDescription().isBlank()) {
+                builder.append(" do: ").append(singleLine(event.getActionDescription()));
+            }
+            builder.append('\n');
+        }
+    }
+
+    private static boolean isDefault(Object value, Object defaultValue) {
+        if (defaultValue == null) {
+            return false;
+        }
+        if (value instanceof Number number && defaultValue instanceof Number defaultNumber) {
+            return Double.compare(number.doubleValue(), defaultNumber.doubleValue()) == 0;
+        }
+        return Objects.equals(value, defaultValue);
+    }
+
+    private static String value(Object value) {
+        if (value instanceof Number number) {
+            return number(number.doubleValue());
+        }
+        if (value instanceof Boolean) {
+            return String.valueOf(value);
+        }
+        return '"' + singleLine(String.valueOf(value)).replace("\"", "\\\"") + '"';
+    }
+
+    private static String number(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            return Long.toString((long) value);
+        }
+        return String.valueOf(Math.round(value * 10) / 10.0);
+    }
+
+    private static String singleLine(String text) {
+        return text.trim().replace("\r", "").replace('\n', ' ');
+    }
+
+    private static String hash(String json) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(json.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(json.hashCode()) + ":" + json.length();
+        }
+    }
+}
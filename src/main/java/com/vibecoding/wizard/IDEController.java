@@ -143,6 +143,7 @@ public final class IDEController {
                                             // Load the existing project instead
                                             IDEProject existingProject = ProjectSerializer.load(vcpFile);
                                             if (existingProject != null) {
+                                                releaseProject();
                                                 currentProject = existingProject;
                                                 currentProjectFile = vcpFile;
                                                 selectedModule = null;
@@ -195,6 +196,7 @@ public final class IDEController {
             }
             
             // Create new project
+            releaseProject();
             currentProject = new IDEProject(config);
             currentProjectFile = null;
             selectedModule = null;
@@ -295,6 +297,7 @@ public final class IDEController {
                     project.getProjectSettings().setProjectPath(projectDirectory.toString());
                 }
                 
+                releaseProject();
                 currentProject = project;
                 currentProjectFile = path;
                 selectedModule = null;
@@ -317,6 +320,7 @@ public final class IDEController {
      * @param projectFile The file path of the project
      */
     public void loadExistingProject(IDEProject project, Path projectFile) {
+        releaseProject();
         this.currentProject = project;
         this.currentProjectFile = projectFile;
         this.selectedModule = null;
@@ -719,8 +723,19 @@ public final class IDEController {
         // Save current module data
         frame.saveCurrentModuleData();
         
+        // Building runs the Copilot CLI, so the background environment checks must have passed
+        if (!StartupChecker.ensureEnvironmentReady(frame)) {
+            return;
+        }
+        
         // Show TaskExecutionDialog
         TaskExecutionDialog dialog = new TaskExecutionDialog(frame);
+        Path projectDirectory = currentProject.getInitialConfig() != null
+            ? currentProject.getInitialConfig().getProjectDirectory() : null;
+        dialog.setOnClose(() -> {
+            copilotCliService.cancel();
+            CopilotCliService.cancelAll(projectDirectory);
+        });
         BuildExecutionWorker worker = new BuildExecutionWorker(dialog, currentProject, copilotCliService);
         worker.execute();
         dialog.setVisible(true);
@@ -736,6 +751,19 @@ public final class IDEController {
         System.exit(0);
     }
     
+    /**
+     * Cancels the current project's agent runs and releases the build servers used for its
+     * directory; called before another project replaces it. The application's exit stops the rest.
+     */
+    private void releaseProject() {
+        if (currentProject != null && currentProject.getInitialConfig() != null) {
+            Path projectDirectory = currentProject.getInitialConfig().getProjectDirectory();
+            copilotCliService.cancel();
+            CopilotCliService.cancelAll(projectDirectory);
+            BuildDaemons.shared().releaseInBackground(projectDirectory);
+        }
+    }
+    
     /**
      * Confirms with user if there are unsaved changes.
      */
@@ -815,6 +843,7 @@ public final class IDEController {
         private final IDEProject project;
         private final CopilotCliService copilotService;
         private Exception failure;
+        private FileTreeSnapshot.ChangeSet changes;
         
         BuildExecutionWorker(TaskExecutionDialog dialog, IDEProject project, CopilotCliService copilotService) {
             this.dialog = dialog;
@@ -885,16 +914,19 @@ public final class IDEController {
                 dialog.appendLog("");
                 dialog.appendLog("Running Copilot CLI with file-based prompt...");
                 
+                FileTreeSnapshot before = FileTreeSnapshot.capture(projectDir);
                 CopilotCliService combinedService = new CopilotCliService(projectDir);
                 ProcessResult result = combinedService.runPrimaryTask(
                     TaskType.GENERATE_APP_OR_SCRIPT,
                     fileReadPrompt,
                     line -> dialog.appendLog(line)
                 );
+                changes = before.diff(FileTreeSnapshot.capture(projectDir));
                 
                 dialog.appendLog("");
                 dialog.appendLog("=== Copilot CLI Execution Completed ===");
                 dialog.appendLog("Exit code: " + result.getExitCode());
+                dialog.appendLog("Files changed: " + changes.describe());
                 
                 if (!result.getStdout().isBlank()) {
                     dialog.appendLog("\nStandard Output:\n" + result.getStdout());
@@ -934,7 +966,8 @@ public final class IDEController {
                     if (config != null && config.getProjectDirectory() != null) {
                         dialog.openOutputDirectory(
                             config.getProjectDirectory(),
-                            config.getProgrammingLanguage()
+                            config.getProgrammingLanguage(),
+                            changes
                         );
                     }
                 } else {
@@ -1044,7 +1077,7 @@ public final class IDEController {
                 
                 // Create a separate CopilotCliService instance for this module
                 dialog.appendLog("Working directory: " + moduleDir.toAbsolutePath());
-                CopilotCliService moduleService = new CopilotCliService(moduleDir);
+                CopilotCliService moduleService = new CopilotCliService(moduleDir, projectDir);
                 
                 String prompt = buildModulePrompt(config, module);
                 dialog.appendLog("Module prompt generated.");
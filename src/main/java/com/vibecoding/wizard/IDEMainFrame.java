@@ -226,7 +226,8 @@ public final class IDEMainFrame extends JFrame {
      */
     public void saveCurrentModuleData() {
         Module module = controller.getSelectedModule();
-        if (module != null && controller.getCurrentProject() != null) {
+        // Unedited modules are left alone, so merely selecting one does not mark the project dirty
+        if (module != null && controller.getCurrentProject() != null && editorPanel.hasUnsavedChanges()) {
             MainTaskData data = editorPanel.saveModule(controller.getCurrentProject().getInitialConfig());
             if (data != null) {
                 controller.updateModuleData(data);
@@ -262,7 +263,7 @@ public final class IDEMainFrame extends JFrame {
         if (project == null) {
             statusLabel.setText("No project open");
         } else {
-            int moduleCount = project.getAllModules().size();
+            int moduleCount = project.allModulesView().size();
             Module mainModule = project.getMainModule();
             String mainModuleName = mainModule != null ? mainModule.getName() : "None";
             statusLabel.setText(String.format("Modules: %d | Main Module: %s", moduleCount, mainModuleName));
@@ -16,6 +16,7 @@ public final class IDEProject implements Serializable {
     private final List<Module> rootModules;
     private Module mainModule;
     private ProjectSettings projectSettings;
+    private transient ModuleIndex moduleIndex;
     
     /**
      * Creates a new empty IDE project.
@@ -25,6 +26,7 @@ public final class IDEProject implements Serializable {
         this.initialConfig = null;
         this.mainModule = null;
         this.projectSettings = new ProjectSettings();
+        this.moduleIndex = new ModuleIndex(rootModules);
     }
     
     /**
@@ -62,11 +64,16 @@ public final class IDEProject implements Serializable {
     public void addRootModule(Module module) {
         if (module != null && !rootModules.contains(module)) {
             rootModules.add(module);
+            moduleIndex.attach(null, rootModules.size() - 1, module);
         }
     }
     
     public void removeRootModule(Module module) {
-        rootModules.remove(module);
+        int position = rootModules.indexOf(module);
+        if (position >= 0) {
+            rootModules.remove(position);
+            moduleIndex.detach(null, position, module);
+        }
         if (mainModule == module) {
             mainModule = null;
         }
@@ -75,6 +82,7 @@ public final class IDEProject implements Serializable {
     public void insertRootModule(int index, Module module) {
         if (module != null && !rootModules.contains(module)) {
             rootModules.add(index, module);
+            moduleIndex.attach(null, index, module);
         }
     }
     
@@ -83,7 +91,26 @@ public final class IDEProject implements Serializable {
     }
     
     public void setMainModule(Module module) {
+        Module previous = this.mainModule;
         this.mainModule = module;
+        if (previous != null && previous != module) {
+            moduleIndex.changed(previous);
+        }
+        if (module != null) {
+            moduleIndex.changed(module);
+        }
+    }
+
+    /**
+     * Registers a listener for insertions, removals and changes anywhere in the module tree.
+     * Listeners are not serialized.
+     */
+    public void addModuleTreeListener(ModuleTreeListener listener) {
+        moduleIndex.addListener(listener);
+    }
+
+    public void removeModuleTreeListener(ModuleTreeListener listener) {
+        moduleIndex.removeListener(listener);
     }
     
     public ProjectSettings getProjectSettings() {
@@ -100,11 +127,17 @@ public final class IDEProject implements Serializable {
      * @return List of all modules in the project
      */
     public List<Module> getAllModules() {
-        List<Module> all = new ArrayList<>();
-        for (Module root : rootModules) {
-            all.addAll(root.getAllModules());
-        }
-        return all;
+        return new ArrayList<>(moduleIndex.preorder());
+    }
+
+    /**
+     * Gets all modules in depth-first order without copying. The list is read-only and
+     * reflects the tree at the time of the call; later changes to the tree do not affect it.
+     * 
+     * @return Read-only list of all modules in the project
+     */
+    public List<Module> allModulesView() {
+        return moduleIndex.preorder();
     }
     
     /**
@@ -117,12 +150,7 @@ public final class IDEProject implements Serializable {
         if (id == null) {
             return null;
         }
-        for (Module module : getAllModules()) {
-            if (id.equals(module.getId())) {
-                return module;
-            }
-        }
-        return null;
+        return moduleIndex.findById(id);
     }
     
     /**
@@ -137,13 +165,7 @@ public final class IDEProject implements Serializable {
             return false;
         }
         
-        String trimmedName = name.trim();
-        for (Module module : getAllModules()) {
-            if (module != excludeModule && trimmedName.equalsIgnoreCase(module.getName())) {
-                return false;
-            }
-        }
-        return true;
+        return !moduleIndex.isNameTaken(name, excludeModule);
     }
     
     /**
@@ -158,5 +180,9 @@ public final class IDEProject implements Serializable {
         if (projectSettings == null) {
             projectSettings = new ProjectSettings();
         }
+        moduleIndex = new ModuleIndex(rootModules);
+        for (int i = 0; i < rootModules.size(); i++) {
+            moduleIndex.attach(null, i, rootModules.get(i));
+        }
     }
 }
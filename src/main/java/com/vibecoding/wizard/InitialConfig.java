@@ -74,6 +74,14 @@ public final class InitialConfig implements Serializable {
     public ProjectMode getIdeOrWizardMode() {
         return ideOrWizardMode;
     }
+
+    /**
+     * This configuration for a project in {@code directory}.
+     */
+    public InitialConfig withProjectDirectory(Path directory) {
+        return new InitialConfig(programmingLanguage, projectStyle, targetOperatingSystems, directory, programMode,
+            projectName, ideOrWizardMode);
+    }
     
     /**
      * Custom serialization to handle the non-serializable Path field and ProgramMode.
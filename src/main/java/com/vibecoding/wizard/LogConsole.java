@@ -0,0 +1,206 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.awt.Color;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.BorderFactory;
+import javax.swing.JScrollBar;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import javax.swing.Timer;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+
+/**
+ * High-throughput log view. Lines may be appended from any thread; they are queued without
+ * locking and moved into the text area in one batch per frame. The visible document keeps
+ * only the most recent {@link #getMaxLines()} lines, while the full history is streamed to
+ * a temporary file that can be opened on demand.
+ */
+public final class LogConsole extends JScrollPane {
+    public static final int DEFAULT_MAX_LINES = 5_000;
+    private static final int FRAME_MILLIS = 16;
+    private static final int MAX_BATCH_LINES = 20_000;
+
+    private final JTextArea textArea = new JTextArea();
+    private final ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>();
+    private final Timer drainTimer = new Timer(FRAME_MILLIS, event -> drain());
+    private final ExecutorService historyWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "log-history-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final int maxLines;
+    private Path historyFile;
+    private BufferedWriter history;
+
+    public LogConsole() {
+        this(DEFAULT_MAX_LINES);
+    }
+
+    public LogConsole(int maxLines) {
+        if (maxLines <= 0) {
+            throw new IllegalArgumentException("maxLines must be positive");
+        }
+        this.maxLines = maxLines;
+        textArea.setEditable(false);
+        textArea.setLineWrap(true);
+        textArea.setWrapStyleWord(true);
+        textArea.setBackground(Color.WHITE);
+        textArea.setBorder(BorderFactory.createEmptyBorder(12, 12, 12, 12));
+        setViewportView(textArea);
+        openHistory();
+        drainTimer.setCoalesce(true);
+        drainTimer.start();
+    }
+
+    /**
+     * Queues a line for display. Safe to call from any thread; never blocks on the EDT.
+     * Messages containing line breaks are kept together in one entry.
+     */
+    public void append(String line) {
+        pending.offer(line);
+    }
+
+    public int getMaxLines() {
+        return maxLines;
+    }
+
+    /**
+     * File holding every line appended so far, or null if it could not be created.
+     */
+    public Path getHistoryFile() {
+        return historyFile;
+    }
+
+    /**
+     * Moves all queued lines into the view and waits until they reached the history file.
+     * Must be called on the EDT.
+     */
+    public void flush() {
+        drain();
+        try {
+            historyWriter.submit(this::flushHistory).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.err.println("Failed to flush log history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Current visible text, for tests and copy actions. Must be called on the EDT.
+     */
+    public String getVisibleText() {
+        return textArea.getText();
+    }
+
+    /**
+     * Stops the frame timer and closes the history file. Queued lines are written first.
+     */
+    public void close() {
+        if (historyWriter.isShutdown()) {
+            return;
+        }
+        drainTimer.stop();
+        drain();
+        historyWriter.submit(() -> {
+            if (history != null) {
+                try {
+                    history.close();
+                } catch (IOException e) {
+                    System.err.println("Failed to close log history: " + e.getMessage());
+                }
+                history = null;
+            }
+        });
+        historyWriter.shutdown();
+    }
+
+    private void drain() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<String> batch = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        String line;
+        while (batch.size() < MAX_BATCH_LINES && (line = pending.poll()) != null) {
+            batch.add(line);
+            text.append(line).append('\n');
+        }
+        if (!historyWriter.isShutdown()) {
+            historyWriter.execute(() -> writeHistory(batch));
+        }
+
+        JScrollBar vertical = getVerticalScrollBar();
+        boolean followTail = vertical.getValue() + vertical.getVisibleAmount() >= vertical.getMaximum() - 4;
+        Document document = textArea.getDocument();
+        try {
+            document.insertString(document.getLength(), text.toString(), null);
+            trimToLimit(document);
+        } catch (BadLocationException e) {
+            System.err.println("Failed to update log view: " + e.getMessage());
+        }
+        if (followTail) {
+            textArea.setCaretPosition(document.getLength());
+        }
+    }
+
+    private void trimToLimit(Document document) throws BadLocationException {
+        int excess = textArea.getLineCount() - 1 - maxLines;
+        if (excess > 0) {
+            int end = document.getDefaultRootElement().getElement(excess).getStartOffset();
+            document.remove(0, end);
+        }
+    }
+
+    private void openHistory() {
+        try {
+            historyFile = Files.createTempFile("vibecoding-log-", ".log");
+            historyFile.toFile().deleteOnExit();
+            history = Files.newBufferedWriter(historyFile, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Log history disabled: " + e.getMessage());
+            historyFile = null;
+            history = null;
+        }
+    }
+
+    // Runs on the history writer thread
+    private void writeHistory(List<String> batch) {
+        if (history == null) {
+            return;
+        }
+        try {
+            for (String line : batch) {
+                history.write(line);
+                history.write('\n');
+            }
+            // Once per frame at most; keeps the file current for the log viewer
+            history.flush();
+        } catch (IOException e) {
+            System.err.println("Failed to write log history: " + e.getMessage());
+        }
+    }
+
+    // Runs on the history writer thread
+    private void flushHistory() {
+        if (history == null) {
+            return;
+        }
+        try {
+            history.flush();
+        } catch (IOException e) {
+            System.err.println("Failed to flush log history: " + e.getMessage());
+        }
+    }
+}
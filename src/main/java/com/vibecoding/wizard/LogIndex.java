@@ -0,0 +1,248 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Line index over an append-only log file. The file is memory-mapped in segments that
+ * each end on a line boundary; {@link #refresh()} maps and indexes only the bytes appended
+ * since the previous call, recording each line's start offset and {@link LogSeverity}.
+ * A trailing line without a newline is picked up once it is complete.
+ * <p>
+ * Not thread-safe; use from a single thread (the viewer uses the EDT).
+ */
+public final class LogIndex implements Closeable {
+    private static final long SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final List<Long> segmentStarts = new ArrayList<>();
+    private long indexedEnd;
+    private long[] lineStarts = new long[1024];
+    private byte[] severities = new byte[1024];
+    private int lineCount;
+    private int errorCount;
+    private int warningCount;
+
+    public LogIndex(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    /**
+     * Indexes lines appended since the last call.
+     *
+     * @return Number of new lines
+     */
+    public int refresh() throws IOException {
+        long size = channel.size();
+        if (size <= indexedEnd) {
+            return 0;
+        }
+        int before = lineCount;
+        while (indexedEnd < size) {
+            long start = indexedEnd;
+            long length = Math.min(size - start, SEGMENT_SIZE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            int complete = lastLineEnd(buffer, (int) length);
+            if (complete == 0) {
+                if (length == SEGMENT_SIZE) {
+                    // A single line longer than a segment; index it as its own truncated line
+                    complete = (int) length;
+                } else {
+                    break;
+                }
+            }
+            MappedByteBuffer segment = complete == length
+                ? buffer
+                : channel.map(FileChannel.MapMode.READ_ONLY, start, complete);
+            addSegment(start, segment);
+            indexLines(segment, start, complete);
+            indexedEnd = start + complete;
+        }
+        return lineCount - before;
+    }
+
+    public int lineCount() {
+        return lineCount;
+    }
+
+    public int errorCount() {
+        return errorCount;
+    }
+
+    public int warningCount() {
+        return warningCount;
+    }
+
+    public LogSeverity severity(int line) {
+        checkLine(line);
+        return LogSeverity.values()[severities[line]];
+    }
+
+    /**
+     * Text of the given line without its line terminator.
+     */
+    public String line(int line) {
+        checkLine(line);
+        long start = lineStarts[line];
+        long end = line + 1 < lineCount ? lineStarts[line + 1] : indexedEnd;
+        int segmentIndex = segmentFor(start);
+        MappedByteBuffer segment = segments.get(segmentIndex);
+        int offset = (int) (start - segmentStarts.get(segmentIndex));
+        int length = (int) Math.min(end - start, segment.capacity() - offset);
+        byte[] bytes = new byte[length];
+        segment.get(offset, bytes, 0, length);
+        while (length > 0 && (bytes[length - 1] == '\n' || bytes[length - 1] == '\r')) {
+            length--;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * First line after {@code from} (exclusive) with at least the given severity, wrapping
+     * around at the end. Returns -1 if there is none.
+     */
+    public int next(int from, LogSeverity minimum) {
+        for (int i = 1; i <= lineCount; i++) {
+            int line = Math.floorMod(from + i, lineCount);
+            if (severity(line).atLeast(minimum)) {
+                return line;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Last line before {@code from} (exclusive) with at least the given severity, wrapping
+     * around at the start. Returns -1 if there is none.
+     */
+    public int previous(int from, LogSeverity minimum) {
+        for (int i = 1; i <= lineCount; i++) {
+            int line = Math.floorMod(from - i, lineCount);
+            if (severity(line).atLeast(minimum)) {
+                return line;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * First line after {@code from} (exclusive) whose text matches {@code pattern}, wrapping around.
+     */
+    public int find(int from, Pattern pattern) {
+        for (int i = 1; i <= lineCount; i++) {
+            int line = Math.floorMod(from + i, lineCount);
+            if (pattern.matcher(line(line)).find()) {
+                return line;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lines in {@code [fromLine, lineCount())} that pass the severity threshold and, if given,
+     * match {@code pattern}. Used to extend a filter view incrementally.
+     */
+    public int[] matching(int fromLine, LogSeverity minimum, Pattern pattern) {
+        int[] result = new int[Math.max(0, lineCount - fromLine)];
+        int count = 0;
+        for (int line = Math.max(0, fromLine); line < lineCount; line++) {
+            if (severity(line).atLeast(minimum) && (pattern == null || pattern.matcher(line(line)).find())) {
+                result[count++] = line;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    @Override
+    public void close() throws IOException {
+        segments.clear();
+        segmentStarts.clear();
+        channel.close();
+    }
+
+    private void addSegment(long start, MappedByteBuffer segment) {
+        int last = segments.size() - 1;
+        // Re-map small trailing segments together so frequent refreshes do not pile up mappings
+        if (last >= 0 && segments.get(last).capacity() + (long) segment.capacity() <= SEGMENT_SIZE) {
+            long mergedStart = segmentStarts.get(last);
+            try {
+                MappedByteBuffer merged = channel.map(FileChannel.MapMode.READ_ONLY, mergedStart,
+                    start + segment.capacity() - mergedStart);
+                segments.set(last, merged);
+                return;
+            } catch (IOException e) {
+                // Keep the separate segment
+            }
+        }
+        segments.add(segment);
+        segmentStarts.add(start);
+    }
+
+    private void indexLines(MappedByteBuffer segment, long segmentStart, int length) {
+        int lineStart = 0;
+        for (int i = 0; i < length; i++) {
+            if (segment.get(i) == '\n' || i == length - 1) {
+                int lineLength = i - lineStart + 1;
+                byte[] bytes = new byte[lineLength];
+                segment.get(lineStart, bytes, 0, lineLength);
+                addLine(segmentStart + lineStart, LogSeverity.classify(new String(bytes, StandardCharsets.UTF_8)));
+                lineStart = i + 1;
+            }
+        }
+    }
+
+    private void addLine(long start, LogSeverity severity) {
+        if (lineCount == lineStarts.length) {
+            lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+            severities = Arrays.copyOf(severities, lineCount * 2);
+        }
+        lineStarts[lineCount] = start;
+        severities[lineCount] = (byte) severity.ordinal();
+        lineCount++;
+        if (severity == LogSeverity.ERROR) {
+            errorCount++;
+        } else if (severity == LogSeverity.WARNING) {
+            warningCount++;
+        }
+    }
+
+    private static int lastLineEnd(MappedByteBuffer buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private int segmentFor(long offset) {
+        int low = 0;
+        int high = segmentStarts.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (segmentStarts.get(mid) <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private void checkLine(int line) {
+        if (line < 0 || line >= lineCount) {
+            throw new IndexOutOfBoundsException("Line " + line + " of " + lineCount);
+        }
+    }
+}
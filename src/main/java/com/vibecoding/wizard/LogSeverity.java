@@ -0,0 +1,80 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.util.regex.Pattern;
+
+/**
+ * Severity of a single build or agent log line, derived from its text.
+ */
+public enum LogSeverity {
+    INFO,
+    WARNING,
+    ERROR;
+
+    private static final String[] KEYWORD_STEMS = {
+        "err", "fatal", "exception", "fail", "cannot find", "undefined", "traceback", "warn", "deprecat"
+    };
+    // Summary lines such as "0 errors" or "BUILD SUCCESSFUL, 0 warnings" are not problems
+    private static final Pattern NONE_REPORTED = Pattern.compile(
+        "\\b(0|no) (errors?|warnings?|failures?)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ERROR_PATTERN = Pattern.compile(
+        "\\b(error|errors|fatal|exception|failed|failure|cannot find symbol|undefined reference|traceback)\\b",
+        Pattern.CASE_INSENSITIVE);
+    private static final Pattern WARNING_PATTERN = Pattern.compile(
+        "\\b(warning|warnings|warn|deprecated|deprecation)\\b",
+        Pattern.CASE_INSENSITIVE);
+
+    public static LogSeverity classify(String line) {
+        if (line == null || !mentionsKeyword(line)) {
+            return INFO;
+        }
+        String text = NONE_REPORTED.matcher(line).replaceAll("");
+        if (ERROR_PATTERN.matcher(text).find()) {
+            return ERROR;
+        }
+        if (WARNING_PATTERN.matcher(text).find()) {
+            return WARNING;
+        }
+        return INFO;
+    }
+
+    /**
+     * Allocation-free pre-check: most log lines contain none of the keyword stems, so the
+     * regular expressions only run for the few that do.
+     */
+    private static boolean mentionsKeyword(String line) {
+        int length = line.length();
+        for (int i = 0; i < length; i++) {
+            int c = line.charAt(i) | 0x20;
+            if (c != 'e' && c != 'f' && c != 'c' && c != 'u' && c != 't' && c != 'w' && c != 'd') {
+                continue;
+            }
+            for (String stem : KEYWORD_STEMS) {
+                if (stem.charAt(0) == c && startsWithIgnoreCase(line, i, stem)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Stems are lower-case ASCII letters and spaces, so OR-ing 0x20 is a sufficient case fold
+    private static boolean startsWithIgnoreCase(String line, int offset, String stem) {
+        if (offset + stem.length() > line.length()) {
+            return false;
+        }
+        for (int j = 1; j < stem.length(); j++) {
+            if ((line.charAt(offset + j) | 0x20) != stem.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether this severity is at least as severe as {@code minimum}.
+     */
+    public boolean atLeast(LogSeverity minimum) {
+        return ordinal() >= minimum.ordinal();
+    }
+}
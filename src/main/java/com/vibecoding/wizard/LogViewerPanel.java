@@ -0,0 +1,302 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.Window;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import javax.swing.AbstractListModel;
+import javax.swing.BorderFactory;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.Timer;
+
+/**
+ * Viewer for large build and agent logs backed by a {@link LogIndex}. Only the visible rows
+ * are read from the mapped file. Supports jumping between errors, regex search and
+ * filtering by severity and pattern while the log is still growing.
+ */
+public final class LogViewerPanel extends JPanel {
+    private static final int REFRESH_MILLIS = 250;
+    private static final Color ERROR_COLOR = new Color(0xB00020);
+    private static final Color WARNING_COLOR = new Color(0xB26A00);
+    private static final String[] LEVELS = {"All lines", "Warnings and errors", "Errors only"};
+
+    private final LogIndex index;
+    private final LineModel model = new LineModel();
+    private final JList<Integer> list;
+    private final JTextField searchField = new JTextField(24);
+    private final JCheckBox filterBox = new JCheckBox("Filter");
+    private final JComboBox<String> levelBox = new JComboBox<>(LEVELS);
+    private final JLabel statusLabel = new JLabel();
+    private final Timer refreshTimer = new Timer(REFRESH_MILLIS, event -> refresh());
+
+    public LogViewerPanel(Path logFile) throws IOException {
+        super(new BorderLayout());
+        this.index = new LogIndex(logFile);
+        this.list = new JList<>(model);
+
+        list.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        // Fixed cell sizes keep JList from measuring every row; only visible rows are rendered
+        list.setFixedCellHeight(list.getFontMetrics(list.getFont()).getHeight() + 2);
+        list.setFixedCellWidth(1);
+        list.setCellRenderer(new LineRenderer());
+        JScrollPane scrollPane = new JScrollPane(list);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder());
+
+        JButton previousError = new JButton("Previous Error");
+        previousError.addActionListener(event -> jump(false));
+        JButton nextError = new JButton("Next Error");
+        nextError.addActionListener(event -> jump(true));
+        JButton findNext = new JButton("Find Next");
+        findNext.addActionListener(event -> findNext());
+        searchField.setToolTipText("Regular expression");
+        searchField.addActionListener(event -> {
+            if (filterBox.isSelected()) {
+                rebuildView();
+            } else {
+                findNext();
+            }
+        });
+        filterBox.setToolTipText("Only show lines matching the search expression");
+        filterBox.addActionListener(event -> rebuildView());
+        levelBox.addActionListener(event -> rebuildView());
+
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 4));
+        toolbar.add(previousError);
+        toolbar.add(nextError);
+        toolbar.add(new JLabel("Search:"));
+        toolbar.add(searchField);
+        toolbar.add(findNext);
+        toolbar.add(filterBox);
+        toolbar.add(levelBox);
+
+        JPanel footer = new JPanel(new BorderLayout());
+        footer.setBorder(BorderFactory.createEmptyBorder(4, 8, 4, 8));
+        footer.add(statusLabel, BorderLayout.CENTER);
+
+        add(toolbar, BorderLayout.NORTH);
+        add(scrollPane, BorderLayout.CENTER);
+        add(footer, BorderLayout.SOUTH);
+
+        refresh();
+        refreshTimer.start();
+    }
+
+    /**
+     * Opens a non-modal viewer window for the given log file.
+     */
+    public static void showDialog(Window owner, Path logFile, String title) throws IOException {
+        LogViewerPanel panel = new LogViewerPanel(logFile);
+        JDialog dialog = new JDialog(owner, title);
+        dialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        dialog.addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                panel.close();
+            }
+        });
+        dialog.add(panel);
+        dialog.setPreferredSize(new Dimension(960, 640));
+        dialog.pack();
+        dialog.setLocationRelativeTo(owner);
+        dialog.setVisible(true);
+    }
+
+    /**
+     * Indexes lines appended to the file since the last refresh and extends the view.
+     */
+    public void refresh() {
+        int before = index.lineCount();
+        try {
+            if (index.refresh() > 0) {
+                model.extend(before);
+            }
+        } catch (IOException e) {
+            statusLabel.setText("Failed to read log: " + e.getMessage());
+            return;
+        }
+        statusLabel.setText(index.lineCount() + " lines, " + index.errorCount() + " errors, "
+            + index.warningCount() + " warnings"
+            + (model.filtered() ? " (" + model.getSize() + " shown)" : ""));
+    }
+
+    public void close() {
+        refreshTimer.stop();
+        try {
+            index.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close log index: " + e.getMessage());
+        }
+    }
+
+    private void jump(boolean forward) {
+        int from = selectedLine(forward ? -1 : 0);
+        int line = forward ? index.next(from, LogSeverity.ERROR) : index.previous(from, LogSeverity.ERROR);
+        if (line < 0) {
+            statusLabel.setText("No errors found");
+            return;
+        }
+        select(line);
+    }
+
+    private void findNext() {
+        Pattern pattern = searchPattern();
+        if (pattern == null) {
+            return;
+        }
+        int line = index.find(selectedLine(-1), pattern);
+        if (line < 0) {
+            statusLabel.setText("No match for " + pattern.pattern());
+            return;
+        }
+        select(line);
+    }
+
+    private void select(int line) {
+        int row = model.rowOf(line);
+        if (row < 0) {
+            // The line is hidden by the current filter; show everything so it can be selected
+            filterBox.setSelected(false);
+            levelBox.setSelectedIndex(0);
+            rebuildView();
+            row = line;
+        }
+        list.setSelectedIndex(row);
+        list.ensureIndexIsVisible(row);
+    }
+
+    private int selectedLine(int fallback) {
+        int row = list.getSelectedIndex();
+        return row < 0 ? fallback : model.getElementAt(row);
+    }
+
+    private void rebuildView() {
+        Pattern pattern = null;
+        if (filterBox.isSelected() && !searchField.getText().isEmpty()) {
+            pattern = searchPattern();
+            if (pattern == null) {
+                return;
+            }
+        }
+        LogSeverity minimum = switch (levelBox.getSelectedIndex()) {
+            case 1 -> LogSeverity.WARNING;
+            case 2 -> LogSeverity.ERROR;
+            default -> LogSeverity.INFO;
+        };
+        model.reset(minimum, pattern);
+        refresh();
+    }
+
+    private Pattern searchPattern() {
+        String text = searchField.getText();
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            searchField.setForeground(null);
+            return Pattern.compile(text, Pattern.CASE_INSENSITIVE);
+        } catch (PatternSyntaxException e) {
+            searchField.setForeground(ERROR_COLOR);
+            statusLabel.setText("Invalid expression: " + e.getDescription());
+            return null;
+        }
+    }
+
+    /**
+     * Rows are either every indexed line or the line numbers that pass the active filter.
+     */
+    private final class LineModel extends AbstractListModel<Integer> {
+        private LogSeverity minimum = LogSeverity.INFO;
+        private Pattern pattern;
+        private int[] rows = new int[0];
+        private int rowCount;
+
+        boolean filtered() {
+            return minimum != LogSeverity.INFO || pattern != null;
+        }
+
+        void reset(LogSeverity minimum, Pattern pattern) {
+            int oldSize = getSize();
+            this.minimum = minimum;
+            this.pattern = pattern;
+            rowCount = 0;
+            if (oldSize > 0) {
+                fireIntervalRemoved(this, 0, oldSize - 1);
+            }
+            extend(0);
+        }
+
+        void extend(int fromLine) {
+            // Unfiltered rows mirror the index, which has already grown past fromLine
+            int oldSize = filtered() ? rowCount : fromLine;
+            if (filtered()) {
+                int[] added = index.matching(fromLine, minimum, pattern);
+                if (rowCount + added.length > rows.length) {
+                    rows = Arrays.copyOf(rows, Math.max(rows.length * 2, rowCount + added.length));
+                }
+                System.arraycopy(added, 0, rows, rowCount, added.length);
+                rowCount += added.length;
+            }
+            int newSize = getSize();
+            if (newSize > oldSize) {
+                fireIntervalAdded(this, oldSize, newSize - 1);
+            }
+        }
+
+        int rowOf(int line) {
+            if (!filtered()) {
+                return line;
+            }
+            int row = Arrays.binarySearch(rows, 0, rowCount, line);
+            return row >= 0 ? row : -1;
+        }
+
+        @Override
+        public int getSize() {
+            return filtered() ? rowCount : index.lineCount();
+        }
+
+        @Override
+        public Integer getElementAt(int row) {
+            return filtered() ? rows[row] : row;
+        }
+    }
+
+    private final class LineRenderer extends DefaultListCellRenderer {
+        @Override
+        public Component getListCellRendererComponent(JList<?> list, Object value, int row,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            int line = (Integer) value;
+            super.getListCellRendererComponent(list, index.line(line), row, isSelected, cellHasFocus);
+            if (!isSelected) {
+                LogSeverity severity = index.severity(line);
+                if (severity == LogSeverity.ERROR) {
+                    setForeground(ERROR_COLOR);
+                } else if (severity == LogSeverity.WARNING) {
+                    setForeground(WARNING_COLOR);
+                }
+            }
+            return this;
+        }
+    }
+}
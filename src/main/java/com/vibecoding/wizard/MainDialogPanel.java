@@ -9,6 +9,10 @@ import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import javax.swing.Box;
@@ -245,15 +249,32 @@ public final class MainDialogPanel extends JPanel {
 
     // Package-private interface to allow ModuleEditorPanel to use task panels
     interface TaskPanel {
+        /**
+         * Shows {@code data}. Only fields whose value differs from what the form shows are pushed
+         * to their components, so reloading a pooled form costs O(changed fields).
+         */
         void load(InitialConfig config, MainTaskData data);
 
         MainTaskData save(InitialConfig config);
 
+        /**
+         * Whether a field was edited since the last {@link #load} or {@link #saveChanges}.
+         */
+        boolean isModified();
+
+        /**
+         * Writes only the fields edited since the last {@link #load} or {@link #saveChanges} into {@code data}.
+         *
+         * @return Whether any field was written
+         */
+        boolean saveChanges(MainTaskData data);
+
         JPanel getComponent();
     }
 
     private abstract static class AbstractTaskPanel implements TaskPanel {
         private final JPanel container;
+        private final List<FieldBinding<?>> bindings = new ArrayList<>();
 
         protected AbstractTaskPanel(JPanel container) {
             this.container = container;
@@ -272,6 +293,95 @@ public final class MainDialogPanel extends JPanel {
             container.revalidate();
             container.repaint();
         }
+
+        /**
+         * Binds a {@link MainTaskData} property to a form component. Bindings are loaded and saved in
+         * the order they are added.
+         */
+        protected <T> void bind(Function<MainTaskData, T> getter, BiConsumer<MainTaskData, T> setter,
+                                Supplier<T> view, Consumer<T> show) {
+            bindings.add(new FieldBinding<>(getter, setter, view, show));
+        }
+
+        protected void loadFields(MainTaskData data) {
+            for (FieldBinding<?> binding : bindings) {
+                binding.load(data);
+            }
+        }
+
+        protected MainTaskData saveFields() {
+            MainTaskData data = new MainTaskData();
+            for (FieldBinding<?> binding : bindings) {
+                binding.saveTo(data);
+            }
+            return data;
+        }
+
+        @Override
+        public boolean isModified() {
+            for (FieldBinding<?> binding : bindings) {
+                if (binding.isEdited()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean saveChanges(MainTaskData data) {
+            boolean changed = false;
+            for (FieldBinding<?> binding : bindings) {
+                changed |= binding.saveChanges(data);
+            }
+            return changed;
+        }
+    }
+
+    /**
+     * One form field: remembers the value it showed after the last load or save, so both
+     * directions only touch fields that actually differ.
+     */
+    private static final class FieldBinding<T> {
+        private final Function<MainTaskData, T> getter;
+        private final BiConsumer<MainTaskData, T> setter;
+        private final Supplier<T> view;
+        private final Consumer<T> show;
+        private T bound;
+
+        FieldBinding(Function<MainTaskData, T> getter, BiConsumer<MainTaskData, T> setter,
+                     Supplier<T> view, Consumer<T> show) {
+            this.getter = getter;
+            this.setter = setter;
+            this.view = view;
+            this.show = show;
+        }
+
+        void load(MainTaskData data) {
+            T value = getter.apply(data);
+            // Compared with the component itself, so unsaved edits are replaced as before
+            if (!Objects.equals(view.get(), value)) {
+                show.accept(value);
+            }
+            bound = view.get();
+        }
+
+        void saveTo(MainTaskData data) {
+            setter.accept(data, view.get());
+        }
+
+        boolean isEdited() {
+            return !Objects.equals(view.get(), bound);
+        }
+
+        boolean saveChanges(MainTaskData data) {
+            T value = view.get();
+            if (Objects.equals(value, bound)) {
+                return false;
+            }
+            setter.accept(data, value);
+            bound = value;
+            return true;
+        }
     }
 
     // Make inner form classes package-private so ModuleEditorPanel can use them
@@ -302,6 +412,7 @@ public final class MainDialogPanel extends JPanel {
                 workflow.getComponent());
 
             setContent(form);
+            bindFields();
         }
         
         // Constructor for IDE usage
@@ -325,28 +436,30 @@ public final class MainDialogPanel extends JPanel {
                 workflow.getComponent());
 
             setContent(form);
+            bindFields();
+        }
+
+        private void bindFields() {
+            bind(MainTaskData::getProjectOverview, MainTaskData::setProjectOverview,
+                overview::getText, overview::setText);
+            bind(MainTaskData::getThemeDescription, MainTaskData::setThemeDescription,
+                themeDescription::getText, themeDescription::setText);
+            bind(MainTaskData::getDialogs, MainTaskData::setDialogs, dialogs::getDialogs, dialogs::setDialogs);
+            bind(MainTaskData::getMainWindowName, MainTaskData::setMainWindowName,
+                dialogs::getMainWindowName, dialogs::setMainWindowName);
+            bind(MainTaskData::getWorkflowItems, MainTaskData::setWorkflowItems,
+                workflow::getWorkflowItems, workflow::setWorkflowItems);
         }
 
         @Override
         public void load(InitialConfig config, MainTaskData data) {
-            overview.setText(data.getProjectOverview());
-            themeDescription.setText(data.getThemeDescription());
-            dialogs.setDialogs(data.getDialogs());
-            dialogs.setMainWindowName(data.getMainWindowName());
+            loadFields(data);
             dialogs.setVisible(config.getProjectStyle() != ProjectStyle.SCRIPT);
-            workflow.setCurrentDialogs(data.getDialogs());
-            workflow.setWorkflowItems(data.getWorkflowItems());
         }
 
         @Override
         public MainTaskData save(InitialConfig config) {
-            MainTaskData data = new MainTaskData();
-            data.setProjectOverview(overview.getText());
-            data.setThemeDescription(themeDescription.getText());
-            data.setDialogs(dialogs.getDialogs());
-            data.setMainWindowName(dialogs.getMainWindowName());
-            data.setWorkflowItems(workflow.getWorkflowItems());
-            return data;
+            return saveFields();
         }
     }
 
@@ -376,24 +489,28 @@ public final class MainDialogPanel extends JPanel {
                 errorDetails.getComponent());
 
             setContent(form);
+            bindFields();
+        }
+
+        private void bindFields() {
+            bind(MainTaskData::getProjectOverview, MainTaskData::setProjectOverview,
+                overview::getText, overview::setText);
+            bind(MainTaskData::getExpectedBehavior, MainTaskData::setExpectedBehavior,
+                expectedBehavior::getText, expectedBehavior::setText);
+            bind(MainTaskData::getActualBehavior, MainTaskData::setActualBehavior,
+                actualBehavior::getText, actualBehavior::setText);
+            bind(MainTaskData::getErrorDetails, MainTaskData::setErrorDetails,
+                errorDetails::getText, errorDetails::setText);
         }
 
         @Override
         public void load(InitialConfig config, MainTaskData data) {
-            overview.setText(data.getProjectOverview());
-            expectedBehavior.setText(data.getExpectedBehavior());
-            actualBehavior.setText(data.getActualBehavior());
-            errorDetails.setText(data.getErrorDetails());
+            loadFields(data);
         }
 
         @Override
         public MainTaskData save(InitialConfig config) {
-            MainTaskData data = new MainTaskData();
-            data.setProjectOverview(overview.getText());
-            data.setExpectedBehavior(expectedBehavior.getText());
-            data.setActualBehavior(actualBehavior.getText());
-            data.setErrorDetails(errorDetails.getText());
-            return data;
+            return saveFields();
         }
     }
 
@@ -425,6 +542,7 @@ public final class MainDialogPanel extends JPanel {
                 workflow.getComponent());
 
             setContent(form);
+            bindFields();
         }
         
         // Constructor for IDE usage
@@ -449,28 +567,30 @@ public final class MainDialogPanel extends JPanel {
                 workflow.getComponent());
 
             setContent(form);
+            bindFields();
+        }
+
+        private void bindFields() {
+            bind(MainTaskData::getProjectOverview, MainTaskData::setProjectOverview,
+                overview::getText, overview::setText);
+            bind(MainTaskData::getThemeDescription, MainTaskData::setThemeDescription,
+                themeDescription::getText, themeDescription::setText);
+            bind(MainTaskData::getDialogs, MainTaskData::setDialogs, dialogs::getDialogs, dialogs::setDialogs);
+            bind(MainTaskData::getMainWindowName, MainTaskData::setMainWindowName,
+                dialogs::getMainWindowName, dialogs::setMainWindowName);
+            bind(MainTaskData::getWorkflowItems, MainTaskData::setWorkflowItems,
+                workflow::getWorkflowItems, workflow::setWorkflowItems);
         }
 
         @Override
         public void load(InitialConfig config, MainTaskData data) {
-            overview.setText(data.getProjectOverview());
-            themeDescription.setText(data.getThemeDescription());
-            dialogs.setDialogs(data.getDialogs());
-            dialogs.setMainWindowName(data.getMainWindowName());
+            loadFields(data);
             dialogs.setVisible(config.getProjectStyle() != ProjectStyle.SCRIPT);
-            workflow.setCurrentDialogs(data.getDialogs());
-            workflow.setWorkflowItems(data.getWorkflowItems());
         }
 
         @Override
         public MainTaskData save(InitialConfig config) {
-            MainTaskData data = new MainTaskData();
-            data.setProjectOverview(overview.getText());
-            data.setThemeDescription(themeDescription.getText());
-            data.setDialogs(dialogs.getDialogs());
-            data.setMainWindowName(dialogs.getMainWindowName());
-            data.setWorkflowItems(workflow.getWorkflowItems());
-            return data;
+            return saveFields();
         }
     }
 
@@ -485,18 +605,22 @@ public final class MainDialogPanel extends JPanel {
 
             JPanel form = FormLayoutBuilder.vertical(algorithmDescription.getComponent());
             setContent(form);
+            bindFields();
+        }
+
+        private void bindFields() {
+            bind(MainTaskData::getAlgorithmDescription, MainTaskData::setAlgorithmDescription,
+                algorithmDescription::getText, algorithmDescription::setText);
         }
 
         @Override
         public void load(InitialConfig config, MainTaskData data) {
-            algorithmDescription.setText(data.getAlgorithmDescription());
+            loadFields(data);
         }
 
         @Override
         public MainTaskData save(InitialConfig config) {
-            MainTaskData data = new MainTaskData();
-            data.setAlgorithmDescription(algorithmDescription.getText());
-            return data;
+            return saveFields();
         }
     }
 
@@ -538,6 +662,7 @@ public final class MainDialogPanel extends JPanel {
                 workflow.getComponent());
 
             setContent(form);
+            bindFields();
         }
         
         // Constructor for IDE usage
@@ -570,32 +695,34 @@ public final class MainDialogPanel extends JPanel {
                 workflow.getComponent());
 
             setContent(form);
+            bindFields();
+        }
+
+        private void bindFields() {
+            bind(MainTaskData::getProjectOverview, MainTaskData::setProjectOverview,
+                overview::getText, overview::setText);
+            bind(MainTaskData::getThemeDescription, MainTaskData::setThemeDescription,
+                themeDescription::getText, themeDescription::setText);
+            bind(MainTaskData::getChangeDescription, MainTaskData::setChangeDescription,
+                changeDescription::getText, changeDescription::setText);
+            bind(MainTaskData::getInvolvedFiles, MainTaskData::setInvolvedFiles,
+                involvedFiles::getText, involvedFiles::setText);
+            bind(MainTaskData::getDialogs, MainTaskData::setDialogs, dialogs::getDialogs, dialogs::setDialogs);
+            bind(MainTaskData::getMainWindowName, MainTaskData::setMainWindowName,
+                dialogs::getMainWindowName, dialogs::setMainWindowName);
+            bind(MainTaskData::getWorkflowItems, MainTaskData::setWorkflowItems,
+                workflow::getWorkflowItems, workflow::setWorkflowItems);
         }
 
         @Override
         public void load(InitialConfig config, MainTaskData data) {
-            overview.setText(data.getProjectOverview());
-            themeDescription.setText(data.getThemeDescription());
-            changeDescription.setText(data.getChangeDescription());
-            involvedFiles.setText(data.getInvolvedFiles());
-            dialogs.setDialogs(data.getDialogs());
-            dialogs.setMainWindowName(data.getMainWindowName());
+            loadFields(data);
             dialogs.setVisible(config.getProjectStyle() != ProjectStyle.SCRIPT);
-            workflow.setCurrentDialogs(data.getDialogs());
-            workflow.setWorkflowItems(data.getWorkflowItems());
         }
 
         @Override
         public MainTaskData save(InitialConfig config) {
-            MainTaskData data = new MainTaskData();
-            data.setProjectOverview(overview.getText());
-            data.setThemeDescription(themeDescription.getText());
-            data.setChangeDescription(changeDescription.getText());
-            data.setInvolvedFiles(involvedFiles.getText());
-            data.setDialogs(dialogs.getDialogs());
-            data.setMainWindowName(dialogs.getMainWindowName());
-            data.setWorkflowItems(workflow.getWorkflowItems());
-            return data;
+            return saveFields();
         }
     }
 
@@ -22,6 +22,11 @@ public final class Module implements Serializable {
     private Module parent;
     private String mainWindowName; // The name of the main window for this module
     private List<ModuleVariable> moduleVariables; // Module-wide variables
+    // Set while the module belongs to a project; see ModuleIndex
+    private transient ModuleIndex index;
+    private transient int preorderNumber;
+    private transient int subtreeSize;
+    private transient int depth;
     
     /**
      * Creates a new module with a generated ID and the given name.
@@ -57,7 +62,11 @@ public final class Module implements Serializable {
     }
     
     public void setName(String name) {
+        String oldName = this.name;
         this.name = name;
+        if (index != null) {
+            index.renamed(this, oldName);
+        }
     }
     
     public TaskType getTaskType() {
@@ -87,17 +96,32 @@ public final class Module implements Serializable {
     public List<Module> getSubModules() {
         return new ArrayList<>(subModules);
     }
+
+    /**
+     * Read-only live view of the direct sub-modules, for traversal without copying.
+     */
+    public List<Module> subModulesView() {
+        return Collections.unmodifiableList(subModules);
+    }
     
     public void addSubModule(Module module) {
         if (module != null && !subModules.contains(module)) {
             subModules.add(module);
             module.parent = this;
+            if (index != null) {
+                index.attach(this, subModules.size() - 1, module);
+            }
         }
     }
     
     public void removeSubModule(Module module) {
-        if (subModules.remove(module)) {
+        int position = subModules.indexOf(module);
+        if (position >= 0) {
+            subModules.remove(position);
             module.parent = null;
+            if (index != null) {
+                index.detach(this, position, module);
+            }
         }
     }
     
@@ -105,6 +129,9 @@ public final class Module implements Serializable {
         if (module != null && !subModules.contains(module)) {
             subModules.add(index, module);
             module.parent = this;
+            if (this.index != null) {
+                this.index.attach(this, index, module);
+            }
         }
     }
     
@@ -155,6 +182,9 @@ public final class Module implements Serializable {
      * @return The depth level
      */
     public int getLevel() {
+        if (index != null) {
+            return index.depth(this);
+        }
         int level = 0;
         Module current = parent;
         while (current != null) {
@@ -174,6 +204,9 @@ public final class Module implements Serializable {
         if (other == null) {
             return false;
         }
+        if (index != null && other.index == index) {
+            return index.isAncestor(this, other);
+        }
         Module current = other.parent;
         while (current != null) {
             if (current == this) {
@@ -190,12 +223,37 @@ public final class Module implements Serializable {
      * @return List of all modules in depth-first order
      */
     public List<Module> getAllModules() {
-        List<Module> result = new ArrayList<>();
-        result.add(this);
-        for (Module sub : subModules) {
-            result.addAll(sub.getAllModules());
-        }
-        return result;
+        return index != null ? new ArrayList<>(index.subtreeOf(this)) : ModuleIndex.subtree(this);
+    }
+
+    List<Module> children() {
+        return subModules;
+    }
+
+    ModuleIndex index() {
+        return index;
+    }
+
+    void setIndex(ModuleIndex index) {
+        this.index = index;
+    }
+
+    int preorderNumber() {
+        return preorderNumber;
+    }
+
+    int subtreeSize() {
+        return subtreeSize;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    void setNumbering(int preorderNumber, int subtreeSize, int depth) {
+        this.preorderNumber = preorderNumber;
+        this.subtreeSize = subtreeSize;
+        this.depth = depth;
     }
     
     @Override
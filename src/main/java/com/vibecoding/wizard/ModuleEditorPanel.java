@@ -6,6 +6,7 @@ import java.awt.CardLayout;
 import java.awt.Dimension;
 import java.nio.file.Path;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
@@ -19,8 +20,14 @@ import javax.swing.border.EmptyBorder;
 /**
  * Panel for editing a module's task data.
  * This is similar to MainDialogPanel but without the action buttons.
+ * <p>
+ * One form per task type is created up front and reused for every module. Switching modules
+ * only pushes the fields that differ from what the form shows, and saving only writes the
+ * fields the user edited into the module's existing task data.
  */
 public final class ModuleEditorPanel extends JPanel {
+    private static final String EMPTY_CARD = "EMPTY";
+
     private final IDEController controller;
     private final CardLayout cardLayout = new CardLayout();
     private final JPanel cardHolder = new JPanel(cardLayout);
@@ -51,6 +58,7 @@ public final class ModuleEditorPanel extends JPanel {
         panels.put(TaskType.MODIFY_EXISTING_SOFTWARE, 
             MainDialogPanel.createModifySoftwareForm(this::selectFile, parentFrame));
 
+        cardHolder.add(createWelcomePanel(), EMPTY_CARD);
         panels.forEach((taskType, panel) -> cardHolder.add(panel.getComponent(), taskType.name()));
         cardHolder.setOpaque(false);
 
@@ -96,8 +104,10 @@ public final class ModuleEditorPanel extends JPanel {
 
         panel.load(config, module.getTaskData());
         
-        // Load module variables
-        moduleVariables.setVariables(module.getModuleVariables());
+        // Load module variables, unless the table already shows them
+        if (!moduleVariables.getVariables().equals(module.getModuleVariables())) {
+            moduleVariables.setVariables(module.getModuleVariables());
+        }
         
         // Load global variables for conflict checking
         if (controller.getCurrentProject() != null) {
@@ -111,7 +121,20 @@ public final class ModuleEditorPanel extends JPanel {
     }
 
     /**
-     * Saves the current module data.
+     * Whether the user edited the loaded module since it was loaded or last saved.
+     */
+    public boolean hasUnsavedChanges() {
+        if (currentTask == null || currentModule == null) {
+            return false;
+        }
+        MainDialogPanel.TaskPanel panel = panels.get(currentTask);
+        return (panel != null && panel.isModified())
+            || !moduleVariables.getVariables().equals(currentModule.getModuleVariables());
+    }
+
+    /**
+     * Saves the current module data. Only edited fields are written into the module's task data,
+     * which is returned.
      */
     public MainTaskData saveModule(InitialConfig config) {
         if (currentTask == null || config == null || currentModule == null) {
@@ -123,14 +146,17 @@ public final class ModuleEditorPanel extends JPanel {
             return null;
         }
 
-        MainTaskData data = panel.save(config);
-        // Sync main window name from task data to module
-        if (data != null) {
+        MainTaskData data = currentModule.getTaskData();
+        if (panel.saveChanges(data)) {
+            // Sync main window name from task data to module
             currentModule.setMainWindowName(data.getMainWindowName());
         }
         
         // Save module variables
-        currentModule.setModuleVariables(moduleVariables.getVariables());
+        List<ModuleVariable> variables = moduleVariables.getVariables();
+        if (!variables.equals(currentModule.getModuleVariables())) {
+            currentModule.setModuleVariables(variables);
+        }
         
         return data;
     }
@@ -151,9 +177,13 @@ public final class ModuleEditorPanel extends JPanel {
      * Shows an empty state message.
      */
     private void showEmptyState() {
-        // Show a welcome message when no module is selected
-        cardHolder.removeAll();
-        
+        cardLayout.show(cardHolder, EMPTY_CARD);
+    }
+
+    /**
+     * Creates the welcome message shown when no module is selected.
+     */
+    private static JPanel createWelcomePanel() {
         JPanel welcomePanel = new JPanel(new BorderLayout());
         welcomePanel.setOpaque(true);
         welcomePanel.setBackground(ThemeManager.getBackgroundColor());
@@ -178,11 +208,7 @@ public final class ModuleEditorPanel extends JPanel {
         centerPanel.add(javax.swing.Box.createVerticalGlue());
         
         welcomePanel.add(centerPanel, BorderLayout.CENTER);
-        cardHolder.add(welcomePanel);
-        
-        panels.forEach((taskType, panel) -> cardHolder.add(panel.getComponent(), taskType.name()));
-        cardHolder.revalidate();
-        cardHolder.repaint();
+        return welcomePanel;
     }
 
     private Path selectFile() {
@@ -0,0 +1,221 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Lookup structures for the modules of one {@link IDEProject}.
+ * <p>
+ * The id and name maps are updated in place whenever a subtree is attached, detached or a
+ * module is renamed. The pre-order numbering (pre-order position, subtree size and depth of
+ * every module) is rebuilt lazily in one O(n) pass on the first query after a structural
+ * change, so a move followed by any number of lookups or ancestor checks costs O(n) once
+ * instead of O(n) per call. With the numbering, a subtree is a contiguous range of the
+ * pre-order and ancestor checks are two comparisons.
+ * <p>
+ * Every change is also reported to the registered {@link ModuleTreeListener}s.
+ */
+final class ModuleIndex {
+    private final List<Module> roots;
+    private final Map<String, Module> byId = new HashMap<>();
+    private final Map<String, List<Module>> byName = new HashMap<>();
+    private long version;
+    private long numberedVersion = -1;
+    private List<Module> preorder = List.of();
+    private final List<ModuleTreeListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param roots The project's live root module list
+     */
+    ModuleIndex(List<Module> roots) {
+        this.roots = roots;
+    }
+
+    void addListener(ModuleTreeListener listener) {
+        listeners.add(listener);
+    }
+
+    void removeListener(ModuleTreeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Indexes {@code subtreeRoot}, just inserted at {@code position} below {@code parent} (null
+     * for a root), and all modules below it.
+     */
+    void attach(Module parent, int position, Module subtreeRoot) {
+        synchronized (this) {
+            for (Module module : subtree(subtreeRoot)) {
+                module.setIndex(this);
+                byId.put(module.getId(), module);
+                addName(module, module.getName());
+            }
+            version++;
+        }
+        for (ModuleTreeListener listener : listeners) {
+            listener.moduleInserted(parent, position, subtreeRoot);
+        }
+    }
+
+    /**
+     * Removes {@code subtreeRoot}, just taken from {@code position} below {@code parent} (null
+     * for a root), and all modules below it.
+     */
+    void detach(Module parent, int position, Module subtreeRoot) {
+        synchronized (this) {
+            for (Module module : subtree(subtreeRoot)) {
+                module.setIndex(null);
+                byId.remove(module.getId(), module);
+                removeName(module, module.getName());
+            }
+            version++;
+        }
+        for (ModuleTreeListener listener : listeners) {
+            listener.moduleRemoved(parent, position, subtreeRoot);
+        }
+    }
+
+    void renamed(Module module, String oldName) {
+        synchronized (this) {
+            removeName(module, oldName);
+            addName(module, module.getName());
+        }
+        changed(module);
+    }
+
+    void changed(Module module) {
+        for (ModuleTreeListener listener : listeners) {
+            listener.moduleChanged(module);
+        }
+    }
+
+    synchronized Module findById(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Whether a module other than {@code exclude} has {@code name}, ignoring case and surrounding blanks.
+     */
+    synchronized boolean isNameTaken(String name, Module exclude) {
+        List<Module> modules = byName.get(nameKey(name));
+        if (modules == null) {
+            return false;
+        }
+        for (Module module : modules) {
+            if (module != exclude) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * All modules in depth-first pre-order. The list is an unmodifiable snapshot that is not
+     * copied; it stays as it is when the tree changes later.
+     */
+    synchronized List<Module> preorder() {
+        ensureNumbered();
+        return preorder;
+    }
+
+    /**
+     * {@code module} and its descendants in pre-order, as a view of {@link #preorder()}.
+     */
+    synchronized List<Module> subtreeOf(Module module) {
+        ensureNumbered();
+        return preorder.subList(module.preorderNumber(), module.preorderNumber() + module.subtreeSize());
+    }
+
+    synchronized int depth(Module module) {
+        ensureNumbered();
+        return module.depth();
+    }
+
+    /**
+     * Whether {@code ancestor} is a proper ancestor of {@code module}; both must be indexed here.
+     */
+    synchronized boolean isAncestor(Module ancestor, Module module) {
+        ensureNumbered();
+        int start = ancestor.preorderNumber();
+        int position = module.preorderNumber();
+        return position > start && position < start + ancestor.subtreeSize();
+    }
+
+    private void ensureNumbered() {
+        if (numberedVersion == version) {
+            return;
+        }
+        List<Module> order = new ArrayList<>(byId.size());
+        for (Module root : roots) {
+            order.addAll(subtree(root));
+        }
+        Module[] modules = order.toArray(new Module[0]);
+        for (int i = 0; i < modules.length; i++) {
+            Module module = modules[i];
+            Module parent = module.getParent();
+            int depth = parent == null || parent.index() != this ? 0 : parent.depth() + 1;
+            module.setNumbering(i, 1, depth);
+        }
+        // Children follow their parent in pre-order, so walking backwards completes every subtree first
+        for (int i = modules.length - 1; i >= 0; i--) {
+            Module parent = modules[i].getParent();
+            if (parent != null && parent.index() == this) {
+                parent.setNumbering(parent.preorderNumber(), parent.subtreeSize() + modules[i].subtreeSize(),
+                    parent.depth());
+            }
+        }
+        preorder = Collections.unmodifiableList(Arrays.asList(modules));
+        numberedVersion = version;
+    }
+
+    /**
+     * Pre-order traversal without recursion, so very deep trees cannot overflow the stack.
+     */
+    static List<Module> subtree(Module subtreeRoot) {
+        List<Module> result = new ArrayList<>();
+        Deque<Module> stack = new ArrayDeque<>();
+        stack.push(subtreeRoot);
+        while (!stack.isEmpty()) {
+            Module module = stack.pop();
+            result.add(module);
+            List<Module> children = module.children();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+        return result;
+    }
+
+    private void addName(Module module, String name) {
+        if (name != null) {
+            byName.computeIfAbsent(nameKey(name), key -> new ArrayList<>(1)).add(module);
+        }
+    }
+
+    private void removeName(Module module, String name) {
+        if (name == null) {
+            return;
+        }
+        String key = nameKey(name);
+        List<Module> modules = byName.get(key);
+        if (modules != null) {
+            modules.remove(module);
+            if (modules.isEmpty()) {
+                byName.remove(key);
+            }
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,31 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+/**
+ * Receives fine-grained changes to the module tree of an {@link IDEProject}. Events are
+ * delivered on the thread that changed the tree, after the change; moves arrive as a removal
+ * followed by an insertion of the same module.
+ */
+public interface ModuleTreeListener {
+
+    /**
+     * {@code module}, with its sub-modules, was inserted.
+     *
+     * @param parent The new parent, or null for a root module
+     * @param index Position of {@code module} among the children of {@code parent}
+     */
+    void moduleInserted(Module parent, int index, Module module);
+
+    /**
+     * {@code module}, with its sub-modules, was removed.
+     *
+     * @param parent The former parent, or null for a root module
+     * @param index Former position of {@code module} among the children of {@code parent}
+     */
+    void moduleRemoved(Module parent, int index, Module module);
+
+    /**
+     * A displayed property of {@code module} changed, e.g. its name or whether it is the main module.
+     */
+    void moduleChanged(Module module);
+}
@@ -0,0 +1,126 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreeNode;
+import javax.swing.tree.TreePath;
+
+/**
+ * Tree model that mirrors the module tree of an {@link IDEProject}. It is built once per
+ * project and then follows the project's {@link ModuleTreeListener} events with node-level
+ * insert, remove and change notifications, so the tree keeps its expansion and selection
+ * state and does not re-layout rows that did not change. A module-to-node map resolves
+ * modules to nodes in constant time.
+ */
+public final class ModuleTreeModel extends DefaultTreeModel implements ModuleTreeListener {
+    private static final long serialVersionUID = 1L;
+
+    private final DefaultMutableTreeNode projectNode;
+    private final transient Map<Module, DefaultMutableTreeNode> nodes = new HashMap<>();
+    private transient IDEProject project;
+
+    public ModuleTreeModel() {
+        super(new DefaultMutableTreeNode("Project"));
+        this.projectNode = (DefaultMutableTreeNode) getRoot();
+    }
+
+    public IDEProject getProject() {
+        return project;
+    }
+
+    /**
+     * Shows {@code project}, or an empty tree for null, and follows its changes from now on.
+     */
+    public void setProject(IDEProject project) {
+        if (this.project != null) {
+            this.project.removeModuleTreeListener(this);
+        }
+        this.project = project;
+        projectNode.removeAllChildren();
+        nodes.clear();
+        if (project != null) {
+            for (Module root : project.getRootModules()) {
+                projectNode.add(createNodes(root));
+            }
+            project.addModuleTreeListener(this);
+        }
+        reload();
+    }
+
+    public DefaultMutableTreeNode getProjectNode() {
+        return projectNode;
+    }
+
+    /**
+     * @return The node showing {@code module}, or null if it is not in the tree
+     */
+    public DefaultMutableTreeNode nodeFor(Module module) {
+        return module == null ? null : nodes.get(module);
+    }
+
+    /**
+     * @return The path to {@code module}, or null if it is not in the tree
+     */
+    public TreePath pathTo(Module module) {
+        DefaultMutableTreeNode node = nodeFor(module);
+        return node == null ? null : new TreePath(node.getPath());
+    }
+
+    @Override
+    public void moduleInserted(Module parent, int index, Module module) {
+        DefaultMutableTreeNode parentNode = parent == null ? projectNode : nodes.get(parent);
+        if (parentNode == null || nodes.containsKey(module)) {
+            return;
+        }
+        insertNodeInto(createNodes(module), parentNode, Math.min(Math.max(index, 0), parentNode.getChildCount()));
+    }
+
+    @Override
+    public void moduleRemoved(Module parent, int index, Module module) {
+        DefaultMutableTreeNode node = nodes.get(module);
+        if (node == null) {
+            return;
+        }
+        removeNodeFromParent(node);
+        Enumeration<TreeNode> subtree = node.preorderEnumeration();
+        while (subtree.hasMoreElements()) {
+            Object removed = ((DefaultMutableTreeNode) subtree.nextElement()).getUserObject();
+            nodes.remove(removed);
+        }
+    }
+
+    @Override
+    public void moduleChanged(Module module) {
+        DefaultMutableTreeNode node = nodes.get(module);
+        if (node != null) {
+            nodeChanged(node);
+        }
+    }
+
+    /**
+     * Builds the nodes for a subtree without recursion and registers them in the map.
+     */
+    private DefaultMutableTreeNode createNodes(Module subtreeRoot) {
+        DefaultMutableTreeNode top = new DefaultMutableTreeNode(subtreeRoot);
+        nodes.put(subtreeRoot, top);
+        Deque<DefaultMutableTreeNode> pending = new ArrayDeque<>();
+        pending.push(top);
+        while (!pending.isEmpty()) {
+            DefaultMutableTreeNode node = pending.pop();
+            for (Module child : ((Module) node.getUserObject()).subModulesView()) {
+                DefaultMutableTreeNode childNode = new DefaultMutableTreeNode(child);
+                nodes.put(child, childNode);
+                node.add(childNode);
+                pending.push(childNode);
+            }
+        }
+        return top;
+    }
+}
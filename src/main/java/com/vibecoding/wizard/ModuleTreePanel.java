@@ -2,6 +2,10 @@
 package com.vibecoding.wizard;
 
 import javax.swing.*;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeExpansionListener;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
 import javax.swing.tree.*;
 import java.awt.*;
 import java.awt.datatransfer.DataFlavor;
@@ -9,7 +13,11 @@ import java.awt.datatransfer.Transferable;
 import java.awt.datatransfer.UnsupportedFlavorException;
 import java.awt.dnd.*;
 import java.awt.event.ActionEvent;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Panel containing a tree view of modules with add/delete buttons
@@ -17,14 +25,18 @@ import java.util.List;
  */
 public final class ModuleTreePanel extends JPanel {
     private final JTree tree;
-    private final DefaultTreeModel treeModel;
+    private final ModuleTreeModel treeModel;
     private final DefaultMutableTreeNode rootNode;
     private final IDEController controller;
+    // Modules the user collapsed; everything else is shown expanded, also after moves
+    private final Set<Module> collapsedModules = new HashSet<>();
     
     public ModuleTreePanel(IDEController controller) {
         this.controller = controller;
-        this.rootNode = new DefaultMutableTreeNode("Project");
-        this.treeModel = new DefaultTreeModel(rootNode);
+        this.treeModel = new ModuleTreeModel();
+        this.rootNode = treeModel.getProjectNode();
+        // Registered before the JTree's own listener so it runs after it, once the rows exist
+        treeModel.addTreeModelListener(new ExpandInsertedNodes());
         this.tree = new JTree(treeModel);
         
         setLayout(new BorderLayout());
@@ -41,6 +53,7 @@ public final class ModuleTreePanel extends JPanel {
         tree.setBackground(Color.WHITE);  // White background like main panels
         tree.setForeground(ThemeManager.getTextColor());
         tree.setRowHeight(24);  // Comfortable row height
+        tree.setLargeModel(true);  // Fixed-height row cache scales to thousands of modules
         tree.setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));  // Inner tree padding
         
         // Remove tree lines for cleaner look
@@ -51,6 +64,21 @@ public final class ModuleTreePanel extends JPanel {
         tree.setDropMode(DropMode.ON_OR_INSERT);
         tree.setTransferHandler(new ModuleTreeTransferHandler());
         
+        tree.addTreeExpansionListener(new TreeExpansionListener() {
+            @Override
+            public void treeExpanded(TreeExpansionEvent event) {
+                collapsedModules.remove(moduleAt(event.getPath()));
+            }
+
+            @Override
+            public void treeCollapsed(TreeExpansionEvent event) {
+                Module module = moduleAt(event.getPath());
+                if (module != null) {
+                    collapsedModules.add(module);
+                }
+            }
+        });
+        
         // Add selection listener
         tree.addTreeSelectionListener(e -> {
             DefaultMutableTreeNode node = (DefaultMutableTreeNode) tree.getLastSelectedPathComponent();
@@ -282,49 +310,48 @@ public final class ModuleTreePanel extends JPanel {
         }
         
         Module module = (Module) selectedNode.getUserObject();
+        // The project reports the main module change, which repaints both affected rows
         controller.setMainModule(module);
-        treeModel.nodeChanged(rootNode); // Refresh to show main module indicator
-        refreshTree();
     }
     
     /**
-     * Rebuilds the tree from the current project state.
+     * Shows the current project. The tree is only rebuilt when the project itself changes;
+     * module changes within a project reach the tree model as events.
      */
     public void refreshTree() {
-        rootNode.removeAllChildren();
-        
         IDEProject project = controller.getCurrentProject();
-        if (project != null) {
-            for (Module module : project.getRootModules()) {
-                DefaultMutableTreeNode node = createTreeNode(module);
-                rootNode.add(node);
-            }
+        if (project == treeModel.getProject()) {
+            return;
         }
-        
-        treeModel.reload();
-        expandAll();
+        collapsedModules.clear();
+        treeModel.setProject(project);
+        expandSubtree(rootNode);
     }
     
     /**
-     * Creates a tree node for a module and all its children recursively.
+     * Expands {@code top} and every node below it, except those the user collapsed and their descendants.
      */
-    private DefaultMutableTreeNode createTreeNode(Module module) {
-        DefaultMutableTreeNode node = new DefaultMutableTreeNode(module);
-        
-        for (Module sub : module.getSubModules()) {
-            node.add(createTreeNode(sub));
+    private void expandSubtree(DefaultMutableTreeNode top) {
+        Deque<DefaultMutableTreeNode> pending = new ArrayDeque<>();
+        pending.push(top);
+        while (!pending.isEmpty()) {
+            DefaultMutableTreeNode node = pending.pop();
+            if (node.isLeaf() || collapsedModules.contains(node.getUserObject())) {
+                continue;
+            }
+            tree.expandPath(new TreePath(node.getPath()));
+            for (int i = 0; i < node.getChildCount(); i++) {
+                pending.push((DefaultMutableTreeNode) node.getChildAt(i));
+            }
         }
-        
-        return node;
     }
     
-    /**
-     * Expands all nodes in the tree.
-     */
-    private void expandAll() {
-        for (int i = 0; i < tree.getRowCount(); i++) {
-            tree.expandRow(i);
+    private static Module moduleAt(TreePath path) {
+        Object node = path == null ? null : path.getLastPathComponent();
+        if (node instanceof DefaultMutableTreeNode treeNode && treeNode.getUserObject() instanceof Module module) {
+            return module;
         }
+        return null;
     }
     
     /**
@@ -336,34 +363,39 @@ public final class ModuleTreePanel extends JPanel {
             return;
         }
         
-        DefaultMutableTreeNode node = findNode(rootNode, module);
-        if (node != null) {
-            TreePath path = new TreePath(node.getPath());
+        TreePath path = treeModel.pathTo(module);
+        if (path != null) {
             tree.setSelectionPath(path);
             tree.scrollPathToVisible(path);
         }
     }
     
     /**
-     * Finds a tree node containing the given module.
+     * Expands newly inserted modules the way a full rebuild would, keeping user-collapsed ones collapsed.
      */
-    private DefaultMutableTreeNode findNode(DefaultMutableTreeNode searchRoot, Module module) {
-        if (searchRoot.getUserObject() instanceof Module) {
-            Module nodeModule = (Module) searchRoot.getUserObject();
-            if (nodeModule.equals(module)) {
-                return searchRoot;
+    private final class ExpandInsertedNodes implements TreeModelListener {
+        @Override
+        public void treeNodesInserted(TreeModelEvent e) {
+            TreePath parentPath = e.getTreePath();
+            if (!collapsedModules.contains(moduleAt(parentPath))) {
+                tree.expandPath(parentPath);
             }
-        }
-        
-        for (int i = 0; i < searchRoot.getChildCount(); i++) {
-            DefaultMutableTreeNode child = (DefaultMutableTreeNode) searchRoot.getChildAt(i);
-            DefaultMutableTreeNode result = findNode(child, module);
-            if (result != null) {
-                return result;
+            for (Object child : e.getChildren()) {
+                expandSubtree((DefaultMutableTreeNode) child);
             }
         }
-        
-        return null;
+
+        @Override
+        public void treeNodesChanged(TreeModelEvent e) {
+        }
+
+        @Override
+        public void treeNodesRemoved(TreeModelEvent e) {
+        }
+
+        @Override
+        public void treeStructureChanged(TreeModelEvent e) {
+        }
     }
     
     /**
@@ -127,7 +127,7 @@ public final class MultiPhaseBuildExecutor {
             try {
                 // Change working directory to module directory
                 Path moduleDir = getModuleDirectory(config, module);
-                CopilotCliService moduleService = new CopilotCliService(moduleDir);
+                CopilotCliService moduleService = new CopilotCliService(moduleDir, config.getProjectDirectory());
                 
                 ProcessResult result = moduleService.runPrimaryTask(
                     module.getTaskType(),
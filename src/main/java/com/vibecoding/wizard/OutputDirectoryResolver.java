@@ -45,6 +45,25 @@ public final class OutputDirectoryResolver {
         return projectDirectory;
     }
 
+    /**
+     * Like {@link #getOutputDirectory(Path, ProgrammingLanguage)}, but prefers the candidate
+     * directory that the last run actually wrote to, e.g. {@code bin/Release} over a stale
+     * {@code bin/Debug}.
+     *
+     * @param changes Changes of the last run below {@code projectDirectory}; null to only probe
+     */
+    public static Path getOutputDirectory(Path projectDirectory, ProgrammingLanguage language,
+                                          FileTreeSnapshot.ChangeSet changes) {
+        if (projectDirectory != null && changes != null && !changes.isEmpty()) {
+            for (String outputDir : getPossibleOutputDirectories(language)) {
+                if (changes.touches(outputDir) && Files.isDirectory(projectDirectory.resolve(outputDir))) {
+                    return projectDirectory.resolve(outputDir);
+                }
+            }
+        }
+        return getOutputDirectory(projectDirectory, language);
+    }
+
     /**
      * Gets a list of possible output directory paths relative to the project root,
      * ordered by preference (most specific first).
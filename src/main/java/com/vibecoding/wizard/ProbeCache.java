@@ -0,0 +1,199 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Disk cache for successful environment probes such as "npm is installed".
+ * <p>
+ * An entry is valid while it is younger than the TTL and its fingerprint still matches.
+ * The fingerprint covers PATH and the location, size and modification time of each binary
+ * or file the probe depends on, so installing, upgrading or removing a tool invalidates it.
+ * Failed probes are never cached; they are always re-run.
+ */
+public final class ProbeCache {
+    public static final Duration DEFAULT_TTL = Duration.ofHours(24);
+    private static final String FILE_NAME = "probe-cache.properties";
+
+    private final Path file;
+    private final Duration ttl;
+    private final Properties entries = new Properties();
+    private boolean dirty;
+
+    public ProbeCache(Path file, Duration ttl) {
+        this.file = file;
+        this.ttl = ttl;
+        load();
+    }
+
+    /**
+     * Cache stored in {@code ~/.vibe-coding-wizard}, or an in-memory cache if there is no home directory.
+     */
+    public static ProbeCache defaultCache() {
+        String homeDir = System.getProperty("user.home");
+        Path cacheFile = homeDir == null ? null : Paths.get(homeDir, ".vibe-coding-wizard", FILE_NAME);
+        return new ProbeCache(cacheFile, DEFAULT_TTL);
+    }
+
+    /**
+     * Whether {@code probe} passed before with the same fingerprint and the entry has not expired.
+     */
+    public synchronized boolean isValid(String probe, String fingerprint) {
+        String value = entries.getProperty(probe);
+        if (value == null) {
+            return false;
+        }
+        int separator = value.indexOf('|');
+        if (separator < 0) {
+            return false;
+        }
+        try {
+            long timestamp = Long.parseLong(value.substring(0, separator));
+            long age = System.currentTimeMillis() - timestamp;
+            return age >= 0 && age < ttl.toMillis() && value.substring(separator + 1).equals(fingerprint);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    public synchronized void recordSuccess(String probe, String fingerprint) {
+        entries.setProperty(probe, System.currentTimeMillis() + "|" + fingerprint);
+        dirty = true;
+    }
+
+    public synchronized void invalidate(String probe) {
+        if (entries.remove(probe) != null) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Writes changed entries to disk. Failures are logged and otherwise ignored.
+     */
+    public synchronized void save() {
+        if (!dirty || file == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(FILE_NAME + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                entries.store(out, "Vibe Coding Wizard environment probe cache");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("Failed to save probe cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Fingerprint of PATH plus the resolved {@code binaries} and the given {@code files}.
+     * Missing binaries and files are part of the fingerprint too, so they appearing later
+     * changes it.
+     */
+    public static String fingerprint(List<String> binaries, List<Path> files) {
+        StringBuilder builder = new StringBuilder();
+        String path = System.getenv("PATH");
+        builder.append("PATH=").append(path == null ? "" : path).append('\n');
+        for (String binary : binaries) {
+            builder.append(binary).append('=');
+            appendFileState(builder, resolveOnPath(binary));
+        }
+        for (Path extra : files) {
+            builder.append(extra).append('=');
+            appendFileState(builder, extra);
+        }
+        return sha256(builder.toString());
+    }
+
+    /**
+     * Resolves an executable name against PATH the way a shell would, without starting a process.
+     *
+     * @return The first matching file, or null if none is found
+     */
+    public static Path resolveOnPath(String binary) {
+        String path = System.getenv("PATH");
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        List<String> candidates = new ArrayList<>();
+        candidates.add(binary);
+        boolean windows = System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("win");
+        if (windows) {
+            String extensions = System.getenv("PATHEXT");
+            for (String extension : (extensions == null ? ".COM;.EXE;.BAT;.CMD" : extensions).split(";")) {
+                if (!extension.isEmpty()) {
+                    candidates.add(binary + extension.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        for (String directory : path.split(java.io.File.pathSeparator)) {
+            if (directory.isEmpty()) {
+                continue;
+            }
+            for (String candidate : candidates) {
+                try {
+                    Path resolved = Paths.get(directory, candidate);
+                    if (Files.isRegularFile(resolved) && (windows || Files.isExecutable(resolved))) {
+                        return resolved;
+                    }
+                } catch (RuntimeException e) {
+                    // Malformed PATH entry; skip it
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void appendFileState(StringBuilder builder, Path file) {
+        if (file == null || !Files.exists(file)) {
+            builder.append("missing\n");
+            return;
+        }
+        try {
+            Path real = file.toRealPath();
+            builder.append(real).append(';')
+                .append(Files.getLastModifiedTime(real).toMillis()).append(';')
+                .append(Files.isDirectory(real) ? 0 : Files.size(real)).append('\n');
+        } catch (IOException e) {
+            builder.append("unreadable\n");
+        }
+    }
+
+    private void load() {
+        if (file == null || !Files.isRegularFile(file)) {
+            return;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            entries.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Ignoring unreadable probe cache: " + e.getMessage());
+            entries.clear();
+        }
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(text.hashCode());
+        }
+    }
+}
@@ -24,14 +24,39 @@ public final class ProcessRunner {
     public static ProcessResult runWithStreaming(List<String> command, Path workingDirectory, String stdin,
                                                   Consumer<String> outputConsumer)
         throws IOException, InterruptedException {
+        return runWithStreaming(command, workingDirectory, stdin, outputConsumer, null);
+    }
+
+    /**
+     * Same as {@link #runWithStreaming(List, Path, String, Consumer)}, handing the started process
+     * to {@code onStart} first so the caller can stop it from another thread.
+     */
+    public static ProcessResult runWithStreaming(List<String> command, Path workingDirectory, String stdin,
+                                                  Consumer<String> outputConsumer, Consumer<Process> onStart)
+        throws IOException, InterruptedException {
+        return runWithStreaming(command, workingDirectory, stdin, outputConsumer, onStart, Map.of());
+    }
+
+    /**
+     * Same as {@link #runWithStreaming(List, Path, String, Consumer, Consumer)}, with
+     * {@code environment} added to the inherited environment of the process.
+     */
+    public static ProcessResult runWithStreaming(List<String> command, Path workingDirectory, String stdin,
+                                                  Consumer<String> outputConsumer, Consumer<Process> onStart,
+                                                  Map<String, String> environment)
+        throws IOException, InterruptedException {
         ProcessBuilder builder = new ProcessBuilder(command);
         Map<String, String> env = builder.environment();
         env.put("WINEDEBUG", "-all");
+        env.putAll(environment);
         if (workingDirectory != null) {
             builder.directory(workingDirectory.toFile());
         }
         builder.redirectErrorStream(true); // Merge stdout and stderr for live streaming
         Process process = builder.start();
+        if (onStart != null) {
+            onStart.accept(process);
+        }
 
         if (stdin != null && !stdin.isEmpty()) {
             try (OutputStreamWriter writer = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8)) {
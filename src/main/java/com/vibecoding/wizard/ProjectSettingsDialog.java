@@ -403,7 +403,7 @@ public final class ProjectSettingsDialog extends JDialog {
         // Get dialogs from all modules for the workflow dialog
         List<DialogDefinition> allDialogs = new ArrayList<>();
         if (ideController != null && ideController.getCurrentProject() != null) {
-            for (Module module : ideController.getCurrentProject().getAllModules()) {
+            for (Module module : ideController.getCurrentProject().allModulesView()) {
                 if (module.getTaskData() != null && module.getTaskData().getDialogs() != null) {
                     allDialogs.addAll(module.getTaskData().getDialogs());
                 }
@@ -439,7 +439,7 @@ public final class ProjectSettingsDialog extends JDialog {
         // Get dialogs from all modules
         List<DialogDefinition> allDialogs = new ArrayList<>();
         if (ideController != null && ideController.getCurrentProject() != null) {
-            for (Module module : ideController.getCurrentProject().getAllModules()) {
+            for (Module module : ideController.getCurrentProject().allModulesView()) {
                 if (module.getTaskData() != null && module.getTaskData().getDialogs() != null) {
                     allDialogs.addAll(module.getTaskData().getDialogs());
                 }
@@ -487,7 +487,7 @@ public final class ProjectSettingsDialog extends JDialog {
         List<ModuleVariable> allModuleVars = new ArrayList<>();
 
         if (ideController != null && ideController.getCurrentProject() != null) {
-            for (Module module : ideController.getCurrentProject().getAllModules()) {
+            for (Module module : ideController.getCurrentProject().allModulesView()) {
                 if (module.getModuleVariables() != null) {
                     allModuleVars.addAll(module.getModuleVariables());
                 }
@@ -523,7 +523,7 @@ public final class ProjectSettingsDialog extends JDialog {
         // Get module variables for conflict checking
         List<ModuleVariable> allModuleVars = new ArrayList<>();
         if (ideController != null && ideController.getCurrentProject() != null) {
-            for (Module module : ideController.getCurrentProject().getAllModules()) {
+            for (Module module : ideController.getCurrentProject().allModulesView()) {
                 if (module.getModuleVariables() != null) {
                     allModuleVars.addAll(module.getModuleVariables());
                 }
@@ -684,10 +684,41 @@ public final class PromptBuilder {
 
     public static String buildFixPrompt(TaskType taskType, InitialConfig config, MainTaskData data,
                                         String compilerOutput, int attemptNumber) {
+        return buildFixPrompt(taskType, config, data, compilerOutput, attemptNumber,
+            FixConvergenceTracker.FixStrategy.STANDARD, List.of(), "");
+    }
+
+    /**
+     * Fix prompt for the given strategy of the {@link FixConvergenceTracker}.
+     *
+     * @param diagnostics Errors to concentrate on; quoted for the escalated strategies
+     * @param sourceExcerpts Source lines around the errors, see {@link FixConvergenceTracker#sourceExcerpts()}
+     */
+    public static String buildFixPrompt(TaskType taskType, InitialConfig config, MainTaskData data,
+                                        String compilerOutput, int attemptNumber,
+                                        FixConvergenceTracker.FixStrategy strategy,
+                                        List<BuildDiagnostic> diagnostics, String sourceExcerpts) {
         StringBuilder builder = new StringBuilder();
         builder.append("Attempt ").append(attemptNumber).append(" to fix compile errors.\n");
-        builder.append("The previous compile failed with the following output:\n\n");
+        if (strategy == FixConvergenceTracker.FixStrategy.ROOT_CAUSE && !diagnostics.isEmpty()) {
+            builder.append("The previous fix attempts did not resolve the following errors:\n\n");
+            for (BuildDiagnostic diagnostic : diagnostics) {
+                builder.append("- ").append(diagnostic).append('\n');
+            }
+            builder.append("\nPatching the lines these errors point at has not worked. Find the underlying cause ")
+                .append("(a wrong type, a missing dependency, an API that does not exist in this version, a design ")
+                .append("that cannot compile) and rework the affected code in a different way instead of repeating ")
+                .append("the previous change.\n\n");
+            builder.append("The full output of the previous compile:\n\n");
+        } else {
+            builder.append("The previous compile failed with the following output:\n\n");
+        }
         builder.append(compilerOutput.trim()).append("\n\n");
+        if (strategy != FixConvergenceTracker.FixStrategy.STANDARD && !sourceExcerpts.isBlank()) {
+            builder.append("The previous attempt did not reduce the errors. ")
+                .append("Here is the code around them (the error line is marked with >):\n\n");
+            builder.append(sourceExcerpts).append('\n');
+        }
         builder.append("Re-run the task \"").append(taskType).append("\" while fixing the compilation issues.\n\n");
         
         builder.append("## CRITICAL RULES\n");
@@ -700,6 +731,15 @@ public final class PromptBuilder {
     }
 
     public static String buildFinetuningPrompt(TaskType taskType, InitialConfig config, String userPrompt) {
+        return buildFinetuningPrompt(taskType, config, userPrompt, null);
+    }
+
+    /**
+     * @param recentChanges Files the previous agent runs changed, listed so the agent starts with
+     *                      them instead of rediscovering the project; null or empty to leave them out
+     */
+    public static String buildFinetuningPrompt(TaskType taskType, InitialConfig config, String userPrompt,
+                                               FileTreeSnapshot.ChangeSet recentChanges) {
         StringBuilder builder = new StringBuilder();
         
         // Get project name for use in commands (with fallback)
@@ -737,6 +777,12 @@ public final class PromptBuilder {
             builder.append("- IMPORTANT: Use .NET 9.0 (net9.0) as the target framework for all C# projects.\n");
             builder.append("- When creating .csproj files, use <TargetFramework>net9.0</TargetFramework> or <TargetFramework>net9.0-windows</TargetFramework> for GUI apps.\n");
         }
+
+        if (recentChanges != null && !recentChanges.isEmpty()) {
+            builder.append("\n## Recently Changed Files\n");
+            builder.append("The previous runs changed these files (A = added, M = modified, D = deleted):\n");
+            builder.append(recentChanges.describe()).append('\n');
+        }
         
         builder.append("\n## Instructions\n");
         builder.append("- IMPORTANT: DO NOT install any system packages using package managers (apt, dnf, pacman, brew, etc.).\n");
@@ -849,6 +895,8 @@ public final class PromptBuilder {
             builder.append("CRITICAL: When you see a dialog marked with **[MAIN WINDOW]** below, that is the window to show on module startup.\n\n");
         }
         
+        boolean layoutNotationAdded = false;
+        boolean eventGuideAdded = false;
         for (int i = 0; i < dialogs.size(); i++) {
             DialogDefinition dialog = dialogs.get(i);
             builder.append(i + 1).append('.').append(' ')
@@ -888,9 +936,21 @@ public final class PromptBuilder {
                 builder.append("This dialog should be implemented as a NON-MODAL (modeless) dialog - it allows interaction with other windows while open.\n");
             }
             
-            // Include form layout JSON if available
+            // Include the compiled form layout if available, falling back to the raw JSON
             String formLayoutJson = dialog.getFormLayoutJson();
-            if (formLayoutJson != null && !formLayoutJson.trim().isEmpty()) {
+            FormLayoutCompiler.CompiledLayout layout = FormLayoutCompiler.compile(formLayoutJson);
+            if (layout != null) {
+                if (!layoutNotationAdded) {
+                    appendLayoutNotation(builder);
+                    layoutNotationAdded = true;
+                }
+                builder.append("\n**Layout (create this dialog exactly as specified):**\n");
+                builder.append("```\n").append(layout.text()).append("```\n");
+                if (layout.hasEvents() && !eventGuideAdded) {
+                    appendEventGuide(builder);
+                    eventGuideAdded = true;
+                }
+            } else if (formLayoutJson != null && !formLayoutJson.trim().isEmpty()) {
                 builder.append("\n**IMPORTANT: Use the following JSON layout definition to create this dialog:**\n");
                 builder.append("The JSON below describes the exact layout, controls, and properties for this dialog.\n");
                 builder.append("Parse this JSON to determine:\n");
@@ -1166,6 +1226,22 @@ public final class PromptBuilder {
     // This method contained system package installation instructions with sudo commands.
     // The system now assumes all necessary compilers and tools are pre-installed.
 
+    private static void appendLayoutNotation(StringBuilder builder) {
+        builder.append("\n**Layout notation** (used for every dialog layout below):\n");
+        builder.append("- `Form <name> <width>x<height>` gives the dialog size in pixels and its background color\n");
+        builder.append("- `Row N:` lists controls sharing a horizontal band, top to bottom; controls in a row are ordered left to right and separated by `|`\n");
+        builder.append("- Each control is `id:Type@x,y widthxheight` followed by its non-default properties as key=value (text, colors, fonts, items, etc.)\n");
+        builder.append("- **Element IDs**: use each control's id as the variable/control name in your code; event descriptions refer to controls by these ids\n");
+        builder.append("- **WindowHost** controls are containers for child windows: create a container at the given position and size and load the dialog named by 'initialWindow' into it (leave it empty if no initialWindow is given)\n");
+        builder.append("- `Events:` lists `target.EventName when: <trigger> do: <action>`, where target is `form` or a control id\n");
+    }
+
+    private static void appendEventGuide(StringBuilder builder) {
+        builder.append("**Event Handlers:** For each listed event, create a handler method with the event's name, ");
+        builder.append("wire it to the GUI event that matches the trigger description (button click, text change, window load, etc.) ");
+        builder.append("and implement the action description. Form-level events belong to the dialog itself.\n\n");
+    }
+
     private static void appendEventsFromJson(StringBuilder builder, String json, String dialogName) {
         try {
             // Simple JSON parsing to extract events without external dependencies
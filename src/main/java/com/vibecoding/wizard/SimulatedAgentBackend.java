@@ -0,0 +1,355 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Offline stand-in for the Copilot CLI. Streams agent-like output at a fixed rate, writes
+ * synthetic source files into the working directory and breaks one of them on chosen attempts,
+ * so the fix loops of {@link WizardController} and {@link IDEController}, the build worker and
+ * the log UI can be benchmarked deterministically.
+ * <p>
+ * Output and files depend only on the settings and the attempt number, never on timing.
+ * Settings are read from {@code vibecodingwizard.simulator.*} system properties, see
+ * {@link #fromSystemProperties()}.
+ */
+public final class SimulatedAgentBackend implements AgentBackend {
+    private static final String PROPERTY_PREFIX = "vibecodingwizard.simulator.";
+    private static final String BROKEN_CODE = "<<< simulated compile error >>>\n";
+    private static final int CANCELLED_EXIT_CODE = 143;
+
+    /**
+     * Simulator behaviour.
+     *
+     * @param outputLines Lines streamed per run, not counting file and summary lines
+     * @param linesPerSecond Output rate; 0 or less streams as fast as possible
+     * @param startupMillis Delay before the first line, like CLI startup
+     * @param sourceFiles Number of synthetic source files written per run
+     * @param language Language of the source files
+     * @param failingAttempts Attempts (0 = primary run, n = fix attempt n) that leave a compile error
+     * @param seed Seed for the generated text
+     */
+    public record Settings(int outputLines, double linesPerSecond, long startupMillis, int sourceFiles,
+                           ProgrammingLanguage language, Set<Integer> failingAttempts, long seed) {
+        public Settings {
+            failingAttempts = Set.copyOf(failingAttempts);
+        }
+
+        public static Settings defaults() {
+            return new Settings(40, 50, 0, 3, ProgrammingLanguage.PYTHON, Set.of(), 1);
+        }
+    }
+
+    private final Settings settings;
+
+    public SimulatedAgentBackend(Settings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Reads {@code outputLines}, {@code linesPerSecond}, {@code startupMillis}, {@code sourceFiles},
+     * {@code language} (enum name), {@code failAttempts} (comma separated, e.g. {@code 0,1}) and
+     * {@code seed} below {@code vibecodingwizard.simulator.}, using {@link Settings#defaults()}
+     * for anything not set or not parseable.
+     */
+    public static SimulatedAgentBackend fromSystemProperties() {
+        Settings defaults = Settings.defaults();
+        ProgrammingLanguage language = defaults.language();
+        String languageName = System.getProperty(PROPERTY_PREFIX + "language");
+        if (languageName != null) {
+            try {
+                language = ProgrammingLanguage.valueOf(languageName.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unknown simulator language '" + languageName + "', using " + language.name());
+            }
+        }
+        Set<Integer> failing = new TreeSet<>();
+        String failAttempts = System.getProperty(PROPERTY_PREFIX + "failAttempts", "");
+        for (String part : failAttempts.split(",")) {
+            if (!part.isBlank()) {
+                failing.add((int) longProperty(part.trim(), -1));
+            }
+        }
+        failing.remove(-1);
+        return new SimulatedAgentBackend(new Settings(
+            (int) longProperty(System.getProperty(PROPERTY_PREFIX + "outputLines"), defaults.outputLines()),
+            doubleProperty(System.getProperty(PROPERTY_PREFIX + "linesPerSecond"), defaults.linesPerSecond()),
+            longProperty(System.getProperty(PROPERTY_PREFIX + "startupMillis"), defaults.startupMillis()),
+            (int) longProperty(System.getProperty(PROPERTY_PREFIX + "sourceFiles"), defaults.sourceFiles()),
+            language, failing,
+            longProperty(System.getProperty(PROPERTY_PREFIX + "seed"), defaults.seed())));
+    }
+
+    public Settings settings() {
+        return settings;
+    }
+
+    @Override
+    public boolean requiresCopilotEnvironment() {
+        return false;
+    }
+
+    @Override
+    public ProcessResult run(AgentRequest request, Consumer<String> outputConsumer, AgentJobScheduler.Job job)
+        throws IOException, InterruptedException {
+        // Cancelling a running job interrupts this thread, which ends the simulation at the next line
+        StringBuilder stdout = new StringBuilder();
+        int exitCode = simulate(request, line -> {
+            stdout.append(line).append('\n');
+            if (outputConsumer != null) {
+                outputConsumer.accept(line);
+            }
+        });
+        return new ProcessResult(exitCode, stdout.toString(), "");
+    }
+
+    @Override
+    public ProcessAndResult startInteractive(AgentRequest request, Consumer<String> outputConsumer) {
+        SimulatedProcess process = new SimulatedProcess();
+        Thread thread = new Thread(() -> {
+            try {
+                process.exit.complete(simulate(request, line -> {
+                    if (outputConsumer != null) {
+                        outputConsumer.accept(line);
+                    }
+                }));
+            } catch (InterruptedException e) {
+                process.exit.complete(CANCELLED_EXIT_CODE);
+            } catch (IOException | RuntimeException e) {
+                if (outputConsumer != null) {
+                    outputConsumer.accept("Simulated agent failed: " + e.getMessage());
+                }
+                process.exit.complete(1);
+            }
+        }, "simulated-agent");
+        process.thread = thread;
+        thread.start();
+        return new ProcessAndResult(process, process.getOutputStream(), thread);
+    }
+
+    /**
+     * Streams the output of one run and writes its files.
+     *
+     * @return The exit code
+     */
+    private int simulate(AgentRequest request, Consumer<String> output) throws IOException, InterruptedException {
+        Random random = new Random(settings.seed() * 31 + request.attempt());
+        boolean broken = settings.failingAttempts().contains(request.attempt());
+        Pacer pacer = new Pacer(settings.linesPerSecond());
+        if (settings.startupMillis() > 0) {
+            Thread.sleep(settings.startupMillis());
+        }
+        pacer.reset();
+
+        pacer.emit(output, "● Simulated agent (" + request.context() + ") in " + request.workingDirectory());
+        int files = Math.max(0, settings.sourceFiles());
+        int lines = Math.max(0, settings.outputLines());
+        int fileEvery = files == 0 ? Integer.MAX_VALUE : Math.max(1, lines / files);
+        int written = 0;
+        for (int i = 0; i < lines; i++) {
+            pacer.emit(output, randomLine(random));
+            if ((i + 1) % fileEvery == 0 && written < files) {
+                pacer.emit(output, writeSourceFile(request.workingDirectory(), written++, broken, random));
+            }
+        }
+        while (written < files) {
+            pacer.emit(output, writeSourceFile(request.workingDirectory(), written++, broken, random));
+        }
+        pacer.emit(output, broken && files > 0
+            ? "● Done. Note: " + sourceFileName(0) + " may need another look."
+            : "● Done. All changes applied.");
+        pacer.emit(output, "Total usage est: " + (1 + random.nextInt(3)) + " Premium requests");
+        return 0;
+    }
+
+    private String writeSourceFile(Path directory, int index, boolean broken, Random random) throws IOException {
+        String name = sourceFileName(index);
+        int functions = 2 + random.nextInt(4);
+        // The first file carries the injected error so a fix attempt rewrites the same file
+        String content = broken && index == 0 ? BROKEN_CODE : sourceCode(index, functions);
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve(name), content, StandardCharsets.UTF_8);
+        return "✓ Create " + name + " (+" + content.split("\n", -1).length + " lines)";
+    }
+
+    private String sourceFileName(int index) {
+        return switch (settings.language()) {
+            case JAVA -> "SimModule" + index + ".java";
+            case CSHARP -> "SimModule" + index + ".cs";
+            case CPP -> "sim_module_" + index + ".cpp";
+            case PHP -> "sim_module_" + index + ".php";
+            case RUST -> "sim_module_" + index + ".rs";
+            case GO -> "sim_module_" + index + ".go";
+            case JAVASCRIPT -> "sim_module_" + index + ".js";
+            case RUBY -> "sim_module_" + index + ".rb";
+            default -> "sim_module_" + index + ".py";
+        };
+    }
+
+    private String sourceCode(int index, int functions) {
+        StringBuilder code = new StringBuilder();
+        switch (settings.language()) {
+            case JAVA, CSHARP -> code.append("public class SimModule").append(index).append(" {\n");
+            case PHP -> code.append("<?php\n");
+            case GO -> code.append("package main\n");
+            default -> {
+                // No header needed
+            }
+        }
+        for (int f = 0; f < functions; f++) {
+            String name = "sim_" + index + "_" + f;
+            code.append(switch (settings.language()) {
+                case JAVA, CSHARP -> "    public static int " + name + "(int value) { return value * " + (f + 1) + "; }\n";
+                case CPP -> "int " + name + "(int value) { return value * " + (f + 1) + "; }\n";
+                case PHP -> "function " + name + "($value) { return $value * " + (f + 1) + "; }\n";
+                case RUST -> "pub fn " + name + "(value: i32) -> i32 { value * " + (f + 1) + " }\n";
+                case GO -> "func " + name + "(value int) int { return value * " + (f + 1) + " }\n";
+                case JAVASCRIPT -> "export function " + name + "(value) { return value * " + (f + 1) + "; }\n";
+                case RUBY -> "def " + name + "(value)\n  value * " + (f + 1) + "\nend\n";
+                default -> "def " + name + "(value):\n    return value * " + (f + 1) + "\n";
+            });
+        }
+        if (settings.language() == ProgrammingLanguage.JAVA || settings.language() == ProgrammingLanguage.CSHARP) {
+            code.append("}\n");
+        }
+        return code.toString();
+    }
+
+    private static String randomLine(Random random) {
+        String[] subjects = {"module structure", "input validation", "error handling", "the main entry point",
+            "build configuration", "dependencies", "the user interface", "unit tests"};
+        String subject = subjects[random.nextInt(subjects.length)];
+        return switch (random.nextInt(4)) {
+            case 0 -> "● Analyzing " + subject;
+            case 1 -> "$ ls -la   (" + (1 + random.nextInt(40)) + " entries)";
+            case 2 -> "  Planning changes to " + subject + " (" + (1 + random.nextInt(9)) + " steps)";
+            default -> "✓ Checked " + subject;
+        };
+    }
+
+    private static long longProperty(String value, long fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static double doubleProperty(String value, double fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Emits lines at a fixed rate measured from the start, so slow consumers do not slow the
+     * overall rate below the configured one.
+     */
+    private static final class Pacer {
+        private final long intervalNanos;
+        private long start;
+        private long emitted;
+
+        Pacer(double linesPerSecond) {
+            this.intervalNanos = linesPerSecond > 0 ? (long) (1_000_000_000L / linesPerSecond) : 0;
+        }
+
+        void reset() {
+            start = System.nanoTime();
+            emitted = 0;
+        }
+
+        void emit(Consumer<String> output, String line) throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            long due = start + emitted * intervalNanos;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            emitted++;
+            output.accept(line);
+        }
+    }
+
+    /**
+     * Process handle for interactive simulated runs. Input is accepted and discarded; output is
+     * delivered directly to the consumer, so the streams are empty.
+     */
+    private static final class SimulatedProcess extends Process {
+        private final CompletableFuture<Integer> exit = new CompletableFuture<>();
+        private volatile Thread thread;
+
+        @Override
+        public OutputStream getOutputStream() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return InputStream.nullInputStream();
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return InputStream.nullInputStream();
+        }
+
+        @Override
+        public int waitFor() throws InterruptedException {
+            try {
+                return exit.get();
+            } catch (ExecutionException e) {
+                return 1;
+            }
+        }
+
+        @Override
+        public int exitValue() {
+            if (!exit.isDone()) {
+                throw new IllegalThreadStateException("Simulated agent is still running");
+            }
+            return exit.join();
+        }
+
+        @Override
+        public boolean isAlive() {
+            return !exit.isDone();
+        }
+
+        @Override
+        public CompletableFuture<Process> onExit() {
+            return exit.thenApply(code -> this);
+        }
+
+        @Override
+        public void destroy() {
+            Thread running = thread;
+            if (running != null) {
+                running.interrupt();
+            }
+        }
+    }
+}
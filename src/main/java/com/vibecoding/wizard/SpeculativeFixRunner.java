@@ -0,0 +1,463 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Opt-in speculative fix attempts: instead of one fix attempt at a time, runs several in
+ * parallel, each with a different {@link FixConvergenceTracker.FixStrategy} and in its own
+ * clone of the project, builds every clone in isolation, and copies the first one that builds
+ * back into the project. The others are cancelled and all clones are deleted. This trades
+ * agent credits for latency on failures that take several attempts.
+ * <p>
+ * Clones live next to the project, so they are on the same file system and {@code cp} can
+ * clone files copy-on-write where the file system supports it. Every file outside build output
+ * and the git directory is copied, dependency directories such as {@code node_modules}
+ * included: package managers and agents patch installed packages in place, which would change
+ * the project through a shared hard link. The agents run non-interactively, since nobody
+ * answers a variant's questions. They take slots from the {@link AgentJobScheduler}, which
+ * grants the attempt one slot per extra variant, so the variants run together.
+ */
+public final class SpeculativeFixRunner {
+    public static final String VARIANTS_PROPERTY = "vibecodingwizard.speculativeFixVariants";
+    // Not copied back: build output refers to the clone's paths and is rebuilt in the project
+    private static final Set<String> UNPROMOTED_DIRECTORIES = Set.of("bin", "obj", "target", "build", "__pycache__");
+    private static final String GIT_DIRECTORY = ".git";
+    private static final long CANCEL_TIMEOUT_SECONDS = 30;
+    // Keeps cp command lines well below the argument length limit
+    private static final int CLONE_BATCH_SIZE = 200;
+
+    /**
+     * Builds the fix prompt of one variant.
+     */
+    @FunctionalInterface
+    public interface PromptFactory {
+        /**
+         * @param workspaceConfig The configuration with the variant's workspace as project directory
+         */
+        String prompt(FixConvergenceTracker.FixStrategy strategy, InitialConfig workspaceConfig);
+    }
+
+    /**
+     * Builds one workspace.
+     */
+    @FunctionalInterface
+    public interface WorkspaceBuild {
+        ProcessResult build(Path workspace, Consumer<String> outputConsumer, Consumer<Process> onStart)
+            throws IOException, InterruptedException;
+    }
+
+    public record Variant(int index, FixConvergenceTracker.FixStrategy strategy, Path workspace) {
+        public String label() {
+            return "variant " + index + ", " + strategy.name().toLowerCase(Locale.ROOT).replace('_', ' ');
+        }
+    }
+
+    /**
+     * @param built Whether the agent run and the build succeeded
+     * @param errors Errors of the failed build, 0 if it built, -1 if the agent run failed
+     * @param output Output of the failed build, with paths in the project instead of the workspace, or
+     *               the reason the variant failed
+     */
+    public record VariantResult(Variant variant, boolean built, int errors, String output, long elapsedMillis) {
+    }
+
+    /**
+     * @param promoted The variant copied into the project, null if none was
+     * @param success Whether the promoted variant built
+     * @param promotedFiles Files changed in the project by the promotion
+     * @param results The variants that finished before the race was decided
+     */
+    public record Outcome(VariantResult promoted, boolean success, int promotedFiles, List<VariantResult> results) {
+        public String summary() {
+            StringBuilder summary = new StringBuilder("Speculative fix attempt (" + results.size() + " variants finished):");
+            for (VariantResult result : results) {
+                summary.append(System.lineSeparator()).append(String.format(Locale.ROOT, "  %-28s %-22s %7.1f s",
+                    result.variant().label(),
+                    result.built() ? "built" : result.errors() < 0 ? "agent failed" : result.errors() + " errors",
+                    result.elapsedMillis() / 1000.0));
+            }
+            if (promoted != null) {
+                summary.append(System.lineSeparator()).append("  Promoted ").append(promoted.variant().label())
+                    .append(" (").append(promotedFiles).append(" files changed)");
+            }
+            return summary.toString();
+        }
+    }
+
+    private final Path projectDirectory;
+    private final Function<Path, CopilotCliService> agents;
+    private final WorkspaceBuild workspaceBuild;
+
+    /**
+     * @param agents Creates the agent service that runs in a workspace
+     */
+    public SpeculativeFixRunner(Path projectDirectory, Function<Path, CopilotCliService> agents,
+                                WorkspaceBuild workspaceBuild) {
+        this.projectDirectory = projectDirectory.toAbsolutePath().normalize();
+        this.agents = agents;
+        this.workspaceBuild = workspaceBuild;
+    }
+
+    /**
+     * Variants per speculative attempt from {@value #VARIANTS_PROPERTY}; 0 (the default) or 1
+     * keeps the sequential fix loop. There are no more variants than fix strategies.
+     */
+    public static int configuredVariants() {
+        int variants = Integer.getInteger(VARIANTS_PROPERTY, 0);
+        return variants < 2 ? 0 : Math.min(variants, FixConvergenceTracker.FixStrategy.values().length);
+    }
+
+    /**
+     * {@code count} different strategies, starting with {@code first}.
+     */
+    public static List<FixConvergenceTracker.FixStrategy> strategies(FixConvergenceTracker.FixStrategy first, int count) {
+        FixConvergenceTracker.FixStrategy[] all = FixConvergenceTracker.FixStrategy.values();
+        List<FixConvergenceTracker.FixStrategy> strategies = new ArrayList<>();
+        for (int i = 0; i < Math.min(count, all.length); i++) {
+            strategies.add(all[(first.ordinal() + i) % all.length]);
+        }
+        return strategies;
+    }
+
+    /**
+     * Runs one fix attempt per strategy in parallel. The first variant that builds is copied
+     * into the project. If none builds, the variant with the fewest errors is copied, provided
+     * it has fewer than {@code currentErrors}; otherwise the project is left unchanged.
+     */
+    public Outcome run(InitialConfig config, List<FixConvergenceTracker.FixStrategy> strategies, int attempt,
+                       int currentErrors, PromptFactory prompts, Consumer<String> outputConsumer)
+        throws IOException, InterruptedException {
+        Path parent = projectDirectory.getParent();
+        String name = projectDirectory.getFileName() == null ? "project" : projectDirectory.getFileName().toString();
+        Path root = parent != null && Files.isWritable(parent)
+            ? Files.createTempDirectory(parent, "." + name + "-speculative-")
+            : Files.createTempDirectory(name + "-speculative-");
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(strategies.size(), runnable -> {
+            Thread thread = new Thread(runnable, "speculative-fix-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<CopilotCliService> services = new ArrayList<>();
+        Set<Process> builds = ConcurrentHashMap.newKeySet();
+        // The variants replace one sequential attempt, so they share its slot and get one each for the others
+        AgentJobScheduler.SlotGrant slots = AgentJobScheduler.shared().grantSlots(strategies.size() - 1);
+        try {
+            CompletionService<VariantResult> completion = new ExecutorCompletionService<>(executor);
+            List<Future<VariantResult>> futures = new ArrayList<>();
+            for (int i = 0; i < strategies.size(); i++) {
+                Variant variant = new Variant(i + 1, strategies.get(i), root.resolve(Integer.toString(i + 1)));
+                CopilotCliService agent = agents.apply(variant.workspace());
+                services.add(agent);
+                futures.add(completion.submit(() -> runVariant(variant, agent, config, attempt, prompts, builds,
+                    outputConsumer)));
+            }
+            List<VariantResult> results = new ArrayList<>();
+            VariantResult winner = null;
+            while (results.size() < futures.size() && winner == null) {
+                VariantResult result;
+                try {
+                    result = completion.take().get();
+                } catch (ExecutionException e) {
+                    // runVariant reports its own failures; anything else is a bug in the variant task
+                    System.err.println("Speculative fix variant failed: " + e.getCause());
+                    continue;
+                }
+                results.add(result);
+                if (result.built()) {
+                    winner = result;
+                }
+            }
+            cancelAll(services, builds, futures);
+            boolean success = winner != null;
+            if (winner == null) {
+                winner = results.stream()
+                    .filter(result -> result.errors() >= 0 && result.errors() < currentErrors)
+                    .min(Comparator.comparingInt(VariantResult::errors))
+                    .orElse(null);
+            }
+            // Losing agents must have stopped writing before the winner is copied and the clones deleted
+            executor.shutdownNow();
+            executor.awaitTermination(CANCEL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            int promoted = winner == null ? 0 : promote(winner.variant().workspace(), projectDirectory);
+            return new Outcome(winner, success, promoted, results);
+        } catch (InterruptedException e) {
+            cancelAll(services, builds, List.of());
+            throw e;
+        } finally {
+            executor.shutdownNow();
+            slots.close();
+            deleteRecursively(root);
+        }
+    }
+
+    private VariantResult runVariant(Variant variant, CopilotCliService agent, InitialConfig config, int attempt,
+                                     PromptFactory prompts, Set<Process> builds, Consumer<String> outputConsumer)
+        throws InterruptedException {
+        long start = System.nanoTime();
+        String prefix = "[" + variant.label() + "] ";
+        Consumer<String> lines = line -> {
+            if (outputConsumer != null) {
+                outputConsumer.accept(prefix + line);
+            }
+        };
+        try {
+            cloneWorkspace(projectDirectory, variant.workspace());
+            String prompt = prompts.prompt(variant.strategy(), config.withProjectDirectory(variant.workspace()));
+            ProcessResult fix = agent.runFixAttempt(prompt, attempt, lines);
+            if (!fix.isSuccess()) {
+                return new VariantResult(variant, false, -1, "Agent exited with code " + fix.getExitCode(),
+                    elapsedMillis(start));
+            }
+            ProcessResult build = workspaceBuild.build(variant.workspace(), lines, process -> {
+                builds.add(process);
+                process.onExit().thenRun(() -> builds.remove(process));
+            });
+            if (build.isSuccess()) {
+                return new VariantResult(variant, true, 0, "", elapsedMillis(start));
+            }
+            String output = build.getStdout().isBlank() ? build.getStderr()
+                : build.getStderr().isBlank() ? build.getStdout()
+                : build.getStdout() + System.lineSeparator() + build.getStderr();
+            // Report paths as they will be once the variant is promoted, so the errors compare with the project's
+            output = output.replace(variant.workspace().toString(), projectDirectory.toString());
+            int errors = BuildDiagnostic.parse(output, projectDirectory.toString()).size();
+            return new VariantResult(variant, false, errors, output, elapsedMillis(start));
+        } catch (IOException e) {
+            lines.accept("Variant failed: " + e.getMessage());
+            return new VariantResult(variant, false, -1, e.getMessage(), elapsedMillis(start));
+        }
+    }
+
+    private static void cancelAll(List<CopilotCliService> services, Set<Process> builds,
+                                  List<Future<VariantResult>> futures) {
+        services.forEach(CopilotCliService::cancel);
+        builds.forEach(Process::destroy);
+        futures.forEach(future -> future.cancel(true));
+    }
+
+    /**
+     * Copies {@code source} to {@code target}. Build output and the git directory are left out;
+     * the clone only needs the working tree and is built from scratch.
+     * <p>
+     * Uses {@code cp -a --reflink=auto} on Linux and {@code cp -a -c} (clonefile) on macOS, which
+     * share the data blocks copy-on-write where the file system allows it. Falls back to copying
+     * every file if {@code cp} is not available or fails.
+     */
+    public static void cloneWorkspace(Path source, Path target) throws IOException {
+        List<String> cp = cloneCommand();
+        if (cp != null) {
+            try {
+                if (cloneWithCp(cp, source, target)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Cloning " + source + " was interrupted");
+            }
+            deleteRecursively(target);
+        }
+        copyWorkspace(source, target);
+    }
+
+    private static List<String> cloneCommand() {
+        String os = System.getProperty("os.name", "").toLowerCase(Locale.ROOT);
+        if (os.contains("linux")) {
+            return List.of("cp", "-a", "--reflink=auto");
+        }
+        if (os.contains("mac")) {
+            return List.of("cp", "-a", "-c");
+        }
+        return null;
+    }
+
+    /**
+     * Copies the entries of {@code source} with {@code cp}, as whole subtrees wherever they hold
+     * no directory to leave out.
+     *
+     * @return Whether every {@code cp} succeeded
+     */
+    private static boolean cloneWithCp(List<String> cp, Path source, Path target)
+        throws IOException, InterruptedException {
+        // Directories that contain a directory to leave out; everything else is copied in one piece
+        Set<Path> mixed = new HashSet<>();
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+                if (dir.equals(source) || !isUnpromoted(dir.getFileName().toString())) {
+                    return FileVisitResult.CONTINUE;
+                }
+                Path parent = dir.getParent();
+                while (parent != null && mixed.add(parent) && !parent.equals(source)) {
+                    parent = parent.getParent();
+                }
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+        });
+        return cloneEntries(cp, source, target, mixed);
+    }
+
+    private static boolean cloneEntries(List<String> cp, Path directory, Path target, Set<Path> mixed)
+        throws IOException, InterruptedException {
+        Files.createDirectories(target);
+        List<String> entries = new ArrayList<>();
+        List<Path> partial = new ArrayList<>();
+        try (Stream<Path> children = Files.list(directory)) {
+            for (Path child : children.toList()) {
+                boolean directoryChild = Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS);
+                if (directoryChild && isUnpromoted(child.getFileName().toString())) {
+                    continue;
+                }
+                if (directoryChild && mixed.contains(child)) {
+                    partial.add(child);
+                } else {
+                    entries.add(child.toString());
+                }
+            }
+        }
+        for (int i = 0; i < entries.size(); i += CLONE_BATCH_SIZE) {
+            List<String> command = new ArrayList<>(cp);
+            command.addAll(entries.subList(i, Math.min(entries.size(), i + CLONE_BATCH_SIZE)));
+            command.add(target + File.separator);
+            ProcessResult result = ProcessRunner.run(command, null, null);
+            if (!result.isSuccess()) {
+                System.err.println("cp could not clone " + directory + ", copying instead: "
+                    + result.getStdout().trim());
+                return false;
+            }
+        }
+        for (Path child : partial) {
+            if (!cloneEntries(cp, child, target.resolve(child.getFileName().toString()), mixed)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void copyWorkspace(Path source, Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException {
+                if (!dir.equals(source) && isUnpromoted(dir.getFileName().toString())) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                Path copy = target.resolve(source.relativize(file).toString());
+                Files.copy(file, copy, StandardCopyOption.COPY_ATTRIBUTES, LinkOption.NOFOLLOW_LINKS);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Makes the working tree of {@code project} match {@code workspace}: copies new and changed
+     * files and deletes the files the workspace no longer has. Build output and the git
+     * directory are left alone.
+     *
+     * @return Number of files copied or deleted
+     */
+    public static int promote(Path workspace, Path project) throws IOException {
+        int[] changed = {0};
+        Files.walkFileTree(workspace, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+                return !dir.equals(workspace) && isUnpromoted(dir.getFileName().toString())
+                    ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                Path target = project.resolve(workspace.relativize(file).toString());
+                if (!isUnchanged(file, attributes, target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES,
+                        LinkOption.NOFOLLOW_LINKS);
+                    changed[0]++;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        Files.walkFileTree(project, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+                return !dir.equals(project) && isUnpromoted(dir.getFileName().toString())
+                    ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                if (!Files.exists(workspace.resolve(project.relativize(file).toString()), LinkOption.NOFOLLOW_LINKS)) {
+                    Files.delete(file);
+                    changed[0]++;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return changed[0];
+    }
+
+    /**
+     * Clones keep the modification time of the files they copy, so a file with the same size and
+     * time is the one that was cloned.
+     */
+    private static boolean isUnchanged(Path file, BasicFileAttributes attributes, Path target) throws IOException {
+        if (!Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+            return false;
+        }
+        BasicFileAttributes existing = Files.readAttributes(target, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        return existing.size() == attributes.size()
+            && existing.lastModifiedTime().equals(attributes.lastModifiedTime())
+            && existing.isSymbolicLink() == attributes.isSymbolicLink();
+    }
+
+    private static boolean isUnpromoted(String directoryName) {
+        return directoryName.equals(GIT_DIRECTORY) || UNPROMOTED_DIRECTORIES.contains(directoryName);
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to delete speculative workspace " + directory + ": " + e.getMessage());
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
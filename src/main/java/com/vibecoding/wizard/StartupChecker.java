@@ -1,6 +1,7 @@
 /* Copyright 2025 Dennis Michael Heine */
 package com.vibecoding.wizard;
 
+import java.awt.BorderLayout;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
@@ -11,13 +12,22 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
+import javax.swing.BorderFactory;
+import javax.swing.JDialog;
 import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.SwingUtilities;
 
 public final class StartupChecker {
     private static final String AUTH_FILE_NAME = "AUTH";
+
+    private static CompletableFuture<Boolean> backgroundChecks;
+    private static volatile boolean interactiveCheckCompleted;
     
     private StartupChecker() {
     }
@@ -55,11 +65,126 @@ public final class StartupChecker {
         }
     }
     
+    /**
+     * Probes started together for one check run. {@code auth} is null when the AUTH file
+     * already records a successful authentication.
+     */
+    private record ProbeSet(CompletableFuture<EnvironmentProbes.Result> dotnet,
+                            CompletableFuture<EnvironmentProbes.Result> npm,
+                            CompletableFuture<EnvironmentProbes.Result> copilot,
+                            CompletableFuture<EnvironmentProbes.Result> auth) {
+    }
+
+    private static ProbeSet startProbes(EnvironmentProbes probes) {
+        return new ProbeSet(
+            probes.submit("dotnet", StartupChecker::isDotNetInstalled, List.of("dotnet", "wine"), List.of()),
+            probes.submit("npm", StartupChecker::isNpmInstalled, List.of("npm", "node"), List.of()),
+            probes.submit("copilot-cli", StartupChecker::isCopilotCliInstalled, List.of("npm", "node"),
+                copilotPackageLocations()),
+            authFileExists() ? null : probes.submitUncached(StartupChecker::isCopilotAuthenticated));
+    }
+
+    /**
+     * Starts the environment probes on a background thread without any UI. Calling this again
+     * returns the run that is already in progress or finished.
+     *
+     * @return Completes with true if every requirement is met and no installation or
+     *         authentication is needed
+     */
+    public static synchronized CompletableFuture<Boolean> startBackgroundChecks() {
+        if (backgroundChecks == null) {
+            backgroundChecks = CompletableFuture.supplyAsync(() -> StartupTimings.current()
+                .measure("environment-checks", StartupChecker::runQuietChecks), runnable -> {
+                    Thread thread = new Thread(runnable, "startup-checks");
+                    thread.setDaemon(true);
+                    thread.start();
+                });
+        }
+        return backgroundChecks;
+    }
+
+    /**
+     * Gate for actions that run {@code npx @github/copilot}. Must be called on the EDT.
+     * Waits for the background checks if they are still running and, if they found a problem,
+     * runs the interactive check dialog once so the user can install or authenticate.
+     *
+     * @return true if the action may proceed
+     */
+    public static boolean ensureEnvironmentReady(JFrame owner) {
+        if (Boolean.getBoolean("vibecodingwizard.skipSystemCheck")
+                || Boolean.getBoolean("vibecodingwizard.skipCopilotCli")
+                || !AgentBackend.configured().requiresCopilotEnvironment()
+                || interactiveCheckCompleted) {
+            return true;
+        }
+        CompletableFuture<Boolean> checks = startBackgroundChecks();
+        if (!checks.isDone()) {
+            waitForChecks(owner, checks);
+        }
+        if (Boolean.TRUE.equals(checks.getNow(false))) {
+            return true;
+        }
+        boolean ok = performChecks(owner);
+        interactiveCheckCompleted = ok;
+        return ok;
+    }
+
+    private static boolean runQuietChecks() {
+        try (EnvironmentProbes probes = new EnvironmentProbes(ProbeCache.defaultCache())) {
+            ProbeSet started = startProbes(probes);
+            boolean ready = started.dotnet().join().passed()
+                & started.npm().join().passed()
+                & started.copilot().join().passed();
+            if (ready && started.auth() != null) {
+                try {
+                    ready = started.auth().get(25, TimeUnit.SECONDS).passed();
+                    if (ready) {
+                        createAuthFile();
+                    }
+                } catch (java.util.concurrent.TimeoutException e) {
+                    // Same as the interactive check: a slow authentication check does not block the user
+                } catch (Exception e) {
+                    ready = false;
+                }
+            }
+            return ready;
+        } catch (RuntimeException e) {
+            System.err.println("Background environment check failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void waitForChecks(JFrame owner, CompletableFuture<Boolean> checks) {
+        JDialog waitDialog = new JDialog(owner, "System Check", true);
+        waitDialog.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+        JProgressBar progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        JPanel content = new JPanel(new BorderLayout(8, 8));
+        content.setBorder(BorderFactory.createEmptyBorder(16, 16, 16, 16));
+        content.add(new JLabel("Waiting for the environment checks to finish..."), BorderLayout.NORTH);
+        content.add(progressBar, BorderLayout.CENTER);
+        waitDialog.add(content);
+        waitDialog.pack();
+        waitDialog.setLocationRelativeTo(owner);
+        checks.whenComplete((result, error) -> SwingUtilities.invokeLater(waitDialog::dispose));
+        if (!checks.isDone()) {
+            waitDialog.setVisible(true);
+        }
+    }
+
     public static boolean performChecks(JFrame owner) {
         SystemCheckDialog dialog = new SystemCheckDialog(owner);
         
         Thread checkThread = new Thread(() -> {
-            try {
+            long checkStart = System.nanoTime();
+            // Independent probes start together; the sequence below only consumes their results
+            try (EnvironmentProbes probes = new EnvironmentProbes(ProbeCache.defaultCache())) {
+                ProbeSet started = startProbes(probes);
+                CompletableFuture<EnvironmentProbes.Result> dotnetProbe = started.dotnet();
+                CompletableFuture<EnvironmentProbes.Result> npmProbe = started.npm();
+                CompletableFuture<EnvironmentProbes.Result> copilotProbe = started.copilot();
+                CompletableFuture<EnvironmentProbes.Result> authProbe = started.auth();
+
                 dialog.appendLog("=== System Requirements Check ===\n");
                 
                 boolean isWindowsOS = isWindows();
@@ -74,7 +199,8 @@ public final class StartupChecker {
                 // Check .NET SDK
                 boolean dotnetWasJustInstalled = false;
                 dialog.appendLog("Checking for .NET 9.0 SDK...");
-                if (!isDotNetInstalled()) {
+                EnvironmentProbes.Result dotnetResult = dotnetProbe.join();
+                if (!dotnetResult.passed()) {
                     dialog.appendLog("❌ .NET 9.0 SDK is not installed.");
                     dialog.appendLog("Attempting to install .NET SDK...");
                     boolean installSuccess;
@@ -101,15 +227,15 @@ public final class StartupChecker {
                         }
                     }
                 } else {
-                    dialog.appendLog("✅ .NET 9.0 SDK is installed.");
+                    dialog.appendLog("✅ .NET 9.0 SDK is installed." + describe(dotnetResult));
                 }
                 
                 // Check npm
                 dialog.appendLog("\nChecking for npm...");
                 boolean npmWasJustInstalled = false;
-                boolean npmFound = isNpmInstalled();
+                EnvironmentProbes.Result npmResult = npmProbe.join();
                 
-                if (!npmFound) {
+                if (!npmResult.passed()) {
                     dialog.appendLog("❌ npm is not installed.");
                     dialog.appendLog("Attempting to install npm (Node.js)...");
                     
@@ -132,7 +258,7 @@ public final class StartupChecker {
                         return;
                     }
                 } else {
-                    dialog.appendLog("✅ npm is installed.");
+                    dialog.appendLog("✅ npm is installed." + describe(npmResult));
                 }
                 
                 // If either .NET or npm was just installed, we need to restart the application
@@ -154,7 +280,8 @@ public final class StartupChecker {
                 dialog.appendLog("\nChecking for GitHub Copilot CLI...");
                 boolean needsAuthentication = false;
                 
-                if (!isCopilotCliInstalled()) {
+                EnvironmentProbes.Result copilotResult = copilotProbe.join();
+                if (!copilotResult.passed()) {
                     dialog.appendLog("❌ GitHub Copilot CLI is not installed.");
                     dialog.appendLog("Installing GitHub Copilot CLI...");
                     
@@ -165,23 +292,17 @@ public final class StartupChecker {
                     
                     needsAuthentication = true;
                 } else {
-                    dialog.appendLog("✅ GitHub Copilot CLI is installed.");
+                    dialog.appendLog("✅ GitHub Copilot CLI is installed." + describe(copilotResult));
                     
                     // Check if authenticated (skip check if AUTH file exists)
-                    if (authFileExists()) {
+                    if (authProbe == null) {
                         dialog.appendLog("✅ GitHub Copilot CLI authentication verified (cached).");
                     } else {
                         dialog.appendLog("Checking authentication status...");
                         
-                        // Run authentication check with a timeout at the method level
-                        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newSingleThreadExecutor();
-                        java.util.concurrent.Future<Boolean> future = executor.submit(() -> {
-                            return isCopilotAuthenticated();
-                        });
-                        
                         try {
-                            // Wait up to 25 seconds for the authentication check
-                            Boolean isAuthenticated = future.get(25, TimeUnit.SECONDS);
+                            // Wait up to 25 seconds for the authentication check, which started with the other probes
+                            boolean isAuthenticated = authProbe.get(25, TimeUnit.SECONDS).passed();
                             
                             if (!isAuthenticated) {
                                 dialog.appendLog("⚠️  GitHub Copilot CLI is not authenticated.");
@@ -196,18 +317,15 @@ public final class StartupChecker {
                         } catch (java.util.concurrent.TimeoutException e) {
                             dialog.appendLog("⚠️  Authentication check timed out. Skipping authentication verification.");
                             dialog.appendLog("You may need to authenticate manually if needed.");
-                            future.cancel(true);
                         } catch (Exception e) {
                             dialog.appendLog("⚠️  Error checking authentication: " + e.getMessage());
                             dialog.appendLog("Assuming authentication is required.");
                             needsAuthentication = true;
-                        } finally {
-                            executor.shutdownNow();
                         }
                     }
                 }
                 
-                dialog.appendLog("\n✅ All system checks passed!");
+                dialog.appendLog("\n✅ All system checks passed! (" + (System.nanoTime() - checkStart) / 1_000_000 + " ms)");
                 dialog.enableContinue();
                 
                 // Show authentication dialog if needed
@@ -231,6 +349,18 @@ public final class StartupChecker {
         return true;
     }
     
+    private static String describe(EnvironmentProbes.Result result) {
+        return result.cached() ? " (cached)" : "";
+    }
+
+    /**
+     * Places where a global {@code @github/copilot} install lives, derived from the npm location
+     * without asking npm. Used to invalidate the cached Copilot CLI probe when the package changes.
+     */
+    private static List<Path> copilotPackageLocations() {
+        return CopilotCliLocator.shared().packageFiles();
+    }
+
     private static boolean isNpmInstalled() {
         // On Windows, try both npm and npm.cmd
         if (isWindows()) {
@@ -333,6 +463,10 @@ public final class StartupChecker {
     }
     
     private static boolean isCopilotCliInstalled() {
+        // A resolvable entry point proves the global install without starting npm
+        if (CopilotCliLocator.shared().locate() != null) {
+            return true;
+        }
         // Use npm list to check if the package is installed globally (non-interactive)
         try {
             ProcessBuilder pb;
@@ -0,0 +1,137 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Records how long each startup stage takes so regressions show up in the console and in
+ * {@code ~/.vibe-coding-wizard/startup-timings.log}. Stages may run on any thread; offsets
+ * are measured from the moment {@link #begin()} was called in {@code main}.
+ */
+public final class StartupTimings {
+    private static final String FILE_NAME = "startup-timings.log";
+
+    /**
+     * A finished stage.
+     *
+     * @param name Stage name
+     * @param offsetMillis Start of the stage relative to {@code main}
+     * @param durationMillis Time the stage took
+     * @param thread Thread the stage ran on
+     */
+    public record Stage(String name, long offsetMillis, long durationMillis, String thread) {
+    }
+
+    private static volatile StartupTimings current = new StartupTimings();
+
+    private final long originNanos = System.nanoTime();
+    private final List<Stage> stages = new ArrayList<>();
+
+    /**
+     * Starts a new measurement for this launch. Also records the time the JVM needed to reach
+     * {@code main}, if the platform reports the process start time.
+     */
+    public static StartupTimings begin() {
+        StartupTimings timings = new StartupTimings();
+        ProcessHandle.current().info().startInstant().ifPresent(start -> {
+            long jvmMillis = Instant.now().toEpochMilli() - start.toEpochMilli();
+            if (jvmMillis >= 0) {
+                timings.add(new Stage("jvm", -jvmMillis, jvmMillis, "main"));
+            }
+        });
+        current = timings;
+        return timings;
+    }
+
+    public static StartupTimings current() {
+        return current;
+    }
+
+    public <T> T measure(String name, Supplier<T> stage) {
+        long start = System.nanoTime();
+        try {
+            return stage.get();
+        } finally {
+            record(name, start);
+        }
+    }
+
+    public void measure(String name, Runnable stage) {
+        measure(name, () -> {
+            stage.run();
+            return null;
+        });
+    }
+
+    /**
+     * Records a stage that started at {@code startNanos} (from {@link System#nanoTime()}) and ends now.
+     */
+    public void record(String name, long startNanos) {
+        long end = System.nanoTime();
+        add(new Stage(name, (startNanos - originNanos) / 1_000_000, (end - startNanos) / 1_000_000,
+            Thread.currentThread().getName()));
+    }
+
+    /**
+     * Records a point in time, such as the first window becoming visible, as a zero-length stage.
+     */
+    public void mark(String name) {
+        record(name, System.nanoTime());
+    }
+
+    public synchronized List<Stage> stages() {
+        return List.copyOf(stages);
+    }
+
+    /**
+     * Human-readable table of all stages recorded so far, in order of their start time.
+     */
+    public String report() {
+        List<Stage> sorted = new ArrayList<>(stages());
+        sorted.sort((a, b) -> Long.compare(a.offsetMillis(), b.offsetMillis()));
+        StringBuilder builder = new StringBuilder("=== Startup Timings ===\n");
+        for (Stage stage : sorted) {
+            builder.append(String.format("%-24s +%6d ms %6d ms  [%s]%n",
+                stage.name(), stage.offsetMillis(), stage.durationMillis(), stage.thread()));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Prints the report and appends one line per stage to the timings log in the settings directory.
+     */
+    public void publish() {
+        System.out.print(report());
+        String homeDir = System.getProperty("user.home");
+        if (homeDir == null) {
+            return;
+        }
+        String launch = Instant.now().toString();
+        StringBuilder lines = new StringBuilder();
+        for (Stage stage : stages()) {
+            lines.append(launch).append('\t').append(stage.name()).append('\t')
+                .append(stage.offsetMillis()).append('\t').append(stage.durationMillis()).append('\n');
+        }
+        try {
+            Path file = Paths.get(homeDir, ".vibe-coding-wizard", FILE_NAME);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, lines, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Failed to write startup timings: " + e.getMessage());
+        }
+    }
+
+    private synchronized void add(Stage stage) {
+        stages.add(stage);
+    }
+}
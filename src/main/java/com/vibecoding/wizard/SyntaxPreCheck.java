@@ -0,0 +1,199 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import com.sun.source.util.JavacTask;
+
+/**
+ * Fast syntax-only check of the source files that changed, run before a full build so a fix
+ * attempt that left obvious syntax errors fails in seconds instead of after a complete build.
+ * <p>
+ * Java files are parsed in-process with the JDK compiler (no JVM start, no classpath needed);
+ * Python, PHP, JavaScript and Ruby files are checked with the interpreter's own parser on just
+ * the changed files, Go files with {@code gofmt -e}, and Rust crates with {@code cargo check}.
+ * Commands run one after another and stop at the first failure.
+ * <p>
+ * Plain {@code .js} files are left to the build: whether they hold JSX or ES modules depends on
+ * the bundler and {@code package.json}, and {@code node --check} would reject valid ones;
+ * {@code .mjs} and {@code .cjs} declare their module type themselves. C# and C++ have no check
+ * that works without the full project context, so their builds run directly.
+ */
+public final class SyntaxPreCheck {
+    public static final String DISABLE_PROPERTY = "vibecodingwizard.disableSyntaxPreCheck";
+    // Parses without writing bytecode, unlike py_compile, which would leave __pycache__ in the project
+    private static final List<String> PYTHON_PARSE = List.of("python", "-c",
+        "import ast,sys; [ast.parse(open(f, 'rb').read(), f) for f in sys.argv[1:]]");
+    private static final Set<String> SKIPPED_DIRECTORIES = Set.of(
+        ".git", "node_modules", "vendor", "target", "build", "bin", "obj", "__pycache__", ".venv", "venv");
+
+    /**
+     * @param ran Whether a check applied to the changed files at all
+     * @param passed Whether the check found no errors; true if it did not run
+     * @param output Diagnostics of the failed check
+     * @param checkedFiles Files that were checked
+     */
+    public record Result(boolean ran, boolean passed, String output, List<Path> checkedFiles) {
+        static Result skipped() {
+            return new Result(false, true, "", List.of());
+        }
+    }
+
+    private SyntaxPreCheck() {
+    }
+
+    /**
+     * The source files of {@code language} among {@code files}, e.g. the changed files of a
+     * {@link FileTreeSnapshot.ChangeSet}; files in dependency and build output directories are left out.
+     */
+    public static List<Path> sourceFiles(ProgrammingLanguage language, Path directory, Collection<Path> files) {
+        Set<String> extensions = sourceExtensions(language);
+        List<Path> sources = new ArrayList<>();
+        for (Path file : files) {
+            if (!extensions.contains(extension(file))) {
+                continue;
+            }
+            Path relative = directory.toAbsolutePath().relativize(file.toAbsolutePath());
+            boolean skipped = false;
+            for (int i = 0; i < relative.getNameCount() - 1 && !skipped; i++) {
+                skipped = SKIPPED_DIRECTORIES.contains(relative.getName(i).toString());
+            }
+            if (!skipped) {
+                sources.add(file);
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * External commands that check {@code changedFiles}; empty if the language has no external
+     * check or none of the files need one. Java is checked in-process and has no commands.
+     */
+    public static List<List<String>> commands(ProgrammingLanguage language, Path directory, List<Path> changedFiles) {
+        List<List<String>> commands = new ArrayList<>();
+        if (changedFiles.isEmpty()) {
+            return commands;
+        }
+        Path root = directory.toAbsolutePath();
+        List<String> files = new ArrayList<>();
+        for (Path file : changedFiles) {
+            files.add(root.relativize(file.toAbsolutePath()).toString());
+        }
+        switch (language) {
+            case PYTHON -> commands.add(concat(PYTHON_PARSE, files));
+            case GO -> commands.add(concat(List.of("gofmt", "-l", "-e"), files));
+            case RUST -> commands.add(List.of("cargo", "check", "--quiet"));
+            // These only check the first file they are given, so each file gets its own call
+            case PHP -> files.forEach(file -> commands.add(List.of("php", "-l", file)));
+            case JAVASCRIPT -> files.forEach(file -> commands.add(List.of("node", "--check", file)));
+            case RUBY -> files.forEach(file -> commands.add(List.of("ruby", "-c", file)));
+            default -> {
+            }
+        }
+        return commands;
+    }
+
+    /**
+     * Checks {@code changedFiles}, stopping at the first failure.
+     */
+    public static Result run(ProgrammingLanguage language, Path directory, List<Path> changedFiles,
+                             Consumer<String> outputConsumer) throws InterruptedException {
+        if (Boolean.getBoolean(DISABLE_PROPERTY) || changedFiles.isEmpty()) {
+            return Result.skipped();
+        }
+        if (language == ProgrammingLanguage.JAVA) {
+            return parseJava(changedFiles);
+        }
+        List<List<String>> commands = commands(language, directory, changedFiles);
+        if (commands.isEmpty()) {
+            return Result.skipped();
+        }
+        for (List<String> command : commands) {
+            ProcessResult result;
+            try {
+                result = ProcessRunner.runWithStreaming(command, directory, null, outputConsumer);
+            } catch (IOException e) {
+                // A missing checker must not block the build; the full build reports the real errors
+                System.err.println("Syntax pre-check skipped, " + command.get(0) + " could not be started: "
+                    + e.getMessage());
+                return Result.skipped();
+            }
+            if (!result.isSuccess()) {
+                String output = result.getStdout().isBlank() ? result.getStderr()
+                    : result.getStderr().isBlank() ? result.getStdout()
+                    : result.getStdout() + System.lineSeparator() + result.getStderr();
+                return new Result(true, false, output, changedFiles);
+            }
+        }
+        return new Result(true, true, "", changedFiles);
+    }
+
+    /**
+     * Parses the files with the JDK compiler without attributing them, which reports syntax
+     * errors only and needs neither a classpath nor the rest of the project.
+     */
+    private static Result parseJava(List<Path> files) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            return Result.skipped();
+        }
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT,
+                StandardCharsets.UTF_8)) {
+            JavacTask task = (JavacTask) compiler.getTask(null, fileManager, diagnostics, List.of("-proc:none"),
+                null, fileManager.getJavaFileObjectsFromPaths(files));
+            task.parse();
+        } catch (IOException e) {
+            return Result.skipped();
+        }
+        StringBuilder output = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                output.append(diagnostic.getSource() == null ? "" : diagnostic.getSource().getName())
+                    .append(':').append(diagnostic.getLineNumber()).append(": error: ")
+                    .append(diagnostic.getMessage(Locale.ROOT)).append(System.lineSeparator());
+            }
+        }
+        return new Result(true, output.length() == 0, output.toString(), files);
+    }
+
+    private static Set<String> sourceExtensions(ProgrammingLanguage language) {
+        return switch (language) {
+            case JAVA -> Set.of("java");
+            case PYTHON -> Set.of("py");
+            case PHP -> Set.of("php");
+            case GO -> Set.of("go");
+            case RUST -> Set.of("rs");
+            case JAVASCRIPT -> Set.of("mjs", "cjs");
+            case RUBY -> Set.of("rb");
+            default -> Set.of();
+        };
+    }
+
+    private static String extension(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> concat(List<String> command, List<String> arguments) {
+        List<String> result = new ArrayList<>(command);
+        result.addAll(arguments);
+        return result;
+    }
+}
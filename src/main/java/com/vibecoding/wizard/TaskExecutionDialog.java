@@ -27,7 +27,8 @@ public final class TaskExecutionDialog extends JDialog {
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
     private static final String AUTH_ERROR_MESSAGE = "No authentication information found.";
 
-    private final JTextArea logArea = new JTextArea();
+    private final LogConsole logConsole = new LogConsole();
+    private final JButton fullLogButton = new JButton("Full Log");
     private final JTextArea finetuningArea = new JTextArea();
     private final JButton finetuningButton = new JButton("Start Finetuning");
     private final JLabel statusLabel = new JLabel("Ready");
@@ -37,6 +38,8 @@ public final class TaskExecutionDialog extends JDialog {
     private TaskType taskType;
     private InitialConfig config;
     private CopilotCliService copilotCliService;
+    private volatile FileTreeSnapshot.ChangeSet recentChanges;
+    private Runnable onClose;
     private boolean authErrorDetected = false;
 
     public TaskExecutionDialog(JFrame owner) {
@@ -46,13 +49,7 @@ public final class TaskExecutionDialog extends JDialog {
         setPreferredSize(new Dimension(720, 520));
         getContentPane().setBackground(new Color(0xF0F3F7));
 
-        logArea.setEditable(false);
-        logArea.setLineWrap(true);
-        logArea.setWrapStyleWord(true);
-        logArea.setBackground(Color.WHITE);
-        logArea.setBorder(BorderFactory.createEmptyBorder(12, 12, 12, 12));
-        JScrollPane scrollPane = new JScrollPane(logArea);
-        scrollPane.setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
+        logConsole.setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
 
         // Finetuning panel
         finetuningArea.setLineWrap(true);
@@ -100,12 +97,21 @@ public final class TaskExecutionDialog extends JDialog {
         footer.setOpaque(false);
         footer.add(statusLabel, BorderLayout.CENTER);
 
+        fullLogButton.setToolTipText("Search and filter the complete log; this window only keeps the most recent "
+            + logConsole.getMaxLines() + " lines");
+        fullLogButton.addActionListener(event -> openFullLog());
+
         closeButton.setEnabled(true);
         closeButton.addActionListener(event -> dispose());
-        footer.add(closeButton, BorderLayout.EAST);
+
+        JPanel footerButtons = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 0));
+        footerButtons.setOpaque(false);
+        footerButtons.add(fullLogButton);
+        footerButtons.add(closeButton);
+        footer.add(footerButtons, BorderLayout.EAST);
 
         JPanel mainPanel = new JPanel(new BorderLayout());
-        mainPanel.add(scrollPane, BorderLayout.CENTER);
+        mainPanel.add(logConsole, BorderLayout.CENTER);
         mainPanel.add(finetuningPanel, BorderLayout.SOUTH);
 
         add(mainPanel, BorderLayout.CENTER);
@@ -128,16 +134,35 @@ public final class TaskExecutionDialog extends JDialog {
         }
     }
 
+    /**
+     * Appends a line to the log. Safe to call from any thread; lines are shown in
+     * per-frame batches so streaming process output does not flood the EDT.
+     */
     public void appendLog(String message) {
-        SwingUtilities.invokeLater(() -> {
-            logArea.append("[" + TIME_FORMATTER.format(LocalTime.now()) + "] " + message + '\n');
-            logArea.setCaretPosition(logArea.getDocument().getLength());
-            
-            // Check for authentication error
-            if (message.contains(AUTH_ERROR_MESSAGE)) {
-                handleAuthenticationError();
-            }
-        });
+        logConsole.append("[" + TIME_FORMATTER.format(LocalTime.now()) + "] " + message);
+
+        // Check for authentication error
+        if (message.contains(AUTH_ERROR_MESSAGE)) {
+            SwingUtilities.invokeLater(this::handleAuthenticationError);
+        }
+    }
+
+    /**
+     * Runs {@code onClose} once when the dialog is closed, e.g. to cancel the agent runs it shows.
+     */
+    public void setOnClose(Runnable onClose) {
+        this.onClose = onClose;
+    }
+
+    @Override
+    public void dispose() {
+        Runnable closing = onClose;
+        onClose = null;
+        if (closing != null) {
+            closing.run();
+        }
+        logConsole.close();
+        super.dispose();
     }
 
     public void setStatus(String status) {
@@ -159,13 +184,25 @@ public final class TaskExecutionDialog extends JDialog {
      * @param language The programming language used in the project
      */
     public void openOutputDirectory(java.nio.file.Path projectDirectory, ProgrammingLanguage language) {
+        openOutputDirectory(projectDirectory, language, null);
+    }
+
+    /**
+     * Opens the output directory, preferring the one the task actually wrote to.
+     *
+     * @param projectDirectory The base project directory
+     * @param language The programming language used in the project
+     * @param changes Files the task changed below the project directory; null if unknown
+     */
+    public void openOutputDirectory(java.nio.file.Path projectDirectory, ProgrammingLanguage language,
+                                    FileTreeSnapshot.ChangeSet changes) {
         if (projectDirectory == null) {
             appendLog("Cannot open output directory: project directory is null");
             return;
         }
         
         // Resolve the actual output directory based on the language
-        java.nio.file.Path outputDirectory = OutputDirectoryResolver.getOutputDirectory(projectDirectory, language);
+        java.nio.file.Path outputDirectory = OutputDirectoryResolver.getOutputDirectory(projectDirectory, language, changes);
         
         if (outputDirectory == null || !java.nio.file.Files.exists(outputDirectory)) {
             appendLog("Output directory does not exist yet: " + 
@@ -202,9 +239,18 @@ public final class TaskExecutionDialog extends JDialog {
     }
 
     public void enableFinetuning(TaskType taskType, InitialConfig config, CopilotCliService copilotCliService) {
+        enableFinetuning(taskType, config, copilotCliService, null);
+    }
+
+    /**
+     * @param recentChanges Files the task changed, listed in the first finetuning prompt; null if unknown
+     */
+    public void enableFinetuning(TaskType taskType, InitialConfig config, CopilotCliService copilotCliService,
+                                 FileTreeSnapshot.ChangeSet recentChanges) {
         this.taskType = taskType;
         this.config = config;
         this.copilotCliService = copilotCliService;
+        this.recentChanges = recentChanges;
         SwingUtilities.invokeLater(() -> {
             finetuningArea.setEnabled(true);
             finetuningButton.setEnabled(true);
@@ -233,9 +279,12 @@ public final class TaskExecutionDialog extends JDialog {
                 appendLog("\n=== Starting finetuning ===");
                 appendLog("User prompt: " + userPrompt);
                 
-                String prompt = PromptBuilder.buildFinetuningPrompt(taskType, config, userPrompt);
+                String prompt = PromptBuilder.buildFinetuningPrompt(taskType, config, userPrompt, recentChanges);
                 appendLog("Finetuning prompt generated.");
                 
+                java.nio.file.Path projectDirectory = config.getProjectDirectory();
+                FileTreeSnapshot before = projectDirectory != null ? FileTreeSnapshot.capture(projectDirectory) : null;
+                
                 setStatus("Running finetuning via GitHub Copilot CLI...");
                 appendLog("--- Copilot CLI running finetuning (interactive mode) ---");
                 
@@ -249,25 +298,37 @@ public final class TaskExecutionDialog extends JDialog {
                 appendLog("--- Copilot CLI finetuning completed ---");
                 appendLog("Finetuning exit code: " + result.getExitCode());
                 
-                if (result.isSuccess()) {
+                FileTreeSnapshot.ChangeSet changes = null;
+                if (before != null) {
+                    changes = before.diff(FileTreeSnapshot.capture(projectDirectory));
+                    appendLog("Files changed: " + changes.describe());
+                    recentChanges = changes;
+                }
+                
+                if (result.isSuccess() && changes != null && changes.isEmpty()) {
+                    appendLog("Finetuning changed no files; skipping the rebuild.");
+                    setStatus("Finetuning completed - No files changed");
+                } else if (result.isSuccess()) {
                     appendLog("Finetuning completed successfully.");
                     
                     // Build and run the modified application
                     appendLog("\n=== Building and testing modified application ===");
+                    // Use the project directory if specified
+                    java.nio.file.Path workingDirectory = config.getProjectDirectory() != null 
+                        ? config.getProjectDirectory() 
+                        : java.nio.file.Path.of("").toAbsolutePath();
+                    
                     BuildCommandPlanner.BuildPlan plan = BuildCommandPlanner.plan(
                         config.getProgrammingLanguage(),
                         config.getProjectStyle(),
-                        config);
+                        config,
+                        workingDirectory);
                     
                     appendLog("Build plan: " + plan.getDescription());
                     setStatus("Building modified application...");
                     
-                    // Use the project directory if specified
-                    java.nio.file.Path workingDirectory = config.getProjectDirectory() != null 
-                        ? config.getProjectDirectory() 
-                        : java.nio.file.Path.of("").toAbsolutePath();
-                    
-                    ProcessResult buildResult = runBuildCommands(plan.getCommands(), workingDirectory);
+                    ProcessResult buildResult = runBuildCommands(plan.getCommands(), workingDirectory,
+                        plan.getEnvironment());
                     
                     if (buildResult.isSuccess()) {
                         appendLog("Build succeeded.");
@@ -326,14 +387,15 @@ public final class TaskExecutionDialog extends JDialog {
         }).start();
     }
     
-    private ProcessResult runBuildCommands(java.util.List<java.util.List<String>> commands, java.nio.file.Path workingDirectory) throws Exception {
+    private ProcessResult runBuildCommands(java.util.List<java.util.List<String>> commands, java.nio.file.Path workingDirectory,
+                                           java.util.Map<String, String> environment) throws Exception {
         ProcessResult lastResult = new ProcessResult(0, "", "");
         for (java.util.List<String> command : commands) {
             appendLog("Running: " + String.join(" ", command));
             appendLog("Working directory: " + workingDirectory.toAbsolutePath());
             // Stream output to dialog for real-time feedback
-            ProcessResult result = ProcessRunner.runWithStreaming(command, workingDirectory, null, 
-                line -> appendLog(line));
+            ProcessResult result = ProcessRunner.runWithStreaming(command, workingDirectory, null,
+                line -> appendLog(line), null, environment);
             appendLog("Exit code: " + result.getExitCode());
             if (!result.getStdout().isBlank()) {
                 appendLog("Stdout:\n" + result.getStdout());
@@ -349,6 +411,21 @@ public final class TaskExecutionDialog extends JDialog {
         return lastResult;
     }
     
+    private void openFullLog() {
+        logConsole.flush();
+        java.nio.file.Path historyFile = logConsole.getHistoryFile();
+        if (historyFile == null) {
+            JOptionPane.showMessageDialog(this, "The full log is not available.", "Full Log", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        try {
+            LogViewerPanel.showDialog(this, historyFile, "Full Log - " + getTitle());
+        } catch (java.io.IOException ex) {
+            JOptionPane.showMessageDialog(this, "Could not open the full log: " + ex.getMessage()
+                + "\nLog file: " + historyFile.toAbsolutePath(), "Full Log", JOptionPane.WARNING_MESSAGE);
+        }
+    }
+
     private void handleAuthenticationError() {
         // Only handle once
         if (authErrorDetected) {
@@ -1,6 +1,14 @@
 /* Copyright 2025 Dennis Michael Heine */
 package com.vibecoding.wizard;
 
+import java.awt.GraphicsEnvironment;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
@@ -11,22 +19,44 @@ public final class VibeCodingWizardApp {
     }
 
     public static void main(String[] args) {
-        ThemeManager.apply();
+        if (args.length > 0 && "--batch".equals(args[0])) {
+            BatchRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        StartupTimings timings = StartupTimings.begin();
+        timings.measure("theme", ThemeManager::apply);
         if (Boolean.getBoolean("vibecodingwizard.skipUi")) {
             System.out.println("Vibe Coding Wizard UI launch skipped via system property.");
             return;
         }
+        // Environment checks and JavaFX start in the background; the first window does not wait for them.
+        // Copilot actions gate on the checks via StartupChecker.ensureEnvironmentReady.
+        List<CompletableFuture<?>> backgroundStages = new ArrayList<>();
+        if (!Boolean.getBoolean("vibecodingwizard.skipSystemCheck")) {
+            backgroundStages.add(StartupChecker.startBackgroundChecks());
+        }
+        if (!GraphicsEnvironment.isHeadless() && !Boolean.getBoolean("vibecodingwizard.skipFormEditorPrewarm")) {
+            backgroundStages.add(FormEditorLauncher.prewarm());
+        }
+        // The report is published once the first window is up and every background stage has finished
+        CompletableFuture<Void> firstWindow = new CompletableFuture<>();
+        backgroundStages.add(firstWindow);
+        CompletableFuture.allOf(backgroundStages.toArray(CompletableFuture[]::new))
+            .whenComplete((ignored, error) -> timings.publish());
+
+        long dispatchStart = System.nanoTime();
         SwingUtilities.invokeLater(() -> {
-            // Perform system checks first (unless explicitly skipped)
-            if (!Boolean.getBoolean("vibecodingwizard.skipSystemCheck")) {
-                boolean checksOk = StartupChecker.performChecks(null);
-                if (!checksOk) {
-                    System.exit(1);
-                }
-            }
-            
+            timings.record("edt-dispatch", dispatchStart);
+
             // Show task selection dialog
-            TaskSelectionDialog taskDialog = new TaskSelectionDialog(null);
+            TaskSelectionDialog taskDialog = timings.measure("task-dialog-build", () -> new TaskSelectionDialog(null));
+            taskDialog.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowOpened(WindowEvent e) {
+                    timings.mark("first-window-visible");
+                    firstWindow.complete(null);
+                }
+            });
             taskDialog.setVisible(true);
             
             // Check if user wants to load an existing project
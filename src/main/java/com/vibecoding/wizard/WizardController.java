@@ -1,8 +1,12 @@
 /* Copyright 2025 Dennis Michael Heine */
 package com.vibecoding.wizard;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
@@ -45,6 +49,7 @@ public class WizardController {
     }
 
     void submitInitialConfig(InitialConfig config) {
+        releaseProject(config);
         this.initialConfig = config;
         markDirty();
         
@@ -247,12 +252,36 @@ public class WizardController {
             return;
         }
 
+        // Execution runs the Copilot CLI, so the background environment checks must have passed
+        if (!StartupChecker.ensureEnvironmentReady(frame)) {
+            return;
+        }
+
         TaskExecutionDialog dialog = new TaskExecutionDialog(frame);
+        Path projectDirectory = initialConfig.getProjectDirectory();
+        dialog.setOnClose(() -> {
+            copilotCliService.cancel();
+            CopilotCliService.cancelAll(projectDirectory);
+        });
         TaskExecutionWorker worker = new TaskExecutionWorker(dialog);
         worker.execute();
         dialog.setVisible(true);
     }
     
+    /**
+     * Cancels the agent runs of the current project directory and releases its build servers
+     * unless {@code next} keeps working in it.
+     */
+    private void releaseProject(InitialConfig next) {
+        Path current = initialConfig != null ? initialConfig.getProjectDirectory() : null;
+        Path following = next != null ? next.getProjectDirectory() : null;
+        if (current != null && !current.equals(following)) {
+            copilotCliService.cancel();
+            CopilotCliService.cancelAll(current);
+            BuildDaemons.shared().releaseInBackground(current);
+        }
+    }
+
     /**
      * Handles the File > New menu action.
      * Creates a new project after confirming with user if there are unsaved changes.
@@ -263,6 +292,7 @@ public class WizardController {
         }
         
         // Reset all state
+        releaseProject(null);
         initialConfig = null;
         taskType = null;
         mainTaskData.clear();
@@ -391,12 +421,14 @@ public class WizardController {
         }
         
         // Create initial config from template with the loaded project directory
-        initialConfig = new InitialConfig(
+        InitialConfig loaded = new InitialConfig(
             template.getProgrammingLanguage(),
             template.getProjectStyle(),
             template.getTargetOperatingSystems(),
             projectDir
         );
+        releaseProject(loaded);
+        initialConfig = loaded;
         
         taskType = template.getTaskType();
         
@@ -432,6 +464,7 @@ public class WizardController {
      */
     public void loadExistingProject(IDEProject project) {
         // Extract data from the IDE project
+        releaseProject(project.getInitialConfig());
         initialConfig = project.getInitialConfig();
         
         // Get the main module's task type and data
@@ -474,6 +507,8 @@ public class WizardController {
         private final TaskExecutionDialog dialog;
         private String finalCompileErrors = "";
         private Exception failure;
+        private FileTreeSnapshot taskStart;
+        private FileTreeSnapshot.ChangeSet taskChanges;
 
         private TaskExecutionWorker(TaskExecutionDialog dialog) {
             this.dialog = dialog;
@@ -481,6 +516,17 @@ public class WizardController {
 
         @Override
         protected Boolean doInBackground() {
+            try {
+                return runTask();
+            } finally {
+                // Everything the task changed, build output included, for finetuning and the output directory
+                if (taskStart != null) {
+                    taskChanges = taskStart.diff(FileTreeSnapshot.capture(taskStart.getRoot()));
+                }
+            }
+        }
+
+        private Boolean runTask() {
             try {
                 // Ensure project directory exists before calling Copilot CLI
                 if (initialConfig.getProjectDirectory() != null) {
@@ -517,6 +563,8 @@ public class WizardController {
                     throw ex;
                 }
 
+                taskStart = FileTreeSnapshot.capture(projectDir);
+
                 // Use a simplified prompt that instructs Copilot to read from the file
                 String fileReadPrompt = "Process the instructions in prompt.txt and execute them.";
                 
@@ -537,19 +585,19 @@ public class WizardController {
                 
                 dialog.appendLog("--- Copilot CLI completed ---");
                 dialog.appendLog("Copilot CLI exit code: " + primaryResult.getExitCode());
+                dialog.appendLog("Files changed: "
+                    + taskStart.diff(FileTreeSnapshot.capture(projectDir)).describe());
                 if (!primaryResult.isSuccess()) {
                     dialog.appendLog("Copilot CLI failed with exit code: " + primaryResult.getExitCode());
                     return false;
                 }
 
-                BuildCommandPlanner.BuildPlan plan = BuildCommandPlanner.plan(
-                    initialConfig.getProgrammingLanguage(),
-                    initialConfig.getProjectStyle(),
-                    initialConfig);
+                BuildCommandPlanner.BuildPlan plan = planBuild();
 
-                dialog.appendLog("Build plan: " + plan.getDescription());
+                String buildDescription = describeBuild(plan);
+                dialog.appendLog("Build plan: " + buildDescription);
 
-                ProcessResult buildResult = runBuildCommands(plan.getCommands());
+                ProcessResult buildResult = runBuild(plan);
                 if (buildResult.isSuccess()) {
                     dialog.appendLog("Build succeeded on first attempt.");
                     return true;
@@ -557,36 +605,108 @@ public class WizardController {
 
                 finalCompileErrors = mergeOutput(buildResult);
                 dialog.appendLog("Initial build failed. Entering auto-fix loop.");
+                FixConvergenceTracker convergence = new FixConvergenceTracker(buildDirectory(), finalCompileErrors);
+                FileTreeSnapshot.ChangeSet fixChanges = null;
 
-                for (int attempt = 1; attempt <= 10; attempt++) {
-                    dialog.setStatus("Fix attempt " + attempt + " via Copilot CLI...");
-                    String fixPrompt = PromptBuilder.buildFixPrompt(taskType, initialConfig, mainTaskData,
-                        finalCompileErrors, attempt);
-                    dialog.appendLog("--- Copilot CLI fix attempt " + attempt + " (interactive mode) ---");
-                    
-                    ProcessAndResult fixProcessAndResult = copilotCliService.runFixAttemptInteractive(
-                        fixPrompt, attempt, line -> dialog.appendLog(line));
-                    
-                    dialog.setProcessInputStream(fixProcessAndResult.getProcessInput());
-                    ProcessResult fixResult = fixProcessAndResult.waitForCompletion();
-                    dialog.closeProcessInputStream();
-                    
-                    dialog.appendLog("--- Copilot CLI fix attempt " + attempt + " completed ---");
-                    dialog.appendLog("Fix attempt " + attempt + " exit code: " + fixResult.getExitCode());
-
-                    if (!fixResult.isSuccess()) {
-                        dialog.appendLog("Fix attempt " + attempt + " failed to execute successfully.");
-                        continue;
-                    }
+                try {
+                    for (int attempt = 1; attempt <= FixConvergenceTracker.MAX_ATTEMPTS; attempt++) {
+                        convergence.startAttempt();
+                        FixConvergenceTracker.FixStrategy strategy = convergence.getStrategy();
+                        if (SpeculativeFixRunner.configuredVariants() > 1) {
+                            SpeculativeFixRunner.Outcome outcome = runSpeculativeFixAttempt(attempt, convergence);
+                            if (outcome.success()) {
+                                dialog.setStatus("Re-running build after speculative attempt " + attempt + "...");
+                                plan = planBuild();
+                                buildResult = runBuild(plan);
+                                if (buildResult.isSuccess()) {
+                                    convergence.recordSuccess();
+                                    dialog.appendLog("Build succeeded after speculative fix attempt " + attempt + '.');
+                                    finalCompileErrors = "";
+                                    return true;
+                                }
+                                finalCompileErrors = mergeOutput(buildResult);
+                            } else if (outcome.promoted() != null) {
+                                finalCompileErrors = outcome.promoted().output();
+                            }
+                            if (!continueFixLoop(convergence, convergence.recordBuild(finalCompileErrors))) {
+                                return false;
+                            }
+                            continue;
+                        }
+                        dialog.setStatus("Fix attempt " + attempt + " via Copilot CLI...");
+                        FileTreeSnapshot beforeFix = FileTreeSnapshot.capture(buildDirectory());
+                        if (fixChanges != null) {
+                            // Agents often rewrite the files they touched last time; hashing them
+                            // now tells a real edit from an identical rewrite
+                            beforeFix.hash(fixChanges.modified());
+                            beforeFix.hash(fixChanges.added());
+                        }
+                        String fixPrompt = PromptBuilder.buildFixPrompt(taskType, initialConfig, mainTaskData,
+                            finalCompileErrors, attempt, strategy, convergence.focusDiagnostics(),
+                            strategy == FixConvergenceTracker.FixStrategy.STANDARD ? "" : convergence.sourceExcerpts());
+                        dialog.appendLog("--- Copilot CLI fix attempt " + attempt + " (interactive mode, "
+                            + strategy.name().toLowerCase(Locale.ROOT).replace('_', ' ') + " prompt) ---");
+
+                        ProcessAndResult fixProcessAndResult = copilotCliService.runFixAttemptInteractive(
+                            fixPrompt, attempt, line -> dialog.appendLog(line));
+
+                        dialog.setProcessInputStream(fixProcessAndResult.getProcessInput());
+                        ProcessResult fixResult = fixProcessAndResult.waitForCompletion();
+                        dialog.closeProcessInputStream();
+
+                        dialog.appendLog("--- Copilot CLI fix attempt " + attempt + " completed ---");
+                        dialog.appendLog("Fix attempt " + attempt + " exit code: " + fixResult.getExitCode());
+
+                        if (!fixResult.isSuccess()) {
+                            dialog.appendLog("Fix attempt " + attempt + " failed to execute successfully.");
+                            if (!continueFixLoop(convergence, convergence.recordAgentFailure())) {
+                                return false;
+                            }
+                            continue;
+                        }
+
+                        fixChanges = beforeFix.diff(FileTreeSnapshot.capture(buildDirectory()));
+                        dialog.appendLog("Fix attempt " + attempt + " changed files: " + fixChanges.describe());
+                        if (fixChanges.isEmpty()) {
+                            dialog.appendLog("Fix attempt " + attempt + " changed no files; skipping the build.");
+                            if (!continueFixLoop(convergence, convergence.recordUnchanged())) {
+                                return false;
+                            }
+                            continue;
+                        }
+
+                        String syntaxErrors = runSyntaxPreCheck(fixChanges);
+                        if (syntaxErrors != null) {
+                            dialog.appendLog("Syntax pre-check failed after fix attempt " + attempt
+                                + "; skipping the full build.");
+                            finalCompileErrors = syntaxErrors;
+                            if (!continueFixLoop(convergence, convergence.recordPreCheck(syntaxErrors))) {
+                                return false;
+                            }
+                            continue;
+                        }
 
-                    dialog.setStatus("Re-running build (attempt " + attempt + ")...");
-                    buildResult = runBuildCommands(plan.getCommands());
-                    if (buildResult.isSuccess()) {
-                        dialog.appendLog("Build succeeded after fix attempt " + attempt + '.');
-                        finalCompileErrors = "";
-                        return true;
+                        dialog.setStatus("Re-running build (attempt " + attempt + ")...");
+                        plan = planBuild();
+                        String previousDescription = buildDescription;
+                        buildDescription = describeBuild(plan);
+                        if (!buildDescription.equals(previousDescription)) {
+                            dialog.appendLog("Build plan: " + buildDescription);
+                        }
+                        buildResult = runBuild(plan);
+                        if (buildResult.isSuccess()) {
+                            convergence.recordSuccess();
+                            dialog.appendLog("Build succeeded after fix attempt " + attempt + '.');
+                            finalCompileErrors = "";
+                            return true;
+                        }
+                        finalCompileErrors = mergeOutput(buildResult);
+                        if (!continueFixLoop(convergence, convergence.recordBuild(finalCompileErrors))) {
+                            return false;
+                        }
                     }
-                    finalCompileErrors = mergeOutput(buildResult);
+                } finally {
+                    dialog.appendLog(convergence.summary());
                 }
 
                 dialog.appendLog("All automated fix attempts exhausted.");
@@ -602,19 +722,186 @@ public class WizardController {
             }
         }
 
-        private ProcessResult runBuildCommands(List<List<String>> commands) throws Exception {
-            ProcessResult lastResult = new ProcessResult(0, "", "");
+        /**
+         * Runs one fix attempt as parallel variants in cloned workspaces, one per fix strategy
+         * starting at the tracker's current one, and copies the winning variant into the project.
+         */
+        private SpeculativeFixRunner.Outcome runSpeculativeFixAttempt(int attempt, FixConvergenceTracker convergence)
+            throws IOException, InterruptedException {
+            Path projectDirectory = buildDirectory();
+            String projectPath = projectDirectory.toAbsolutePath().toString();
+            List<FixConvergenceTracker.FixStrategy> strategies = SpeculativeFixRunner.strategies(
+                convergence.getStrategy(), SpeculativeFixRunner.configuredVariants());
+            dialog.setStatus("Speculative fix attempt " + attempt + ": " + strategies.size() + " variants in parallel...");
+            dialog.appendLog("--- Speculative fix attempt " + attempt + " with strategies " + strategies + " ---");
+            String compileErrors = finalCompileErrors;
+            SpeculativeFixRunner runner = new SpeculativeFixRunner(projectDirectory,
+                workspace -> new CopilotCliService(workspace, projectDirectory), this::buildWorkspace);
+            SpeculativeFixRunner.Outcome outcome = runner.run(initialConfig, strategies, attempt,
+                convergence.getDiagnostics().size(),
+                (strategy, workspaceConfig) -> {
+                    // The agent must edit its workspace, not the project the build output points at
+                    String workspacePath = workspaceConfig.getProjectDirectory().toAbsolutePath().toString();
+                    return PromptBuilder.buildFixPrompt(taskType, workspaceConfig, mainTaskData,
+                        compileErrors.replace(projectPath, workspacePath), attempt, strategy,
+                        convergence.focusDiagnostics(),
+                        strategy == FixConvergenceTracker.FixStrategy.STANDARD ? ""
+                            : convergence.sourceExcerpts().replace(projectPath, workspacePath));
+                },
+                line -> dialog.appendLog(line));
+            dialog.appendLog(outcome.summary());
+            return outcome;
+        }
+
+        /**
+         * Builds a speculative workspace with the plain plan for its directory; the build matrix
+         * only runs once the winning variant is back in the project.
+         */
+        private ProcessResult buildWorkspace(Path workspace, Consumer<String> outputConsumer, Consumer<Process> onStart)
+            throws IOException, InterruptedException {
+            ProgrammingLanguage language = initialConfig.getProgrammingLanguage();
+            BuildCache cache = BuildCache.shared();
+            BuildCache.Session cacheSession = cache != null ? cache.begin(language, workspace) : null;
+            try {
+                BuildCommandPlanner.BuildPlan plan = BuildCommandPlanner.plan(language, initialConfig.getProjectStyle(),
+                    initialConfig.withProjectDirectory(workspace), workspace);
+                Map<String, String> environment = plan.environment(
+                    cache != null ? cache.environment(language) : Map.of());
+                ProcessResult result = new ProcessResult(0, "", "");
+                for (List<String> command : plan.getCommands()) {
+                    result = ProcessRunner.runWithStreaming(command, workspace, null, outputConsumer, onStart, environment);
+                    if (!result.isSuccess()) {
+                        break;
+                    }
+                }
+                return result;
+            } finally {
+                BuildDaemons.shared().release(workspace);
+                if (cacheSession != null) {
+                    cacheSession.finish();
+                }
+            }
+        }
+
+        /**
+         * Logs the tracker's decision about the attempt just recorded.
+         *
+         * @return Whether the fix loop goes on
+         */
+        private boolean continueFixLoop(FixConvergenceTracker convergence, FixConvergenceTracker.Decision decision) {
+            FixConvergenceTracker.AttemptStats stats = convergence.getAttempts().get(convergence.getAttempts().size() - 1);
+            switch (decision) {
+                case CONTINUE -> dialog.appendLog("Fix attempt " + stats.attempt() + ": " + stats.reason() + '.');
+                case ESCALATE -> dialog.appendLog("Fix attempt " + stats.attempt() + " made no progress ("
+                    + stats.reason() + "); next attempt uses the "
+                    + convergence.getStrategy().name().toLowerCase(Locale.ROOT).replace('_', ' ') + " prompt.");
+                case STOP -> dialog.appendLog("Stopping the auto-fix loop after attempt " + stats.attempt() + ": "
+                    + stats.reason() + '.');
+            }
+            return decision != FixConvergenceTracker.Decision.STOP;
+        }
+
+        /**
+         * Plans the next build. Warm build plans depend on the project's state, e.g. .NET builds
+         * skip the restore once packages are restored, so this runs before every build.
+         */
+        private BuildCommandPlanner.BuildPlan planBuild() {
+            return BuildCommandPlanner.plan(
+                initialConfig.getProgrammingLanguage(),
+                initialConfig.getProjectStyle(),
+                initialConfig,
+                buildDirectory());
+        }
+
+        /**
+         * Checks the syntax of the source files among {@code changes}.
+         *
+         * @return The syntax errors, or null if the check passed or did not apply
+         */
+        private String runSyntaxPreCheck(FileTreeSnapshot.ChangeSet changes) throws InterruptedException {
+            ProgrammingLanguage language = initialConfig.getProgrammingLanguage();
+            Path directory = buildDirectory();
+            List<Path> changed = SyntaxPreCheck.sourceFiles(language, directory, changes.changedFiles());
+            if (changed.isEmpty()) {
+                return null;
+            }
+            dialog.setStatus("Checking syntax of " + changed.size() + " changed file(s)...");
+            SyntaxPreCheck.Result result = SyntaxPreCheck.run(language, directory, changed, line -> dialog.appendLog(line));
+            if (!result.ran()) {
+                return null;
+            }
+            dialog.appendLog("Syntax pre-check of " + changed.size() + " changed file(s): "
+                + (result.passed() ? "passed" : "failed"));
+            return result.passed() ? null : result.output();
+        }
+
+        private Path buildDirectory() {
             // Use the project directory if specified, otherwise use current working directory
-            Path workingDirectory = initialConfig.getProjectDirectory() != null 
+            return initialConfig.getProjectDirectory() != null 
                 ? initialConfig.getProjectDirectory() 
                 : Path.of("").toAbsolutePath();
+        }
+
+        /**
+         * What {@link #runBuild} will run for {@code plan}: the build matrix if any of its targets
+         * can be built on this host, otherwise the plan itself.
+         */
+        private String describeBuild(BuildCommandPlanner.BuildPlan plan) {
+            Path workingDirectory = buildDirectory();
+            ProgrammingLanguage language = initialConfig.getProgrammingLanguage();
+            List<BuildMatrix.Target> targets = BuildMatrix.expand(language, initialConfig, workingDirectory, plan);
+            BuildMatrix.Toolchain toolchain = BuildMatrix.hostToolchain(language, workingDirectory);
+            if (BuildMatrix.buildable(targets, toolchain).isEmpty()) {
+                return plan.getDescription() + (targets.isEmpty() ? ""
+                    : " (no matrix target has a toolchain on this host; " + BuildMatrix.describe(targets, toolchain,
+                        workingDirectory) + ")");
+            }
+            return BuildMatrix.describe(targets, toolchain, workingDirectory);
+        }
+
+        /**
+         * Runs the build, as a parallel build matrix if the project targets several operating
+         * systems with OS-specific output, otherwise with the commands of {@code plan}. Targets
+         * the host toolchain cannot build are skipped; if that leaves none, {@code plan} runs.
+         * Package and compiler caches go to the shared {@link BuildCache}.
+         */
+        private ProcessResult runBuild(BuildCommandPlanner.BuildPlan plan) throws Exception {
+            Path workingDirectory = buildDirectory();
+            ProgrammingLanguage language = initialConfig.getProgrammingLanguage();
+            BuildCache cache = BuildCache.shared();
+            Map<String, String> cacheEnvironment = cache != null ? cache.environment(language) : Map.of();
+            BuildCache.Session cacheSession = cache != null ? cache.begin(language, workingDirectory) : null;
+            try {
+                List<BuildMatrix.Target> targets = BuildMatrix.expand(language, initialConfig, workingDirectory, plan);
+                BuildMatrix.Toolchain toolchain = BuildMatrix.hostToolchain(language, workingDirectory);
+                int buildable = BuildMatrix.buildable(targets, toolchain).size();
+                if (buildable == 0) {
+                    return runBuildCommands(plan.getCommands(), plan.environment(cacheEnvironment));
+                }
+                int parallelism = BuildMatrix.defaultParallelism(buildable);
+                dialog.setStatus("Building " + buildable + " targets (" + parallelism + " at a time)...");
+                BuildMatrix.Report report = BuildMatrix.run(BuildMatrix.withEnvironment(targets, cacheEnvironment),
+                    workingDirectory, parallelism, line -> dialog.appendLog(line), toolchain);
+                dialog.appendLog(report.summary());
+                return report.toProcessResult();
+            } finally {
+                if (cacheSession != null) {
+                    dialog.appendLog(cacheSession.finish().summary(cache));
+                }
+            }
+        }
+
+        private ProcessResult runBuildCommands(List<List<String>> commands, Map<String, String> environment)
+            throws Exception {
+            ProcessResult lastResult = new ProcessResult(0, "", "");
+            Path workingDirectory = buildDirectory();
             
             for (List<String> command : commands) {
                 dialog.setStatus("Running: " + String.join(" ", command));
                 dialog.appendLog("Working directory: " + workingDirectory.toAbsolutePath());
                 // Stream output to dialog for real-time feedback
                 ProcessResult result = ProcessRunner.runWithStreaming(command, workingDirectory, null, 
-                    line -> dialog.appendLog(line));
+                    line -> dialog.appendLog(line), null, environment);
                 logProcess("Build command", result);
                 lastResult = result;
                 if (!result.isSuccess()) {
@@ -663,12 +950,13 @@ public class WizardController {
                 if (initialConfig.getProjectDirectory() != null) {
                     dialog.openOutputDirectory(
                         initialConfig.getProjectDirectory(), 
-                        initialConfig.getProgrammingLanguage()
+                        initialConfig.getProgrammingLanguage(),
+                        taskChanges
                     );
                 }
                 
                 // Enable finetuning
-                dialog.enableFinetuning(taskType, initialConfig, copilotCliService);
+                dialog.enableFinetuning(taskType, initialConfig, copilotCliService, taskChanges);
                 
                 // Show completion notification
                 JOptionPane.showMessageDialog(frame,
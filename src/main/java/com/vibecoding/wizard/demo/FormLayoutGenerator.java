@@ -183,6 +183,34 @@ public class FormLayoutGenerator {
         return buildFormJson(UUID.randomUUID().toString(), formName, formWidth, formHeight, elements);
     }
     
+    /**
+     * Creates a form with exactly {@code elementCount} elements laid out in a grid, cycling
+     * through labels, text fields and buttons. Used for synthetic projects of a given size.
+     */
+    public static String createGridDialog(String formName, int elementCount, int formWidth, int formHeight) {
+        List<Map<String, Object>> elements = new ArrayList<>();
+        int columns = Math.max(1, (formWidth - 20) / 130);
+        for (int i = 0; i < elementCount; i++) {
+            int x = 10 + (i % columns) * 130;
+            int y = 10 + (i / columns) * 35;
+            String text = formName + " " + i;
+            switch (i % 3) {
+                case 0 -> elements.add(createLabel(text, x, y, 120, 25));
+                case 1 -> {
+                    Map<String, Object> props = new LinkedHashMap<>();
+                    props.put("x", (double)x);
+                    props.put("y", (double)y);
+                    props.put("width", 120.0);
+                    props.put("height", 25.0);
+                    props.put("text", "");
+                    elements.add(createElementMap(generateElementId(), "TextField", props));
+                }
+                default -> elements.add(createButton(text, x, y, 120, 25));
+            }
+        }
+        return buildFormJson(UUID.randomUUID().toString(), formName, formWidth, formHeight, elements);
+    }
+
     /**
      * Creates a label element map.
      */
@@ -0,0 +1,204 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.demo;
+
+import com.vibecoding.wizard.DialogDefinition;
+import com.vibecoding.wizard.IDEProject;
+import com.vibecoding.wizard.InitialConfig;
+import com.vibecoding.wizard.MainTaskData;
+import com.vibecoding.wizard.Module;
+import com.vibecoding.wizard.ProgramMode;
+import com.vibecoding.wizard.ProgrammingLanguage;
+import com.vibecoding.wizard.ProjectMode;
+import com.vibecoding.wizard.ProjectSerializer;
+import com.vibecoding.wizard.ProjectSettings;
+import com.vibecoding.wizard.ProjectStyle;
+import com.vibecoding.wizard.TargetOs;
+import com.vibecoding.wizard.TaskType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Generates synthetic projects of a chosen size for benchmarks and load tests. Where
+ * {@link DemoProjectGenerator} builds one fixed, hand-written ERP project, this one scales
+ * every dimension independently: module count, nesting depth, dialogs per module, elements
+ * per form and database schema size. Output is deterministic apart from generated ids.
+ * <p>
+ * Usage: {@code SyntheticProjectGenerator <output.vcp> [modules depth dialogs elements tables columns]}
+ */
+public class SyntheticProjectGenerator {
+
+    /**
+     * Size of a synthetic project.
+     *
+     * @param modules Total number of modules
+     * @param depth Nesting depth; modules form chains of this length below the root modules
+     * @param dialogsPerModule Dialogs defined in each module
+     * @param elementsPerForm Form elements in each dialog layout
+     * @param schemaTables Tables in the database schema, 0 for no schema
+     * @param columnsPerTable Columns in each table
+     */
+    public record Shape(int modules, int depth, int dialogsPerModule, int elementsPerForm,
+                        int schemaTables, int columnsPerTable) {
+        public Shape {
+            if (modules < 1 || depth < 1 || dialogsPerModule < 0 || elementsPerForm < 0
+                    || schemaTables < 0 || columnsPerTable < 1) {
+                throw new IllegalArgumentException("Invalid project shape: " + modules + " modules, depth " + depth);
+            }
+        }
+
+        public static Shape small() {
+            return new Shape(5, 1, 3, 20, 10, 8);
+        }
+
+        public static Shape medium() {
+            return new Shape(25, 3, 5, 60, 50, 12);
+        }
+
+        public static Shape large() {
+            return new Shape(100, 4, 8, 200, 200, 20);
+        }
+
+        @Override
+        public String toString() {
+            return modules + "m/d" + depth + "/" + dialogsPerModule + "dlg/" + elementsPerForm + "el/"
+                + schemaTables + "x" + columnsPerTable;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1 && args.length != 7) {
+            System.err.println("Usage: SyntheticProjectGenerator <output.vcp> [modules depth dialogs elements tables columns]");
+            System.exit(2);
+            return;
+        }
+        Path outputPath = Paths.get(args[0]);
+        Shape shape = args.length == 1 ? Shape.medium() : new Shape(
+            Integer.parseInt(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]),
+            Integer.parseInt(args[4]), Integer.parseInt(args[5]), Integer.parseInt(args[6]));
+        Path schemaFile = outputPath.toAbsolutePath().resolveSibling(stripExtension(outputPath) + "-schema.sql");
+        IDEProject project = generate(shape, schemaFile);
+        if (!ProjectSerializer.save(project, outputPath)) {
+            System.err.println("✗ Failed to save project file.");
+            System.exit(1);
+        }
+        System.out.println("✓ Synthetic project " + shape + " saved to " + outputPath.toAbsolutePath());
+    }
+
+    /**
+     * Creates a project of the given shape. If the shape has a schema it is written to
+     * {@code schemaFile} and referenced from the project settings.
+     */
+    public static IDEProject generate(Shape shape, Path schemaFile) throws IOException {
+        String name = "Synthetic " + shape;
+        InitialConfig config = new InitialConfig(
+            ProgrammingLanguage.CSHARP,
+            ProjectStyle.GUI,
+            EnumSet.of(TargetOs.WINDOWS),
+            null,
+            ProgramMode.MAIN_WINDOW,
+            name,
+            ProjectMode.IDE
+        );
+        IDEProject project = new IDEProject(config);
+        ProjectSettings settings = project.getProjectSettings();
+        settings.setProjectName(name);
+        settings.setGlobalVariables(VariableFactory.createGlobalVariables());
+        if (shape.schemaTables() > 0) {
+            Files.writeString(schemaFile, schemaSql(shape), StandardCharsets.UTF_8);
+            settings.setDatabaseDefinitionFile(schemaFile);
+            settings.setDatabaseDescription("SQLite database with " + shape.schemaTables() + " tables");
+        }
+
+        Module parent = null;
+        for (int i = 0; i < shape.modules(); i++) {
+            Module module = createModule(shape, i);
+            if (i % shape.depth() == 0) {
+                project.addRootModule(module);
+            } else {
+                parent.addSubModule(module);
+            }
+            parent = module;
+        }
+        project.setMainModule(project.getRootModules().get(0));
+        return project;
+    }
+
+    /**
+     * SQL DDL with {@code schemaTables} tables of {@code columnsPerTable} columns each; every
+     * table after the first references its predecessor.
+     */
+    public static String schemaSql(Shape shape) {
+        StringBuilder sql = new StringBuilder();
+        for (int t = 0; t < shape.schemaTables(); t++) {
+            sql.append("CREATE TABLE ").append(tableName(t)).append(" (\n");
+            sql.append("    id INTEGER PRIMARY KEY");
+            for (int c = 1; c < shape.columnsPerTable(); c++) {
+                sql.append(",\n    ").append(columnName(c)).append(c % 3 == 0 ? " INTEGER" : " TEXT");
+            }
+            if (t > 0) {
+                sql.append(",\n    ").append(tableName(t - 1)).append("_id INTEGER REFERENCES ")
+                    .append(tableName(t - 1)).append("(id)");
+            }
+            sql.append("\n);\n\n");
+        }
+        return sql.toString();
+    }
+
+    private static Module createModule(Shape shape, int index) {
+        String moduleName = "Module" + index;
+        Module module = new Module(moduleName, TaskType.CREATE_MODULE);
+        MainTaskData taskData = new MainTaskData();
+
+        StringBuilder overview = new StringBuilder(moduleName)
+            .append(" manages one part of the synthetic application.\n");
+        if (shape.schemaTables() > 0) {
+            // Database tokens make the prompt builder resolve tables and fields against the schema
+            String table = tableName(index % shape.schemaTables());
+            overview.append("It stores its records in {").append(table).append("} and shows {")
+                .append(table).append('.').append(columnName(Math.min(1, shape.columnsPerTable() - 1)))
+                .append("} in its main list.\n");
+        }
+        taskData.setProjectOverview(overview.toString());
+        taskData.setThemeDescription("Default theme.");
+
+        List<DialogDefinition> dialogs = new ArrayList<>();
+        for (int d = 0; d < shape.dialogsPerModule(); d++) {
+            String dialogName = moduleName + "Dialog" + d;
+            dialogs.add(new DialogDefinition(
+                dialogName,
+                moduleName + " dialog " + d,
+                "Synthetic dialog " + d + " of " + moduleName + " with " + shape.elementsPerForm() + " elements.",
+                d > 0,
+                FormLayoutGenerator.createGridDialog(dialogName, shape.elementsPerForm(), 800, 600),
+                d == 0
+            ));
+        }
+        taskData.setDialogs(dialogs);
+        if (!dialogs.isEmpty()) {
+            taskData.setMainWindowName(dialogs.get(0).getName());
+        }
+        module.setTaskData(taskData);
+        return module;
+    }
+
+    private static String tableName(int index) {
+        return "table_" + index;
+    }
+
+    private static String columnName(int index) {
+        return index == 0 ? "id" : "column_" + index;
+    }
+
+    private static String stripExtension(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+}
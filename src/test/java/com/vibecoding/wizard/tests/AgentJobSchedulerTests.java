@@ -0,0 +1,162 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.tests;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.vibecoding.wizard.AgentJobScheduler;
+import com.vibecoding.wizard.AgentJobScheduler.Priority;
+
+public final class AgentJobSchedulerTests {
+    private AgentJobSchedulerTests() {
+    }
+
+    public static void run(TestContext ctx) throws Exception {
+        testPriorityAndFairOrdering(ctx);
+        testCancelRunningJob(ctx);
+        testCancelledJobKeepsSlotUntilFinished(ctx);
+        testGrantedSlots(ctx);
+    }
+
+    private static void testGrantedSlots(TestContext ctx) throws Exception {
+        AgentJobScheduler scheduler = new AgentJobScheduler(1, 0);
+        AgentJobScheduler.Job first = scheduler.acquire("project", Priority.BACKGROUND);
+        AgentJobScheduler.SlotGrant grant = scheduler.grantSlots(1);
+        AgentJobScheduler.Job second = scheduler.acquire("project", Priority.BACKGROUND);
+        ctx.assertEquals("Granted slot runs a second job", 2, scheduler.metrics().running());
+        grant.close();
+        grant.close();
+        second.finish();
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        Thread third = submit(scheduler, order, "project", Priority.BACKGROUND, "third", new AtomicBoolean());
+        ctx.assertEquals("Closed grant takes the slot back", 1, scheduler.metrics().queued());
+        first.finish();
+        third.join(5_000);
+        ctx.assertEquals("Queued job runs once a slot frees", List.of("third"), order);
+    }
+
+    private static void testPriorityAndFairOrdering(TestContext ctx) throws Exception {
+        AgentJobScheduler scheduler = new AgentJobScheduler(1, 0);
+        AgentJobScheduler.Job blocker = scheduler.acquire("blocker", Priority.BACKGROUND);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean cancelledWhileQueued = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+
+        threads.add(submit(scheduler, order, "project-a", Priority.BACKGROUND, "a1", cancelledWhileQueued));
+        threads.add(submit(scheduler, order, "project-a", Priority.BACKGROUND, "a2", cancelledWhileQueued));
+        threads.add(submit(scheduler, order, "project-b", Priority.BACKGROUND, "b1", cancelledWhileQueued));
+        threads.add(submit(scheduler, order, "project-c", Priority.INTERACTIVE, "c1", cancelledWhileQueued));
+        threads.add(submit(scheduler, order, "project-d", Priority.BACKGROUND, "d1", cancelledWhileQueued));
+
+        AgentJobScheduler.Metrics queued = scheduler.metrics();
+        ctx.assertEquals("Only one job runs at a time", 1, queued.running());
+        ctx.assertEquals("Other jobs wait", 5, queued.queued());
+        ctx.assertEquals("Queue depth per priority", 1, queued.queuedByPriority().get(Priority.INTERACTIVE));
+
+        ctx.assertEquals("Queued job can be cancelled", 1, scheduler.cancelAll("project-d"));
+        blocker.finish();
+        for (Thread thread : threads) {
+            thread.join(5_000);
+        }
+
+        ctx.assertTrue("Cancelled job never ran", cancelledWhileQueued.get() && !order.contains("d1"));
+        ctx.assertEquals("Interactive first, then projects take turns", List.of("c1", "a1", "b1", "a2"), order);
+        AgentJobScheduler.Metrics done = scheduler.metrics();
+        ctx.assertEquals("All slots are free", 0, done.running());
+        ctx.assertEquals("Admitted jobs are counted", 5L, done.started());
+        ctx.assertEquals("Cancellations are counted", 1L, done.cancelled());
+        ctx.assertTrue("Wait time is measured", done.maxWaitMillis() > 0);
+    }
+
+    private static void testCancelRunningJob(TestContext ctx) throws Exception {
+        AgentJobScheduler scheduler = new AgentJobScheduler(1, 0);
+        AtomicBoolean cancelActionRan = new AtomicBoolean();
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Object started = new Object();
+        List<AgentJobScheduler.Job> running = Collections.synchronizedList(new ArrayList<>());
+        Thread worker = new Thread(() -> {
+            try {
+                scheduler.run("project", Priority.FOREGROUND, job -> {
+                    job.onCancel(() -> cancelActionRan.set(true));
+                    running.add(job);
+                    synchronized (started) {
+                        started.notifyAll();
+                    }
+                    Thread.sleep(10_000);
+                    return null;
+                });
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            } catch (Exception e) {
+                // Unexpected; the assertions below fail
+            }
+        });
+        synchronized (started) {
+            worker.start();
+            while (running.isEmpty()) {
+                started.wait(1_000);
+            }
+        }
+        ctx.assertTrue("Running job can be cancelled", running.get(0).cancel());
+        worker.join(5_000);
+        ctx.assertTrue("Cancel action stops the work", cancelActionRan.get());
+        ctx.assertTrue("Running thread is interrupted", interrupted.get());
+        ctx.assertEquals("Cancelled job frees its slot", 0, scheduler.metrics().running());
+    }
+
+    private static void testCancelledJobKeepsSlotUntilFinished(TestContext ctx) throws Exception {
+        AgentJobScheduler scheduler = new AgentJobScheduler(1, 0);
+        AgentJobScheduler.Job slow = scheduler.acquire("project", Priority.BACKGROUND);
+        AtomicBoolean nextStarted = new AtomicBoolean();
+        Thread next = new Thread(() -> {
+            try {
+                scheduler.run("other", Priority.BACKGROUND, job -> {
+                    nextStarted.set(true);
+                    return null;
+                });
+            } catch (Exception e) {
+                // Unexpected; the assertions below fail
+            }
+        });
+        next.start();
+        while (scheduler.metrics().queued() == 0) {
+            Thread.sleep(1);
+        }
+        // The work of a cancelled job may take a while to stop, e.g. a process being destroyed
+        ctx.assertTrue("Running job can be cancelled", slow.cancel());
+        Thread.sleep(50);
+        ctx.assertFalse("Queued job waits until the cancelled one has stopped", nextStarted.get());
+        ctx.assertEquals("Cancelled job still holds its slot", 1, scheduler.metrics().running());
+        slow.finish();
+        next.join(5_000);
+        ctx.assertTrue("Queued job starts once the slot is freed", nextStarted.get());
+        ctx.assertEquals("All slots are free", 0, scheduler.metrics().running());
+    }
+
+    private static Thread submit(AgentJobScheduler scheduler, List<String> order, String project, Priority priority,
+                                 String name, AtomicBoolean cancelled) throws InterruptedException {
+        int queuedBefore = scheduler.metrics().queued();
+        Thread thread = new Thread(() -> {
+            try {
+                scheduler.run(project, priority, job -> {
+                    order.add(name);
+                    Thread.sleep(5);
+                    return null;
+                });
+            } catch (CancellationException e) {
+                cancelled.set(true);
+            } catch (Exception e) {
+                // Unexpected; the order assertion fails
+            }
+        });
+        thread.start();
+        // Submit one at a time so the queue order is deterministic
+        while (scheduler.metrics().queued() == queuedBefore) {
+            Thread.sleep(1);
+        }
+        return thread;
+    }
+}
@@ -0,0 +1,116 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.tests;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vibecoding.wizard.BatchRunner;
+import com.vibecoding.wizard.IDEProject;
+import com.vibecoding.wizard.InitialConfig;
+import com.vibecoding.wizard.Module;
+import com.vibecoding.wizard.ProgrammingLanguage;
+import com.vibecoding.wizard.ProjectSerializer;
+import com.vibecoding.wizard.ProjectStyle;
+import com.vibecoding.wizard.TargetOs;
+import com.vibecoding.wizard.TaskType;
+
+public final class BatchRunnerTests {
+    private BatchRunnerTests() {
+    }
+
+    public static void run(TestContext ctx) throws Exception {
+        testParseArguments(ctx);
+        testBatchWritesReports(ctx);
+    }
+
+    private static void testParseArguments(TestContext ctx) throws Exception {
+        Path directory = Files.createTempDirectory("vibe-batch-args-");
+        Files.writeString(directory.resolve("a.vcp"), "");
+        Files.writeString(directory.resolve("notes.txt"), "");
+        BatchRunner.Options options = BatchRunner.parseArguments(
+            new String[] {"--parallel", "3", "--no-verify", directory.toString()});
+        ctx.assertEquals("Parallelism parsed", 3, options.parallelism());
+        ctx.assertFalse("Verification disabled", options.verifyBuild());
+        ctx.assertEquals("Only .vcp files are collected", 1, options.projectFiles().size());
+        try {
+            BatchRunner.parseArguments(new String[] {"--parallel", "0", directory.toString()});
+            ctx.fail("Zero parallelism is rejected");
+        } catch (IllegalArgumentException expected) {
+            ctx.assertTrue("Error names the option", expected.getMessage().contains("--parallel"));
+        }
+    }
+
+    private static void testBatchWritesReports(TestContext ctx) throws Exception {
+        String previous = System.getProperty("vibecodingwizard.skipCopilotCli");
+        System.setProperty("vibecodingwizard.skipCopilotCli", "true");
+        Path workspace = Files.createTempDirectory("vibe-batch-");
+        try {
+            Path good = workspace.resolve("good.vcp");
+            Path empty = workspace.resolve("empty.vcp");
+            Path broken = workspace.resolve("broken.vcp");
+            ProjectSerializer.save(project("Good", true), good);
+            ProjectSerializer.save(project("Empty", false), empty);
+            Files.writeString(broken, "not a project");
+
+            Path reports = workspace.resolve("reports");
+            Path output = workspace.resolve("out");
+            BatchRunner.BatchReport report = BatchRunner.run(
+                new BatchRunner.Options(List.of(good, empty, broken), 2, reports, output, false));
+
+            ctx.assertEquals("All projects reported", 3, report.total());
+            ctx.assertEquals("One project succeeded", 1, report.succeeded());
+            ctx.assertTrue("Prompt written into the output root",
+                Files.isRegularFile(output.resolve("good").resolve("prompt.txt")));
+
+            JsonNode summary = new ObjectMapper().readTree(reports.resolve("batch-report.json").toFile());
+            JsonNode projects = summary.path("projects");
+            ctx.assertEquals("Summary keeps input order", good.toString(), projects.get(0).path("projectFile").asText());
+            ctx.assertEquals("Agent exit code recorded", 0, projects.get(0).path("agentExitCode").asInt());
+            ctx.assertEquals("Project without modules fails in config", "config",
+                projects.get(1).path("failedStage").asText());
+            ctx.assertEquals("Unreadable file fails in load", "load", projects.get(2).path("failedStage").asText());
+            ctx.assertTrue("Per-project log written",
+                Files.isRegularFile(Path.of(projects.get(0).path("logFile").asText())));
+
+            // Same file name in another directory gets its own report and output directory
+            Path other = Files.createDirectories(workspace.resolve("other")).resolve("good.vcp");
+            ProjectSerializer.save(project("Other", true), other);
+            BatchRunner.BatchReport twice = BatchRunner.run(
+                new BatchRunner.Options(List.of(good, other), 2, reports, output, false));
+            ctx.assertEquals("Both projects with the same file name succeed", 2, twice.succeeded());
+            ctx.assertTrue("Second project gets its own output directory",
+                Files.isRegularFile(output.resolve("good-2").resolve("prompt.txt")));
+            ctx.assertTrue("Second project gets its own report", Files.isRegularFile(reports.resolve("good-2.json")));
+
+            // The output root is a file, so the project directory cannot be created
+            Path blocked = workspace.resolve("blocked");
+            Files.writeString(blocked, "");
+            BatchRunner.BatchReport failed = BatchRunner.run(
+                new BatchRunner.Options(List.of(good), 1, reports, blocked, false));
+            ctx.assertEquals("Directory failure is reported in config", "config",
+                failed.projects().get(0).failedStage());
+        } finally {
+            if (previous == null) {
+                System.clearProperty("vibecodingwizard.skipCopilotCli");
+            } else {
+                System.setProperty("vibecodingwizard.skipCopilotCli", previous);
+            }
+        }
+    }
+
+    private static IDEProject project(String name, boolean withModule) {
+        InitialConfig config = new InitialConfig(ProgrammingLanguage.PYTHON, ProjectStyle.SCRIPT,
+            EnumSet.of(TargetOs.LINUX), null, null, name);
+        IDEProject project = new IDEProject(config);
+        if (withModule) {
+            Module module = new Module(name, TaskType.GENERATE_APP_OR_SCRIPT);
+            project.addRootModule(module);
+            project.setMainModule(module);
+        }
+        return project;
+    }
+}
@@ -0,0 +1,178 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.tests;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.vibecoding.wizard.BuildCache;
+import com.vibecoding.wizard.ProgrammingLanguage;
+
+public final class BuildCacheTests {
+    private BuildCacheTests() {
+    }
+
+    public static void run(TestContext ctx) {
+        testEnvironment(ctx);
+        testNuGetHitsAndMisses(ctx);
+        testGoModulePaths(ctx);
+        testLeastRecentlyUsedEviction(ctx);
+    }
+
+    private static void testEnvironment(TestContext ctx) {
+        Path root = null;
+        try {
+            root = Files.createTempDirectory("build-cache-env");
+            BuildCache cache = new BuildCache(root, Long.MAX_VALUE);
+            Map<String, String> dotnet = cache.environment(ProgrammingLanguage.CSHARP);
+            ctx.assertEquals("NuGet packages below the cache root",
+                root.resolve("nuget").toAbsolutePath().toString(), dotnet.get("NUGET_PACKAGES"));
+            ctx.assertTrue("NuGet directory created", Files.isDirectory(root.resolve("nuget")));
+            ctx.assertTrue("Maven uses the cached local repository",
+                cache.environment(ProgrammingLanguage.JAVA).get("MAVEN_OPTS").endsWith(
+                    "-Dmaven.repo.local=" + root.resolve("maven").toAbsolutePath()));
+            Map<String, String> go = cache.environment(ProgrammingLanguage.GO);
+            ctx.assertTrue("Go module and build caches set", go.containsKey("GOMODCACHE") && go.containsKey("GOCACHE"));
+            ctx.assertEquals("npm prefers cached packages", "true",
+                cache.environment(ProgrammingLanguage.JAVASCRIPT).get("npm_config_prefer_offline"));
+        } catch (IOException e) {
+            ctx.fail("Build cache environment test failed: " + e.getMessage());
+        } finally {
+            deleteRecursively(root);
+        }
+    }
+
+    private static void testNuGetHitsAndMisses(TestContext ctx) {
+        Path root = null;
+        Path project = null;
+        try {
+            root = Files.createTempDirectory("build-cache-nuget");
+            project = Files.createTempDirectory("build-cache-project");
+            BuildCache cache = new BuildCache(root, Long.MAX_VALUE);
+            Path cached = Files.createDirectories(root.resolve("nuget/newtonsoft.json/13.0.3"));
+            Files.writeString(cached.resolve("newtonsoft.json.nupkg"), "package");
+            Files.setLastModifiedTime(cached, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+            Files.createDirectories(project.resolve("obj"));
+            Files.writeString(project.resolve("obj/project.assets.json"), """
+                {"libraries": {
+                  "Newtonsoft.Json/13.0.3": {"type": "package"},
+                  "Serilog/3.1.1": {"type": "package"},
+                  "MyLibrary/1.0.0": {"type": "project"}
+                }}
+                """, StandardCharsets.UTF_8);
+
+            BuildCache.Stats stats = cache.begin(ProgrammingLanguage.CSHARP, project).finish();
+            ctx.assertEquals("Package cached before the build is a hit", 1, stats.hits());
+            ctx.assertEquals("Package missing from the cache is a miss", 1, stats.misses());
+            ctx.assertTrue("Summary shows hit rate", stats.summary(cache).contains("50% hit rate"));
+            ctx.assertTrue("Used entries recorded", Files.readString(root.resolve("usage.properties"))
+                .contains("nuget/newtonsoft.json/13.0.3"));
+
+            BuildCache.Stats unknown = cache.begin(ProgrammingLanguage.PYTHON, project).finish();
+            ctx.assertEquals("No hit count without a lock file", -1, unknown.hits());
+        } catch (IOException e) {
+            ctx.fail("Build cache NuGet test failed: " + e.getMessage());
+        } finally {
+            deleteRecursively(root);
+            deleteRecursively(project);
+        }
+    }
+
+    private static void testGoModulePaths(TestContext ctx) {
+        Path root = null;
+        Path project = null;
+        try {
+            root = Files.createTempDirectory("build-cache-go");
+            project = Files.createTempDirectory("build-cache-project");
+            BuildCache cache = new BuildCache(root, Long.MAX_VALUE);
+            Files.writeString(project.resolve("go.sum"), String.join("\n",
+                "github.com/BurntSushi/toml v1.3.2 h1:abc=",
+                "github.com/BurntSushi/toml v1.3.2/go.mod h1:def=",
+                ""), StandardCharsets.UTF_8);
+            Path module = Files.createDirectories(root.resolve("go-mod/cache/download/github.com/!burnt!sushi/toml/@v"));
+            Files.writeString(module.resolve("v1.3.2.zip"), "zip");
+            Files.setLastModifiedTime(module.resolve("v1.3.2.zip"),
+                FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+
+            BuildCache.Stats stats = cache.begin(ProgrammingLanguage.GO, project).finish();
+            ctx.assertEquals("Case-encoded module path found in the cache", 1, stats.hits());
+            ctx.assertEquals("go.mod-only lines are not modules", 0, stats.misses());
+        } catch (IOException e) {
+            ctx.fail("Build cache Go test failed: " + e.getMessage());
+        } finally {
+            deleteRecursively(root);
+            deleteRecursively(project);
+        }
+    }
+
+    private static void testLeastRecentlyUsedEviction(TestContext ctx) {
+        Path root = null;
+        Path project = null;
+        try {
+            root = Files.createTempDirectory("build-cache-lru");
+            project = Files.createTempDirectory("build-cache-project");
+            long now = System.currentTimeMillis();
+            Path oldest = writeEntry(root.resolve("go-mod/example.com/old@v1.0.0"), 1000, now - 3_600_000);
+            Path recent = writeEntry(root.resolve("nuget/recent/1.0.0"), 1000, now - 60_000);
+            Path read = writeEntry(root.resolve("maven/org/example/lib/1.0"), 1000, now - 7_200_000);
+            Path middle = writeEntry(root.resolve("pip/http/ab"), 1000, now - 1_800_000);
+            // Read an hour and a half after it was written, so it is used more recently than the oldest entry
+            Files.getFileAttributeView(read.resolve("content.bin"), BasicFileAttributeView.class)
+                .setTimes(null, FileTime.fromMillis(now - 600_000), null);
+            // Go makes its module cache read-only
+            oldest.resolve("content.bin").toFile().setWritable(false);
+            oldest.toFile().setWritable(false);
+            Files.writeString(root.resolve("nuget/tool.config"), "not an entry");
+
+            BuildCache cache = new BuildCache(root, 3500);
+            BuildCache.Stats stats = cache.begin(ProgrammingLanguage.PYTHON, project).finish();
+            cache.awaitEviction();
+            ctx.assertFalse("Least recently used read-only entry is gone", Files.exists(oldest));
+            ctx.assertTrue("Recently read and written entries are kept",
+                Files.exists(recent) && Files.exists(read) && Files.exists(middle));
+            ctx.assertTrue("Files directly in a tool directory are kept", Files.exists(root.resolve("nuget/tool.config")));
+
+            BuildCache.Stats next = cache.begin(ProgrammingLanguage.PYTHON, project).finish();
+            ctx.assertEquals("Background eviction reported with the next build", 1,
+                stats.evictedEntries() + next.evictedEntries());
+            ctx.assertEquals("Size after eviction", 3000L, next.sizeBytes());
+        } catch (IOException e) {
+            ctx.fail("Build cache eviction test failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ctx.fail("Build cache eviction test interrupted");
+        } finally {
+            deleteRecursively(root);
+            deleteRecursively(project);
+        }
+    }
+
+    private static Path writeEntry(Path directory, int bytes, long modifiedMillis) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("content.bin");
+        Files.write(file, new byte[bytes]);
+        FileTime modified = FileTime.fromMillis(modifiedMillis);
+        Files.getFileAttributeView(file, BasicFileAttributeView.class).setTimes(modified, modified, null);
+        return directory;
+    }
+
+    private static void deleteRecursively(Path directory) {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                path.toFile().setWritable(true);
+                path.toFile().delete();
+            });
+        } catch (IOException e) {
+            // Temp directory cleanup is best effort
+        }
+    }
+}
@@ -1,10 +1,17 @@
 /* Copyright 2025 Dennis Michael Heine */
 package com.vibecoding.wizard.tests;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import com.vibecoding.wizard.BuildCommandPlanner;
+import com.vibecoding.wizard.BuildDaemons;
 import com.vibecoding.wizard.InitialConfig;
 import com.vibecoding.wizard.ProgrammingLanguage;
 import com.vibecoding.wizard.ProjectStyle;
@@ -14,7 +21,16 @@ public final class BuildCommandPlannerTests {
     private BuildCommandPlannerTests() {
     }
 
-    public static void run(TestContext ctx) {
+    public static void run(TestContext ctx) throws Exception {
+        testColdPlans(ctx);
+        testDotnetSkipsRestoreOnceRestored(ctx);
+        testIncrementalTypeScript(ctx);
+        testGradleDaemon(ctx);
+        testDaemonsStopWithLastDirectory(ctx);
+        testPhpLintsEveryFile(ctx);
+    }
+
+    private static void testColdPlans(TestContext ctx) {
         // Test with null config (backward compatibility)
         BuildCommandPlanner.BuildPlan csharp = BuildCommandPlanner.plan(ProgrammingLanguage.CSHARP, ProjectStyle.GUI, null);
         ctx.assertEquals("C# command without config", List.of("dotnet", "build"), csharp.getCommands().get(0));
@@ -60,4 +76,108 @@ public final class BuildCommandPlannerTests {
         BuildCommandPlanner.BuildPlan ruby = BuildCommandPlanner.plan(ProgrammingLanguage.RUBY, ProjectStyle.WEB, null);
         ctx.assertEquals("Ruby command", List.of("bundle", "exec", "rake", "build"), ruby.getCommands().get(0));
     }
+
+    private static void testDotnetSkipsRestoreOnceRestored(TestContext ctx) throws Exception {
+        Path directory = Files.createTempDirectory("vibe-plan-dotnet-");
+        Path project = Files.writeString(directory.resolve("App.csproj"), "<Project Sdk=\"Microsoft.NET.Sdk\" />");
+        Files.setLastModifiedTime(project, FileTime.fromMillis(1_000_000));
+        ctx.assertEquals("First build restores", List.of("dotnet", "build"),
+            planCommand(ProgrammingLanguage.CSHARP, directory));
+
+        Path assets = directory.resolve("obj").resolve("project.assets.json");
+        Files.createDirectories(assets.getParent());
+        Files.writeString(assets, "{}");
+        Files.setLastModifiedTime(assets, FileTime.fromMillis(2_000_000));
+        ctx.assertEquals("Restored project skips the restore", List.of("dotnet", "build", "--no-restore"),
+            planCommand(ProgrammingLanguage.CSHARP, directory));
+
+        Files.setLastModifiedTime(project, FileTime.fromMillis(3_000_000));
+        ctx.assertEquals("Changed project file restores again", List.of("dotnet", "build"),
+            planCommand(ProgrammingLanguage.CSHARP, directory));
+        List<String> stopped = new ArrayList<>();
+        BuildDaemons daemons = new BuildDaemons(daemon -> stopped.add(daemon.kind()));
+        BuildCommandPlanner.plan(ProgrammingLanguage.CSHARP, ProjectStyle.GUI, null, directory, daemons);
+        ctx.assertTrue("Build servers registered", daemons.kindsIn(directory).contains("dotnet"));
+        daemons.release(directory);
+        ctx.assertTrue("Released directory has no daemons", daemons.kindsIn(directory).isEmpty());
+        ctx.assertEquals("Released build servers stopped", List.of("dotnet"), stopped);
+    }
+
+    private static void testIncrementalTypeScript(TestContext ctx) throws Exception {
+        Path directory = Files.createTempDirectory("vibe-plan-ts-");
+        Files.writeString(directory.resolve("tsconfig.json"), "{}");
+        Path packageJson = directory.resolve("package.json");
+        Files.writeString(packageJson, "{\"scripts\": {\"build\": \"tsc -p .\"}}", StandardCharsets.UTF_8);
+        ctx.assertEquals("Plain tsc build runs incrementally", List.of("npm", "run", "build", "--", "--incremental"),
+            planCommand(ProgrammingLanguage.JAVASCRIPT, directory));
+
+        Files.writeString(packageJson, "{\"scripts\": {\"build\": \"tsc && vite build\"}}", StandardCharsets.UTF_8);
+        ctx.assertEquals("Chained build script is left alone", List.of("npm", "run", "build"),
+            planCommand(ProgrammingLanguage.JAVASCRIPT, directory));
+    }
+
+    private static void testGradleDaemon(TestContext ctx) throws Exception {
+        Path directory = Files.createTempDirectory("vibe-plan-gradle-");
+        Files.writeString(directory.resolve("build.gradle"), "plugins { id 'java' }");
+        Path wrapper = Files.writeString(directory.resolve("gradlew"), "");
+        List<String> command = planCommand(ProgrammingLanguage.JAVA, directory);
+        ctx.assertTrue("Gradle wrapper used", command.contains(wrapper.toAbsolutePath().toString()));
+        ctx.assertEquals("Build runs on the daemon", List.of("--daemon", "build"),
+            command.subList(command.size() - 2, command.size()));
+        BuildDaemons daemons = new BuildDaemons(daemon -> { });
+        BuildCommandPlanner.BuildPlan plan = BuildCommandPlanner.plan(ProgrammingLanguage.JAVA, ProjectStyle.GUI, null,
+            directory, daemons);
+        ctx.assertEquals("Gradle daemon runs with a private home", BuildDaemons.privateHome("gradle").toString(),
+            plan.getEnvironment().get("GRADLE_USER_HOME"));
+        daemons.shutdown();
+
+        System.setProperty(BuildDaemons.DISABLE_PROPERTY, "true");
+        try {
+            ctx.assertEquals("Disabled daemons give the cold plan", List.of("mvn", "package"),
+                planCommand(ProgrammingLanguage.JAVA, directory));
+        } finally {
+            System.clearProperty(BuildDaemons.DISABLE_PROPERTY);
+        }
+    }
+
+    private static void testDaemonsStopWithLastDirectory(TestContext ctx) {
+        List<String> stopped = new ArrayList<>();
+        BuildDaemons daemons = new BuildDaemons(daemon -> stopped.add(daemon.kind()));
+        Path first = Path.of("first");
+        Path second = Path.of("second");
+        daemons.register(first, new BuildDaemons.Daemon("gradle", List.of("gradle", "--stop"), first));
+        daemons.register(second, new BuildDaemons.Daemon("gradle", List.of("gradle", "--stop"), second));
+        daemons.register(second, new BuildDaemons.Daemon("dotnet", List.of("dotnet", "build-server", "shutdown"), second));
+
+        daemons.release(first);
+        ctx.assertTrue("Daemon still used by another directory keeps running", stopped.isEmpty());
+        daemons.release(second);
+        ctx.assertEquals("Each kind stopped once with its last directory", Set.of("gradle", "dotnet"), Set.copyOf(stopped));
+        ctx.assertEquals("Shared stop command runs once", 2, stopped.size());
+
+        daemons.register(first, new BuildDaemons.Daemon("mvnd", List.of("mvnd", "--stop"), first));
+        daemons.shutdown();
+        ctx.assertTrue("Shutdown stops daemons still in use", stopped.contains("mvnd"));
+    }
+
+    private static void testPhpLintsEveryFile(TestContext ctx) throws Exception {
+        Path directory = Files.createTempDirectory("vibe-plan-php-");
+        Files.writeString(directory.resolve("index.php"), "<?php echo 1;");
+        Files.createDirectories(directory.resolve("src"));
+        Files.writeString(directory.resolve("src").resolve("App.php"), "<?php class App {}");
+        Files.createDirectories(directory.resolve("vendor").resolve("lib"));
+        Files.writeString(directory.resolve("vendor").resolve("lib").resolve("Lib.php"), "<?php class Lib {}");
+
+        List<List<String>> commands = BuildCommandPlanner.plan(ProgrammingLanguage.PHP, ProjectStyle.WEB, null,
+            directory, new BuildDaemons(daemon -> { })).getCommands();
+        ctx.assertEquals("One php -l per file, dependencies left out", List.of(
+            List.of("php", "-l", "index.php"),
+            List.of("php", "-l", Path.of("src", "App.php").toString())), commands);
+    }
+
+    // Plans against a throwaway registry, so tests never run the machine-wide stop commands
+    private static List<String> planCommand(ProgrammingLanguage language, Path directory) {
+        return BuildCommandPlanner.plan(language, ProjectStyle.GUI, null, directory,
+            new BuildDaemons(daemon -> { })).getCommands().get(0);
+    }
 }
@@ -0,0 +1,170 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.tests;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import com.vibecoding.wizard.BuildCommandPlanner;
+import com.vibecoding.wizard.BuildDaemons;
+import com.vibecoding.wizard.BuildMatrix;
+import com.vibecoding.wizard.InitialConfig;
+import com.vibecoding.wizard.ProcessResult;
+import com.vibecoding.wizard.ProgrammingLanguage;
+import com.vibecoding.wizard.ProjectStyle;
+import com.vibecoding.wizard.TargetOs;
+
+public final class BuildMatrixTests {
+    private BuildMatrixTests() {
+    }
+
+    public static void run(TestContext ctx) throws Exception {
+        testExpand(ctx);
+        testRun(ctx);
+        testSkipsMissingToolchain(ctx);
+        testHostToolchain(ctx);
+        testDotnetFollowsPlan(ctx);
+    }
+
+    private static void testExpand(TestContext ctx) {
+        Path directory = Path.of("project").toAbsolutePath();
+        InitialConfig twoTargets = new InitialConfig(ProgrammingLanguage.CSHARP, ProjectStyle.GUI,
+            EnumSet.of(TargetOs.WINDOWS, TargetOs.LINUX), directory);
+        List<BuildMatrix.Target> dotnet = BuildMatrix.expand(ProgrammingLanguage.CSHARP, twoTargets, directory);
+        ctx.assertEquals("One .NET target per OS", 2, dotnet.size());
+        ctx.assertEquals("Runtime identifier", "win-x64", dotnet.get(0).id());
+        ctx.assertTrue("Builds for its runtime identifier", dotnet.get(0).commands().get(0).containsAll(List.of("-r", "win-x64")));
+        ctx.assertFalse("Targets build into separate directories",
+            dotnet.get(0).outputDirectory().equals(dotnet.get(1).outputDirectory()));
+
+        List<BuildMatrix.Target> go = BuildMatrix.expand(ProgrammingLanguage.GO, twoTargets, directory);
+        ctx.assertEquals("Go target chosen by environment", "windows", go.get(0).environment().get("GOOS"));
+        ctx.assertTrue("Go cross builds do not need a C compiler", go.stream()
+            .anyMatch(target -> "0".equals(target.environment().get("CGO_ENABLED"))));
+
+        ctx.assertTrue("Java builds once for all targets",
+            BuildMatrix.expand(ProgrammingLanguage.JAVA, twoTargets, directory).isEmpty());
+        InitialConfig oneTarget = new InitialConfig(ProgrammingLanguage.CSHARP, ProjectStyle.GUI,
+            EnumSet.of(TargetOs.LINUX), directory);
+        ctx.assertTrue("Single target needs no matrix",
+            BuildMatrix.expand(ProgrammingLanguage.CSHARP, oneTarget, directory).isEmpty());
+        ctx.assertEquals("Parallelism never exceeds the targets", 1, BuildMatrix.defaultParallelism(1));
+    }
+
+    private static void testRun(TestContext ctx) throws Exception {
+        if (System.getProperty("os.name").toLowerCase().contains("win")) {
+            ctx.skip("Build matrix run test uses sh");
+            return;
+        }
+        Path directory = Files.createTempDirectory("vibe-matrix-");
+        BuildMatrix.Target passing = new BuildMatrix.Target(TargetOs.LINUX, "linux-x64",
+            List.of(List.of("sh", "-c", "echo built for $TARGET_NAME")), Map.of("TARGET_NAME", "linux"),
+            directory.resolve("linux"));
+        BuildMatrix.Target failing = new BuildMatrix.Target(TargetOs.WINDOWS, "win-x64",
+            List.of(List.of("sh", "-c", "echo broken; exit 3")), Map.of(), directory.resolve("windows"));
+
+        List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        BuildMatrix.Report report = BuildMatrix.run(List.of(failing, passing), directory, 2, lines::add);
+        ctx.assertFalse("One failed target fails the matrix", report.isSuccess());
+        ctx.assertEquals("Results in target order", "win-x64", report.results().get(0).target().id());
+        ctx.assertTrue("Environment reaches the build", lines.contains("[linux-x64] built for linux"));
+        ctx.assertTrue("Output directory created", Files.isDirectory(directory.resolve("linux")));
+        ctx.assertTrue("Summary lists every target",
+            report.summary().contains("win-x64") && report.summary().contains("linux-x64"));
+
+        ProcessResult merged = report.toProcessResult();
+        ctx.assertEquals("Exit code of the failed target", 3, merged.getExitCode());
+        ctx.assertTrue("Only failed output is reported", merged.getStdout().contains("broken")
+            && !merged.getStdout().contains("built for"));
+    }
+
+    private static void testSkipsMissingToolchain(TestContext ctx) throws Exception {
+        if (System.getProperty("os.name").toLowerCase().contains("win")) {
+            ctx.skip("Build matrix skip test uses sh");
+            return;
+        }
+        Path directory = Files.createTempDirectory("vibe-matrix-skip-");
+        BuildMatrix.Target host = new BuildMatrix.Target(TargetOs.LINUX, "x86_64-unknown-linux-gnu",
+            List.of(List.of("sh", "-c", "echo built")), Map.of(), directory.resolve("linux"));
+        BuildMatrix.Target cross = new BuildMatrix.Target(TargetOs.WINDOWS, "x86_64-pc-windows-gnu",
+            List.of(List.of("sh", "-c", "echo linked; exit 1")), Map.of(), directory.resolve("windows"));
+        BuildMatrix.Toolchain toolchain = target -> target == cross ? "x86_64-w64-mingw32-gcc not found" : null;
+
+        ctx.assertEquals("Only the host target is buildable", List.of(host),
+            BuildMatrix.buildable(List.of(cross, host), toolchain));
+        ctx.assertTrue("Description names the skipped target", BuildMatrix.describe(List.of(cross, host), toolchain,
+            directory).contains("skipped (toolchain missing) [x86_64-pc-windows-gnu: x86_64-w64-mingw32-gcc not found]"));
+
+        List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        BuildMatrix.Report report = BuildMatrix.run(List.of(cross, host), directory, 2, lines::add, toolchain);
+        ctx.assertTrue("A skipped target does not fail the matrix", report.isSuccess());
+        ctx.assertTrue("Skipped target is not built", report.results().get(0).skipped()
+            && !lines.contains("[x86_64-pc-windows-gnu] linked"));
+        ctx.assertTrue("Summary reports the missing toolchain",
+            report.summary().contains("skipped: toolchain missing (x86_64-w64-mingw32-gcc not found)"));
+        ctx.assertEquals("Skipped targets are not compile errors", "", report.toProcessResult().getStdout());
+    }
+
+    private static void testHostToolchain(TestContext ctx) throws Exception {
+        Path directory = Files.createTempDirectory("vibe-matrix-cgo-");
+        Files.writeString(directory.resolve("main.go"), "package main\n\nimport \"C\"\n\nfunc main() {}\n");
+        InitialConfig allTargets = new InitialConfig(ProgrammingLanguage.GO, ProjectStyle.GUI,
+            EnumSet.allOf(TargetOs.class), directory);
+        List<BuildMatrix.Target> targets = BuildMatrix.expand(ProgrammingLanguage.GO, allTargets, directory);
+        BuildMatrix.Toolchain toolchain = BuildMatrix.hostToolchain(ProgrammingLanguage.GO, directory);
+        ctx.assertTrue("A cgo project cannot cross-compile",
+            BuildMatrix.buildable(targets, toolchain).size() < targets.size());
+        Files.writeString(directory.resolve("main.go"), "package main\n\nfunc main() {}\n");
+        ctx.assertEquals("A pure Go project builds every target", targets,
+            BuildMatrix.buildable(targets, BuildMatrix.hostToolchain(ProgrammingLanguage.GO, directory)));
+        ctx.assertEquals(".NET builds every runtime identifier", 0L, BuildMatrix.expand(ProgrammingLanguage.CSHARP,
+            allTargets, directory).stream().filter(target -> BuildMatrix.hostToolchain(ProgrammingLanguage.CSHARP,
+            directory).missing(target) != null).count());
+    }
+
+    private static void testDotnetFollowsPlan(TestContext ctx) throws Exception {
+        Path directory = Files.createTempDirectory("vibe-matrix-dotnet-");
+        Path project = Files.writeString(directory.resolve("App.csproj"),
+            "<Project><PropertyGroup><TargetFrameworks>net8.0;net8.0-windows</TargetFrameworks>"
+                + "</PropertyGroup></Project>");
+        Files.setLastModifiedTime(project, FileTime.fromMillis(1_000_000));
+        InitialConfig config = new InitialConfig(ProgrammingLanguage.CSHARP, ProjectStyle.GUI,
+            EnumSet.of(TargetOs.WINDOWS, TargetOs.LINUX), directory);
+        List<BuildMatrix.Target> targets = BuildMatrix.expand(ProgrammingLanguage.CSHARP, config, directory);
+        BuildMatrix.Target windows = targets.get(0);
+        BuildMatrix.Target linux = targets.get(1);
+        ctx.assertEquals("Windows builds every framework", 2, windows.commands().size());
+        ctx.assertEquals("Other runtime identifiers skip net*-windows", 1, linux.commands().size());
+        ctx.assertTrue("Framework chosen per command", linux.commands().get(0).containsAll(List.of("-f", "net8.0")));
+        ctx.assertTrue("Output directory instead of an artifacts path", targets.stream()
+            .flatMap(target -> target.commands().stream())
+            .allMatch(command -> command.contains("-o") && !command.contains("--artifacts-path")));
+
+        Path assets = directory.resolve("obj").resolve("project.assets.json");
+        Files.createDirectories(assets.getParent());
+        Files.writeString(assets, "{\"targets\": {\"net8.0\": {}}}");
+        Files.setLastModifiedTime(assets, FileTime.fromMillis(2_000_000));
+        BuildCommandPlanner.BuildPlan warm = BuildCommandPlanner.plan(ProgrammingLanguage.CSHARP, ProjectStyle.GUI,
+            config, directory, new BuildDaemons(daemon -> { }));
+        ctx.assertTrue("Plan skips the restore", warm.getCommands().get(0).contains("--no-restore"));
+        ctx.assertFalse("Restore without the runtime identifiers runs again", BuildMatrix.expand(
+            ProgrammingLanguage.CSHARP, config, directory, warm).get(0).commands().get(0).contains("--no-restore"));
+        Files.writeString(assets, "{\"targets\": {\"net8.0/win-x64\": {}, \"net8.0/linux-x64\": {}}}");
+        Files.setLastModifiedTime(assets, FileTime.fromMillis(2_000_000));
+        List<String> command = BuildMatrix.expand(ProgrammingLanguage.CSHARP, config, directory, warm).get(0)
+            .commands().get(0);
+        ctx.assertTrue("Restored runtime identifiers keep the plan's command",
+            command.subList(0, warm.getCommands().get(0).size()).equals(warm.getCommands().get(0)));
+
+        Files.writeString(project,
+            "<Project><PropertyGroup><TargetFramework>net8.0-windows</TargetFramework></PropertyGroup></Project>");
+        BuildMatrix.Toolchain toolchain = BuildMatrix.hostToolchain(ProgrammingLanguage.CSHARP, directory);
+        ctx.assertTrue("Windows-only project skips other runtime identifiers",
+            toolchain.missing(linux) != null && toolchain.missing(windows) == null);
+    }
+}
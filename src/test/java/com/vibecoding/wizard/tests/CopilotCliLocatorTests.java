@@ -0,0 +1,58 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.tests;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.vibecoding.wizard.CopilotCliLocator;
+
+public final class CopilotCliLocatorTests {
+    private CopilotCliLocatorTests() {
+    }
+
+    public static void run(TestContext ctx) throws Exception {
+        testResolvesAndCachesEntryPoint(ctx);
+    }
+
+    private static void testResolvesAndCachesEntryPoint(TestContext ctx) throws Exception {
+        Path dir = Files.createTempDirectory("copilot-locator-test");
+        Path nodeModules = dir.resolve("node_modules");
+        Path packageDir = nodeModules.resolve("@github").resolve("copilot");
+        Path cacheFile = dir.resolve("copilot-cli.properties");
+        try {
+            Files.createDirectories(packageDir);
+            Files.writeString(packageDir.resolve("index.js"), "console.log('copilot');");
+            Files.writeString(packageDir.resolve("package.json"),
+                "{\"name\":\"@github/copilot\",\"version\":\"1.0.0\",\"bin\":{\"copilot\":\"index.js\"}}");
+
+            CopilotCliLocator locator = new CopilotCliLocator(cacheFile, () -> List.of(nodeModules), false);
+            CopilotCliLocator.Installation installation = locator.locate();
+            ctx.assertNotNull("Installed package is found", installation);
+            ctx.assertEquals("Entry point comes from the bin field", packageDir.resolve("index.js"), installation.entryPoint());
+            ctx.assertEquals("Version is recorded", "1.0.0", installation.version());
+            ctx.assertTrue("Resolution is persisted", Files.isRegularFile(cacheFile));
+
+            // A new locator without search roots can only know the package from the cache file
+            CopilotCliLocator fromCache = new CopilotCliLocator(cacheFile, List::of, false);
+            ctx.assertEquals("Cached entry point is reused", installation, fromCache.locate());
+
+            Files.writeString(packageDir.resolve("package.json"),
+                "{\"name\":\"@github/copilot\",\"version\":\"1.1.0\",\"bin\":\"index.js\"}");
+            Files.setLastModifiedTime(packageDir.resolve("package.json"),
+                FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+            ctx.assertEquals("Upgrade is picked up", "1.1.0", locator.locate().version());
+
+            Files.delete(packageDir.resolve("package.json"));
+            ctx.assertTrue("Removed package is no longer found", locator.locate() == null);
+            ctx.assertFalse("Cache entry is dropped with the package", Files.exists(cacheFile));
+        } finally {
+            try (Stream<Path> paths = Files.walk(dir)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.tests;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.vibecoding.wizard.CopilotSessionPool;
+import com.vibecoding.wizard.ProcessResult;
+
+public final class CopilotSessionPoolTests {
+    private CopilotSessionPoolTests() {
+    }
+
+    public static void run(TestContext ctx) throws Exception {
+        testSequentialPromptsReuseProcess(ctx);
+        testFallsBackWithoutPersistentMode(ctx);
+        testStderrReachesConsumer(ctx);
+        testFallsBackWhenSessionRejectsPrompt(ctx);
+        testNoFallbackAfterAgentStarted(ctx);
+    }
+
+    private static void testSequentialPromptsReuseProcess(TestContext ctx) throws Exception {
+        CopilotSessionPool pool = new CopilotSessionPool(1, Duration.ofMinutes(1));
+        Path directory = Paths.get(".").toAbsolutePath();
+        try {
+            List<String> firstLines = new ArrayList<>();
+            ProcessResult first = pool.tryRun(fakeCli(), List.of("--model", "test"), directory, "first", firstLines::add);
+            ctx.assertNotNull("Persistent mode is used when the CLI offers it", first);
+            ctx.assertEquals("Prompt succeeded", 0, first.getExitCode());
+            ctx.assertEquals("Agent text and startup overhead are streamed line by line", 2, firstLines.size());
+            ctx.assertTrue("Startup overhead goes to the log",
+                firstLines.get(1).startsWith("Copilot CLI startup overhead (new session)"));
+
+            List<String> secondLines = new ArrayList<>();
+            ProcessResult second = pool.tryRun(fakeCli(), List.of("--model", "test"), directory, "second", secondLines::add);
+            ctx.assertTrue("Second prompt is answered", second.getStdout().endsWith("second"));
+            ctx.assertEquals("Second prompt runs on the same process",
+                pidOf(firstLines.get(0)), pidOf(secondLines.get(0)));
+            ctx.assertEquals("Process is kept warm", 1, pool.idleCount());
+        } finally {
+            pool.shutdown();
+        }
+        ctx.assertEquals("Shutdown stops warm processes", 0, pool.idleCount());
+    }
+
+    private static void testFallsBackWithoutPersistentMode(TestContext ctx) throws Exception {
+        CopilotSessionPool pool = new CopilotSessionPool(1, Duration.ofMinutes(1));
+        List<String> launcher = new ArrayList<>(fakeCli());
+        launcher.add("--no-acp");
+        ProcessResult result = pool.tryRun(launcher, List.of(), Paths.get(".").toAbsolutePath(), "prompt", line -> { });
+        ctx.assertTrue("Caller spawns when the CLI has no persistent mode", result == null);
+        pool.shutdown();
+    }
+
+    private static void testStderrReachesConsumer(TestContext ctx) throws Exception {
+        CopilotSessionPool pool = new CopilotSessionPool(1, Duration.ofMinutes(1));
+        try {
+            List<String> lines = new ArrayList<>();
+            ProcessResult result = pool.tryRun(fakeCli(), List.of(), Paths.get(".").toAbsolutePath(), "stderr",
+                lines::add);
+            ctx.assertTrue("CLI stderr is shown in the log", lines.contains("No authentication information found."));
+            ctx.assertTrue("CLI stderr is part of the output", result.getStdout().contains("No authentication information found."));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void testFallsBackWhenSessionRejectsPrompt(TestContext ctx) throws Exception {
+        CopilotSessionPool pool = new CopilotSessionPool(1, Duration.ofMinutes(1));
+        try {
+            Path directory = Paths.get(".").toAbsolutePath();
+            ctx.assertTrue("Caller spawns when the session rejects the prompt",
+                pool.tryRun(fakeCli(), List.of(), directory, "reject", line -> { }) == null);
+            ctx.assertEquals("Rejecting session is not kept", 0, pool.idleCount());
+            ctx.assertTrue("CLI is not pooled after a protocol error",
+                pool.tryRun(fakeCli(), List.of(), directory, "first", line -> { }) == null);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void testNoFallbackAfterAgentStarted(TestContext ctx) throws Exception {
+        CopilotSessionPool pool = new CopilotSessionPool(1, Duration.ofMinutes(1));
+        try {
+            List<String> lines = new ArrayList<>();
+            ProcessResult result = pool.tryRun(fakeCli(), List.of(), Paths.get(".").toAbsolutePath(), "fail-late",
+                lines::add);
+            ctx.assertNotNull("A prompt the agent started on is not spawned again", result);
+            ctx.assertFalse("Error after the agent started fails the run", result.isSuccess());
+            ctx.assertTrue("Output before the error is kept", result.getStdout().contains(": fail-late")
+                && result.getStdout().contains("Internal error"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static List<String> fakeCli() {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        return List.of(java, "-cp", System.getProperty("java.class.path"), FakeAgent.class.getName());
+    }
+
+    private static String pidOf(String line) {
+        return line.substring(0, line.indexOf(':'));
+    }
+
+    /**
+     * Minimal stand-in for the Copilot CLI: prints help, and in --acp mode answers the
+     * handshake and echoes each prompt prefixed with its process id. The prompt "stderr" also
+     * writes an error line to stderr; the prompt "reject" is answered with a JSON-RPC error, and
+     * "fail-late" with an error after the agent's first message.
+     */
+    public static final class FakeAgent {
+        private static final ObjectMapper MAPPER = new ObjectMapper();
+
+        public static void main(String[] args) throws Exception {
+            List<String> arguments = List.of(args);
+            if (arguments.contains("--help")) {
+                System.out.println(arguments.contains("--no-acp") ? "Usage: fake -p <prompt>" : "Usage: fake [--acp] -p <prompt>");
+                return;
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            int sessions = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode request = MAPPER.readTree(line);
+                ObjectNode result = MAPPER.createObjectNode();
+                switch (request.path("method").asText()) {
+                    case "initialize" -> result.put("protocolVersion", 1);
+                    case "session/new" -> result.put("sessionId", "session-" + ++sessions);
+                    case "session/prompt" -> {
+                        JsonNode params = request.path("params");
+                        String text = params.path("prompt").get(0).path("text").asText();
+                        if (text.equals("reject")) {
+                            ObjectNode error = MAPPER.createObjectNode();
+                            error.put("jsonrpc", "2.0");
+                            error.set("id", request.get("id"));
+                            error.putObject("error").put("code", -32602).put("message", "Invalid params");
+                            System.out.println(MAPPER.writeValueAsString(error));
+                            System.out.flush();
+                            continue;
+                        }
+                        if (text.equals("stderr")) {
+                            System.err.println("No authentication information found.");
+                            System.err.flush();
+                            // Give the client's stderr reader time to deliver the line before the turn ends
+                            Thread.sleep(300);
+                        }
+                        boolean failLate = text.equals("fail-late");
+                        ObjectNode update = MAPPER.createObjectNode();
+                        update.put("jsonrpc", "2.0");
+                        update.put("method", "session/update");
+                        ObjectNode content = update.putObject("params").put("sessionId", params.path("sessionId").asText())
+                            .putObject("update").put("sessionUpdate", "agent_message_chunk").putObject("content");
+                        content.put("type", "text");
+                        content.put("text", ProcessHandle.current().pid() + ": " + text);
+                        System.out.println(MAPPER.writeValueAsString(update));
+                        if (failLate) {
+                            ObjectNode error = MAPPER.createObjectNode();
+                            error.put("jsonrpc", "2.0");
+                            error.set("id", request.get("id"));
+                            error.putObject("error").put("code", -32603).put("message", "Internal error");
+                            System.out.println(MAPPER.writeValueAsString(error));
+                            System.out.flush();
+                            continue;
+                        }
+                        result.put("stopReason", "end_turn");
+                    }
+                    default -> {
+                        continue;
+                    }
+                }
+                ObjectNode response = MAPPER.createObjectNode();
+                response.put("jsonrpc", "2.0");
+                response.set("id", request.get("id"));
+                response.set("result", result);
+                System.out.println(MAPPER.writeValueAsString(response));
+                System.out.flush();
+            }
+        }
+    }
+}
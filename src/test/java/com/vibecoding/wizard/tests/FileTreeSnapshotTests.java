@@ -0,0 +1,116 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.tests;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import com.vibecoding.wizard.FileTreeSnapshot;
+import com.vibecoding.wizard.OutputDirectoryResolver;
+import com.vibecoding.wizard.ProgrammingLanguage;
+import com.vibecoding.wizard.SyntaxPreCheck;
+
+public final class FileTreeSnapshotTests {
+    private FileTreeSnapshotTests() {
+    }
+
+    public static void run(TestContext ctx) {
+        testDiff(ctx);
+        testIdenticalRewrite(ctx);
+        testLargeTree(ctx);
+    }
+
+    private static void testDiff(TestContext ctx) {
+        try {
+            Path directory = Files.createTempDirectory("vibe-snapshot-");
+            Files.createDirectories(directory.resolve("src"));
+            Files.createDirectories(directory.resolve(".git"));
+            Files.createDirectories(directory.resolve("bin/Debug"));
+            Files.createDirectories(directory.resolve("bin/Release"));
+            Files.writeString(directory.resolve("src/main.py"), "print('one')\n");
+            Files.writeString(directory.resolve("src/old.py"), "pass\n");
+            Files.writeString(directory.resolve(".git/HEAD"), "ref: refs/heads/main\n");
+
+            FileTreeSnapshot before = FileTreeSnapshot.capture(directory);
+            ctx.assertEquals("Files counted without .git", 2, before.size());
+            ctx.assertFalse("Git directory ignored", before.contains(".git/HEAD"));
+            ctx.assertTrue("Empty diff", before.diff(FileTreeSnapshot.capture(directory)).isEmpty());
+
+            Files.writeString(directory.resolve("src/main.py"), "print('two, longer')\n");
+            Files.writeString(directory.resolve("src/new.py"), "x = 1\n");
+            Files.writeString(directory.resolve("bin/Release/app.txt"), "built\n");
+            Files.delete(directory.resolve("src/old.py"));
+            Files.writeString(directory.resolve(".git/index"), "ignored\n");
+
+            FileTreeSnapshot.ChangeSet changes = before.diff(FileTreeSnapshot.capture(directory));
+            ctx.assertEquals("Added", List.of("bin/Release/app.txt", "src/new.py"), changes.added());
+            ctx.assertEquals("Modified", List.of("src/main.py"), changes.modified());
+            ctx.assertEquals("Deleted", List.of("src/old.py"), changes.deleted());
+            ctx.assertEquals("Bytes changed", 6L + 6L + 21L + 5L, changes.bytesChanged());
+            ctx.assertTrue("Description marks the files",
+                changes.describe().contains("A src/new.py") && changes.describe().contains("D src/old.py"));
+            ctx.assertTrue("Description is limited", changes.describe(1).contains("... and 3 more"));
+            ctx.assertEquals("Only changed Python sources are checked", List.of(directory.resolve("src/new.py"),
+                directory.resolve("src/main.py")),
+                SyntaxPreCheck.sourceFiles(ProgrammingLanguage.PYTHON, directory, changes.changedFiles()));
+            ctx.assertEquals("Output directory the run wrote to is preferred", directory.resolve("bin/Release"),
+                OutputDirectoryResolver.getOutputDirectory(directory, ProgrammingLanguage.CSHARP, changes));
+        } catch (IOException e) {
+            ctx.fail("Snapshot diff test failed: " + e.getMessage());
+        }
+    }
+
+    private static void testIdenticalRewrite(TestContext ctx) {
+        try {
+            Path directory = Files.createTempDirectory("vibe-snapshot-rewrite-");
+            Path same = directory.resolve("Same.java");
+            Path edited = directory.resolve("Edited.java");
+            Files.writeString(same, "class Same {}\n");
+            Files.writeString(edited, "class Edited {}\n");
+
+            FileTreeSnapshot before = FileTreeSnapshot.capture(directory);
+            before.hash(List.of("Same.java", "Edited.java"));
+            FileTime later = FileTime.fromMillis(System.currentTimeMillis() + 5_000);
+            Files.writeString(same, "class Same {}\n");
+            Files.setLastModifiedTime(same, later);
+            Files.writeString(edited, "class Edxted {}\n");
+            Files.setLastModifiedTime(edited, later);
+
+            FileTreeSnapshot.ChangeSet changes = before.diff(FileTreeSnapshot.capture(directory));
+            ctx.assertEquals("Identical rewrite is unchanged, same-size edit is not",
+                List.of("Edited.java"), changes.modified());
+
+            FileTreeSnapshot unhashed = FileTreeSnapshot.capture(directory);
+            Files.setLastModifiedTime(same, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+            ctx.assertEquals("Without a hash a new modification time is a change",
+                List.of("Same.java"), unhashed.diff(FileTreeSnapshot.capture(directory)).modified());
+        } catch (IOException e) {
+            ctx.fail("Snapshot rewrite test failed: " + e.getMessage());
+        }
+    }
+
+    private static void testLargeTree(TestContext ctx) {
+        try {
+            Path directory = Files.createTempDirectory("vibe-snapshot-large-");
+            for (int dir = 0; dir < 50; dir++) {
+                Path subdirectory = Files.createDirectories(directory.resolve("pkg" + dir));
+                for (int file = 0; file < 100; file++) {
+                    Files.writeString(subdirectory.resolve("File" + file + ".java"), "class File" + file + " {}\n");
+                }
+            }
+            FileTreeSnapshot.capture(directory);
+            long start = System.nanoTime();
+            FileTreeSnapshot before = FileTreeSnapshot.capture(directory);
+            FileTreeSnapshot.ChangeSet changes = before.diff(FileTreeSnapshot.capture(directory));
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            ctx.assertEquals("All files captured", 5_000, before.size());
+            ctx.assertTrue("Unchanged tree has no changes", changes.isEmpty());
+            ctx.assertTrue("Two captures and a diff of 5,000 files are fast (" + elapsedMillis + " ms)",
+                elapsedMillis < 2_000);
+        } catch (IOException e) {
+            ctx.fail("Large tree test failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.tests;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.vibecoding.wizard.BuildDiagnostic;
+import com.vibecoding.wizard.FixConvergenceTracker;
+import com.vibecoding.wizard.FixConvergenceTracker.Decision;
+import com.vibecoding.wizard.FixConvergenceTracker.FixStrategy;
+
+public final class FixConvergenceTrackerTests {
+    private static final String JAVA_ERRORS = String.join("\n",
+        "src/Main.java:10: error: cannot find symbol",
+        "src/Main.java:14: error: ';' expected",
+        "2 errors");
+
+    private FixConvergenceTrackerTests() {
+    }
+
+    public static void run(TestContext ctx) {
+        testParsing(ctx);
+        testProgressContinues(ctx);
+        testEscalationAndStop(ctx);
+        testOscillation(ctx);
+        testPreCheck(ctx);
+        testSourceExcerpts(ctx);
+    }
+
+    private static void testParsing(TestContext ctx) {
+        List<BuildDiagnostic> javac = BuildDiagnostic.parse(JAVA_ERRORS, null);
+        ctx.assertEquals("javac errors parsed", 2, javac.size());
+        ctx.assertEquals("javac file", "src/Main.java", javac.get(0).file());
+        ctx.assertEquals("javac line", 10, javac.get(0).line());
+
+        List<BuildDiagnostic> msbuild = BuildDiagnostic.parse(String.join("\n",
+            "/work/app/Program.cs(5,13): error CS0103: The name 'x' does not exist [/work/app/App.csproj]",
+            "/work/app/Program.cs(5,13): error CS0103: The name 'x' does not exist [/work/app/App.csproj]",
+            "/work/app/Program.cs(7,1): warning CS0168: unused variable [/work/app/App.csproj]"), "/work/app");
+        ctx.assertEquals("MSBuild summary repeat and warnings ignored", 1, msbuild.size());
+        ctx.assertEquals("MSBuild path relative to project", "Program.cs", msbuild.get(0).file());
+        ctx.assertEquals("MSBuild code", "CS0103", msbuild.get(0).code());
+        ctx.assertEquals("Project suffix removed", "The name 'x' does not exist", msbuild.get(0).message());
+
+        List<BuildDiagnostic> rust = BuildDiagnostic.parse(String.join("\n",
+            "error[E0308]: mismatched types",
+            " --> src/main.rs:4:18",
+            "error: aborting due to 1 previous error"), null);
+        ctx.assertEquals("Rust error with location", 1, rust.size());
+        ctx.assertEquals("Rust location", "src/main.rs", rust.get(0).file());
+        ctx.assertEquals("Rust code", "E0308", rust.get(0).code());
+
+        List<BuildDiagnostic> python = BuildDiagnostic.parse(String.join("\n",
+            "  File \"app.py\", line 3",
+            "    def broken(:",
+            "               ^",
+            "SyntaxError: invalid syntax"), null);
+        ctx.assertEquals("Python error parsed", "app.py:3: SyntaxError invalid syntax", python.get(0).toString());
+
+        ctx.assertEquals("Line numbers do not affect identity",
+            BuildDiagnostic.parse("src/Main.java:10: error: cannot find symbol", null).get(0).key(),
+            BuildDiagnostic.parse("src/Main.java:12: error: cannot find symbol", null).get(0).key());
+        ctx.assertEquals("Unknown formats fall back to error lines", 1,
+            BuildDiagnostic.parse("something went wrong\nBuild FAILED after 12 s", null).size());
+    }
+
+    private static void testProgressContinues(TestContext ctx) {
+        FixConvergenceTracker tracker = new FixConvergenceTracker(null, JAVA_ERRORS);
+        ctx.assertEquals("Initial errors", 2, tracker.getDiagnostics().size());
+        Decision decision = tracker.recordBuild("src/Main.java:10: error: cannot find symbol");
+        ctx.assertEquals("Fixing an error is progress", Decision.CONTINUE, decision);
+        ctx.assertEquals("Strategy unchanged", FixStrategy.STANDARD, tracker.getStrategy());
+        FixConvergenceTracker.AttemptStats stats = tracker.getAttempts().get(0);
+        ctx.assertEquals("Fixed count", 1, stats.fixed());
+        ctx.assertEquals("New count", 0, stats.introduced());
+        tracker.recordSuccess();
+        ctx.assertEquals("Success recorded", 2, tracker.getAttempts().size());
+        ctx.assertTrue("Summary lists attempts", tracker.summary().contains("build succeeded"));
+    }
+
+    private static void testEscalationAndStop(TestContext ctx) {
+        FixConvergenceTracker tracker = new FixConvergenceTracker(null, JAVA_ERRORS);
+        ctx.assertEquals("Unchanged errors escalate", Decision.ESCALATE, tracker.recordBuild(JAVA_ERRORS));
+        ctx.assertEquals("First escalation adds context", FixStrategy.EXPANDED_CONTEXT, tracker.getStrategy());
+        ctx.assertEquals("Failed agent run escalates", Decision.ESCALATE, tracker.recordAgentFailure());
+        ctx.assertEquals("Second escalation goes to root cause", FixStrategy.ROOT_CAUSE, tracker.getStrategy());
+        ctx.assertEquals("Root cause prompt quotes the unfixed errors", 2, tracker.focusDiagnostics().size());
+        ctx.assertEquals("No progress at the last strategy stops", Decision.STOP,
+            tracker.recordBuild(JAVA_ERRORS + "\nsrc/Other.java:3: error: class expected"));
+
+        FixConvergenceTracker limited = new FixConvergenceTracker(null, JAVA_ERRORS);
+        Decision last = null;
+        for (int attempt = 1; attempt <= FixConvergenceTracker.MAX_ATTEMPTS; attempt++) {
+            // Every attempt fixes one error and introduces a new one
+            last = limited.recordBuild("src/Main.java:10: error: error number " + attempt
+                + "\nsrc/Main.java:11: error: other number " + attempt);
+            if (last == Decision.STOP) {
+                break;
+            }
+        }
+        ctx.assertEquals("Attempt limit stops the loop", Decision.STOP, last);
+        ctx.assertEquals("Stopped at the limit", FixConvergenceTracker.MAX_ATTEMPTS, limited.getAttempts().size());
+    }
+
+    private static void testOscillation(TestContext ctx) {
+        String other = "src/Main.java:20: error: incompatible types";
+        FixConvergenceTracker tracker = new FixConvergenceTracker(null, JAVA_ERRORS);
+        ctx.assertEquals("Different errors are progress", Decision.CONTINUE, tracker.recordBuild(other));
+        ctx.assertEquals("Returning to earlier errors escalates", Decision.ESCALATE, tracker.recordBuild(JAVA_ERRORS));
+        ctx.assertTrue("Reason names the oscillation",
+            tracker.getAttempts().get(1).reason().contains("earlier attempt"));
+    }
+
+    private static void testPreCheck(TestContext ctx) {
+        FixConvergenceTracker tracker = new FixConvergenceTracker(null, JAVA_ERRORS);
+        ctx.assertEquals("Pre-check failure is no progress", Decision.ESCALATE,
+            tracker.recordPreCheck("src/Util.java:3: error: ';' expected"));
+        FixConvergenceTracker.AttemptStats stats = tracker.getAttempts().get(0);
+        ctx.assertEquals("Errors the pre-check does not see are not fixed", 0, stats.fixed());
+        ctx.assertEquals("Pre-check error is new", 1, stats.introduced());
+        ctx.assertEquals("Last build errors kept", 3, tracker.getDiagnostics().size());
+        ctx.assertEquals("Unchanged project escalates", Decision.ESCALATE, tracker.recordUnchanged());
+        ctx.assertEquals("Root cause prompt keeps the persistent errors", 2, tracker.focusDiagnostics().size());
+        ctx.assertEquals("Undoing the syntax error is no progress", Decision.STOP, tracker.recordBuild(JAVA_ERRORS));
+    }
+
+    private static void testSourceExcerpts(TestContext ctx) {
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("vibe-convergence-");
+            Files.createDirectories(directory.resolve("src"));
+            StringBuilder source = new StringBuilder();
+            for (int line = 1; line <= 30; line++) {
+                source.append("line ").append(line).append('\n');
+            }
+            Files.writeString(directory.resolve("src/Main.java"), source.toString());
+            FixConvergenceTracker tracker = new FixConvergenceTracker(directory,
+                directory.resolve("src/Main.java") + ":20: error: cannot find symbol");
+            ctx.assertEquals("Absolute path made relative", "src/Main.java", tracker.getDiagnostics().get(0).file());
+            String excerpts = tracker.sourceExcerpts();
+            ctx.assertTrue("Excerpt marks the error line", excerpts.contains("  20> line 20"));
+            ctx.assertTrue("Excerpt has surrounding lines", excerpts.contains("line 12") && excerpts.contains("line 28"));
+            ctx.assertFalse("Excerpt is limited", excerpts.contains("line 29"));
+        } catch (IOException e) {
+            ctx.fail("Source excerpt test failed: " + e.getMessage());
+        }
+    }
+}
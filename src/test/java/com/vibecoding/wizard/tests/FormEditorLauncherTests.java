@@ -41,6 +41,10 @@ public final class FormEditorLauncherTests {
             Method openFormEditorModal = clazz.getDeclaredMethod("openFormEditorModal", 
                 String.class, String.class, java.awt.Window.class);
             ctx.assertNotNull("openFormEditorModal method exists", openFormEditorModal);
+
+            // Check that the background prewarm entry point exists
+            Method prewarm = clazz.getDeclaredMethod("prewarm");
+            ctx.assertNotNull("prewarm method exists", prewarm);
             
             ctx.assertTrue("FormEditorLauncher API validated", true);
         } catch (NoSuchMethodException e) {
@@ -0,0 +1,76 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.tests;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import com.vibecoding.wizard.DialogDefinition;
+import com.vibecoding.wizard.FormLayoutCompiler;
+import com.vibecoding.wizard.InitialConfig;
+import com.vibecoding.wizard.MainTaskData;
+import com.vibecoding.wizard.ProgrammingLanguage;
+import com.vibecoding.wizard.ProjectStyle;
+import com.vibecoding.wizard.PromptBuilder;
+import com.vibecoding.wizard.TargetOs;
+import com.vibecoding.wizard.TaskType;
+
+public final class FormLayoutCompilerTests {
+    private static final String LOGIN_LAYOUT = """
+        {
+          "schemaVersion": "1.0",
+          "form": { "id": "form-login", "name": "LoginForm", "width": 640, "height": 480, "background": "#FFFFFF",
+                    "events": [ { "name": "OnLoad", "triggerDescription": "Window opens", "actionDescription": "Focus userField" } ] },
+          "elements": [
+            { "id": "userLabel", "type": "Label",
+              "props": { "text": "Username", "fontFamily": "System", "fontSize": 14, "x": 40, "y": 40, "width": 100, "height": 24 } },
+            { "id": "userField", "type": "TextField",
+              "props": { "text": "", "foreground": "#222222", "x": 150, "y": 42, "width": 200, "height": 24 } },
+            { "id": "loginButton", "type": "Button",
+              "props": { "text": "Login", "x": 150, "y": 90, "width": 100, "height": 32 },
+              "events": [ { "name": "Submit", "triggerDescription": "loginButton clicked", "actionDescription": "Validate userField" } ] }
+          ]
+        }
+        """;
+
+    private FormLayoutCompilerTests() {
+    }
+
+    public static void run(TestContext ctx) {
+        FormLayoutCompiler.CompiledLayout layout = FormLayoutCompiler.compile(LOGIN_LAYOUT);
+        ctx.assertNotNull("Layout compiles", layout);
+        String text = layout.text();
+        ctx.assertTrue("Form header", text.startsWith("Form LoginForm 640x480"));
+        ctx.assertTrue("Label and field share a row",
+            text.contains("Row 1: userLabel:Label@40,40 100x24 text=\"Username\" | userField:TextField@150,42 200x24"));
+        ctx.assertTrue("Button on its own row", text.contains("Row 2: loginButton:Button@150,90 100x32"));
+        ctx.assertFalse("Default font omitted", text.contains("fontFamily"));
+        ctx.assertTrue("Non-default color kept", text.contains("foreground=\"#222222\""));
+        ctx.assertTrue("Form event listed", text.contains("- form.OnLoad when: Window opens do: Focus userField"));
+        ctx.assertTrue("Element event listed", text.contains("- loginButton.Submit when: loginButton clicked"));
+        ctx.assertTrue("Events detected", layout.hasEvents());
+        ctx.assertEquals("Element count", 3, layout.elementCount());
+        ctx.assertTrue("Cached per layout", layout == FormLayoutCompiler.compile(LOGIN_LAYOUT));
+        ctx.assertTrue("Compiled layout is smaller than JSON", text.length() < LOGIN_LAYOUT.length() / 2);
+
+        FormLayoutCompiler.CompiledLayout tight = FormLayoutCompiler.compile(LOGIN_LAYOUT, 30);
+        ctx.assertFalse("Tight budget drops colors", tight.text().contains("foreground"));
+        ctx.assertTrue("Tight budget keeps every control", tight.text().contains("Row 2: loginButton:Button@150,90 100x32")
+            && tight.text().contains("text=\"Username\""));
+
+        ctx.assertTrue("Invalid JSON is not compiled", FormLayoutCompiler.compile("{not json") == null);
+        ctx.assertTrue("Blank JSON is not compiled", FormLayoutCompiler.compile("  ") == null);
+
+        InitialConfig config = new InitialConfig(ProgrammingLanguage.JAVA, ProjectStyle.GUI,
+            EnumSet.of(TargetOs.LINUX), null);
+        MainTaskData data = new MainTaskData();
+        data.setProjectOverview("Overview");
+        data.setDialogs(List.of(
+            new DialogDefinition("Login", "Login", "Sign in", true, LOGIN_LAYOUT),
+            new DialogDefinition("Broken", "Broken", "Raw layout", false, "{not json")));
+        String prompt = PromptBuilder.buildPrimaryPrompt(TaskType.GENERATE_APP_OR_SCRIPT, config, data);
+        ctx.assertTrue("Prompt uses compiled layout", prompt.contains("Row 2: loginButton:Button@150,90 100x32"));
+        ctx.assertTrue("Prompt explains notation once", prompt.indexOf("**Layout notation**") == prompt.lastIndexOf("**Layout notation**"));
+        ctx.assertFalse("Prompt omits compiled raw JSON", prompt.contains("\"schemaVersion\""));
+        ctx.assertTrue("Unparseable layout falls back to JSON", prompt.contains("```json\n{not json"));
+    }
+}
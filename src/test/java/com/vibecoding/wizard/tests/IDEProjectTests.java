@@ -8,6 +8,10 @@ import com.vibecoding.wizard.ProgrammingLanguage;
 import com.vibecoding.wizard.ProjectStyle;
 import com.vibecoding.wizard.TargetOs;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.nio.file.Path;
 import java.util.EnumSet;
 import java.util.List;
@@ -23,6 +27,8 @@ public final class IDEProjectTests {
         testMainModule(ctx);
         testFindModuleById(ctx);
         testGetAllModules(ctx);
+        testIndexFollowsMovesAndRenames(ctx);
+        testIndexAfterDeserialization(ctx);
     }
 
     private static void testEmptyProject(TestContext ctx) {
@@ -148,4 +154,68 @@ public final class IDEProjectTests {
         ctx.assertTrue("Contains child1", allModules.contains(child1));
         ctx.assertTrue("Contains child2", allModules.contains(child2));
     }
+
+    private static void testIndexFollowsMovesAndRenames(TestContext ctx) {
+        IDEProject project = new IDEProject();
+        Module root = new Module("Root");
+        Module middle = new Module("Middle");
+        Module leaf = new Module("Leaf");
+        Module other = new Module("Other");
+        project.addRootModule(root);
+        project.addRootModule(other);
+        root.addSubModule(middle);
+        middle.addSubModule(leaf);
+
+        ctx.assertEquals("Module added below a root is indexed", leaf, project.findModuleById(leaf.getId()));
+        ctx.assertEquals("Depth of nested module", 2, leaf.getLevel());
+        ctx.assertTrue("Root is ancestor of leaf", root.isAncestorOf(leaf));
+        ctx.assertFalse("Leaf is not ancestor of root", leaf.isAncestorOf(root));
+        ctx.assertFalse("Module is not its own ancestor", root.isAncestorOf(root));
+        ctx.assertEquals("Subtree view", List.of(middle, leaf), middle.getAllModules());
+        ctx.assertEquals("Pre-order", List.of(root, middle, leaf, other), project.allModulesView());
+
+        // Move Middle (with Leaf) below Other, the way drag and drop does it
+        root.removeSubModule(middle);
+        other.insertSubModule(0, middle);
+        ctx.assertFalse("Old ancestor no longer contains moved subtree", root.isAncestorOf(leaf));
+        ctx.assertTrue("New ancestor contains moved subtree", other.isAncestorOf(leaf));
+        ctx.assertEquals("Moved subtree keeps its ids", leaf, project.findModuleById(leaf.getId()));
+        ctx.assertEquals("Pre-order after move", List.of(root, other, middle, leaf), project.getAllModules());
+
+        ctx.assertFalse("Names are unique case-insensitively", project.isModuleNameUnique("leaf", null));
+        leaf.setName("Renamed");
+        ctx.assertTrue("Old name is free after rename", project.isModuleNameUnique("Leaf", null));
+        ctx.assertFalse("New name is taken", project.isModuleNameUnique(" renamed ", null));
+        ctx.assertTrue("Renamed module may keep its name", project.isModuleNameUnique("Renamed", leaf));
+
+        other.removeSubModule(middle);
+        ctx.assertEquals("Removed subtree is unindexed", null, project.findModuleById(leaf.getId()));
+        ctx.assertTrue("Removed names are free", project.isModuleNameUnique("Renamed", null));
+        ctx.assertEquals("Detached module computes its own depth", 1, leaf.getLevel());
+    }
+
+    private static void testIndexAfterDeserialization(TestContext ctx) throws Exception {
+        IDEProject project = new IDEProject();
+        Module root = new Module("Root");
+        Module child = new Module("Child");
+        root.addSubModule(child);
+        project.addRootModule(root);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(project);
+        }
+        IDEProject copy;
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (IDEProject) in.readObject();
+        }
+        Module copiedChild = copy.findModuleById(child.getId());
+        ctx.assertNotNull("Loaded project is indexed", copiedChild);
+        ctx.assertEquals("Loaded depth", 1, copiedChild.getLevel());
+        ctx.assertFalse("Loaded names are indexed", copy.isModuleNameUnique("child", null));
+        Module added = new Module("Added");
+        copiedChild.addSubModule(added);
+        ctx.assertEquals("Loaded project keeps indexing changes", added, copy.findModuleById(added.getId()));
+    }
 }
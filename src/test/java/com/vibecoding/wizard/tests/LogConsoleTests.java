@@ -0,0 +1,52 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.tests;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.SwingUtilities;
+
+import com.vibecoding.wizard.LogConsole;
+
+public final class LogConsoleTests {
+    private LogConsoleTests() {
+    }
+
+    public static void run(TestContext ctx) throws Exception {
+        testRollingLimitKeepsFullHistory(ctx);
+    }
+
+    private static void testRollingLimitKeepsFullHistory(TestContext ctx) throws Exception {
+        AtomicReference<LogConsole> console = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> console.set(new LogConsole(10)));
+        try {
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 25; i++) {
+                    console.get().append("line " + i);
+                }
+            });
+            producer.start();
+            producer.join();
+
+            AtomicReference<String> visible = new AtomicReference<>();
+            SwingUtilities.invokeAndWait(() -> {
+                console.get().flush();
+                visible.set(console.get().getVisibleText());
+            });
+
+            String[] lines = visible.get().split("\n");
+            ctx.assertEquals("Visible lines are capped", 10, lines.length);
+            ctx.assertEquals("Oldest visible line", "line 15", lines[0]);
+            ctx.assertEquals("Newest visible line", "line 24", lines[9]);
+
+            ctx.assertNotNull("History file exists", console.get().getHistoryFile());
+            List<String> history = Files.readAllLines(console.get().getHistoryFile(), StandardCharsets.UTF_8);
+            ctx.assertEquals("History keeps every line", 25, history.size());
+            ctx.assertEquals("History starts with first line", "line 0", history.get(0));
+        } finally {
+            SwingUtilities.invokeAndWait(() -> console.get().close());
+        }
+    }
+}
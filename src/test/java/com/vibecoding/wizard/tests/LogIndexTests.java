@@ -0,0 +1,64 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.tests;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+import com.vibecoding.wizard.LogIndex;
+import com.vibecoding.wizard.LogSeverity;
+
+public final class LogIndexTests {
+    private LogIndexTests() {
+    }
+
+    public static void run(TestContext ctx) throws Exception {
+        testSeverityClassification(ctx);
+        testIncrementalIndexing(ctx);
+    }
+
+    private static void testSeverityClassification(TestContext ctx) {
+        ctx.assertEquals("Compiler error", LogSeverity.ERROR,
+            LogSeverity.classify("Main.java:12: error: cannot find symbol"));
+        ctx.assertEquals("Warning", LogSeverity.WARNING,
+            LogSeverity.classify("warning: [deprecation] getX() has been deprecated"));
+        ctx.assertEquals("Summary without problems", LogSeverity.INFO,
+            LogSeverity.classify("BUILD SUCCESSFUL: 0 errors, 0 warnings"));
+        ctx.assertEquals("Plain line", LogSeverity.INFO, LogSeverity.classify("Compiling 12 source files"));
+    }
+
+    private static void testIncrementalIndexing(TestContext ctx) throws Exception {
+        Path file = Files.createTempFile("log-index-test", ".log");
+        try {
+            Files.writeString(file, "Compiling\nMain.java:3: error: ';' expected\nwarning: unchecked\npartial",
+                StandardCharsets.UTF_8);
+            try (LogIndex index = new LogIndex(file)) {
+                ctx.assertEquals("Only complete lines are indexed", 3, index.refresh());
+                ctx.assertEquals("Second line text", "Main.java:3: error: ';' expected", index.line(1));
+                ctx.assertEquals("Second line severity", LogSeverity.ERROR, index.severity(1));
+                ctx.assertEquals("Error count", 1, index.errorCount());
+
+                Files.writeString(file, " line\r\nBuild failed\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+                ctx.assertEquals("Appended lines are indexed", 2, index.refresh());
+                ctx.assertEquals("Completed partial line", "partial line", index.line(3));
+                ctx.assertEquals("No new data", 0, index.refresh());
+
+                ctx.assertEquals("Next error from start", 1, index.next(-1, LogSeverity.ERROR));
+                ctx.assertEquals("Next error after first", 4, index.next(1, LogSeverity.ERROR));
+                ctx.assertEquals("Next error wraps around", 1, index.next(4, LogSeverity.ERROR));
+                ctx.assertEquals("Previous warning or error", 2, index.previous(4, LogSeverity.WARNING));
+                ctx.assertEquals("Regex search", 3, index.find(0, Pattern.compile("part\\w+")));
+
+                int[] problems = index.matching(0, LogSeverity.WARNING, null);
+                ctx.assertEquals("Warning filter size", 3, problems.length);
+                int[] filtered = index.matching(0, LogSeverity.INFO, Pattern.compile("^Build"));
+                ctx.assertEquals("Pattern filter size", 1, filtered.length);
+                ctx.assertEquals("Pattern filter line", 4, filtered[0]);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -28,6 +28,7 @@ public final class ModuleEditorPanelTests {
         testPanelCreation(ctx);
         testLoadModule(ctx);
         testSaveModule(ctx);
+        testSwitchingModules(ctx);
     }
 
     private static void testPanelCreation(TestContext ctx) {
@@ -98,4 +99,43 @@ public final class ModuleEditorPanelTests {
             ctx.fail("Save module failed: " + e.getMessage());
         }
     }
+
+    private static void testSwitchingModules(TestContext ctx) {
+        try {
+            IDEController controller = new IDEController();
+            ModuleEditorPanel panel = new ModuleEditorPanel(controller);
+            InitialConfig config = new InitialConfig(
+                ProgrammingLanguage.JAVA,
+                ProjectStyle.GUI,
+                EnumSet.of(TargetOs.LINUX),
+                Path.of("/test/project3")
+            );
+
+            MainTaskData firstData = new MainTaskData();
+            firstData.setProjectOverview("First overview");
+            firstData.setExpectedBehavior("Not shown by the module form");
+            Module first = new Module("First", TaskType.CREATE_MODULE);
+            first.setTaskData(firstData);
+            MainTaskData secondData = new MainTaskData();
+            secondData.setProjectOverview("Second overview");
+            Module second = new Module("Second", TaskType.CREATE_MODULE);
+            second.setTaskData(secondData);
+
+            panel.loadModule(first, config);
+            ctx.assertFalse("Freshly loaded module has no edits", panel.hasUnsavedChanges());
+            ctx.assertTrue("Save keeps the module's task data", panel.saveModule(config) == firstData);
+            ctx.assertEquals("Fields the form does not show are kept", "Not shown by the module form",
+                firstData.getExpectedBehavior());
+
+            panel.loadModule(second, config);
+            ctx.assertFalse("Switched module has no edits", panel.hasUnsavedChanges());
+            ctx.assertEquals("Second module shown", "Second overview", panel.saveModule(config).getProjectOverview());
+
+            panel.loadModule(first, config);
+            ctx.assertEquals("First module shown again", "First overview", panel.saveModule(config).getProjectOverview());
+            ctx.assertEquals("Second module untouched", "Second overview", secondData.getProjectOverview());
+        } catch (Exception e) {
+            ctx.fail("Switching modules failed: " + e.getMessage());
+        }
+    }
 }
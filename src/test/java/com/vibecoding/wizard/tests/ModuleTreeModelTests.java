@@ -0,0 +1,130 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.tests;
+
+import com.vibecoding.wizard.IDEProject;
+import com.vibecoding.wizard.Module;
+import com.vibecoding.wizard.ModuleTreeModel;
+
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreePath;
+
+public final class ModuleTreeModelTests {
+    private ModuleTreeModelTests() {
+    }
+
+    public static void run(TestContext ctx) {
+        testInitialStructure(ctx);
+        testIncrementalUpdates(ctx);
+        testSwitchingProjects(ctx);
+    }
+
+    private static void testInitialStructure(TestContext ctx) {
+        IDEProject project = new IDEProject();
+        Module root = new Module("Root");
+        Module child = new Module("Child");
+        project.addRootModule(root);
+        root.addSubModule(child);
+
+        ModuleTreeModel model = new ModuleTreeModel();
+        model.setProject(project);
+        DefaultMutableTreeNode projectNode = model.getProjectNode();
+        ctx.assertEquals("One root node", 1, projectNode.getChildCount());
+        ctx.assertEquals("Root node shows root module", root, model.nodeFor(root).getUserObject());
+        ctx.assertEquals("Child node below root node", model.nodeFor(root), model.nodeFor(child).getParent());
+        TreePath path = model.pathTo(child);
+        ctx.assertEquals("Path runs from project node to child", 3, path.getPathCount());
+        ctx.assertEquals("Unknown module has no node", null, model.nodeFor(new Module("Elsewhere")));
+    }
+
+    private static void testIncrementalUpdates(TestContext ctx) {
+        IDEProject project = new IDEProject();
+        Module first = new Module("First");
+        Module second = new Module("Second");
+        project.addRootModule(first);
+        project.addRootModule(second);
+
+        ModuleTreeModel model = new ModuleTreeModel();
+        model.setProject(project);
+        EventCounter events = new EventCounter();
+        model.addTreeModelListener(events);
+        DefaultMutableTreeNode firstNode = model.nodeFor(first);
+
+        Module sub = new Module("Sub");
+        Module subSub = new Module("SubSub");
+        sub.addSubModule(subSub);
+        first.addSubModule(sub);
+        ctx.assertEquals("Inserted subtree gets nodes", model.nodeFor(first), model.nodeFor(sub).getParent());
+        ctx.assertEquals("Nested module of inserted subtree gets a node", model.nodeFor(sub),
+            model.nodeFor(subSub).getParent());
+
+        // Move Sub below Second, the way drag and drop does it
+        first.removeSubModule(sub);
+        second.insertSubModule(0, sub);
+        ctx.assertEquals("Moved module is below its new parent", model.nodeFor(second), model.nodeFor(sub).getParent());
+        ctx.assertEquals("Old parent lost its child", 0, model.nodeFor(first).getChildCount());
+
+        project.insertRootModule(0, new Module("Zero"));
+        ctx.assertEquals("Root inserted at its position", "Zero", model.getProjectNode().getChildAt(0).toString());
+
+        sub.setName("Renamed");
+        project.setMainModule(second);
+        ctx.assertEquals("Structure changes sent as inserts", 3, events.inserted);
+        ctx.assertEquals("Structure changes sent as removals", 1, events.removed);
+        ctx.assertTrue("Renames and main module changes sent as changes", events.changed >= 2);
+        ctx.assertEquals("Tree never rebuilt", 0, events.structureChanged);
+        ctx.assertTrue("Unchanged nodes are kept", firstNode == model.nodeFor(first));
+
+        second.removeSubModule(sub);
+        ctx.assertEquals("Removed module has no node", null, model.nodeFor(sub));
+        ctx.assertEquals("Removed descendants have no node", null, model.nodeFor(subSub));
+    }
+
+    private static void testSwitchingProjects(TestContext ctx) {
+        IDEProject oldProject = new IDEProject();
+        Module oldRoot = new Module("Old");
+        oldProject.addRootModule(oldRoot);
+        ModuleTreeModel model = new ModuleTreeModel();
+        model.setProject(oldProject);
+
+        IDEProject newProject = new IDEProject();
+        newProject.addRootModule(new Module("New"));
+        model.setProject(newProject);
+        ctx.assertEquals("Model shows new project", newProject, model.getProject());
+        ctx.assertEquals("Old modules are gone", null, model.nodeFor(oldRoot));
+
+        oldProject.addRootModule(new Module("Late"));
+        ctx.assertEquals("Changes of the old project are ignored", 1, model.getProjectNode().getChildCount());
+
+        model.setProject(null);
+        ctx.assertEquals("No project shows an empty tree", 0, model.getProjectNode().getChildCount());
+    }
+
+    private static final class EventCounter implements TreeModelListener {
+        int inserted;
+        int removed;
+        int changed;
+        int structureChanged;
+
+        @Override
+        public void treeNodesInserted(TreeModelEvent e) {
+            inserted++;
+        }
+
+        @Override
+        public void treeNodesRemoved(TreeModelEvent e) {
+            removed++;
+        }
+
+        @Override
+        public void treeNodesChanged(TreeModelEvent e) {
+            changed++;
+        }
+
+        @Override
+        public void treeStructureChanged(TreeModelEvent e) {
+            structureChanged++;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.tests;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.example.formeditor.model.FormModel;
+import com.example.formeditor.registry.ElementRegistry;
+import com.example.formeditor.serialization.FormPersistence;
+import com.vibecoding.wizard.DatabaseSchemaLoader;
+import com.vibecoding.wizard.DialogDefinition;
+import com.vibecoding.wizard.IDEProject;
+import com.vibecoding.wizard.Module;
+import com.vibecoding.wizard.ProjectSerializer;
+import com.vibecoding.wizard.PromptBuilder;
+import com.vibecoding.wizard.demo.SyntheticProjectGenerator;
+import com.vibecoding.wizard.demo.SyntheticProjectGenerator.Shape;
+
+/**
+ * Measures the offline build-pipeline stages on synthetic projects of increasing size: combined
+ * prompt generation, .vcp round-trips, form layout parsing and writing, and schema loading.
+ * <p>
+ * Each run appends one CSV row per shape and stage, tagged with the current git commit, to
+ * {@code build/benchmarks/pipeline-benchmark.csv} (or {@code -Dvibecodingwizard.benchmarkResults}),
+ * and prints the change against the last recorded result from a different commit.
+ * Run with {@code java ... PipelineBenchmark [small|medium|large ...] [iterations]}.
+ */
+public final class PipelineBenchmark {
+    private static final String CSV_HEADER = "commit,timestamp,shape,stage,iterations,avgMillis,minMillis";
+
+    private PipelineBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Shape> shapes = new ArrayList<>();
+        int iterations = 10;
+        for (String arg : args) {
+            switch (arg) {
+                case "small" -> shapes.add(Shape.small());
+                case "medium" -> shapes.add(Shape.medium());
+                case "large" -> shapes.add(Shape.large());
+                default -> iterations = Integer.parseInt(arg);
+            }
+        }
+        if (shapes.isEmpty()) {
+            shapes = List.of(Shape.small(), Shape.medium(), Shape.large());
+        }
+
+        Path results = Paths.get(System.getProperty("vibecodingwizard.benchmarkResults",
+            "build/benchmarks/pipeline-benchmark.csv"));
+        String commit = currentCommit();
+        Map<String, Double> previous = previousResults(results, commit);
+        Path workDirectory = Files.createTempDirectory("vibe-pipeline-bench-");
+        List<String> rows = new ArrayList<>();
+        try {
+            for (Shape shape : shapes) {
+                Path schemaFile = workDirectory.resolve("schema-" + shape.modules() + ".sql");
+                IDEProject project = SyntheticProjectGenerator.generate(shape, schemaFile);
+                Path vcpFile = workDirectory.resolve("project-" + shape.modules() + ".vcp");
+                List<String> layouts = new ArrayList<>();
+                for (Module module : project.getAllModules()) {
+                    for (DialogDefinition dialog : module.getTaskData().getDialogs()) {
+                        layouts.add(dialog.getFormLayoutJson());
+                    }
+                }
+                FormPersistence persistence = new FormPersistence(ElementRegistry::defaultProperties);
+
+                Map<String, Stage> stages = new LinkedHashMap<>();
+                stages.put("combined-prompt", () -> PromptBuilder.buildCombinedPrompt(
+                    project.getInitialConfig(), project.getAllModules(), project.getProjectSettings()).length());
+                stages.put("vcp-roundtrip", () -> {
+                    ProjectSerializer.save(project, vcpFile);
+                    return ProjectSerializer.load(vcpFile).getAllModules().size();
+                });
+                stages.put("form-persistence", () -> {
+                    int size = 0;
+                    for (String layout : layouts) {
+                        FormModel form = persistence.fromJson(layout);
+                        size += persistence.toJson(form).length();
+                    }
+                    return size;
+                });
+                if (shape.schemaTables() > 0) {
+                    stages.put("schema-load", () -> {
+                        DatabaseSchemaLoader loader = DatabaseSchemaLoader.create(schemaFile);
+                        loader.load();
+                        return loader.getTableNames().size();
+                    });
+                }
+
+                for (Map.Entry<String, Stage> stage : stages.entrySet()) {
+                    double[] timing = measure(stage.getValue(), iterations);
+                    String key = shape + "," + stage.getKey();
+                    Double before = previous.get(key);
+                    System.out.printf("%-28s %-17s avg=%9.3f ms min=%9.3f ms%s%n", shape, stage.getKey(),
+                        timing[0], timing[1],
+                        before == null ? ""
+                            : String.format(" (%+.1f%% vs last commit)", (timing[0] / before - 1) * 100));
+                    rows.add(String.join(",", commit, Instant.now().toString(), shape.toString(), stage.getKey(),
+                        Integer.toString(iterations), String.format(Locale.ROOT, "%.3f", timing[0]),
+                        String.format(Locale.ROOT, "%.3f", timing[1])));
+                }
+            }
+        } finally {
+            deleteRecursively(workDirectory);
+        }
+        appendResults(results, rows);
+        System.out.println("Results appended to " + results.toAbsolutePath());
+    }
+
+    /**
+     * Warms up, then times {@code iterations} runs.
+     *
+     * @return Average and minimum in milliseconds
+     */
+    private static double[] measure(Stage stage, int iterations) throws IOException {
+        long sink = 0;
+        for (int i = 0; i < Math.max(3, iterations / 2); i++) {
+            sink += stage.run();
+        }
+        long total = 0;
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            sink += stage.run();
+            long elapsed = System.nanoTime() - start;
+            total += elapsed;
+            min = Math.min(min, elapsed);
+        }
+        if (sink == Long.MIN_VALUE) {
+            System.out.println("unreachable");
+        }
+        double nanosPerMilli = 1_000_000.0;
+        return new double[] {total / nanosPerMilli / iterations, min / nanosPerMilli};
+    }
+
+    private static Map<String, Double> previousResults(Path results, String commit) throws IOException {
+        Map<String, Double> previous = new HashMap<>();
+        if (!Files.isRegularFile(results)) {
+            return previous;
+        }
+        for (String line : Files.readAllLines(results, StandardCharsets.UTF_8)) {
+            String[] fields = line.split(",");
+            if (fields.length == 7 && !fields[0].equals("commit") && !fields[0].equals(commit)) {
+                // Later rows win, so this keeps the most recent other commit's result
+                previous.put(fields[2] + "," + fields[3], Double.parseDouble(fields[5]));
+            }
+        }
+        return previous;
+    }
+
+    private static void appendResults(Path results, List<String> rows) throws IOException {
+        if (results.getParent() != null) {
+            Files.createDirectories(results.getParent());
+        }
+        if (!Files.exists(results)) {
+            Files.writeString(results, CSV_HEADER + "\n", StandardCharsets.UTF_8);
+        }
+        Files.write(results, rows, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+
+    private static String currentCommit() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD")
+                .redirectErrorStream(true).start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return process.waitFor() == 0 && !output.isEmpty() ? output : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            // Temp directory cleanup is best effort
+        }
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        /**
+         * Runs the stage once and returns a value derived from its result so it is not optimized away.
+         */
+        long run() throws IOException;
+    }
+}
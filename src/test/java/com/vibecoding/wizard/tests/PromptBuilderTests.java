@@ -7,7 +7,10 @@ import java.nio.file.Path;
 import java.util.EnumSet;
 import java.util.List;
 
+import com.vibecoding.wizard.BuildDiagnostic;
 import com.vibecoding.wizard.DialogDefinition;
+import com.vibecoding.wizard.FileTreeSnapshot;
+import com.vibecoding.wizard.FixConvergenceTracker;
 import com.vibecoding.wizard.InitialConfig;
 import com.vibecoding.wizard.MainTaskData;
 import com.vibecoding.wizard.PromptBuilder;
@@ -99,6 +102,11 @@ public final class PromptBuilderTests {
         String fixAttempt = PromptBuilder.buildFixPrompt(TaskType.GENERATE_APP_OR_SCRIPT, config, data, "Compile error", 3);
         ctx.assertTrue("Fix attempt includes number", fixAttempt.contains("Attempt 3"));
         ctx.assertTrue("Fix attempt includes compiler output", fixAttempt.contains("Compile error"));
+        String rootCause = PromptBuilder.buildFixPrompt(TaskType.GENERATE_APP_OR_SCRIPT, config, data, "Compile error", 4,
+            FixConvergenceTracker.FixStrategy.ROOT_CAUSE,
+            BuildDiagnostic.parse("src/Main.java:3: error: cannot find symbol", null), "   3> broken();\n");
+        ctx.assertTrue("Root cause prompt lists unfixed errors", rootCause.contains("- src/Main.java:3: cannot find symbol"));
+        ctx.assertTrue("Root cause prompt includes source excerpt", rootCause.contains("3> broken();"));
 
         // Test buildFinetuningPrompt method
         String finetuningPrompt = PromptBuilder.buildFinetuningPrompt(TaskType.GENERATE_APP_OR_SCRIPT, config, "Add dark mode toggle button");
@@ -110,6 +118,11 @@ public final class PromptBuilderTests {
         ctx.assertTrue("Finetuning prompt mentions updating tests", finetuningPrompt.contains("update or create unit tests"));
         ctx.assertTrue("Finetuning prompt mentions running tests", finetuningPrompt.contains("you MUST RUN all tests"));
         ctx.assertTrue("Finetuning prompt has test commands", finetuningPrompt.contains("gradle test") && finetuningPrompt.contains("dotnet test"));
+        ctx.assertFalse("Finetuning prompt without changes has no file list", finetuningPrompt.contains("Recently Changed Files"));
+        String changedPrompt = PromptBuilder.buildFinetuningPrompt(TaskType.GENERATE_APP_OR_SCRIPT, config, "Add dark mode toggle button",
+            new FileTreeSnapshot.ChangeSet(tempDir, List.of("src/Toggle.java"), List.of("src/Main.java"), List.of(), 120));
+        ctx.assertTrue("Finetuning prompt lists recently changed files",
+            changedPrompt.contains("Recently Changed Files") && changedPrompt.contains("M src/Main.java"));
         
         // Cleanup temp directory
         try {
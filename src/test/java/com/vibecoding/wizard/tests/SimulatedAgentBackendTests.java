@@ -0,0 +1,101 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.tests;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import com.vibecoding.wizard.CopilotCliService;
+import com.vibecoding.wizard.ProcessAndResult;
+import com.vibecoding.wizard.ProcessResult;
+import com.vibecoding.wizard.ProgrammingLanguage;
+import com.vibecoding.wizard.SimulatedAgentBackend;
+import com.vibecoding.wizard.TaskType;
+
+public final class SimulatedAgentBackendTests {
+    private SimulatedAgentBackendTests() {
+    }
+
+    public static void run(TestContext ctx) throws Exception {
+        testDeterministicRunsWithInjectedError(ctx);
+        testOutputRate(ctx);
+        testInteractiveRun(ctx);
+        testSystemProperties(ctx);
+    }
+
+    private static void testDeterministicRunsWithInjectedError(TestContext ctx) throws Exception {
+        Path directory = Files.createTempDirectory("vibe-sim-");
+        SimulatedAgentBackend backend = new SimulatedAgentBackend(
+            new SimulatedAgentBackend.Settings(12, 0, 0, 2, ProgrammingLanguage.PYTHON, Set.of(0), 7));
+        CopilotCliService service = new CopilotCliService(directory, directory, backend);
+
+        List<String> first = new ArrayList<>();
+        ProcessResult primary = service.runPrimaryTask(TaskType.GENERATE_APP_OR_SCRIPT, "prompt", first::add);
+        ctx.assertEquals("Simulated run succeeds", 0, primary.getExitCode());
+        ctx.assertEquals("Output is also collected", String.join("\n", first) + "\n", primary.getStdout());
+        ctx.assertTrue("Failing attempt writes a compile error",
+            Files.readString(directory.resolve("sim_module_0.py")).contains("compile error"));
+        ctx.assertTrue("Other files stay valid",
+            Files.readString(directory.resolve("sim_module_1.py")).startsWith("def "));
+
+        List<String> again = new ArrayList<>();
+        service.runPrimaryTask(TaskType.GENERATE_APP_OR_SCRIPT, "prompt", again::add);
+        ctx.assertEquals("Same attempt gives the same output", first, again);
+
+        service.runFixAttempt("fix", 1, line -> { });
+        ctx.assertTrue("Fix attempt repairs the file",
+            Files.readString(directory.resolve("sim_module_0.py")).startsWith("def "));
+    }
+
+    private static void testOutputRate(TestContext ctx) throws Exception {
+        Path directory = Files.createTempDirectory("vibe-sim-rate-");
+        SimulatedAgentBackend backend = new SimulatedAgentBackend(
+            new SimulatedAgentBackend.Settings(20, 200, 0, 0, ProgrammingLanguage.PYTHON, Set.of(), 1));
+        CopilotCliService service = new CopilotCliService(directory, directory, backend);
+        long start = System.nanoTime();
+        List<String> lines = new ArrayList<>();
+        service.runPrimaryTask(TaskType.GENERATE_APP_OR_SCRIPT, "prompt", lines::add);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        // 20 lines plus header and summary at 200 lines per second take at least 105 ms
+        ctx.assertTrue("Output is paced, took " + millis + " ms", millis >= 100);
+        ctx.assertEquals("All lines streamed", 23, lines.size());
+    }
+
+    private static void testInteractiveRun(TestContext ctx) throws Exception {
+        Path directory = Files.createTempDirectory("vibe-sim-interactive-");
+        SimulatedAgentBackend backend = new SimulatedAgentBackend(
+            new SimulatedAgentBackend.Settings(5, 0, 0, 1, ProgrammingLanguage.PHP, Set.of(), 1));
+        CopilotCliService service = new CopilotCliService(directory, directory, backend);
+        List<String> lines = new ArrayList<>();
+        ProcessAndResult started = service.runFixAttemptInteractive("fix", 2, lines::add);
+        ctx.assertNotNull("Interactive run accepts input", started.getProcessInput());
+        ProcessResult result = started.waitForCompletion();
+        ctx.assertEquals("Interactive run succeeds", 0, result.getExitCode());
+        ctx.assertTrue("PHP file written", Files.readString(directory.resolve("sim_module_0.php")).startsWith("<?php"));
+        ctx.assertFalse("Output streamed", lines.isEmpty());
+
+        SimulatedAgentBackend slow = new SimulatedAgentBackend(
+            new SimulatedAgentBackend.Settings(1000, 10, 0, 0, ProgrammingLanguage.PYTHON, Set.of(), 1));
+        ProcessAndResult cancelled = new CopilotCliService(directory, directory, slow)
+            .runPrimaryTaskInteractive(TaskType.GENERATE_APP_OR_SCRIPT, "prompt", line -> { });
+        cancelled.getProcess().destroy();
+        ctx.assertEquals("Destroy stops the simulated process", 143, cancelled.waitForCompletion().getExitCode());
+    }
+
+    private static void testSystemProperties(TestContext ctx) {
+        System.setProperty("vibecodingwizard.simulator.failAttempts", "0, 2");
+        System.setProperty("vibecodingwizard.simulator.language", "java");
+        try {
+            SimulatedAgentBackend.Settings settings = SimulatedAgentBackend.fromSystemProperties().settings();
+            ctx.assertEquals("Failing attempts parsed", Set.of(0, 2), settings.failingAttempts());
+            ctx.assertEquals("Language parsed", ProgrammingLanguage.JAVA, settings.language());
+            ctx.assertEquals("Unset values use defaults",
+                SimulatedAgentBackend.Settings.defaults().outputLines(), settings.outputLines());
+        } finally {
+            System.clearProperty("vibecodingwizard.simulator.failAttempts");
+            System.clearProperty("vibecodingwizard.simulator.language");
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.tests;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.vibecoding.wizard.CopilotCliService;
+import com.vibecoding.wizard.FixConvergenceTracker.FixStrategy;
+import com.vibecoding.wizard.InitialConfig;
+import com.vibecoding.wizard.ProcessResult;
+import com.vibecoding.wizard.ProgrammingLanguage;
+import com.vibecoding.wizard.ProjectStyle;
+import com.vibecoding.wizard.SimulatedAgentBackend;
+import com.vibecoding.wizard.SpeculativeFixRunner;
+import com.vibecoding.wizard.TargetOs;
+
+public final class SpeculativeFixRunnerTests {
+    private SpeculativeFixRunnerTests() {
+    }
+
+    public static void run(TestContext ctx) {
+        testStrategies(ctx);
+        testCloneAndPromote(ctx);
+        testFirstSuccessWins(ctx);
+    }
+
+    private static void testStrategies(TestContext ctx) {
+        ctx.assertEquals("Variants use different strategies starting at the current one",
+            List.of(FixStrategy.EXPANDED_CONTEXT, FixStrategy.ROOT_CAUSE, FixStrategy.STANDARD),
+            SpeculativeFixRunner.strategies(FixStrategy.EXPANDED_CONTEXT, 5));
+        String previous = System.getProperty(SpeculativeFixRunner.VARIANTS_PROPERTY);
+        try {
+            System.clearProperty(SpeculativeFixRunner.VARIANTS_PROPERTY);
+            ctx.assertEquals("Speculative mode is off by default", 0, SpeculativeFixRunner.configuredVariants());
+            System.setProperty(SpeculativeFixRunner.VARIANTS_PROPERTY, "2");
+            ctx.assertEquals("Configured variants", 2, SpeculativeFixRunner.configuredVariants());
+        } finally {
+            if (previous == null) {
+                System.clearProperty(SpeculativeFixRunner.VARIANTS_PROPERTY);
+            } else {
+                System.setProperty(SpeculativeFixRunner.VARIANTS_PROPERTY, previous);
+            }
+        }
+    }
+
+    private static void testCloneAndPromote(TestContext ctx) {
+        try {
+            Path project = Files.createTempDirectory("vibe-speculative-project-");
+            Files.createDirectories(project.resolve("src"));
+            Files.writeString(project.resolve("src/main.py"), "print('broken'\n");
+            Files.writeString(project.resolve("src/unused.py"), "pass\n");
+            Files.createDirectories(project.resolve("node_modules/lib"));
+            Files.writeString(project.resolve("node_modules/lib/index.js"), "module.exports = 1;\n");
+            Files.createDirectories(project.resolve(".git"));
+            Files.writeString(project.resolve(".git/HEAD"), "ref: refs/heads/main\n");
+            Files.createDirectories(project.resolve("build"));
+            Files.writeString(project.resolve("build/output.txt"), "project build\n");
+            Files.createDirectories(project.resolve("src/obj"));
+            Files.writeString(project.resolve("src/obj/main.o"), "object\n");
+
+            Path workspace = Files.createTempDirectory("vibe-speculative-workspace-").resolve("1");
+            SpeculativeFixRunner.cloneWorkspace(project, workspace);
+            ctx.assertTrue("Sources copied", Files.exists(workspace.resolve("src/main.py")));
+            ctx.assertFalse("Sources are not linked",
+                Files.isSameFile(workspace.resolve("src/main.py"), project.resolve("src/main.py")));
+            Files.writeString(workspace.resolve("node_modules/lib/index.js"), "module.exports = 2;\n");
+            ctx.assertEquals("Patching a cloned dependency leaves the project's alone", "module.exports = 1;\n",
+                Files.readString(project.resolve("node_modules/lib/index.js")));
+            Files.writeString(workspace.resolve("node_modules/lib/index.js"), "module.exports = 1;\n");
+            Files.setLastModifiedTime(workspace.resolve("node_modules/lib/index.js"),
+                Files.getLastModifiedTime(project.resolve("node_modules/lib/index.js")));
+            ctx.assertFalse("Git directory left out", Files.exists(workspace.resolve(".git")));
+            ctx.assertFalse("Build output left out", Files.exists(workspace.resolve("build"))
+                || Files.exists(workspace.resolve("src/obj")));
+            ctx.assertEquals("Modification time kept for promotion",
+                Files.getLastModifiedTime(project.resolve("src/unused.py")),
+                Files.getLastModifiedTime(workspace.resolve("src/unused.py")));
+
+            Files.writeString(workspace.resolve("src/main.py"), "print('fixed')\n");
+            Files.setLastModifiedTime(workspace.resolve("src/main.py"),
+                FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+            Files.writeString(workspace.resolve("src/helper.py"), "def helper():\n    pass\n");
+            Files.delete(workspace.resolve("src/unused.py"));
+            Files.createDirectories(workspace.resolve("build"));
+            Files.writeString(workspace.resolve("build/output.txt"), "workspace build\n");
+
+            int changed = SpeculativeFixRunner.promote(workspace, project);
+            ctx.assertEquals("Changed, new and deleted files counted", 3, changed);
+            ctx.assertEquals("Changed file promoted", "print('fixed')\n", Files.readString(project.resolve("src/main.py")));
+            ctx.assertTrue("New file promoted", Files.exists(project.resolve("src/helper.py")));
+            ctx.assertFalse("Deleted file removed", Files.exists(project.resolve("src/unused.py")));
+            ctx.assertEquals("Build output not promoted", "project build\n",
+                Files.readString(project.resolve("build/output.txt")));
+            ctx.assertTrue("Git directory untouched", Files.exists(project.resolve(".git/HEAD")));
+        } catch (IOException e) {
+            ctx.fail("Clone and promote test failed: " + e.getMessage());
+        }
+    }
+
+    private static void testFirstSuccessWins(TestContext ctx) {
+        try {
+            Path parent = Files.createTempDirectory("vibe-speculative-run-");
+            Path project = Files.createDirectories(parent.resolve("app"));
+            Files.writeString(project.resolve("app.py"), "print('broken'\n");
+            SimulatedAgentBackend backend = new SimulatedAgentBackend(new SimulatedAgentBackend.Settings(
+                0, 0, 0, 1, ProgrammingLanguage.PYTHON, Set.of(), 1));
+            // Only the second workspace builds
+            SpeculativeFixRunner runner = new SpeculativeFixRunner(project,
+                workspace -> new CopilotCliService(workspace, project, backend),
+                (workspace, output, onStart) -> workspace.getFileName().toString().equals("2")
+                    ? new ProcessResult(0, "", "")
+                    : new ProcessResult(1, workspace.resolve("app.py") + ":1: error: unexpected EOF", ""));
+            InitialConfig config = new InitialConfig(ProgrammingLanguage.PYTHON, ProjectStyle.SCRIPT,
+                EnumSet.of(TargetOs.LINUX), project);
+
+            SpeculativeFixRunner.Outcome outcome = runner.run(config,
+                SpeculativeFixRunner.strategies(FixStrategy.STANDARD, 2), 1, 1,
+                (strategy, workspaceConfig) -> "fix " + strategy + " in " + workspaceConfig.getProjectDirectory(), null);
+            ctx.assertTrue("A variant built", outcome.success());
+            ctx.assertEquals("Building variant promoted", 2, outcome.promoted().variant().index());
+            ctx.assertTrue("Agent's file promoted into the project", Files.exists(project.resolve("sim_module_0.py")));
+            try (Stream<Path> siblings = Files.list(parent)) {
+                ctx.assertEquals("Workspaces deleted", 1L, siblings.count());
+            }
+            ctx.assertTrue("Summary names the promoted variant", outcome.summary().contains("Promoted variant 2"));
+        } catch (IOException e) {
+            ctx.fail("Speculative run test failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ctx.fail("Speculative run test interrupted");
+        }
+    }
+}
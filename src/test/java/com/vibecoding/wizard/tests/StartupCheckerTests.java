@@ -1,13 +1,19 @@
 /* Copyright 2025 Dennis Michael Heine */
 package com.vibecoding.wizard.tests;
 
+import com.vibecoding.wizard.EnvironmentProbes;
+import com.vibecoding.wizard.ProbeCache;
 import com.vibecoding.wizard.StartupChecker;
+import com.vibecoding.wizard.StartupTimings;
 
 import java.awt.GraphicsEnvironment;
 import java.lang.reflect.Method;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
 
 public final class StartupCheckerTests {
     private StartupCheckerTests() {
@@ -16,6 +22,8 @@ public final class StartupCheckerTests {
     public static void run(TestContext ctx) throws Exception {
         testClassExists(ctx);
         testAuthFilePathGeneration(ctx);
+        testProbeCache(ctx);
+        testStartupTimings(ctx);
     }
 
     private static void testClassExists(TestContext ctx) {
@@ -44,4 +52,64 @@ public final class StartupCheckerTests {
             ctx.assertTrue("StartupChecker API exists", true);
         }
     }
+
+    private static void testProbeCache(TestContext ctx) throws Exception {
+        Path dir = Files.createTempDirectory("probe-cache-test");
+        Path cacheFile = dir.resolve("probe-cache.properties");
+        Path dependency = dir.resolve("tool.bin");
+        Files.writeString(dependency, "v1");
+        try {
+            String fingerprint = ProbeCache.fingerprint(List.of(), List.of(dependency));
+            ctx.assertEquals("Fingerprint is stable", fingerprint, ProbeCache.fingerprint(List.of(), List.of(dependency)));
+
+            ProbeCache cache = new ProbeCache(cacheFile, Duration.ofHours(1));
+            ctx.assertFalse("Empty cache has no entry", cache.isValid("tool", fingerprint));
+            cache.recordSuccess("tool", fingerprint);
+            cache.save();
+
+            ProbeCache reloaded = new ProbeCache(cacheFile, Duration.ofHours(1));
+            ctx.assertTrue("Entry survives reload", reloaded.isValid("tool", fingerprint));
+
+            Files.writeString(dependency, "version 2");
+            Files.setLastModifiedTime(dependency, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+            String changed = ProbeCache.fingerprint(List.of(), List.of(dependency));
+            ctx.assertFalse("Changed dependency changes fingerprint", fingerprint.equals(changed));
+            ctx.assertFalse("Changed dependency misses cache", reloaded.isValid("tool", changed));
+
+            ProbeCache expired = new ProbeCache(cacheFile, Duration.ZERO);
+            ctx.assertFalse("Expired entry is ignored", expired.isValid("tool", fingerprint));
+
+            try (EnvironmentProbes probes = new EnvironmentProbes(reloaded)) {
+                EnvironmentProbes.Result cached = probes.submit("tool", () -> false, List.of(), List.of()).join();
+                ctx.assertFalse("Unknown fingerprint runs the probe", cached.cached());
+                reloaded.recordSuccess("other", ProbeCache.fingerprint(List.of(), List.of()));
+                EnvironmentProbes.Result hit = probes.submit("other", () -> false, List.of(), List.of()).join();
+                ctx.assertTrue("Valid entry is served from cache", hit.cached() && hit.passed());
+            }
+        } finally {
+            Files.deleteIfExists(cacheFile);
+            Files.deleteIfExists(dependency);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static void testStartupTimings(TestContext ctx) throws Exception {
+        StartupTimings timings = StartupTimings.begin();
+        ctx.assertTrue("begin() replaces the current measurement", StartupTimings.current() == timings);
+
+        String value = timings.measure("stage-a", () -> "done");
+        ctx.assertEquals("measure returns the stage result", "done", value);
+        Thread worker = new Thread(() -> timings.measure("stage-b", () -> { }), "timings-worker");
+        worker.start();
+        worker.join();
+        timings.mark("window");
+
+        List<StartupTimings.Stage> stages = timings.stages();
+        ctx.assertTrue("Stages from all threads are recorded",
+            stages.stream().map(StartupTimings.Stage::name).toList().containsAll(List.of("stage-a", "stage-b", "window")));
+        ctx.assertTrue("Worker thread is reported",
+            stages.stream().anyMatch(stage -> stage.name().equals("stage-b") && stage.thread().equals("timings-worker")));
+        String report = timings.report();
+        ctx.assertTrue("Report lists stages in start order", report.indexOf("stage-a") < report.indexOf("window"));
+    }
 }
@@ -0,0 +1,87 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.tests;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.tools.ToolProvider;
+
+import com.vibecoding.wizard.ProbeCache;
+import com.vibecoding.wizard.ProgrammingLanguage;
+import com.vibecoding.wizard.SyntaxPreCheck;
+
+public final class SyntaxPreCheckTests {
+    private SyntaxPreCheckTests() {
+    }
+
+    public static void run(TestContext ctx) throws Exception {
+        testSourceFiles(ctx);
+        testCommandsTakeFileArguments(ctx);
+        testJavaParse(ctx);
+        testPythonParse(ctx);
+    }
+
+    private static void testSourceFiles(TestContext ctx) {
+        Path directory = Path.of("project").toAbsolutePath();
+        Path source = directory.resolve("app").resolve("main.py");
+        List<Path> changed = List.of(source, directory.resolve("notes.txt"),
+            directory.resolve("venv").resolve("lib").resolve("site.py"));
+        ctx.assertEquals("Only changed sources outside skipped directories", List.of(source),
+            SyntaxPreCheck.sourceFiles(ProgrammingLanguage.PYTHON, directory, changed));
+        ctx.assertTrue("Languages without a pre-check find nothing",
+            SyntaxPreCheck.sourceFiles(ProgrammingLanguage.CSHARP, directory, changed).isEmpty());
+    }
+
+    private static void testCommandsTakeFileArguments(TestContext ctx) {
+        Path directory = Path.of("project").toAbsolutePath();
+        List<Path> files = List.of(directory.resolve("a.php"), directory.resolve("lib").resolve("b.php"));
+        List<List<String>> php = SyntaxPreCheck.commands(ProgrammingLanguage.PHP, directory, files);
+        ctx.assertEquals("One php -l per file", 2, php.size());
+        ctx.assertEquals("php -l gets the file", List.of("php", "-l", "a.php"), php.get(0));
+
+        Path relativeDirectory = Path.of("project");
+        List<String> python = SyntaxPreCheck.commands(ProgrammingLanguage.PYTHON, relativeDirectory,
+            List.of(relativeDirectory.resolve("main.py"))).get(0);
+        ctx.assertEquals("Python parses the changed file", "main.py", python.get(python.size() - 1));
+        ctx.assertFalse("Python check writes no bytecode", python.contains("py_compile"));
+        ctx.assertEquals("Plain .js files are left to the build", List.of(directory.resolve("tool.mjs")),
+            SyntaxPreCheck.sourceFiles(ProgrammingLanguage.JAVASCRIPT, directory,
+                List.of(directory.resolve("App.js"), directory.resolve("tool.mjs"))));
+        ctx.assertTrue("No files, no commands",
+            SyntaxPreCheck.commands(ProgrammingLanguage.RUST, directory, List.of()).isEmpty());
+    }
+
+    private static void testPythonParse(TestContext ctx) throws Exception {
+        if (ProbeCache.resolveOnPath("python") == null) {
+            ctx.skip("python not on PATH");
+            return;
+        }
+        Path directory = Files.createTempDirectory("vibe-precheck-python-");
+        Path good = Files.writeString(directory.resolve("good.py"), "def run():\n    return 1\n");
+        Path bad = Files.writeString(directory.resolve("bad.py"), "def run(:\n");
+        ctx.assertTrue("Valid Python passes",
+            SyntaxPreCheck.run(ProgrammingLanguage.PYTHON, directory, List.of(good), line -> { }).passed());
+        ctx.assertFalse("Syntax error fails",
+            SyntaxPreCheck.run(ProgrammingLanguage.PYTHON, directory, List.of(good, bad), line -> { }).passed());
+        ctx.assertFalse("No bytecode left in the project", Files.exists(directory.resolve("__pycache__")));
+    }
+
+    private static void testJavaParse(TestContext ctx) throws Exception {
+        if (ToolProvider.getSystemJavaCompiler() == null) {
+            ctx.skip("No system Java compiler available");
+            return;
+        }
+        Path directory = Files.createTempDirectory("vibe-precheck-java-");
+        // Unresolvable types are fine: only the syntax is checked
+        Path good = Files.writeString(directory.resolve("Good.java"),
+            "class Good { com.example.Missing field; void run() { field.call(); } }\n");
+        Path bad = Files.writeString(directory.resolve("Bad.java"), "class Bad { void run() { int x = ; } }\n");
+
+        SyntaxPreCheck.Result passed = SyntaxPreCheck.run(ProgrammingLanguage.JAVA, directory, List.of(good), line -> { });
+        ctx.assertTrue("Valid syntax passes", passed.ran() && passed.passed());
+        SyntaxPreCheck.Result failed = SyntaxPreCheck.run(ProgrammingLanguage.JAVA, directory, List.of(good, bad), line -> { });
+        ctx.assertFalse("Syntax error fails", failed.passed());
+        ctx.assertTrue("Error names the file", failed.output().contains("Bad.java"));
+    }
+}
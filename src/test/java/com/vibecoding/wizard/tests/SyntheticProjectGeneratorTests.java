@@ -0,0 +1,54 @@
+/* Copyright 2025 Dennis Michael Heine */
+package com.vibecoding.wizard.tests;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.vibecoding.wizard.DatabaseSchemaLoader;
+import com.vibecoding.wizard.IDEProject;
+import com.vibecoding.wizard.Module;
+import com.vibecoding.wizard.demo.SyntheticProjectGenerator;
+import com.vibecoding.wizard.demo.SyntheticProjectGenerator.Shape;
+
+public final class SyntheticProjectGeneratorTests {
+    private SyntheticProjectGeneratorTests() {
+    }
+
+    public static void run(TestContext ctx) throws Exception {
+        testShapeIsHonoured(ctx);
+        testInvalidShapeRejected(ctx);
+    }
+
+    private static void testShapeIsHonoured(TestContext ctx) throws Exception {
+        Path schema = Files.createTempFile("vibe-synthetic-", ".sql");
+        try {
+            Shape shape = new Shape(7, 3, 2, 9, 4, 5);
+            IDEProject project = SyntheticProjectGenerator.generate(shape, schema);
+            ctx.assertEquals("Module count", 7, project.getAllModules().size());
+            ctx.assertEquals("Root modules start each chain", 3, project.getRootModules().size());
+            int maxLevel = project.getAllModules().stream().mapToInt(Module::getLevel).max().orElse(-1);
+            ctx.assertEquals("Chains are as deep as requested", 2, maxLevel);
+
+            Module first = project.getAllModules().get(0);
+            ctx.assertEquals("Dialogs per module", 2, first.getTaskData().getDialogs().size());
+            String layout = first.getTaskData().getDialogs().get(0).getFormLayoutJson();
+            ctx.assertEquals("Elements per form", 9, layout.split("\"type\":").length - 1);
+
+            DatabaseSchemaLoader loader = DatabaseSchemaLoader.create(schema);
+            loader.load();
+            ctx.assertEquals("Schema tables", 4, loader.getTableNames().size());
+            ctx.assertEquals("Schema file referenced", schema, project.getProjectSettings().getDatabaseDefinitionFile());
+        } finally {
+            Files.deleteIfExists(schema);
+        }
+    }
+
+    private static void testInvalidShapeRejected(TestContext ctx) {
+        try {
+            new Shape(0, 1, 1, 1, 1, 1);
+            ctx.fail("A project needs at least one module");
+        } catch (IllegalArgumentException expected) {
+            ctx.assertTrue("Message names the shape", expected.getMessage().contains("0 modules"));
+        }
+    }
+}
@@ -19,11 +19,26 @@ public final class TestRunner {
             // Process tests
             .add("ProcessTests", ProcessTests::run)
             .add("ProcessAndResultTests", ProcessAndResultTests::run)
+            .add("LogConsoleTests", LogConsoleTests::run)
+            .add("LogIndexTests", LogIndexTests::run)
             // Business logic tests
             .add("PromptBuilderTests", PromptBuilderTests::run)
+            .add("FormLayoutCompilerTests", FormLayoutCompilerTests::run)
             .add("DatabaseSupportTests", DatabaseSupportTests::run)
             .add("BuildCommandPlannerTests", BuildCommandPlannerTests::run)
+            .add("SyntaxPreCheckTests", SyntaxPreCheckTests::run)
+            .add("BuildMatrixTests", BuildMatrixTests::run)
+            .add("BuildCacheTests", BuildCacheTests::run)
+            .add("FixConvergenceTrackerTests", FixConvergenceTrackerTests::run)
+            .add("SpeculativeFixRunnerTests", SpeculativeFixRunnerTests::run)
+            .add("FileTreeSnapshotTests", FileTreeSnapshotTests::run)
             .add("CopilotCliServiceTests", CopilotCliServiceTests::run)
+            .add("CopilotSessionPoolTests", CopilotSessionPoolTests::run)
+            .add("CopilotCliLocatorTests", CopilotCliLocatorTests::run)
+            .add("AgentJobSchedulerTests", AgentJobSchedulerTests::run)
+            .add("BatchRunnerTests", BatchRunnerTests::run)
+            .add("SimulatedAgentBackendTests", SimulatedAgentBackendTests::run)
+            .add("SyntheticProjectGeneratorTests", SyntheticProjectGeneratorTests::run)
             .add("PackageManagerDetectorTests", PackageManagerDetectorTests::run)
             .add("MultiPhaseBuildExecutorTests", MultiPhaseBuildExecutorTests::run)
             // Project management tests
@@ -45,6 +60,7 @@ public final class TestRunner {
             .add("TaskSelectionPanelTests", TaskSelectionPanelTests::run)
             .add("MainDialogPanelTests", MainDialogPanelTests::run)
             .add("ModuleEditorPanelTests", ModuleEditorPanelTests::run)
+            .add("ModuleTreeModelTests", ModuleTreeModelTests::run)
             .add("ModuleTreePanelTests", ModuleTreePanelTests::run)
             // UI dialog tests
             .add("DialogDefinitionEditorDialogTests", DialogDefinitionEditorDialogTests::run)